@@ -3,6 +3,24 @@ package com.traficast.config;
 
 import com.zaxxer.hikari.util.ClockSource;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +29,8 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.ToIntFunction;
 
 
 /**
@@ -21,14 +41,46 @@ import java.time.Duration;
 @Slf4j
 public class RestTemplateConfig {
 
+    @Value("${model.api.timeout:30}")
+    private int modelApiTimeoutSeconds;
+
+    @Value("${model.api.transport.max-connections-per-endpoint:20}")
+    private int maxConnectionsPerEndpoint;
+
+    @Value("${model.api.transport.max-connections-total:100}")
+    private int maxConnectionsTotal;
+
+    @Value("${model.api.transport.pool-wait-ms:3000}")
+    private long poolWaitMs;
+
+    @Value("${model.api.transport.keep-alive-seconds:60}")
+    private long keepAliveSeconds;
+
+    @Value("${model.api.transport.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${model.api.transport.time-to-live-seconds:300}")
+    private long timeToLiveSeconds;
+
+    @Value("${model.api.transport.compress-requests:true}")
+    private boolean compressRequests;
+
+    @Value("${model.api.transport.compress-min-bytes:1024}")
+    private int compressMinBytes;
+
     /**
      * 외부 ML 모델 API 통신용 RestTemplate
      * 예측 요청은 시간이 오래 걸릴 수 있으므로 타임아웃을 길게 설정
+     * compress-requests 가 켜져 있으면 compress-min-bytes 이상인 요청 본문을 gzip 으로 보냄(모델 서버가 Content-Encoding: gzip 을 지원해야 함)
      */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder){
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory clientHttpRequestFactory){
         log.info("RestTemplate 설정 초기화");
-        return new RestTemplate(clientHttpRequestFactory());
+        RestTemplate restTemplate = new RestTemplate(clientHttpRequestFactory);
+        if(compressRequests){
+            restTemplate.setInterceptors(List.of(new GzipRequestInterceptor(compressMinBytes)));
+        }
+        return restTemplate;
     }
 
     /**
@@ -40,16 +92,126 @@ public class RestTemplateConfig {
     }
 
     /**
-     * 일반 요청용 Http 클라이언트 팩토리
+     * 모델 API 동기 호출용 Http 클라이언트 팩토리(모델 전용 연결 풀 사용)
+     * 읽기 타임아웃은 모델 API 시도 당 타임아웃(model.api.timeout)과 같음
      */
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory(){
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory();
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient modelApiHttpClient){
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(modelApiHttpClient);
         factory.setConnectTimeout(Duration.ofSeconds(10));
-        factory.setReadTimeout(Duration.ofSeconds(60));
+        factory.setReadTimeout(Duration.ofSeconds(modelApiTimeoutSeconds));
         return factory;
     }
 
+    /**
+     * 모델 API 동기 호출용 연결 풀
+     * 엔드포인트(복제본)마다 max-connections-per-endpoint 개까지 연결을 재사용하고, 전체는 max-connections-total 로 제한
+     * 연결이 모두 사용 중이면 pool-wait-ms 까지 기다린 뒤 실패(재시도 대상 통신 오류)
+     * time-to-live 가 지난 연결은 닫아 복제본 DNS 변경이 반영되도록 함
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager modelApiConnectionManager(MeterRegistry meterRegistry){
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(maxConnectionsPerEndpoint)
+                .setMaxConnTotal(Math.max(maxConnectionsTotal, maxConnectionsPerEndpoint))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setSocketTimeout(Timeout.ofSeconds(modelApiTimeoutSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        .build())
+                .build();
+        registerPoolMetrics(meterRegistry, connectionManager, "sync");
+        return connectionManager;
+    }
+
+    /**
+     * 모델 API 동기 호출용 HttpClient
+     * 응답은 Accept-Encoding: gzip, deflate 로 요청하고 자동으로 압축을 풂(HttpClient 5 기본 동작)
+     * 서버가 Keep-Alive 를 지정하지 않으면 keep-alive-seconds 동안 연결을 유지하고,
+     * idle-eviction-seconds 이상 쉬고 있는 연결과 만료된 연결은 백그라운드에서 정리
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient modelApiHttpClient(PoolingHttpClientConnectionManager modelApiConnectionManager){
+        log.info("모델 API 연결 풀 설정: 엔드포인트 당 {}개, 전체 {}개, keep-alive={}초, 유휴 정리={}초, 요청 압축={}",
+                maxConnectionsPerEndpoint, maxConnectionsTotal, keepAliveSeconds, idleEvictionSeconds,
+                compressRequests ? compressMinBytes + "바이트 이상" : "사용 안 함");
+        return HttpClients.custom()
+                .setConnectionManager(modelApiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofSeconds(modelApiTimeoutSeconds))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+    }
+
+    /**
+     * ML 모델 API 비동기 호출용 HttpClient 5 비동기 클라이언트
+     * 소수의 I/O 스레드가 모든 연결을 처리하므로 응답이 느려도 요청 스레드(Tomcat)를 점유하지 않음
+     * 연결 재사용 설정(엔드포인트 당 연결 수, pool-wait, keep-alive, 유휴 정리, time-to-live)은 동기 풀과 같은 transport 값을 쓰고
+     * 전체 연결 수만 async.max-connections 로 따로 제한
+     * 비동기 클라이언트는 본문 인터셉터와 응답 자동 압축 해제가 없으므로 gzip 은 ModelApiService 가 요청을 만들 때 처리
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient modelApiAsyncClient(
+            @Value("${model.api.timeout:30}") int timeoutSeconds,
+            @Value("${model.api.async.max-connections:50}") int maxConnections,
+            @Value("${model.api.async.io-threads:2}") int ioThreads,
+            MeterRegistry meterRegistry){
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(maxConnectionsPerEndpoint)
+                .setMaxConnTotal(Math.max(maxConnections, maxConnectionsPerEndpoint))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setSocketTimeout(Timeout.ofSeconds(timeoutSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                        .build())
+                .build();
+        registerPoolMetrics(meterRegistry, connectionManager, "async");
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofSeconds(timeoutSeconds))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(ioThreads)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .build();
+        client.start();
+
+        log.info("모델 API 비동기 클라이언트 시작: 엔드포인트 당 {}개, 전체 {}개, I/O 스레드={}, 응답 타임아웃={}초, keep-alive={}초, 유휴 정리={}초, 요청 압축={}",
+                maxConnectionsPerEndpoint, Math.max(maxConnections, maxConnectionsPerEndpoint), ioThreads, timeoutSeconds,
+                keepAliveSeconds, idleEvictionSeconds, compressRequests ? compressMinBytes + "바이트 이상" : "사용 안 함");
+        return client;
+    }
+
+    /**
+     * 연결 풀 사용량 지표(model.api.connections, state = leased / pending / available / max)
+     * pending 이 계속 0 보다 크면 풀이 부족해 요청이 연결을 기다리는 상태
+     */
+    private static void registerPoolMetrics(MeterRegistry meterRegistry, ConnPoolControl<?> pool, String client){
+        registerPoolGauge(meterRegistry, pool, client, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, pool, client, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, pool, client, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, pool, client, "max", PoolStats::getMax);
+    }
+
+    private static void registerPoolGauge(MeterRegistry meterRegistry, ConnPoolControl<?> pool, String client,
+                                          String state, ToIntFunction<PoolStats> stat){
+        Gauge.builder("model.api.connections", pool, p -> stat.applyAsInt(p.getTotalStats()))
+                .tag("client", client).tag("state", state)
+                .description("모델 API 연결 풀 연결 수").register(meterRegistry);
+    }
+
     /**
      * 빠른 응답용 HTTP 클라이언트 팩토리
      */
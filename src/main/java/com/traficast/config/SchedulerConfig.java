@@ -2,10 +2,12 @@ package com.traficast.config;
 
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 
@@ -52,4 +54,24 @@ public class SchedulerConfig {
 
         return executor;
     }
+
+    /**
+     * 비동기 예측 결과 저장 전용 스레드 풀
+     * 업로드 작업과 같은 풀을 쓰면 대용량 업로드 중 예측 응답이 밀리므로 분리
+     * 대기열이 가득 차면 TaskRejectedException 으로 바로 거부(요청은 503 으로 응답)
+     */
+    @Bean("predictionTaskExecutor")
+    public ThreadPoolTaskExecutor predictionTaskExecutor(
+            @Value("${prediction.async.pool-size:4}") int poolSize,
+            @Value("${prediction.async.queue-capacity:200}") int queueCapacity){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("prediction-async-");
+        executor.setAwaitTerminationSeconds(30);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        return executor;
+    }
 }
@@ -3,22 +3,30 @@ package com.traficast.controller;
 
 import com.traficast.dto.request.DataUploadRequest;
 import com.traficast.dto.response.ApiResponse;
-import com.traficast.entity.TrafficData;
+import com.traficast.dto.response.DataUploadResponse;
+import com.traficast.dto.response.IngestBufferStatusResponse;
+import com.traficast.dto.response.UploadJobResponse;
 import com.traficast.service.DataUploadService;
+import com.traficast.service.TrafficWriteBuffer;
+import com.traficast.service.UploadJobService;
+import com.traficast.service.UploadProgressListener;
+import com.traficast.util.RowRanges;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @RestController
 @RequestMapping("/api/v1/data")
@@ -27,24 +35,201 @@ import java.util.List;
 @Tag(name = "데이터 업로드 API", description = "교통 데이터 업로드 관련 API")
 public class DataUploadController {
 
-    private DataUploadService dataUploadService;
+    private final DataUploadService dataUploadService;
+    private final UploadJobService uploadJobService;
+    private final TrafficWriteBuffer trafficWriteBuffer;
 
     /**
      * 교통 데이터 일괄 업로드
      */
     @PostMapping("/upload")
     @Operation(summary = "교통 데이터 업로드", description = "교통 데이터를 일괄적으로 업로드합니다.")
-    public ResponseEntity<ApiResponse<String>> uploadTrafficData(@Valid @RequestBody DataUploadRequest request){
+    public ResponseEntity<ApiResponse<DataUploadResponse>> uploadTrafficData(
+            @Valid @RequestBody DataUploadRequest request,
 
-        log.info("교통 데이터 업로드 요청: {}개 항목, 출처: {}",
+            @Parameter(description = "적재할 항목 범위(1부터, 생략 시 전체). 실패 청크 재시도 시 이전 응답의 retryRows",
+                    example = "501-1000,2001-2500")
+            @RequestParam(required = false) String rows){
+
+        log.info("교통 데이터 업로드 요청: {}개 항목, 출처: {}, 행 범위: {}",
+                request.getTrafficDataEntries().size(), request.getDataSource(), rows);
+
+        DataUploadResponse summary = dataUploadService.uploadTrafficData(
+                request, RowRanges.parse(rows), UploadProgressListener.NONE);
+
+        String message = summary.getRetryRows() == null
+                ? String.format("총 %d개의 교통 데이터가 성공적으로 업로드되었습니다.", summary.getSuccessCount())
+                : String.format("총 %d개의 교통 데이터가 업로드되었으나 일부 청크가 실패했습니다. 같은 본문을 rows=%s 로 다시 보내면 실패한 항목만 저장됩니다.",
+                        summary.getSuccessCount(), summary.getRetryRows());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(message, summary));
+    }
+
+    /**
+     * CSV 파일(multipart) 스트리밍 업로드
+     */
+    @PostMapping(value = "/upload/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "CSV 교통 데이터 업로드(파일)",
+            description = "CSV 파일을 한 행씩 읽어 청크 단위로 저장합니다. 헤더 행이 필요합니다.")
+    public ResponseEntity<ApiResponse<DataUploadResponse>> uploadTrafficDataCsvFile(
+            @Parameter(description = "CSV 파일", required = true)
+            @RequestPart("file") MultipartFile file,
+
+            @Parameter(description = "데이터 출처", example = "서울시 교통정보센터")
+            @RequestParam(required = false) String dataSource,
+
+            @Parameter(description = "upsert 모드(위치 ID와 측정 시간이 같은 기존 데이터를 갱신)", example = "false")
+            @RequestParam(defaultValue = "false") boolean upsert,
+
+            @Parameter(description = "적재할 행 범위(1부터, 헤더 제외, 생략 시 전체). 실패 청크 재시도 시 이전 응답의 retryRows",
+                    example = "501-1000,2001-2500")
+            @RequestParam(required = false) String rows) throws IOException {
+
+        log.info("CSV 파일 업로드 요청: 파일명={}, 크기={}bytes, 출처={}, upsert={}, 행 범위={}",
+                file.getOriginalFilename(), file.getSize(), dataSource, upsert, rows);
+
+        RowRanges rowRanges = RowRanges.parse(rows);
+        try(InputStream inputStream = file.getInputStream()){
+            DataUploadResponse summary = dataUploadService.uploadTrafficDataCsv(
+                    inputStream, dataSource, upsert, rowRanges, UploadProgressListener.NONE);
+            return csvUploadResponse(summary);
+        }
+    }
+
+    /**
+     * CSV 본문(raw body) 스트리밍 업로드
+     */
+    @PostMapping(value = "/upload/csv", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "CSV 교통 데이터 업로드(본문)",
+            description = "요청 본문의 CSV를 스트리밍으로 읽어 청크 단위로 저장합니다. 헤더 행이 필요합니다.")
+    public ResponseEntity<ApiResponse<DataUploadResponse>> uploadTrafficDataCsvBody(
+            InputStream body,
+
+            @Parameter(description = "데이터 출처", example = "서울시 교통정보센터")
+            @RequestParam(required = false) String dataSource,
+
+            @Parameter(description = "upsert 모드(위치 ID와 측정 시간이 같은 기존 데이터를 갱신)", example = "false")
+            @RequestParam(defaultValue = "false") boolean upsert,
+
+            @Parameter(description = "적재할 행 범위(1부터, 헤더 제외, 생략 시 전체). 실패 청크 재시도 시 이전 응답의 retryRows",
+                    example = "501-1000,2001-2500")
+            @RequestParam(required = false) String rows) throws IOException {
+
+        log.info("CSV 본문 업로드 요청: 출처={}, upsert={}, 행 범위={}", dataSource, upsert, rows);
+
+        DataUploadResponse summary = dataUploadService.uploadTrafficDataCsv(
+                body, dataSource, upsert, RowRanges.parse(rows), UploadProgressListener.NONE);
+        return csvUploadResponse(summary);
+    }
+
+    /**
+     * 교통 데이터 비동기 업로드(작업 ID 즉시 반환)
+     */
+    @PostMapping("/upload/async")
+    @Operation(summary = "교통 데이터 비동기 업로드",
+            description = "업로드를 백그라운드 작업으로 접수하고 작업 ID를 즉시 반환합니다.")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> uploadTrafficDataAsync(
+            @Valid @RequestBody DataUploadRequest request){
+        log.info("교통 데이터 비동기 업로드 요청: {}개 항목, 출처: {}",
                 request.getTrafficDataEntries().size(), request.getDataSource());
 
-        List<TrafficData> uploadedData = dataUploadService.uploadTrafficData(request);
+        UploadJobResponse job = uploadJobService.submitUpload(request);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("업로드 작업이 접수되었습니다.", job));
+    }
+
+    /**
+     * CSV 파일 비동기 업로드(작업 ID 즉시 반환)
+     * 요청이 끝나면 multipart 임시 파일이 삭제되므로 별도 임시 파일로 옮긴 뒤 작업을 접수
+     */
+    @PostMapping(value = "/upload/csv/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "CSV 교통 데이터 비동기 업로드",
+            description = "CSV 업로드를 백그라운드 작업으로 접수하고 작업 ID를 즉시 반환합니다.")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> uploadTrafficDataCsvAsync(
+            @Parameter(description = "CSV 파일", required = true)
+            @RequestPart("file") MultipartFile file,
+
+            @Parameter(description = "데이터 출처", example = "서울시 교통정보센터")
+            @RequestParam(required = false) String dataSource,
+
+            @Parameter(description = "upsert 모드(위치 ID와 측정 시간이 같은 기존 데이터를 갱신)", example = "false")
+            @RequestParam(defaultValue = "false") boolean upsert,
+
+            @Parameter(description = "적재할 행 범위(1부터, 헤더 제외, 생략 시 전체). 실패 청크 재시도 시 이전 응답의 retryRows",
+                    example = "501-1000,2001-2500")
+            @RequestParam(required = false) String rows) throws IOException {
+
+        log.info("CSV 파일 비동기 업로드 요청: 파일명={}, 크기={}bytes, 출처={}",
+                file.getOriginalFilename(), file.getSize(), dataSource);
+
+        RowRanges rowRanges = RowRanges.parse(rows);
+        Path csvFile = Files.createTempFile("traficast-upload-", ".csv");
+        try{
+            file.transferTo(csvFile);
+        }catch (IOException e){
+            Files.deleteIfExists(csvFile);
+            throw e;
+        }
+        UploadJobResponse job = uploadJobService.submitCsvUpload(csvFile, dataSource, upsert, rowRanges);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("CSV 업로드 작업이 접수되었습니다.", job));
+    }
+
+    /**
+     * 센서 단건 측정값 수집
+     * 요청마다 트랜잭션을 열지 않고 쓰기 버퍼에 넣은 뒤 즉시 응답하며, 저장은 그룹 커밋으로 처리
+     */
+    @PostMapping("/readings")
+    @Operation(summary = "센서 측정값 수집",
+            description = "측정값 한 건을 쓰기 버퍼에 넣고 즉시 202를 반환합니다. 버퍼가 가득 차면 429와 Retry-After를 반환합니다.")
+    public ResponseEntity<ApiResponse<Void>> ingestReading(
+            @Valid @RequestBody DataUploadRequest.TrafficDataEntry reading){
+
+        trafficWriteBuffer.submit(reading);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("측정값이 접수되었습니다.", null));
+    }
+
+    /**
+     * 쓰기 버퍼 상태 조회
+     */
+    @GetMapping("/readings/buffer")
+    @Operation(summary = "측정값 쓰기 버퍼 상태 조회",
+            description = "대기 건수, 누적 접수/거부/저장 건수, 마지막 그룹 커밋 정보를 조회합니다.")
+    public ResponseEntity<ApiResponse<IngestBufferStatusResponse>> getReadingBufferStatus(){
+        return ResponseEntity.ok(ApiResponse.success(
+                "측정값 쓰기 버퍼 상태를 조회했습니다.",
+                trafficWriteBuffer.getStatus()
+        ));
+    }
+
+    /**
+     * 비동기 업로드 작업 상태 조회
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "업로드 작업 상태 조회",
+            description = "처리/거부 건수, 처리량, 예상 남은 시간 등 업로드 작업 진행 상황을 조회합니다.")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> getUploadJob(
+            @Parameter(description = "작업 ID", required = true, example = "upload-1f0c6a2e")
+            @PathVariable String jobId){
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "업로드 작업 상태를 조회했습니다.",
+                uploadJobService.getJob(jobId)
+        ));
+    }
+
+    private ResponseEntity<ApiResponse<DataUploadResponse>> csvUploadResponse(DataUploadResponse summary){
+        String message = summary.getRetryRows() == null
+                ? String.format("CSV %d행 중 %d행이 업로드되었습니다.", summary.getTotalCount(), summary.getSuccessCount())
+                : String.format("CSV %d행 중 %d행이 업로드되었으나 일부 청크가 실패했습니다. 같은 파일을 rows=%s 로 다시 업로드하면 실패한 행만 저장됩니다.",
+                        summary.getTotalCount(), summary.getSuccessCount(), summary.getRetryRows());
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success(
-                        String.format("총 %d개의 교통 데이터가 성공적으로 업로드되었습니다.", uploadedData.size()),
-                        "업로드 완료"
-                ));
+                .body(ApiResponse.success(message, summary));
     }
 }
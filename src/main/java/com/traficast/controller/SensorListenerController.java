@@ -0,0 +1,39 @@
+package com.traficast.controller;
+
+
+import com.traficast.dto.response.ApiResponse;
+import com.traficast.dto.response.SensorConnectionResponse;
+import com.traficast.service.SensorFeedListener;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/data/listener")
+@ConditionalOnProperty(prefix = "ingest.listener", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Tag(name = "센서 소켓 수신기 API", description = "검지기 TCP/UDP 수신 현황 조회 API")
+public class SensorListenerController {
+
+    private final SensorFeedListener sensorFeedListener;
+
+    /**
+     * 연결별 수신 현황 조회
+     */
+    @GetMapping("/connections")
+    @Operation(summary = "센서 연결별 수신 현황 조회",
+            description = "TCP 연결과 최근 UDP 송신 주소별 수신 바이트, 접수/거부/지연 건수, 초당 처리량을 조회합니다.")
+    public ResponseEntity<ApiResponse<List<SensorConnectionResponse>>> getConnections(){
+        return ResponseEntity.ok(ApiResponse.success(
+                "센서 연결 현황을 조회했습니다.",
+                sensorFeedListener.getConnections()
+        ));
+    }
+}
@@ -3,7 +3,9 @@ package com.traficast.controller;
 
 import com.traficast.dto.request.PredictionRequest;
 import com.traficast.dto.response.ApiResponse;
+import com.traficast.dto.response.PredictionCacheStatusResponse;
 import com.traficast.dto.response.PredictionResponse;
+import com.traficast.service.PredictionCache;
 import com.traficast.service.TrafficPredictionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +21,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/predictions")
@@ -28,6 +31,7 @@ import java.util.Optional;
 public class TrafficPredictionController {
 
     private final TrafficPredictionService trafficPredictionService;
+    private final PredictionCache predictionCache;
 
     /**
      * 교통량 예측 요청
@@ -58,6 +62,23 @@ public class TrafficPredictionController {
         return ResponseEntity.ok(ApiResponse.success("교통량 예측이 성공적으로 완료되었습니다.", predictions));
     }
 
+    /**
+     * 교통량 비동기 예측 요청
+     * 모델 API 응답을 기다리는 동안 요청 스레드를 반환하고, 결과가 준비되면 응답
+     */
+    @PostMapping("/async")
+    @Operation(summary = "교통량 비동기 예측 요청",
+            description = "교통량 예측을 비동기로 수행합니다. 모델 응답을 기다리는 동안 서버 요청 스레드를 점유하지 않습니다.")
+    public CompletableFuture<ResponseEntity<ApiResponse<List<PredictionResponse>>>> predictTrafficAsync(
+            @Valid @RequestBody PredictionRequest request) {
+        log.info("교통량 비동기 예측 요청 - 위치: {}, 날짜: {}",
+                request.getLocationIds().size(), request.getTargetDatetime());
+
+        return trafficPredictionService.predictTrafficAsync(request)
+                .thenApply(predictions -> ResponseEntity.ok(
+                        ApiResponse.success("교통량 예측이 성공적으로 완료되었습니다.", predictions)));
+    }
+
     /**
      * 특정 위치의 최신 예측 결과 조회
      */
@@ -101,6 +122,16 @@ public class TrafficPredictionController {
                 "검증 작업이 백그라운드에서 실행됩니다."
         ));
     }
-}
-
 
+    /**
+     * 예측 결과 캐시 상태 조회
+     */
+    @GetMapping("/cache")
+    @Operation(summary = "예측 결과 캐시 상태 조회", description = "캐시 항목 수, 적중/미스 수, 제거 건수를 조회합니다.")
+    public ResponseEntity<ApiResponse<PredictionCacheStatusResponse>> getPredictionCacheStatus(){
+        return ResponseEntity.ok(ApiResponse.success(
+                "예측 결과 캐시 상태를 조회했습니다.",
+                predictionCache.getStatus()
+        ));
+    }
+}
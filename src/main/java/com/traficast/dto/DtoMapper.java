@@ -1,11 +1,16 @@
 package com.traficast.dto;
 
+import com.traficast.dto.request.DataUploadRequest;
 import com.traficast.dto.response.LocationResponse;
 import com.traficast.dto.response.PredictionResponse;
 import com.traficast.entity.Location;
 import com.traficast.entity.PredictionHistory;
+import com.traficast.entity.TrafficData;
+import com.traficast.util.PredictionSeries;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -31,10 +36,35 @@ public class DtoMapper {
                 .predictedSpeed(prediction.getPredictedSpeed())
                 .predictedCongestionLevel(prediction.getPredictedCongestionLevel())
                 .confidenceScore(prediction.getConfidenceScore())
+                .modelVersion(prediction.getModelVersion())
                 .predictionType(prediction.getPredictionType())
+                .predictionDetails(toPredictionDetails(prediction.getTargetDateTime(), prediction.getPredictedSeries()))
                 .build();
     }
 
+    /**
+     * 저장된 시점별 예측 값을 예측 구간별 세부 정보로 풀어냅니다(예측 대상 시간부터 간격만큼 증가).
+     * @return 단일 시점 예측이면 null
+     */
+    private List<PredictionResponse.PredictionDetail> toPredictionDetails(LocalDateTime targetDateTime, byte[] encodedSeries){
+        if(encodedSeries == null){
+            return null;
+        }
+
+        PredictionSeries series = PredictionSeries.decode(encodedSeries);
+        List<PredictionResponse.PredictionDetail> details = new ArrayList<>(series.size());
+        for(int i = 0; i < series.size(); i++){
+            details.add(PredictionResponse.PredictionDetail.builder()
+                    .datetime(targetDateTime.plusMinutes((long) i * series.getStepMinutes()))
+                    .vehicleCount(series.getVehicleCount(i))
+                    .speed(series.getSpeed(i))
+                    .congestionLevel(series.getCongestionLevel(i))
+                    .confidence(series.getConfidence(i))
+                    .build());
+        }
+        return details;
+    }
+
     // ======= Location 변환 메서드들 ========
     /**
      * Location 엔티티를 LocationResponse Dto로 변환
@@ -86,4 +116,27 @@ public class DtoMapper {
                 .longitude(location.getLongitude())
                 .build();
     }
+
+    /**
+     * 업로드 항목을 TrafficData 엔티티로 변환(일괄 업로드, 단건 측정값 수집 공통)
+     */
+    public TrafficData toTrafficData(DataUploadRequest.TrafficDataEntry entry, Location location){
+        return TrafficData.builder()
+                .location(location)
+                .recordedAt(entry.getMeasuredAt())
+                .vehicleCount(entry.getVehicleCount())
+                .averageSpeed(entry.getAverageSpeed())
+                .congestionLevel(entry.getCongestionLevel())
+                .weatherCondition(entry.getWeatherCondition())
+                .temperature(entry.getTemperature())
+                .humidity(entry.getHumidity())
+                .visibility(entry.getVisibility())
+                .isHoliday(entry.getIsHoliday())
+                // 요일/시간이 없으면 측정 시간에서 계산(시간대별 통계 쿼리에서 사용)
+                .dayOfWeek(entry.getDayOfWeek() != null
+                        ? entry.getDayOfWeek() : entry.getMeasuredAt().getDayOfWeek().getValue())
+                .hourOfDay(entry.getHourOfDay() != null
+                        ? entry.getHourOfDay() : entry.getMeasuredAt().getHour())
+                .build();
+    }
 }
@@ -3,7 +3,6 @@ package com.traficast.dto.request;
 
 import com.traficast.entity.TrafficData;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,7 +22,7 @@ public class DataUploadRequest {
 
     @NotEmpty(message = "업로드할 교통 데이터 목록은 필수입니다.")
     @Size(min = 1, max = 1000, message = "한번에 1-1000개의 데이터를 업로드할 수 있습니다")
-    @Valid
+    // 항목 제약은 요청 전체를 400으로 거부하지 않도록 TrafficDataValidator 가 항목별로 검사
     @Schema(description = "교통 데이터 목록", required = true)
     private List<TrafficDataEntry> trafficDataEntries;
 
@@ -35,6 +34,9 @@ public class DataUploadRequest {
     @Schema(description = "업로드 설명", example = "2024년 1월 강남구 교통 데이터")
     private String description;
 
+    @Schema(description = "upsert 모드 여부(위치 ID와 측정 시간이 같은 기존 데이터를 갱신)", example = "false")
+    private Boolean upsert;
+
     @Data
     @Builder
     @NoArgsConstructor
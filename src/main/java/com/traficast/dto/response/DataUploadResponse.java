@@ -0,0 +1,114 @@
+package com.traficast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// 교통 데이터 업로드 결과 요약 응답 DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "교통 데이터 업로드 결과 요약")
+public class DataUploadResponse {
+
+    @Schema(description = "데이터 출처", example = "서울시 교통정보센터")
+    private String dataSource;
+
+    @Schema(description = "upsert 모드 여부", example = "false")
+    private boolean upsert;
+
+    @Schema(description = "전체 항목 수", example = "1000")
+    private long totalCount;
+
+    @Schema(description = "저장 성공 항목 수", example = "998")
+    private long successCount;
+
+    @Schema(description = "신규 INSERT 항목 수", example = "990")
+    private long insertedCount;
+
+    @Schema(description = "기존 행 UPDATE 항목 수(upsert 모드)", example = "8")
+    private long updatedCount;
+
+    @Schema(description = "건너뛴 중복 항목 수(upsert 모드는 변경 없는 행, 일반 모드는 이미 저장된 행)", example = "0")
+    private long duplicateCount;
+
+    @Schema(description = "저장 실패 항목 수(검증 거부 + 롤백된 청크의 행)", example = "2")
+    private long failedCount;
+
+    @Schema(description = "청크(배치) 크기", example = "500")
+    private int batchSize;
+
+    @Schema(description = "실행된 청크 수", example = "2")
+    private int batchCount;
+
+    @Schema(description = "처리 시간(ms)", example = "350")
+    private long elapsedMillis;
+
+    @Schema(description = "초당 처리 행 수", example = "2851.4")
+    private double rowsPerSecond;
+
+    @Schema(description = "검증 실패로 거부된 항목 수", example = "2")
+    private long rejectedCount;
+
+    @Schema(description = "거부 사유(위반 코드)별 건수", example = "{\"VEHICLE_COUNT_OUT_OF_RANGE\": 2}")
+    private Map<String, Long> rejectionCounts;
+
+    @Schema(description = "거부된 행 표본(최대 upload.max-reported-failures 건)")
+    private List<RowFailure> rowFailures;
+
+    @Schema(description = "저장에 실패해 롤백된 청크 목록")
+    private List<ChunkFailure> chunkFailures;
+
+    @Schema(description = "재시도할 행 범위(롤백된 청크의 행, 같은 데이터와 함께 rows 파라미터로 넘김, 실패 청크가 없으면 null)",
+            example = "501-1000,2001-2500")
+    private String retryRows;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "실패한 행 정보")
+    public static class RowFailure {
+
+        @Schema(description = "행 번호(1부터, CSV는 헤더 제외)", example = "42")
+        private long rowNumber;
+
+        @Schema(description = "위치 ID(파싱 실패 시 null)", example = "1")
+        private Long locationId;
+
+        @Schema(description = "위반 코드 목록", example = "[\"VEHICLE_COUNT_OUT_OF_RANGE\"]")
+        private List<String> violations;
+
+        @Schema(description = "실패 사유", example = "차량 수는 0 이상 10000 이하여야 합니다")
+        private String reason;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "롤백된 청크 정보")
+    public static class ChunkFailure {
+
+        @Schema(description = "청크 순번(1부터)", example = "2")
+        private int chunkIndex;
+
+        @Schema(description = "청크 시작 행 번호", example = "501")
+        private long startRow;
+
+        @Schema(description = "청크 마지막 행 번호", example = "1000")
+        private long endRow;
+
+        @Schema(description = "청크에 포함된 행 수", example = "500")
+        private int rowCount;
+
+        @Schema(description = "실패 사유", example = "could not execute batch")
+        private String reason;
+    }
+}
@@ -0,0 +1,48 @@
+package com.traficast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 측정값 쓰기 버퍼 상태 응답 DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "측정값 쓰기 버퍼 상태")
+public class IngestBufferStatusResponse {
+
+    @Schema(description = "버퍼 용량", example = "20000")
+    private int capacity;
+
+    @Schema(description = "저장 대기 중인 측정값 수", example = "120")
+    private int queuedCount;
+
+    @Schema(description = "접수된 측정값 누적 수", example = "1500000")
+    private long acceptedCount;
+
+    @Schema(description = "버퍼가 가득 차 거부된 측정값 누적 수(429)", example = "0")
+    private long rejectedCount;
+
+    @Schema(description = "저장 완료된 측정값 누적 수", example = "1499880")
+    private long flushedCount;
+
+    @Schema(description = "재시도 후에도 저장에 실패해 버려진 측정값 누적 수", example = "0")
+    private long droppedCount;
+
+    @Schema(description = "그룹 커밋 횟수", example = "3120")
+    private long flushCount;
+
+    @Schema(description = "마지막 그룹 커밋 크기", example = "480")
+    private int lastFlushSize;
+
+    @Schema(description = "마지막 그룹 커밋 소요 시간(ms)", example = "35")
+    private long lastFlushMillis;
+
+    @Schema(description = "마지막 그룹 커밋 시각", example = "2024-01-15T14:30:00")
+    private LocalDateTime lastFlushAt;
+}
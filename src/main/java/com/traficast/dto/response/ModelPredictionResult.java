@@ -0,0 +1,41 @@
+package com.traficast.dto.response;
+
+import com.traficast.entity.TrafficData;
+import com.traficast.util.PredictionSeries;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 외부 ML 모델 API 예측 응답
+ * ModelResponseDecoder 가 응답 스트림에서 바로 채우며, 모델 버전/이름은 호출한 모델 설정 값으로 채움
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class ModelPredictionResult {
+
+    private String modelVersion;
+    private String modelName;
+    private List<Prediction> predictions;
+
+    // 위치별 예측 값(필수 필드만 있으므로 원시 타입 사용)
+    // 일별/주별 예측은 예측 대상 시간부터의 여러 시점 값(horizon)이 함께 올 수 있음, 단일 시점 예측이면 null
+    @Getter
+    @AllArgsConstructor
+    public static class Prediction {
+        private final long locationId;
+        private final int predictedVehicleCount;
+        private final double predictedSpeed;
+        private final TrafficData.CongestionLevel predictedCongestionLevel;
+        private final double confidenceScore;
+        private final PredictionSeries horizon;
+
+        public Prediction(long locationId, int predictedVehicleCount, double predictedSpeed,
+                          TrafficData.CongestionLevel predictedCongestionLevel, double confidenceScore){
+            this(locationId, predictedVehicleCount, predictedSpeed, predictedCongestionLevel, confidenceScore, null);
+        }
+    }
+}
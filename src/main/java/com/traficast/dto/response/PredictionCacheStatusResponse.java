@@ -0,0 +1,49 @@
+package com.traficast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 예측 결과 캐시 상태 응답 DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "예측 결과 캐시 상태")
+public class PredictionCacheStatusResponse {
+
+    @Schema(description = "캐시 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "현재 항목 수", example = "1200")
+    private int size;
+
+    @Schema(description = "최대 항목 수", example = "10000")
+    private int maxSize;
+
+    @Schema(description = "항목 유지 시간(분)", example = "10")
+    private long ttlMinutes;
+
+    @Schema(description = "누적 적중 수", example = "5400")
+    private long hitCount;
+
+    @Schema(description = "누적 미스 수", example = "600")
+    private long missCount;
+
+    @Schema(description = "적중률(0.0 ~ 1.0)", example = "0.9")
+    private double hitRate;
+
+    @Schema(description = "크기 초과로 제거된 항목 수", example = "0")
+    private long sizeEvictionCount;
+
+    @Schema(description = "TTL 만료로 제거된 항목 수", example = "320")
+    private long expiredEvictionCount;
+
+    @Schema(description = "현재 모델 API 에 요청 중인 항목 수", example = "0")
+    private int inFlightCount;
+
+    @Schema(description = "진행 중인 모델 호출 결과를 공유받은 누적 수", example = "85")
+    private long sharedInFlightCount;
+}
@@ -0,0 +1,51 @@
+package com.traficast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 센서 소켓 연결별 수신 현황 응답 DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "센서 소켓 연결별 수신 현황")
+public class SensorConnectionResponse {
+
+    @Schema(description = "연결 ID", example = "3")
+    private long connectionId;
+
+    @Schema(description = "프로토콜(TCP/UDP)", example = "TCP")
+    private String protocol;
+
+    @Schema(description = "원격 주소", example = "/10.0.3.21:50122")
+    private String remoteAddress;
+
+    @Schema(description = "연결(첫 수신) 시각", example = "2024-01-15T14:00:00")
+    private LocalDateTime connectedAt;
+
+    @Schema(description = "마지막 수신 시각", example = "2024-01-15T14:30:00")
+    private LocalDateTime lastReceivedAt;
+
+    @Schema(description = "수신 바이트 수", example = "1048576")
+    private long bytesReceived;
+
+    @Schema(description = "접수된 측정값 수", example = "24000")
+    private long linesAccepted;
+
+    @Schema(description = "형식/검증 오류로 거부된 줄 수", example = "12")
+    private long linesRejected;
+
+    @Schema(description = "쓰기 버퍼 포화로 지연(TCP)되거나 버려진(UDP) 횟수", example = "0")
+    private long linesThrottled;
+
+    @Schema(description = "연결 이후 초당 접수 측정값 수", example = "13.3")
+    private double linesPerSecond;
+
+    @Schema(description = "쓰기 버퍼 포화로 수신을 일시 중지한 상태인지 여부", example = "false")
+    private boolean paused;
+}
@@ -0,0 +1,60 @@
+package com.traficast.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 비동기 업로드 작업 상태 응답 DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "비동기 업로드 작업 상태")
+public class UploadJobResponse {
+
+    @Schema(description = "작업 ID", example = "upload-1f0c6a2e")
+    private String jobId;
+
+    @Schema(description = "작업 상태", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "데이터 출처", example = "서울시 교통정보센터")
+    private String dataSource;
+
+    @Schema(description = "전체 행 수(알 수 없으면 null)", example = "1000")
+    private Long totalRows;
+
+    @Schema(description = "저장된 행 수", example = "500")
+    private long rowsProcessed;
+
+    @Schema(description = "거부된 행 수", example = "3")
+    private long rowsRejected;
+
+    @Schema(description = "진행률(0.0 ~ 1.0, 알 수 없으면 null)", example = "0.5")
+    private Double progress;
+
+    @Schema(description = "초당 처리 행 수", example = "12000.0")
+    private double rowsPerSecond;
+
+    @Schema(description = "예상 남은 시간(초, 알 수 없으면 null)", example = "42")
+    private Long etaSeconds;
+
+    @Schema(description = "작업 접수 시간", example = "2024-01-15T14:30:00")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "작업 시작 시간", example = "2024-01-15T14:30:01")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "작업 완료 시간", example = "2024-01-15T14:31:00")
+    private LocalDateTime completedAt;
+
+    @Schema(description = "실패 사유(실패 시)")
+    private String errorMessage;
+
+    @Schema(description = "업로드 결과 요약(완료 시)")
+    private DataUploadResponse result;
+}
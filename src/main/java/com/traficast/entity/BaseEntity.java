@@ -18,8 +18,10 @@ import java.time.LocalDateTime;
 @Setter
 public abstract class BaseEntity {
 
+    // IDENTITY 전략은 INSERT 배치를 막으므로 할당 크기 50의 공용 시퀀스를 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "traficast_id_seq")
+    @SequenceGenerator(name = "traficast_id_seq", sequenceName = "traficast_id_seq", allocationSize = 50)
     private Long id;
 
     @CreatedDate
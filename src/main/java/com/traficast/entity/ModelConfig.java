@@ -1,9 +1,12 @@
 package com.traficast.entity;
 
 
+import com.traficast.service.ModelConfigChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name="model_configs", indexes = {
         @Index(name="idx_model_version", columnList = "model_version"),
@@ -14,6 +17,7 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(ModelConfigChangeListener.class)
 public class ModelConfig extends BaseEntity{
 
     @Column(name = "model_name", nullable = false, length = 100)
@@ -33,11 +37,16 @@ public class ModelConfig extends BaseEntity{
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = false;
 
+    // 활성화된 시각(활성 모델이 여러 개면 가장 최근에 활성화된 모델을 사용)
+    @Column(name = "activation_date")
+    private LocalDateTime activationDate;
+
     // 모델 타입 열거형
     public enum ModelType{
         T_GCN("Temoral Graph Convolutional Network"),
         LSTM("Long Short-Term Memory"),
         ARIMA("AutoRegressive Integrated Moving Average"),
+        HOLT_WINTERS("Holt-Winters Exponential Smoothing"),
         PROPHET("Facebook Prophet");
 
         private final String description;
@@ -49,6 +49,14 @@ public class PredictionHistory extends BaseEntity{
     @Enumerated(EnumType.STRING)
     private PredictionType predictionType; // 예측 타입
 
+    @Column(name = "model_version", length = 50)
+    private String modelVersion; // 예측한 모델 버전(기준선 예측은 별도 버전)
+
+    // 일별/주별 예측의 시점별 값(PredictionSeries 인코딩), 위의 예측 값은 첫 시점(예측 대상 시간) 값
+    // 시점마다 행을 만들지 않고 위치/실행마다 한 행에 저장하며, 조회 시 predictionDetails 로 풀어서 반환
+    @Column(name = "predicted_series", length = 4096)
+    private byte[] predictedSeries;
+
     // 검증용 실제 값(나중에 업데이트)
     @Column(name = "actual_vehicle_count")
     private Integer actualVehicleCount; // 실제 값 (검증용)
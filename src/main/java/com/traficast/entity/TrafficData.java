@@ -9,9 +9,12 @@ import java.time.LocalDateTime;
 // 과거 교통량 데이터와 환경 요인을 포함한 종합적인 교통 정보를 저장
 @Entity
 @Table(name = "traffic_data",
+       // 위치/측정 시간이 같은 측정값은 한 행만 허용(upsert 와 중복 필터의 최종 보장)
+       uniqueConstraints = {
+        @UniqueConstraint(name="uk_traffic_data_location_recorded_at",
+            columnNames = {"location_id", "recorded_at"})
+       },
        indexes = {
-        @Index(name="idx_traffic_data_location_datetime",
-            columnList = "location_id, recorded_at"),
         @Index(name="idx_traffic_data_recorded_at",
             columnList = "recorded_at")
        })
@@ -3,6 +3,7 @@ package com.traficast.exception;
 
 import com.traficast.dto.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -112,6 +113,33 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * 측정값 쓰기 버퍼 포화 예외 처리(429 + Retry-After)
+     * 과부하 상황에서 빈번하게 발생하므로 WARN 로그 없이 DEBUG 로만 기록
+     */
+    @ExceptionHandler(IngestBufferFullException.class)
+    public ResponseEntity<ApiResponse<Map<String, Object>>> handleIngestBufferFullException(
+            IngestBufferFullException ex, WebRequest request
+    ){
+        log.debug("측정값 버퍼 포화: {} | 요청: {}", ex.getMessage(), request.getDescription(false));
+
+        Map<String, Object> errorDetails = new HashMap<>();
+        errorDetails.put("capacity", ex.getCapacity());
+        errorDetails.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+
+        ApiResponse<Map<String, Object>> response = ApiResponse.<Map<String, Object>>builder()
+                .success(false)
+                .message(ex.getMessage())
+                .errorCode("INGEST_BUFFER_FULL")
+                .errorDetails(errorDetails)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * 예측 관련 예외 처리
      */
@@ -133,7 +161,11 @@ public class GlobalExceptionHandler {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        // 처리 대기열 포화는 일시적이므로 503 으로 재시도 유도
+        HttpStatus status = PredictionException.OVERLOADED.equals(ex.getErrorCode())
+                ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(response);
     }
 
     /**
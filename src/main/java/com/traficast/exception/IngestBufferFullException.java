@@ -0,0 +1,23 @@
+package com.traficast.exception;
+
+
+import lombok.Getter;
+
+/**
+ * 측정값 쓰기 버퍼가 가득 차 새 측정값을 받을 수 없을 때 발생하는 예외
+ * 429 Too Many Requests 와 Retry-After 헤더로 변환됨
+ * 과부하 상황에서 요청마다 생성되므로 스택 트레이스는 수집하지 않음
+ */
+@Getter
+public class IngestBufferFullException extends RuntimeException{
+
+    private final int capacity;
+    private final long retryAfterSeconds;
+
+    public IngestBufferFullException(int capacity, long retryAfterSeconds){
+        super(String.format("측정값 버퍼가 가득 찼습니다(용량 %d). %d초 후 다시 시도하세요.", capacity, retryAfterSeconds),
+                null, false, false);
+        this.capacity = capacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,58 @@
+package com.traficast.exception;
+
+/**
+ * 외부 ML 모델 API 호출 실패
+ * retryable 은 같은 요청을 다시 보내면 성공할 수 있는 오류인지(통신 오류, 타임아웃, 5xx, 408/429) 나타냄
+ * 서킷 브레이커가 열려 호출 자체를 하지 않은 경우 circuitOpen 이 true
+ */
+public class ModelApiException extends RuntimeException{
+
+    private final boolean retryable;
+    private final boolean circuitOpen;
+
+    public ModelApiException(String message, boolean retryable, Throwable cause){
+        super(message, cause);
+        this.retryable = retryable;
+        this.circuitOpen = false;
+    }
+
+    private ModelApiException(String message){
+        super(message);
+        this.retryable = false;
+        this.circuitOpen = true;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
+    /**
+     * HTTP 오류 응답
+     */
+    public static ModelApiException httpError(int status, String responseBody, Throwable cause){
+        boolean serverError = status >= 500;
+        return new ModelApiException(
+                (serverError ? "모델 API 서버 오류: " : "모델 API 클라이언트 오류: ") + responseBody,
+                serverError || status == 408 || status == 429,
+                cause
+        );
+    }
+
+    /**
+     * 연결 실패, 응답 지연 등 통신 오류
+     */
+    public static ModelApiException ioFailure(Throwable cause){
+        return new ModelApiException("모델 API 호출 실패: " + cause.getMessage(), true, cause);
+    }
+
+    /**
+     * 서킷 브레이커가 열려 호출하지 않음
+     */
+    public static ModelApiException circuitOpen(){
+        return new ModelApiException("모델 API 서킷 브레이커가 열려 있어 호출하지 않았습니다.");
+    }
+}
@@ -11,6 +11,8 @@ import java.util.List;
  */
 public class PredictionException extends RuntimeException{
 
+    public static final String OVERLOADED = "PREDICTION_OVERLOADED";
+
     private final List<Long> locationIds;
     private final PredictionHistory.PredictionType predictionType;
     private final String modelVersion;
@@ -96,4 +98,19 @@ public class PredictionException extends RuntimeException{
                 "PROCESSING_ERROR"
         );
     }
+
+    /**
+     * 비동기 예측 처리 대기열 포화
+     */
+    public static PredictionException overloaded(List<Long> locationIds,
+                                                 PredictionHistory.PredictionType predictionType,
+                                                 String modelVersion){
+        return new PredictionException(
+                "예측 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도하세요.",
+                locationIds,
+                predictionType,
+                modelVersion,
+                OVERLOADED
+        );
+    }
 }
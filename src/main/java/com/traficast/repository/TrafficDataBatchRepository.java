@@ -0,0 +1,38 @@
+package com.traficast.repository;
+
+import com.traficast.entity.TrafficData;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+// 대량 적재를 위한 교통 데이터 배치 저장 기능
+public interface TrafficDataBatchRepository {
+
+    /**
+     * 교통 데이터 청크를 JDBC 배치로 저장합니다.
+     * 청크 저장 후 영속성 컨텍스트를 비워 메모리 사용량을 일정하게 유지합니다.
+     * @param chunk 저장할 교통 데이터 청크
+     * @return 저장된 행 수
+     */
+    int batchInsert(List<TrafficData> chunk);
+
+    /**
+     * (location_id, recorded_at) 기준으로 교통 데이터 청크를 upsert 합니다.
+     * 청크 내 중복 키는 마지막 값만 남기고, 기존 행은 값이 다를 때만 갱신합니다.
+     * @param chunk 저장할 교통 데이터 청크
+     * @param mightExist 기존 행이 있을 수 있는지 판단하는 사전 필터(false면 DB 확인 없이 INSERT)
+     * @return INSERT/UPDATE/중복 건수
+     */
+    UpsertResult batchUpsert(List<TrafficData> chunk, Predicate<TrafficData> mightExist);
+
+    @Getter
+    @AllArgsConstructor
+    class UpsertResult {
+        private final int insertedCount;
+        private final int updatedCount;
+        private final int duplicateCount; // 변경 없이 건너뛴 중복 건수
+        private final int lookupCount; // DB에서 존재 여부를 확인한 건수
+    }
+}
@@ -0,0 +1,150 @@
+package com.traficast.repository;
+
+import com.traficast.entity.TrafficData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * TrafficDataBatchRepository 구현체
+ * SEQUENCE 기반 ID와 hibernate.jdbc.batch_size 설정을 이용해 청크 단위로 다중 행 INSERT 배치를 전송
+ */
+@Slf4j
+public class TrafficDataBatchRepositoryImpl implements TrafficDataBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int batchInsert(List<TrafficData> chunk) {
+        if(chunk == null || chunk.isEmpty()){
+            return 0;
+        }
+
+        for(TrafficData trafficData : chunk){
+            entityManager.persist(trafficData);
+        }
+
+        // 청크 단위로 배치 INSERT 실행 후 1차 캐시 정리
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("교통 데이터 배치 저장 완료: {}건", chunk.size());
+        return chunk.size();
+    }
+
+    @Override
+    @Transactional
+    public UpsertResult batchUpsert(List<TrafficData> chunk, Predicate<TrafficData> mightExist) {
+        if(chunk == null || chunk.isEmpty()){
+            return new UpsertResult(0, 0, 0, 0);
+        }
+
+        // 1. 청크 내 중복 키 제거(나중 값 우선)
+        Map<ReadingKey, TrafficData> unique = new LinkedHashMap<>();
+        for(TrafficData trafficData : chunk){
+            unique.put(ReadingKey.of(trafficData), trafficData);
+        }
+        int duplicateCount = chunk.size() - unique.size();
+
+        // 2. 사전 필터로 확실히 새로운 값과 확인이 필요한 값 분리
+        List<TrafficData> inserts = new ArrayList<>();
+        Map<Long, List<TrafficData>> suspectsByLocation = new HashMap<>();
+        for(TrafficData trafficData : unique.values()){
+            if(mightExist.test(trafficData)){
+                suspectsByLocation.computeIfAbsent(trafficData.getLocation().getId(), id -> new ArrayList<>())
+                        .add(trafficData);
+            }else{
+                inserts.add(trafficData);
+            }
+        }
+
+        // 3. 확인이 필요한 값은 위치별 한 번의 조회로 기존 행 확인
+        int updatedCount = 0;
+        int lookupCount = 0;
+        for(Map.Entry<Long, List<TrafficData>> entry : suspectsByLocation.entrySet()){
+            List<TrafficData> suspects = entry.getValue();
+            lookupCount += suspects.size();
+
+            Map<LocalDateTime, TrafficData> existing = new HashMap<>();
+            entityManager.createQuery(
+                            "SELECT td FROM TrafficData td " +
+                                    "WHERE td.location.id = :locationId AND td.recordedAt IN :recordedTimes",
+                            TrafficData.class)
+                    .setParameter("locationId", entry.getKey())
+                    .setParameter("recordedTimes", suspects.stream().map(TrafficData::getRecordedAt).toList())
+                    .getResultList()
+                    .forEach(td -> existing.putIfAbsent(td.getRecordedAt(), td));
+
+            for(TrafficData incoming : suspects){
+                TrafficData current = existing.get(incoming.getRecordedAt());
+                if(current == null){
+                    inserts.add(incoming);
+                }else if(copyIfChanged(incoming, current)){
+                    updatedCount++;
+                }else{
+                    duplicateCount++;
+                }
+            }
+        }
+
+        // 4. 신규 행 INSERT 및 변경된 기존 행 UPDATE 를 한 번에 배치 실행
+        for(TrafficData trafficData : inserts){
+            entityManager.persist(trafficData);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        log.debug("교통 데이터 upsert 완료: INSERT {}건, UPDATE {}건, 중복 {}건, DB 확인 {}건",
+                inserts.size(), updatedCount, duplicateCount, lookupCount);
+        return new UpsertResult(inserts.size(), updatedCount, duplicateCount, lookupCount);
+    }
+
+    /**
+     * 측정값이 다르면 기존 행에 복사합니다.
+     * @return 변경 여부
+     */
+    private boolean copyIfChanged(TrafficData source, TrafficData target){
+        boolean changed = !Objects.equals(source.getVehicleCount(), target.getVehicleCount())
+                || !Objects.equals(source.getAverageSpeed(), target.getAverageSpeed())
+                || source.getCongestionLevel() != target.getCongestionLevel()
+                || !Objects.equals(source.getWeatherCondition(), target.getWeatherCondition())
+                || !Objects.equals(source.getTemperature(), target.getTemperature())
+                || !Objects.equals(source.getHumidity(), target.getHumidity())
+                || !Objects.equals(source.getVisibility(), target.getVisibility())
+                || !Objects.equals(source.getIsHoliday(), target.getIsHoliday())
+                || !Objects.equals(source.getDayOfWeek(), target.getDayOfWeek())
+                || !Objects.equals(source.getHourOfDay(), target.getHourOfDay());
+
+        if(changed){
+            target.setVehicleCount(source.getVehicleCount());
+            target.setAverageSpeed(source.getAverageSpeed());
+            target.setCongestionLevel(source.getCongestionLevel());
+            target.setWeatherCondition(source.getWeatherCondition());
+            target.setTemperature(source.getTemperature());
+            target.setHumidity(source.getHumidity());
+            target.setVisibility(source.getVisibility());
+            target.setIsHoliday(source.getIsHoliday());
+            target.setDayOfWeek(source.getDayOfWeek());
+            target.setHourOfDay(source.getHourOfDay());
+        }
+        return changed;
+    }
+
+    private record ReadingKey(Long locationId, LocalDateTime recordedAt) {
+        private static ReadingKey of(TrafficData trafficData){
+            return new ReadingKey(trafficData.getLocation().getId(), trafficData.getRecordedAt());
+        }
+    }
+}
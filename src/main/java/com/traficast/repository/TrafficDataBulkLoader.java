@@ -0,0 +1,279 @@
+package com.traficast.repository;
+
+import com.traficast.entity.TrafficData;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 교통 데이터 대량 적재기
+ * PostgreSQL 에서는 드라이버의 CopyManager 로 COPY FROM STDIN 스트림을 보내고,
+ * H2 에서는 JPA 를 거치지 않는 JDBC 배치 INSERT 로, 그 밖의 DB 에서는 TrafficDataBatchRepository 로 저장
+ *
+ * ID 는 Hibernate(pooled 최적화)와 같은 방식으로 traficast_id_seq 값 하나당 50개 블록을 예약해 채우므로
+ * 엔티티 저장과 섞여도 ID 가 겹치지 않음
+ * 호출자의 트랜잭션 안에서 같은 커넥션을 사용
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TrafficDataBulkLoader {
+
+    // BaseEntity 의 @SequenceGenerator allocationSize 와 같아야 함
+    static final int ID_ALLOCATION_SIZE = 50;
+    private static final String ID_SEQUENCE = "traficast_id_seq";
+
+    private static final String COLUMNS = "id, location_id, recorded_at, vehicle_count, average_speed, congestion_level, "
+            + "weather_condition, temperature, humidity, visibility, is_holiday, day_of_week, hour_of_day, "
+            + "created_at, updated_at, is_deleted";
+    private static final String COPY_SQL = "COPY traffic_data (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+    private static final String INSERT_SQL = "INSERT INTO traffic_data (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // COPY 스트림을 이 크기 단위로 나눠 전송
+    private static final int COPY_WRITE_CHUNK_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrafficDataRepository trafficDataRepository;
+
+    @Value("${upload.bulk-loader.strategy:auto}")
+    private String configuredStrategy;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int jdbcBatchSize;
+
+    private Strategy strategy;
+    private boolean postgres;
+    private String idSequenceSql;
+
+    public enum Strategy {
+        COPY, // PostgreSQL COPY FROM STDIN
+        JDBC_BATCH, // JPA 를 거치지 않는 JDBC 배치 INSERT
+        JPA // TrafficDataBatchRepository.batchInsert
+    }
+
+    @PostConstruct
+    void init(){
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        String normalized = product == null ? "" : product.toLowerCase(Locale.ROOT);
+
+        postgres = normalized.contains("postgresql");
+        if(postgres){
+            idSequenceSql = "SELECT nextval('" + ID_SEQUENCE + "') FROM generate_series(1, ?)";
+        }else if(normalized.contains("h2")){
+            idSequenceSql = "SELECT NEXT VALUE FOR " + ID_SEQUENCE + " FROM SYSTEM_RANGE(1, ?)";
+        }
+
+        Strategy detected = postgres ? Strategy.COPY
+                : idSequenceSql != null ? Strategy.JDBC_BATCH : Strategy.JPA;
+        strategy = "auto".equalsIgnoreCase(configuredStrategy)
+                ? detected
+                : Strategy.valueOf(configuredStrategy.trim().toUpperCase(Locale.ROOT));
+
+        if(!isSupported(strategy)){
+            log.warn("대량 적재 방식 {} 은(는) {} 에서 지원되지 않아 {} 로 대체", strategy, product, detected);
+            strategy = detected;
+        }
+        log.info("교통 데이터 대량 적재 방식: {} (DB: {})", strategy, product);
+    }
+
+    public Strategy getStrategy(){
+        return strategy;
+    }
+
+    /**
+     * 설정된 방식으로 교통 데이터 청크를 저장합니다.
+     * 저장된 엔티티에는 예약한 ID 와 생성/수정 시각이 채워짐
+     * @return 저장된 행 수
+     */
+    public int load(List<TrafficData> chunk){
+        return load(chunk, strategy);
+    }
+
+    int load(List<TrafficData> chunk, Strategy strategy){
+        if(chunk == null || chunk.isEmpty()){
+            return 0;
+        }
+        if(!isSupported(strategy)){
+            throw new IllegalStateException("현재 데이터베이스에서 지원하지 않는 대량 적재 방식입니다: " + strategy);
+        }
+
+        if(strategy == Strategy.JPA){
+            return trafficDataRepository.batchInsert(chunk);
+        }
+
+        assignIds(chunk);
+        int loaded = strategy == Strategy.COPY ? copy(chunk) : batchInsert(chunk);
+        log.debug("교통 데이터 대량 적재 완료({}): {}건", strategy, loaded);
+        return loaded;
+    }
+
+    boolean isSupported(Strategy strategy){
+        return switch (strategy){
+            case COPY -> postgres;
+            case JDBC_BATCH -> idSequenceSql != null;
+            case JPA -> true;
+        };
+    }
+
+    /**
+     * 시퀀스 값 하나당 (값 - 49 ~ 값) 구간을 사용합니다. Hibernate pooled 최적화와 같은 해석이라 서로 겹치지 않음
+     * 새 시퀀스의 첫 값(1)처럼 구간 하한이 1보다 작은 값은 버림
+     */
+    private void assignIds(List<TrafficData> chunk){
+        LocalDateTime now = LocalDateTime.now();
+        int assigned = 0;
+
+        while(assigned < chunk.size()){
+            int blocks = (chunk.size() - assigned + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+            List<Long> hiValues = jdbcTemplate.queryForList(idSequenceSql, Long.class, blocks);
+
+            for(Long hi : hiValues){
+                long low = hi - ID_ALLOCATION_SIZE + 1;
+                if(low < 1){
+                    continue;
+                }
+                for(long id = low; id <= hi && assigned < chunk.size(); id++){
+                    TrafficData data = chunk.get(assigned++);
+                    data.setId(id);
+                    data.setCreatedAt(now);
+                    data.setUpdatedAt(now);
+                    if(data.getIsDeleted() == null){
+                        data.setIsDeleted(false);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * CSV 형식의 COPY FROM STDIN 으로 저장합니다.
+     * 따옴표 없는 빈 값은 NULL, 문자열은 항상 따옴표로 감싸 빈 문자열과 구분
+     */
+    private int copy(List<TrafficData> chunk){
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try{
+                StringBuilder sb = new StringBuilder(COPY_WRITE_CHUNK_CHARS + 512);
+                for(TrafficData data : chunk){
+                    appendCsvRow(sb, data);
+                    if(sb.length() >= COPY_WRITE_CHUNK_CHARS){
+                        writeToCopy(copyIn, sb);
+                    }
+                }
+                writeToCopy(copyIn, sb);
+                return copyIn.endCopy();
+            }finally {
+                if(copyIn.isActive()){
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return copied == null ? 0 : copied.intValue();
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder sb) throws SQLException {
+        if(sb.isEmpty()){
+            return;
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        sb.setLength(0);
+    }
+
+    private static void appendCsvRow(StringBuilder sb, TrafficData data){
+        sb.append(data.getId()).append(',');
+        sb.append(data.getLocation().getId()).append(',');
+        sb.append(data.getRecordedAt()).append(',');
+        sb.append(data.getVehicleCount()).append(',');
+        appendNullable(sb, data.getAverageSpeed());
+        appendNullable(sb, data.getCongestionLevel() == null ? null : data.getCongestionLevel().name());
+        appendQuoted(sb, data.getWeatherCondition());
+        appendNullable(sb, data.getTemperature());
+        appendNullable(sb, data.getHumidity());
+        appendNullable(sb, data.getVisibility());
+        appendNullable(sb, data.getIsHoliday());
+        appendNullable(sb, data.getDayOfWeek());
+        appendNullable(sb, data.getHourOfDay());
+        sb.append(data.getCreatedAt()).append(',');
+        sb.append(data.getUpdatedAt()).append(',');
+        sb.append(data.getIsDeleted()).append('\n');
+    }
+
+    private static void appendNullable(StringBuilder sb, Object value){
+        if(value != null){
+            sb.append(value);
+        }
+        sb.append(',');
+    }
+
+    private static void appendQuoted(StringBuilder sb, String value){
+        if(value != null){
+            sb.append('"');
+            for(int i = 0; i < value.length(); i++){
+                char c = value.charAt(i);
+                if(c == '"'){
+                    sb.append('"');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        }
+        sb.append(',');
+    }
+
+    private int batchInsert(List<TrafficData> chunk){
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, chunk, jdbcBatchSize, TrafficDataBulkLoader::bind);
+
+        int inserted = 0;
+        for(int[] batch : counts){
+            for(int count : batch){
+                // 드라이버가 건수를 알려주지 않으면(SUCCESS_NO_INFO) 1건으로 계산
+                inserted += count < 0 ? 1 : count;
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, TrafficData data) throws SQLException {
+        ps.setLong(1, data.getId());
+        ps.setLong(2, data.getLocation().getId());
+        ps.setTimestamp(3, Timestamp.valueOf(data.getRecordedAt()));
+        ps.setInt(4, data.getVehicleCount());
+        setNullable(ps, 5, data.getAverageSpeed(), Types.DOUBLE);
+        setNullable(ps, 6, data.getCongestionLevel() == null ? null : data.getCongestionLevel().name(), Types.VARCHAR);
+        setNullable(ps, 7, data.getWeatherCondition(), Types.VARCHAR);
+        setNullable(ps, 8, data.getTemperature(), Types.DOUBLE);
+        setNullable(ps, 9, data.getHumidity(), Types.DOUBLE);
+        setNullable(ps, 10, data.getVisibility(), Types.DOUBLE);
+        setNullable(ps, 11, data.getIsHoliday(), Types.BOOLEAN);
+        setNullable(ps, 12, data.getDayOfWeek(), Types.INTEGER);
+        setNullable(ps, 13, data.getHourOfDay(), Types.INTEGER);
+        ps.setTimestamp(14, Timestamp.valueOf(data.getCreatedAt()));
+        ps.setTimestamp(15, Timestamp.valueOf(data.getUpdatedAt()));
+        ps.setBoolean(16, data.getIsDeleted());
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if(value == null){
+            ps.setNull(index, sqlType);
+        }else{
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
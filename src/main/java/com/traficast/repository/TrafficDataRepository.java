@@ -11,11 +11,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TrafficDataRepository extends JpaRepository<TrafficData, Long> {
+public interface TrafficDataRepository extends JpaRepository<TrafficData, Long>, TrafficDataBatchRepository {
 
     /**
      * 특정 위치의 최신 교통 데이터 조회
@@ -91,6 +92,39 @@ public interface TrafficDataRepository extends JpaRepository<TrafficData, Long>
             @Param("endDate") LocalDateTime endDate
     );
 
+    /**
+     * 전체 위치의 요일-시간대(주간 168개 시간대)별 교통량/속도 합계와 건수 조회(기준선 예측 프로파일용)
+     * 위치마다 시간대별/요일별 평균을 따로 조회하지 않고 한 번의 집계로 가져옴
+     * @param since 집계 시작 시간
+     * @return [위치 ID, 요일(1~7), 시간(0~23), 차량 수 합계, 차량 수 건수, 속도 합계, 속도 건수] 배열 목록
+     */
+    @Query("SELECT td.location.id, td.dayOfWeek, td.hourOfDay, " +
+            "SUM(td.vehicleCount), COUNT(td.vehicleCount), SUM(td.averageSpeed), COUNT(td.averageSpeed) " +
+            "FROM TrafficData td " +
+            "WHERE td.recordedAt >= :since " +
+            "AND td.dayOfWeek IS NOT NULL " +
+            "AND td.hourOfDay IS NOT NULL " +
+            "GROUP BY td.location.id, td.dayOfWeek, td.hourOfDay")
+    List<Object[]> findHourOfWeekTotalsSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 여러 위치의 시간 단위 평균 시계열 조회(내장 예측 엔진 학습용)
+     * @param locationIds 조회할 위치 ID 목록
+     * @param since 시작 시간
+     * @return [위치 ID, 날짜, 시간(0~23), 평균 차량 수, 평균 속도] 배열 목록
+     */
+    @Query("SELECT td.location.id, CAST(td.recordedAt AS LocalDate), td.hourOfDay, " +
+            "AVG(td.vehicleCount), AVG(td.averageSpeed) " +
+            "FROM TrafficData td " +
+            "WHERE td.location.id IN :locationIds " +
+            "AND td.recordedAt >= :since " +
+            "AND td.hourOfDay IS NOT NULL " +
+            "GROUP BY td.location.id, CAST(td.recordedAt AS LocalDate), td.hourOfDay")
+    List<Object[]> findHourlySeriesByLocationIdsSince(
+            @Param("locationIds") List<Long> locationIds,
+            @Param("since") LocalDateTime since
+    );
+
     /**
      * 날씨별 교통 패턴 분석
      * @param location 조회할 위치
@@ -125,5 +159,31 @@ public interface TrafficDataRepository extends JpaRepository<TrafficData, Long>
             @Param("endDate") LocalDateTime endDate
     );
 
+    /**
+     * 특정 위치의 기준 시각 이후 측정 시각 목록 조회(중복 필터 초기화용)
+     * @param locationId 위치 ID
+     * @param since 기준 시각
+     * @return 측정 시각 목록
+     */
+    @Query("SELECT td.recordedAt FROM TrafficData td " +
+            "WHERE td.location.id = :locationId " +
+            "AND td.recordedAt >= :since")
+    List<LocalDateTime> findRecordedAtByLocationIdSince(
+            @Param("locationId") Long locationId,
+            @Param("since") LocalDateTime since
+    );
 
+    /**
+     * 특정 위치에서 주어진 측정 시각 중 이미 저장된 값 조회(일반 업로드의 중복 행 확인용)
+     * @param locationId 위치 ID
+     * @param recordedTimes 확인할 측정 시각
+     * @return 이미 저장된 측정 시각 목록
+     */
+    @Query("SELECT td.recordedAt FROM TrafficData td " +
+            "WHERE td.location.id = :locationId " +
+            "AND td.recordedAt IN :recordedTimes")
+    List<LocalDateTime> findRecordedAtByLocationIdAndRecordedAtIn(
+            @Param("locationId") Long locationId,
+            @Param("recordedTimes") Collection<LocalDateTime> recordedTimes
+    );
 }
@@ -0,0 +1,199 @@
+package com.traficast.service;
+
+import com.traficast.entity.ModelConfig;
+import com.traficast.repository.ModelConfigRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 활성 모델 설정 레지스트리
+ * 활성 모델을 한 번 조회해 메모리에 두고, 예측 요청은 volatile 읽기만으로 가져감(DB 조회, 락 없음)
+ * ModelConfig 가 저장/수정/삭제되면 커밋 뒤에 무효화되어 다음 조회 시 다시 읽고,
+ * DB 를 직접 수정한 경우에 대비해 refresh-interval-ms 마다 주기적으로 다시 읽음
+ * 같은 모델 타입/버전으로 활성화된 설정이 여러 개면 각 api_endpoint 를 같은 모델의 복제본으로 보고
+ * 엔드포인트 목록을 함께 제공(ModelEndpointPool 이 부하 분산)
+ * 반환하는 ModelConfig 는 여러 요청이 공유하는 준영속 객체이므로 수정하면 안 됨
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveModelRegistry {
+
+    private final ModelConfigRepository modelConfigRepository;
+
+    @Value("${model.api.default-url:http://localhost:8000/predict}")
+    private String defaultModelApiUrl;
+
+    // 활성 모델과 복제본 엔드포인트를 함께 교체(읽는 쪽에서 둘이 어긋나지 않도록)
+    private volatile Active active;
+    private volatile boolean invalidated;
+
+    // 활성 모델이 없을 때 사용하는 기본 설정(한 번만 생성)
+    private volatile ModelConfig defaultModel;
+
+    private record Active(ModelConfig model, List<String> endpoints) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void init(){
+        refresh();
+    }
+
+    /**
+     * 현재 활성 모델 설정을 반환합니다.
+     * 아직 읽지 않았거나 무효화된 경우에만 DB 를 조회
+     */
+    public ModelConfig getActiveModel(){
+        return current().model();
+    }
+
+    /**
+     * 모델의 복제본 엔드포인트 목록을 반환합니다(첫 번째가 활성 모델 자신의 엔드포인트).
+     * 주기적 갱신으로 엔티티 객체가 바뀌어도 ID/버전이 같으면 같은 모델로 봄(진행 중인 요청이 이전 객체를 들고 있어도
+     * 복제본 목록을 그대로 받아 ModelEndpointPool 의 복제본 상태가 초기화되지 않도록)
+     * 현재 활성 모델이 아닌 설정(교체 직전에 조회한 다른 버전 등)이면 그 설정의 엔드포인트 하나만 반환
+     */
+    public List<String> getEndpoints(ModelConfig model){
+        Active current = current();
+        return isSameModel(current.model(), model) ? current.endpoints() : List.of(endpointOf(model));
+    }
+
+    // 기본 설정(ID 없음)은 객체 자체로, DB 설정은 ID 와 버전으로 비교
+    private static boolean isSameModel(ModelConfig a, ModelConfig b){
+        if(a == b){
+            return true;
+        }
+        return a != null && b != null && a.getId() != null && a.getId().equals(b.getId())
+                && Objects.equals(a.getModelVersion(), b.getModelVersion());
+    }
+
+    private Active current(){
+        Active current = active;
+        if(current == null || invalidated){
+            return loadIfStale();
+        }
+        return current;
+    }
+
+    // 무효화 직후 몰린 요청 중 첫 요청만 조회하고 나머지는 그 결과를 사용
+    private synchronized Active loadIfStale(){
+        Active current = active;
+        if(current != null && !invalidated){
+            return current;
+        }
+        refresh();
+        return active;
+    }
+
+    /**
+     * DB 에서 활성 모델을 다시 읽습니다.
+     * 조회에 실패하면 이전 설정을 유지(처음이면 기본 설정 사용)
+     */
+    public synchronized ModelConfig refresh(){
+        ModelConfig previous = active == null ? null : active.model();
+        invalidated = false;
+        try{
+            ModelConfig loaded = modelConfigRepository.findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc()
+                    .orElse(null);
+            if(loaded == null){
+                if(previous == null || previous.getId() != null){
+                    log.warn("활성화된 모델을 찾을 수 없습니다. 기본 모델 설정을 사용합니다.");
+                }
+                loaded = getDefaultModel();
+            }else if(previous == null || !loaded.getId().equals(previous.getId())
+                    || !loaded.getModelVersion().equals(previous.getModelVersion())){
+                log.info("활성 모델 변경: {} {} (ID: {})", loaded.getModelName(), loaded.getModelVersion(), loaded.getId());
+            }
+            List<String> endpoints = loadEndpoints(loaded);
+            Active current = active;
+            if(current != null && isSameModel(current.model(), loaded)
+                    && Objects.equals(current.model().getUpdatedAt(), loaded.getUpdatedAt())
+                    && endpoints.equals(current.endpoints())){
+                // 설정과 엔드포인트가 그대로면 기존 객체를 유지(새로 읽은 준영속 객체로 바꿀 이유 없음)
+                return current.model();
+            }
+            if(current == null || !endpoints.equals(current.endpoints())){
+                log.info("모델 엔드포인트 {}개: {}", endpoints.size(), endpoints);
+            }
+            active = new Active(loaded, endpoints);
+            return loaded;
+        }catch (Exception e){
+            log.error("활성 모델 조회 실패, 이전 설정을 유지합니다: {}", e.getMessage());
+            if(previous == null){
+                previous = getDefaultModel();
+                active = new Active(previous, List.of(endpointOf(previous)));
+            }
+            return previous;
+        }
+    }
+
+    // 활성 모델과 타입/버전이 같은 활성 설정의 엔드포인트(중복 제거, 활성 모델 자신이 첫 번째)
+    private List<String> loadEndpoints(ModelConfig model){
+        Set<String> endpoints = new LinkedHashSet<>();
+        endpoints.add(endpointOf(model));
+        if(model.getId() != null){
+            for(ModelConfig replica : modelConfigRepository.findByIsActiveTrueAndIsDeletedFalseOrderByCreatedAtDesc()){
+                if(replica.getModelType() == model.getModelType()
+                        && model.getModelVersion().equals(replica.getModelVersion())
+                        && replica.getApiEndpoint() != null && !replica.getApiEndpoint().isBlank()){
+                    endpoints.add(replica.getApiEndpoint().trim());
+                }
+            }
+        }
+        return List.copyOf(endpoints);
+    }
+
+    private String endpointOf(ModelConfig model){
+        String endpoint = model.getApiEndpoint();
+        return endpoint == null || endpoint.isBlank() ? defaultModelApiUrl : endpoint.trim();
+    }
+
+    /**
+     * 활성 모델 설정이 바뀌었음을 알립니다.
+     * 트랜잭션 안이면 커밋된 뒤에 무효화(커밋 전 값을 읽지 않도록), 롤백되면 무시
+     */
+    public void invalidate(){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidated = true;
+                }
+            });
+        }else{
+            invalidated = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${model.registry.refresh-interval-ms:30000}",
+            initialDelayString = "${model.registry.refresh-interval-ms:30000}")
+    void scheduledRefresh(){
+        refresh();
+    }
+
+    private ModelConfig getDefaultModel(){
+        ModelConfig model = defaultModel;
+        if(model == null){
+            model = ModelConfig.builder()
+                    .modelName("Default Traffic Predictor")
+                    .modelVersion("1.0.0")
+                    .apiEndpoint(defaultModelApiUrl)
+                    .isActive(true)
+                    .build();
+            defaultModel = model;
+        }
+        return model;
+    }
+}
@@ -0,0 +1,329 @@
+package com.traficast.service;
+
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.TrafficDataRepository;
+import com.traficast.util.PredictionSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주간 시간대(요일 x 시간, 168개) 프로파일 기반 기준선 예측기
+ * 최근 history-days 일의 traffic_data 를 위치별 요일-시간대 평균으로 미리 집계해 두고,
+ * 예측은 배열 조회만 하므로 DB/네트워크 없이 위치 당 수 마이크로초에 끝남
+ * 모델 API 가 지연 예산을 넘기거나 장애일 때 TrafficPredictionService 가 대체 예측으로 사용하며,
+ * 결과는 별도 모델 버전(prediction.fallback.model-version)으로 저장되어 모델 예측과 구분됨
+ *
+ * 데이터가 없는 시간대는 같은 위치의 시간대 평균 → 위치 전체 평균 → 전체 위치 프로파일 순으로 채우고,
+ * 채운 단계가 낮을수록 신뢰도를 낮게 매김
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BaselinePredictor {
+
+    static final int HOURS_PER_WEEK = 7 * 24;
+
+    private static final double CELL_CONFIDENCE = 0.6;
+    private static final double HOUR_OF_DAY_CONFIDENCE = 0.45;
+    private static final double LOCATION_CONFIDENCE = 0.3;
+    private static final double GLOBAL_CONFIDENCE = 0.2;
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${prediction.fallback.enabled:true}")
+    private boolean fallbackEnabled;
+
+    @Value("${prediction.fallback.model-version:baseline-how-1}")
+    private String modelVersion;
+
+    @Value("${prediction.fallback.history-days:28}")
+    private int historyDays;
+
+    // 위치별 프로파일 스냅샷(새로 집계하면 통째로 교체, 읽기는 락 없음)
+    private volatile Profiles profiles;
+
+    private Counter fallbackCounter;
+
+    // global: 데이터가 없는 위치에 사용할 전체 위치 프로파일
+    private record Profiles(Map<Long, Profile> byLocation, Profile global, LocalDateTime builtAt) {
+    }
+
+    /**
+     * 주간 시간대별 예측 값(인덱스 = (요일-1) * 24 + 시간)
+     */
+    record Profile(double[] vehicleCounts, double[] speeds, double[] confidences,
+                   TrafficData.CongestionLevel[] congestionLevels) {
+    }
+
+    @PostConstruct
+    void init(){
+        fallbackCounter = Counter.builder("prediction.fallback.predictions")
+                .description("기준선 예측으로 대체한 위치 수").register(meterRegistry);
+    }
+
+    public boolean isFallbackEnabled(){
+        return fallbackEnabled;
+    }
+
+    public String getModelVersion(){
+        return modelVersion;
+    }
+
+    /**
+     * 위치별 기준선 예측을 반환합니다. 프로파일이 아직 없으면 먼저 집계
+     * 학습 데이터가 전혀 없으면(전체 프로파일도 없음) 해당 위치는 결과에서 빠짐
+     */
+    public ModelPredictionResult predict(List<Long> locationIds, LocalDateTime targetDatetime){
+        return predict(locationIds, targetDatetime, 1, 60);
+    }
+
+    /**
+     * 대상 시간부터 stepMinutes 간격으로 points 개 시점을 예측합니다(일별/주별 예측).
+     * 위치별 결과의 값은 첫 시점, 시점별 값은 horizon 에 담김(points 가 1 이하면 단일 시점 예측)
+     */
+    public ModelPredictionResult predict(List<Long> locationIds, LocalDateTime targetDatetime,
+                                         int points, int stepMinutes){
+        Profiles current = profiles;
+        if(current == null){
+            current = loadIfAbsent();
+        }
+
+        int slot = hourOfWeek(targetDatetime);
+        int[] horizonSlots = null;
+        if(points > 1){
+            horizonSlots = new int[points];
+            for(int i = 0; i < points; i++){
+                horizonSlots[i] = hourOfWeek(targetDatetime.plusMinutes((long) i * stepMinutes));
+            }
+        }
+
+        List<ModelPredictionResult.Prediction> predictions = new ArrayList<>(locationIds.size());
+        for(Long locationId : locationIds){
+            Profile profile = current.byLocation().getOrDefault(locationId, current.global());
+            if(profile == null){
+                continue;
+            }
+            predictions.add(new ModelPredictionResult.Prediction(
+                    locationId,
+                    (int) Math.round(profile.vehicleCounts()[slot]),
+                    profile.speeds()[slot],
+                    profile.congestionLevels()[slot],
+                    profile.confidences()[slot],
+                    horizonSlots == null ? null : horizon(profile, horizonSlots, stepMinutes)));
+        }
+        fallbackCounter.increment(predictions.size());
+        return new ModelPredictionResult(modelVersion, "Hour-of-week Baseline", predictions);
+    }
+
+    /**
+     * 최근 history-days 일 데이터로 프로파일을 다시 집계합니다.
+     */
+    @Scheduled(initialDelayString = "${prediction.fallback.profile-initial-delay-ms:10000}",
+            fixedDelayString = "${prediction.fallback.profile-refresh-interval-ms:3600000}")
+    public void refresh(){
+        if(!fallbackEnabled){
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try{
+            profiles = build(trafficDataRepository.findHourOfWeekTotalsSince(
+                    LocalDateTime.now().minusDays(historyDays)));
+            log.info("기준선 예측 프로파일 집계 완료: 위치 {}개, 소요시간={}ms",
+                    profiles.byLocation().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }catch (Exception e){
+            log.error("기준선 예측 프로파일 집계 실패, 이전 프로파일을 유지합니다: {}", e.getMessage(), e);
+        }
+    }
+
+    private synchronized Profiles loadIfAbsent(){
+        if(profiles == null){
+            refresh();
+            if(profiles == null){
+                profiles = new Profiles(Map.of(), null, LocalDateTime.now());
+            }
+        }
+        return profiles;
+    }
+
+    static int hourOfWeek(LocalDateTime datetime){
+        return (datetime.getDayOfWeek().getValue() - 1) * 24 + datetime.getHour();
+    }
+
+    /**
+     * 집계 결과 [위치 ID, 요일, 시간, 차량 수 합계, 차량 수 건수, 속도 합계, 속도 건수] 로 프로파일을 만듭니다.
+     */
+    static Profiles build(List<Object[]> rows){
+        Map<Long, Totals> totalsByLocation = new HashMap<>();
+        Totals globalTotals = new Totals();
+        for(Object[] row : rows){
+            int dayOfWeek = ((Number) row[1]).intValue();
+            int hour = ((Number) row[2]).intValue();
+            if(dayOfWeek < 1 || dayOfWeek > 7 || hour < 0 || hour > 23){
+                continue;
+            }
+            int slot = (dayOfWeek - 1) * 24 + hour;
+            double vehicleSum = toDouble(row[3]);
+            double vehicleCount = toDouble(row[4]);
+            double speedSum = toDouble(row[5]);
+            double speedCount = toDouble(row[6]);
+
+            totalsByLocation.computeIfAbsent(((Number) row[0]).longValue(), id -> new Totals())
+                    .add(slot, vehicleSum, vehicleCount, speedSum, speedCount);
+            globalTotals.add(slot, vehicleSum, vehicleCount, speedSum, speedCount);
+        }
+
+        Profile global = globalTotals.toProfile(null);
+        Map<Long, Profile> byLocation = new HashMap<>(totalsByLocation.size() * 2);
+        totalsByLocation.forEach((locationId, totals) -> byLocation.put(locationId, totals.toProfile(global)));
+
+        // 데이터가 없는 위치는 전체 위치 프로파일을 가장 낮은 신뢰도로 사용
+        Profile unknownLocation = null;
+        if(global != null){
+            double[] confidences = new double[HOURS_PER_WEEK];
+            Arrays.fill(confidences, GLOBAL_CONFIDENCE);
+            unknownLocation = new Profile(global.vehicleCounts(), global.speeds(), confidences, global.congestionLevels());
+        }
+        return new Profiles(byLocation, unknownLocation, LocalDateTime.now());
+    }
+
+    private static PredictionSeries horizon(Profile profile, int[] slots, int stepMinutes){
+        int[] vehicleCounts = new int[slots.length];
+        double[] speeds = new double[slots.length];
+        TrafficData.CongestionLevel[] congestionLevels = new TrafficData.CongestionLevel[slots.length];
+        double[] confidences = new double[slots.length];
+        for(int i = 0; i < slots.length; i++){
+            vehicleCounts[i] = (int) Math.round(profile.vehicleCounts()[slots[i]]);
+            speeds[i] = profile.speeds()[slots[i]];
+            congestionLevels[i] = profile.congestionLevels()[slots[i]];
+            confidences[i] = profile.confidences()[slots[i]];
+        }
+        return new PredictionSeries(stepMinutes, vehicleCounts, speeds, congestionLevels, confidences);
+    }
+
+    private static double toDouble(Object value){
+        return value == null ? 0.0 : ((Number) value).doubleValue();
+    }
+
+    /**
+     * 해당 위치의 가장 빠른 시간대 속도(자유 흐름 속도) 대비 비율로 혼잡도를 판정합니다(LocalForecastEngine 도 사용).
+     */
+    static TrafficData.CongestionLevel congestionLevel(double speed, double freeFlowSpeed){
+        if(freeFlowSpeed <= 0.0){
+            return TrafficData.CongestionLevel.NORMAL;
+        }
+        double ratio = speed / freeFlowSpeed;
+        if(ratio >= 0.7){
+            return TrafficData.CongestionLevel.SMOOTH;
+        }
+        if(ratio >= 0.5){
+            return TrafficData.CongestionLevel.NORMAL;
+        }
+        if(ratio >= 0.3){
+            return TrafficData.CongestionLevel.SLOW;
+        }
+        return TrafficData.CongestionLevel.CONGESTED;
+    }
+
+    /**
+     * 주간 시간대별 합계/건수 누적기
+     */
+    private static final class Totals {
+
+        private final double[] vehicleSums = new double[HOURS_PER_WEEK];
+        private final double[] vehicleCounts = new double[HOURS_PER_WEEK];
+        private final double[] speedSums = new double[HOURS_PER_WEEK];
+        private final double[] speedCounts = new double[HOURS_PER_WEEK];
+
+        void add(int slot, double vehicleSum, double vehicleCount, double speedSum, double speedCount){
+            vehicleSums[slot] += vehicleSum;
+            vehicleCounts[slot] += vehicleCount;
+            speedSums[slot] += speedSum;
+            speedCounts[slot] += speedCount;
+        }
+
+        /**
+         * @param fallback 이 위치에 데이터가 전혀 없는 값에 사용할 프로파일(없으면 null)
+         * @return 프로파일, 차량 수 데이터가 하나도 없고 fallback 도 없으면 null
+         */
+        Profile toProfile(Profile fallback){
+            double[] vehicles = new double[HOURS_PER_WEEK];
+            double[] confidences = new double[HOURS_PER_WEEK];
+            if(!fill(vehicleSums, vehicleCounts, vehicles, confidences, fallback == null ? null : fallback.vehicleCounts())){
+                return fallback;
+            }
+
+            // 속도 데이터가 전혀 없으면 0 으로 두고 혼잡도는 보통으로 표시
+            double[] speeds = new double[HOURS_PER_WEEK];
+            fill(speedSums, speedCounts, speeds, null, fallback == null ? null : fallback.speeds());
+
+            double freeFlowSpeed = 0.0;
+            for(double speed : speeds){
+                freeFlowSpeed = Math.max(freeFlowSpeed, speed);
+            }
+            TrafficData.CongestionLevel[] levels = new TrafficData.CongestionLevel[HOURS_PER_WEEK];
+            for(int slot = 0; slot < HOURS_PER_WEEK; slot++){
+                levels[slot] = congestionLevel(speeds[slot], freeFlowSpeed);
+            }
+            return new Profile(vehicles, speeds, confidences, levels);
+        }
+
+        /**
+         * 시간대 평균 → 같은 시간(모든 요일) 평균 → 전체 평균 → fallback 순으로 값을 채웁니다.
+         * @return 채웠으면 true, 데이터도 fallback 도 없으면 false
+         */
+        private static boolean fill(double[] sums, double[] counts, double[] values, double[] confidences,
+                                    double[] fallback){
+            double[] hourSums = new double[24];
+            double[] hourCounts = new double[24];
+            double totalSum = 0.0;
+            double totalCount = 0.0;
+            for(int slot = 0; slot < HOURS_PER_WEEK; slot++){
+                hourSums[slot % 24] += sums[slot];
+                hourCounts[slot % 24] += counts[slot];
+                totalSum += sums[slot];
+                totalCount += counts[slot];
+            }
+            if(totalCount == 0 && fallback == null){
+                return false;
+            }
+
+            for(int slot = 0; slot < HOURS_PER_WEEK; slot++){
+                double confidence;
+                if(counts[slot] > 0){
+                    values[slot] = sums[slot] / counts[slot];
+                    confidence = CELL_CONFIDENCE;
+                }else if(hourCounts[slot % 24] > 0){
+                    values[slot] = hourSums[slot % 24] / hourCounts[slot % 24];
+                    confidence = HOUR_OF_DAY_CONFIDENCE;
+                }else if(totalCount > 0){
+                    values[slot] = totalSum / totalCount;
+                    confidence = LOCATION_CONFIDENCE;
+                }else{
+                    values[slot] = fallback[slot];
+                    confidence = GLOBAL_CONFIDENCE;
+                }
+                if(confidences != null){
+                    confidences[slot] = confidence;
+                }
+            }
+            return true;
+        }
+    }
+}
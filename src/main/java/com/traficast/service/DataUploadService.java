@@ -1,45 +1,97 @@
 package com.traficast.service;
 
 
+import com.traficast.dto.DtoMapper;
 import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.dto.response.DataUploadResponse;
 import com.traficast.entity.Location;
 import com.traficast.entity.TrafficData;
 import com.traficast.repository.LocationRepository;
+import com.traficast.repository.TrafficDataBulkLoader;
 import com.traficast.repository.TrafficDataRepository;
+import com.traficast.util.CsvParserUtil;
+import com.traficast.util.RowRanges;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
-// 교통 데이터 업로드 요청
+/**
+ * 교통 데이터 업로드 요청
+ * 업로드 전체를 하나의 트랜잭션으로 묶지 않고 청크마다 별도 트랜잭션으로 커밋합니다.
+ * 실패한 청크만 롤백되고 나머지는 계속 저장되며, 같은 데이터를 응답의 retryRows(실패 청크의 행 범위)와 함께 다시 올리면
+ * 실패한 행만 적재하므로 이미 커밋된 청크가 중복 저장되지 않습니다.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DataUploadService {
 
     private final TrafficDataRepository trafficDataRepository;
+    private final TrafficDataBulkLoader trafficDataBulkLoader;
     private final LocationRepository locationRepository;
+    private final TrafficReadingDeduplicator trafficReadingDeduplicator;
+    private final TrafficDataValidator trafficDataValidator;
+    private final DtoMapper dtoMapper;
+
+    private static final TrafficData.CongestionLevel[] CONGESTION_LEVELS = TrafficData.CongestionLevel.values();
+
+    @Value("${upload.batch-size:500}")
+    private int batchSize;
+
+    @Value("${upload.max-reported-failures:100}")
+    private int maxReportedFailures;
 
     /**
-     * 교통 데이터를 검증하고 일괄 업로드합니다.
+     * 교통 데이터를 검증하고 청크 단위 대량 적재(PostgreSQL COPY 또는 JDBC 배치)로 일괄 업로드합니다.
      * @param request 업로드할 교통 데이터 요청 DTO
-     * @return 저장된 TrafficData 엔티티 목록
-     * @throws java.util.NoSuchElementException 위치 ID를 찾을 수 없는 경우
-     * @throws IllegalArgumentException 데이터 검증 실패 시
+     * 검증에 실패한 항목(존재하지 않는 위치 포함)은 위반 코드와 함께 거부되고 나머지는 저장됩니다.
+     * @return 업로드 결과 요약(처리 건수, 초당 처리량, 거부 사유별 건수 등)
+     */
+    public DataUploadResponse uploadTrafficData(DataUploadRequest request){
+        return uploadTrafficData(request, UploadProgressListener.NONE);
+    }
+
+    /**
+     * 진행 상황 콜백과 함께 교통 데이터를 업로드합니다.
+     * 요청의 upsert 가 true 이면 (위치, 측정 시간)이 같은 기존 행을 갱신하고 중복 INSERT 를 막습니다.
+     * false 이면 이미 저장된 행은 갱신하지 않고 건너뛰어 중복 건수로 집계합니다.
+     * @param progressListener 청크 저장마다 호출되는 진행 상황 콜백
      */
-    @Transactional
-    public List<TrafficData> uploadTrafficData(DataUploadRequest request){
-        log.info("교통 데이터 업로드 요청 수신: {}개 항목, 출처: {}", request.getTrafficDataEntries().size(), request.getDataSource());
+    public DataUploadResponse uploadTrafficData(DataUploadRequest request, UploadProgressListener progressListener){
+        return uploadTrafficData(request, RowRanges.all(), progressListener);
+    }
+
+    /**
+     * 지정한 행(항목 순번, 1부터)만 업로드합니다.
+     * @param rows 적재할 행 범위. 이전 업로드의 retryRows 를 넘기면 실패한 청크의 행만 재시도
+     */
+    public DataUploadResponse uploadTrafficData(DataUploadRequest request, RowRanges rows,
+                                                UploadProgressListener progressListener){
+        log.info("교통 데이터 업로드 요청 수신: {}개 항목, 출처: {}, upsert: {}, 행 범위: {}",
+                request.getTrafficDataEntries().size(), request.getDataSource(), request.getUpsert(),
+                rows.isAll() ? "전체" : rows);
 
-        // 1. 위치 ID 유효성 검증
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. 위치 일괄 조회
         List<Long> locationIds = request.getTrafficDataEntries().stream()
                 .map(DataUploadRequest.TrafficDataEntry::getLocationId)
+                .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList());
 
@@ -47,73 +99,417 @@ public class DataUploadService {
                 .stream()
                 .collect(Collectors.toMap(Location::getId, location -> location));
 
-        List<Long> missingLocationIds = locationIds.stream()
-                .filter(id -> !locationMap.containsKey(id))
-                .collect(Collectors.toList());
+        // 2. 항목별 검증 후 청크 단위로 저장
+        ChunkWriter writer = new ChunkWriter(Boolean.TRUE.equals(request.getUpsert()), rows, progressListener);
 
-        if(!missingLocationIds.isEmpty()){
-            throw new NoSuchElementException("다음 위치 ID를 찾을 수 없습니다: " + missingLocationIds);
+        long rowNumber = 0;
+        for(DataUploadRequest.TrafficDataEntry entry : request.getTrafficDataEntries()){
+            rowNumber++;
+            if(!rows.contains(rowNumber)){
+                continue;
+            }
+
+            // 3. 데이터 무결성 검증
+            int violations = trafficDataValidator.validate(entry, now);
+            Location location = locationMap.get(entry.getLocationId());
+            if(violations == 0 && location == null){
+                violations = TrafficDataValidator.Violation.LOCATION_NOT_FOUND.mask();
+            }
+
+            if(violations != 0){
+                writer.reject(rowNumber, entry.getLocationId(), violations);
+                continue;
+            }
+
+            // 4. DTO -> Entity 변환
+            writer.accept(rowNumber, dtoMapper.toTrafficData(entry, location));
         }
 
-        // 2. 데이터 변환 및 저장
-        List<TrafficData> savedTrafficData = new ArrayList<>();
-        int successCount = 0;
-        int errorCount = 0;
+        DataUploadResponse summary = writer.finish(request.getDataSource(), startNanos);
 
-        for(DataUploadRequest.TrafficDataEntry entry : request.getTrafficDataEntries()){
-            try{
-                Location location = locationMap.get(entry.getLocationId());
-
-                // 3. 데이터 무결성 검증
-                validateTrafficDataEntry(entry);
-
-                // 4. DTO -> Entity 변환
-                TrafficData trafficData = TrafficData.builder()
-                        .location(location)
-                        .recordedAt(entry.getMeasuredAt())
-                        .vehicleCount(entry.getVehicleCount())
-                        .averageSpeed(entry.getAverageSpeed())
-                        .congestionLevel(entry.getCongestionLevel())
-                        .weatherCondition(entry.getWeatherCondition())
-                        .temperature(entry.getTemperature())
-                        .humidity(entry.getHumidity())
-                        .visibility(entry.getVisibility())
-                        .isHoliday(entry.getIsHoliday())
-                        .dayOfWeek(entry.getDayOfWeek())
-                        .hourOfDay(entry.getHourOfDay())
-                        .build();
-
-                savedTrafficData.add(trafficDataRepository.save(trafficData));
-                successCount++;
-
-                log.debug("교통 데이터 저장 완료: Location ID = {}, Measured At={}",
-                        entry.getLocationId(), entry.getMeasuredAt());
-            }catch (Exception e){
-                errorCount++;
-                log.error("교통 데이터 저장 실패: Location ID = {}, Error={}",
-                        entry.getLocationId(), e.getMessage());
+        log.info("교통 데이터 업로드 완료: 성공 {}개(INSERT {}, UPDATE {}), 중복 {}, 실패 {}(실패 청크 {}), 배치 {}회, {}ms ({} rows/s)",
+                summary.getSuccessCount(), summary.getInsertedCount(), summary.getUpdatedCount(),
+                summary.getDuplicateCount(), summary.getFailedCount(), summary.getChunkFailures().size(),
+                summary.getBatchCount(), summary.getElapsedMillis(), String.format("%.1f", summary.getRowsPerSecond()));
+        return summary;
+    }
+
+    /**
+     * CSV 스트림을 한 행씩 읽어 위치를 확인하고 청크 단위로 저장합니다.
+     * 전체 파일을 메모리에 올리지 않으므로 대용량 일일 데이터도 일정한 메모리로 적재할 수 있습니다.
+     * 필수 컬럼: locationId, measuredAt, vehicleCount, congestionLevel
+     * @param inputStream CSV 입력 스트림(UTF-8, 첫 행은 헤더)
+     * @param dataSource 데이터 출처
+     * @return 업로드 결과 요약
+     * @throws IOException CSV 읽기 실패 시
+     * @throws IllegalArgumentException 헤더가 없거나 필수 컬럼이 누락된 경우
+     */
+    public DataUploadResponse uploadTrafficDataCsv(InputStream inputStream, String dataSource) throws IOException {
+        return uploadTrafficDataCsv(inputStream, dataSource, false, RowRanges.all(), UploadProgressListener.NONE);
+    }
+
+    /**
+     * 진행 상황 콜백과 함께 CSV 스트림을 업로드합니다.
+     * @param upsert true 이면 (위치, 측정 시간)이 같은 기존 행을 갱신, false 이면 기존 행은 건너뜀
+     * @param rows 적재할 행 범위(1부터, 헤더 제외). 이전 업로드의 retryRows 를 넘기면 실패한 청크의 행만 재시도
+     * @param progressListener 청크 저장마다 호출되는 진행 상황 콜백
+     */
+    public DataUploadResponse uploadTrafficDataCsv(InputStream inputStream, String dataSource, boolean upsert,
+                                                   RowRanges rows, UploadProgressListener progressListener) throws IOException {
+        log.info("CSV 교통 데이터 업로드 시작: 출처={}, upsert={}, 행 범위={}", dataSource, upsert, rows.isAll() ? "전체" : rows);
+
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(inputStream)){
+            String[] header = reader.readRow();
+            if(header == null){
+                throw new IllegalArgumentException("CSV 헤더 행이 없습니다.");
+            }
+            CsvColumns columns = CsvColumns.from(CsvParserUtil.CsvHeader.of(header));
+
+            Map<Long, Location> locationCache = new HashMap<>();
+            ChunkWriter writer = new ChunkWriter(upsert, rows, progressListener);
+
+            String[] row;
+            long rowNumber = 0;
+            while((row = reader.readRow()) != null){
+                rowNumber++;
+                // 재시도 시 범위 밖(이미 커밋된) 행은 파싱하지 않고 건너뛰고, 마지막 범위 이후는 읽지 않음
+                if(rows.isPastEnd(rowNumber)){
+                    break;
+                }
+                if(!rows.contains(rowNumber)){
+                    continue;
+                }
+
+                DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+                int violations = parseCsvRow(row, columns, entry);
+                if(violations == 0){
+                    violations = trafficDataValidator.validate(entry, now);
+                }
+
+                Location location = null;
+                if(violations == 0){
+                    location = resolveLocation(entry.getLocationId(), locationCache);
+                    if(location == null){
+                        violations = TrafficDataValidator.Violation.LOCATION_NOT_FOUND.mask();
+                    }
+                }
+
+                if(violations != 0){
+                    writer.reject(rowNumber, entry.getLocationId(), violations);
+                    continue;
+                }
+                writer.accept(rowNumber, dtoMapper.toTrafficData(entry, location));
+            }
+
+            DataUploadResponse summary = writer.finish(dataSource, startNanos);
+
+            log.info("CSV 교통 데이터 업로드 완료: 전체 {}행, 성공 {}(INSERT {}, UPDATE {}), 중복 {}, 실패 {}(실패 청크 {}), 배치 {}회, {}ms ({} rows/s)",
+                    summary.getTotalCount(), summary.getSuccessCount(), summary.getInsertedCount(),
+                    summary.getUpdatedCount(), summary.getDuplicateCount(), summary.getFailedCount(),
+                    summary.getChunkFailures().size(), summary.getBatchCount(), summary.getElapsedMillis(),
+                    String.format("%.1f", summary.getRowsPerSecond()));
+            return summary;
+        }
+    }
+
+    /**
+     * 위치를 조회합니다. 한 번 조회한 위치(존재하지 않는 위치 포함)는 캐시하여 재조회하지 않습니다.
+     */
+    private Location resolveLocation(Long locationId, Map<Long, Location> locationCache){
+        if(locationId == null){
+            return null;
+        }
+        if(locationCache.containsKey(locationId)){
+            return locationCache.get(locationId);
+        }
+        Location location = locationRepository.findById(locationId).orElse(null);
+        locationCache.put(locationId, location);
+        return location;
+    }
+
+    /**
+     * CSV 한 행을 업로드 항목으로 변환합니다.
+     * 형식 오류는 예외 대신 위반 코드로 반환하며, 이 경우 entry 의 해당 값은 null 로 남습니다.
+     * @return 형식 오류 위반 코드 비트마스크, 정상이면 0
+     */
+    private int parseCsvRow(String[] row, CsvColumns columns, DataUploadRequest.TrafficDataEntry entry){
+        int violations = 0;
+
+        String locationId = CsvParserUtil.field(row, columns.locationId);
+        entry.setLocationId(CsvParserUtil.parseLong(locationId));
+        if(locationId != null && entry.getLocationId() == null){
+            violations |= TrafficDataValidator.Violation.LOCATION_ID_FORMAT.mask();
+        }
+
+        String measuredAt = CsvParserUtil.field(row, columns.measuredAt);
+        entry.setMeasuredAt(CsvParserUtil.parseDateTime(measuredAt));
+        if(measuredAt != null && entry.getMeasuredAt() == null){
+            violations |= TrafficDataValidator.Violation.MEASURED_AT_FORMAT.mask();
+        }
+
+        String vehicleCount = CsvParserUtil.field(row, columns.vehicleCount);
+        entry.setVehicleCount(CsvParserUtil.parseInteger(vehicleCount));
+        if(vehicleCount != null && entry.getVehicleCount() == null){
+            violations |= TrafficDataValidator.Violation.VEHICLE_COUNT_FORMAT.mask();
+        }
+
+        String congestionLevel = CsvParserUtil.field(row, columns.congestionLevel);
+        entry.setCongestionLevel(parseCongestionLevel(congestionLevel));
+        if(congestionLevel != null && entry.getCongestionLevel() == null){
+            violations |= TrafficDataValidator.Violation.CONGESTION_LEVEL_FORMAT.mask();
+        }
+
+        entry.setWeatherCondition(CsvParserUtil.field(row, columns.weatherCondition));
+        entry.setIsHoliday(parseBoolean(CsvParserUtil.field(row, columns.isHoliday)));
+
+        // 선택 숫자 컬럼: 하나라도 형식이 잘못되면 NUMBER_FORMAT
+        boolean malformedNumber = false;
+        String averageSpeed = CsvParserUtil.field(row, columns.averageSpeed);
+        entry.setAverageSpeed(CsvParserUtil.parseDouble(averageSpeed));
+        malformedNumber |= averageSpeed != null && entry.getAverageSpeed() == null;
+
+        String temperature = CsvParserUtil.field(row, columns.temperature);
+        entry.setTemperature(CsvParserUtil.parseDouble(temperature));
+        malformedNumber |= temperature != null && entry.getTemperature() == null;
+
+        String humidity = CsvParserUtil.field(row, columns.humidity);
+        entry.setHumidity(CsvParserUtil.parseDouble(humidity));
+        malformedNumber |= humidity != null && entry.getHumidity() == null;
+
+        String visibility = CsvParserUtil.field(row, columns.visibility);
+        entry.setVisibility(CsvParserUtil.parseDouble(visibility));
+        malformedNumber |= visibility != null && entry.getVisibility() == null;
+
+        String dayOfWeek = CsvParserUtil.field(row, columns.dayOfWeek);
+        entry.setDayOfWeek(CsvParserUtil.parseInteger(dayOfWeek));
+        malformedNumber |= dayOfWeek != null && entry.getDayOfWeek() == null;
+
+        String hourOfDay = CsvParserUtil.field(row, columns.hourOfDay);
+        entry.setHourOfDay(CsvParserUtil.parseInteger(hourOfDay));
+        malformedNumber |= hourOfDay != null && entry.getHourOfDay() == null;
+
+        if(malformedNumber){
+            violations |= TrafficDataValidator.Violation.NUMBER_FORMAT.mask();
+        }
+        return violations;
+    }
+
+    /**
+     * 혼잡도 문자열을 대소문자 구분 없이 변환합니다(valueOf 와 달리 예외를 던지지 않음).
+     */
+    private TrafficData.CongestionLevel parseCongestionLevel(String value){
+        if(value == null){
+            return null;
+        }
+        for(TrafficData.CongestionLevel level : CONGESTION_LEVELS){
+            if(level.name().equalsIgnoreCase(value)){
+                return level;
             }
         }
+        return null;
+    }
 
-        log.info("교통 데이터 업로드 완료: 성공 {}개, 실패 {}", successCount, errorCount);
-        return savedTrafficData;
+    private Boolean parseBoolean(String value){
+        if(value == null){
+            return null;
+        }
+        return "true".equalsIgnoreCase(value) || "1".equals(value) || "Y".equalsIgnoreCase(value);
     }
 
     /**
-     * 교통 데이터 항목의 유효성을 검증합니다
+     * 변환된 엔티티를 청크로 모아 배치 저장하고 처리 건수를 집계
+     * 청크마다 별도 트랜잭션으로 커밋하므로 한 청크가 실패해도 이미 커밋된 청크와 이후 청크에는 영향이 없음
+     * 두 모드 모두 중복 필터로 확실히 새로운 값은 바로 INSERT 하고 나머지만 DB에서 확인
+     * (upsert 모드는 기존 행 갱신, 일반 모드는 기존 행을 건너뛰고 대량 적재기로 INSERT)
      */
-    private void validateTrafficDataEntry(DataUploadRequest.TrafficDataEntry entry){
-        if(entry.getVehicleCount() < 0){
-            throw new IllegalArgumentException("차량 수는 0이상이어야 합니다.");
+    private final class ChunkWriter {
+
+        private final boolean upsert;
+        private final RowRanges rows;
+        private final UploadProgressListener progressListener;
+        private final List<TrafficData> chunk = new ArrayList<>(batchSize);
+        private final List<DataUploadResponse.RowFailure> rowFailures = new ArrayList<>();
+        private final List<DataUploadResponse.ChunkFailure> chunkFailures = new ArrayList<>();
+        private final List<long[]> failedRows = new ArrayList<>();
+        private final long[] violationCounts = new long[TrafficDataValidator.Violation.values().length];
+        private long chunkStartRow;
+        private long chunkEndRow;
+        private long totalCount;
+        private long insertedCount;
+        private long updatedCount;
+        private long duplicateCount;
+        private long rejectedCount;
+        private long failedChunkRowCount;
+        private int batchCount;
+
+        private ChunkWriter(boolean upsert, RowRanges rows, UploadProgressListener progressListener){
+            this.upsert = upsert;
+            this.rows = rows;
+            this.progressListener = progressListener;
+        }
+
+        private void accept(long rowNumber, TrafficData trafficData){
+            totalCount++;
+            if(chunk.isEmpty()){
+                chunkStartRow = rowNumber;
+            }
+            chunkEndRow = rowNumber;
+            chunk.add(trafficData);
+            if(chunk.size() >= batchSize){
+                flush();
+            }
+        }
+
+        /**
+         * 검증 실패 행을 집계합니다. 위반 코드별 건수는 모두 세고, 상세 정보는 일부 행만 표본으로 남김
+         */
+        private void reject(long rowNumber, Long locationId, int violations){
+            totalCount++;
+            rejectedCount++;
+
+            int remaining = violations;
+            while(remaining != 0){
+                violationCounts[Integer.numberOfTrailingZeros(remaining)]++;
+                remaining &= remaining - 1;
+            }
+
+            if(rowFailures.size() < maxReportedFailures){
+                List<TrafficDataValidator.Violation> decoded = TrafficDataValidator.decode(violations);
+                rowFailures.add(DataUploadResponse.RowFailure.builder()
+                        .rowNumber(rowNumber)
+                        .locationId(locationId)
+                        .violations(decoded.stream().map(Enum::name).collect(Collectors.toList()))
+                        .reason(decoded.stream().map(TrafficDataValidator.Violation::getMessage)
+                                .collect(Collectors.joining(", ")))
+                        .build());
+                log.debug("교통 데이터 검증 실패: {}번째 행, Location ID = {}, 위반={}", rowNumber, locationId, decoded);
+            }
         }
 
-        if(entry.getAverageSpeed() != null && entry.getAverageSpeed() < 0){
-            throw new IllegalArgumentException("평균 속도는 0 이상이어야 합니다.");
+        private Map<String, Long> rejectionCounts(){
+            Map<String, Long> counts = new LinkedHashMap<>();
+            TrafficDataValidator.Violation[] violations = TrafficDataValidator.Violation.values();
+            for(int i = 0; i < violations.length; i++){
+                if(violationCounts[i] > 0){
+                    counts.put(violations[i].name(), violationCounts[i]);
+                }
+            }
+            return counts;
+        }
+
+        // 빈 청크여도 진행 상황은 보고(마지막 청크 뒤에 검증 실패한 행도 반영되도록)
+        private void flush(){
+            if(!chunk.isEmpty()){
+                writeChunk();
+            }
+            progressListener.onProgress(insertedCount + updatedCount, rejectedCount + failedChunkRowCount);
         }
 
-        if(entry.getHourOfDay() != null && (entry.getHourOfDay() < 0 || entry.getHourOfDay() > 23))
-        {
-            throw new IllegalArgumentException("시간은 0-23 사이여야 합니다.");
+        private void writeChunk(){
+            batchCount++;
+            try{
+                // 일반 모드도 이미 저장된 (location_id, recorded_at) 행은 건너뛰고 duplicateCount 로 집계(유니크 인덱스로 청크가 롤백되지 않도록)
+                TrafficDataRepository.UpsertResult result = upsert
+                        ? trafficReadingDeduplicator.upsert(chunk)
+                        : trafficReadingDeduplicator.insertNew(chunk, trafficDataBulkLoader::load);
+
+                insertedCount += result.getInsertedCount();
+                updatedCount += result.getUpdatedCount();
+                duplicateCount += result.getDuplicateCount();
+                // 커밋된 값만 기록(일반 모드로 저장된 값도 기록해야 이후 upsert 에서 필터 판정이 정확함)
+                trafficReadingDeduplicator.record(chunk);
+            }catch (RuntimeException e){
+                String reason = e instanceof DataIntegrityViolationException
+                        ? "중복 측정값(location_id, recorded_at) 또는 제약 조건 위반으로 청크를 저장하지 못했습니다: "
+                                + NestedExceptionUtils.getMostSpecificCause(e).getMessage()
+                        : NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                failedChunkRowCount += chunk.size();
+                chunkFailures.add(DataUploadResponse.ChunkFailure.builder()
+                        .chunkIndex(batchCount)
+                        .startRow(chunkStartRow)
+                        .endRow(chunkEndRow)
+                        .rowCount(chunk.size())
+                        .reason(reason)
+                        .build());
+                // 청크 구간 중 이번 업로드 대상인 행만 재시도 범위로(범위 밖 행은 이전에 이미 커밋됨)
+                failedRows.addAll(rows.intersect(chunkStartRow, chunkEndRow));
+                log.error("청크 저장 실패(롤백): {}번째 청크, {}~{}행, Error={}",
+                        batchCount, chunkStartRow, chunkEndRow, reason);
+            }
+
+            chunk.clear();
+        }
+
+        private DataUploadResponse finish(String dataSource, long startNanos){
+            flush();
+
+            long successCount = insertedCount + updatedCount;
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double rowsPerSecond = elapsedNanos > 0 ? successCount * 1_000_000_000.0 / elapsedNanos : 0.0;
+
+            return DataUploadResponse.builder()
+                    .dataSource(dataSource)
+                    .upsert(upsert)
+                    .totalCount(totalCount)
+                    .successCount(successCount)
+                    .insertedCount(insertedCount)
+                    .updatedCount(updatedCount)
+                    .duplicateCount(duplicateCount)
+                    .failedCount(rejectedCount + failedChunkRowCount)
+                    .batchSize(batchSize)
+                    .batchCount(batchCount)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(rowsPerSecond)
+                    .rejectedCount(rejectedCount)
+                    .rejectionCounts(rejectionCounts())
+                    .rowFailures(rowFailures)
+                    .chunkFailures(chunkFailures)
+                    .retryRows(failedRows.isEmpty() ? null : RowRanges.of(failedRows).toString())
+                    .build();
+        }
+    }
+
+    /**
+     * CSV 헤더에서 찾은 컬럼 인덱스
+     */
+    private static final class CsvColumns {
+        private int locationId;
+        private int measuredAt;
+        private int vehicleCount;
+        private int averageSpeed;
+        private int congestionLevel;
+        private int weatherCondition;
+        private int temperature;
+        private int humidity;
+        private int visibility;
+        private int isHoliday;
+        private int dayOfWeek;
+        private int hourOfDay;
+
+        private static CsvColumns from(CsvParserUtil.CsvHeader header){
+            CsvColumns columns = new CsvColumns();
+            columns.locationId = header.indexOf("locationId");
+            columns.measuredAt = header.indexOf("measuredAt");
+            columns.vehicleCount = header.indexOf("vehicleCount");
+            columns.averageSpeed = header.indexOf("averageSpeed");
+            columns.congestionLevel = header.indexOf("congestionLevel");
+            columns.weatherCondition = header.indexOf("weatherCondition");
+            columns.temperature = header.indexOf("temperature");
+            columns.humidity = header.indexOf("humidity");
+            columns.visibility = header.indexOf("visibility");
+            columns.isHoliday = header.indexOf("isHoliday");
+            columns.dayOfWeek = header.indexOf("dayOfWeek");
+            columns.hourOfDay = header.indexOf("hourOfDay");
+
+            if(columns.locationId < 0 || columns.measuredAt < 0
+                    || columns.vehicleCount < 0 || columns.congestionLevel < 0){
+                throw new IllegalArgumentException(
+                        "CSV 필수 컬럼이 누락되었습니다: locationId, measuredAt, vehicleCount, congestionLevel");
+            }
+            return columns;
         }
     }
 }
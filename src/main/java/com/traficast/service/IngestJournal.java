@@ -0,0 +1,455 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.TrafficData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 측정값 수집 저널(append-only, memory-mapped)
+ * 접수된 측정값을 응답 전에 로컬 디스크의 매핑된 세그먼트 파일에 기록하고,
+ * DB 저장이 끝난 위치를 체크포인트로 남겨 재시작 시 체크포인트 이후의 측정값을 다시 적재
+ *
+ * 레코드 형식: [길이 int][CRC32 int][payload] (길이 0은 기록 끝)
+ * 매핑된 페이지는 프로세스가 죽어도 OS가 파일에 반영하므로 기본 설정으로 프로세스 장애에는 안전하며,
+ * 전원 장애까지 대비하려면 force-writes 로 레코드마다 디스크에 강제 기록(응답 지연 증가)
+ */
+@Component
+@Slf4j
+public class IngestJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String QUARANTINE_DIRECTORY = "quarantine";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_PAYLOAD_BYTES = 1024;
+    private static final TrafficData.CongestionLevel[] CONGESTION_LEVELS = TrafficData.CongestionLevel.values();
+
+    // payload 의 nullable 필드 존재 여부 비트
+    private static final int HAS_AVERAGE_SPEED = 1;
+    private static final int HAS_CONGESTION_LEVEL = 1 << 1;
+    private static final int HAS_WEATHER_CONDITION = 1 << 2;
+    private static final int HAS_TEMPERATURE = 1 << 3;
+    private static final int HAS_HUMIDITY = 1 << 4;
+    private static final int HAS_VISIBILITY = 1 << 5;
+    private static final int HAS_IS_HOLIDAY = 1 << 6;
+    private static final int IS_HOLIDAY = 1 << 7;
+    private static final int HAS_DAY_OF_WEEK = 1 << 8;
+    private static final int HAS_HOUR_OF_DAY = 1 << 9;
+
+    @Value("${ingest.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingest.journal.directory:./data/ingest-journal}")
+    private String directory;
+
+    @Value("${ingest.journal.segment-size-bytes:67108864}")
+    private int segmentSizeBytes;
+
+    @Value("${ingest.journal.force-writes:false}")
+    private boolean forceWrites;
+
+    @Value("${ingest.journal.replay-retries:3}")
+    private int replayRetries;
+
+    @Value("${ingest.journal.replay-retry-backoff-ms:1000}")
+    private long replayRetryBackoffMs;
+
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+    // 아직 삭제하지 않은 세그먼트 번호(오래된 순)
+    private final Deque<Long> segments = new ArrayDeque<>();
+
+    private Path journalDirectory;
+    private MappedByteBuffer checkpointBuffer;
+    private MappedByteBuffer segmentBuffer;
+    private long segmentSequence;
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * 체크포인트 이후에 기록된 측정값을 읽어 chunkSize 단위로 전달한 뒤, 기존 세그먼트를 정리하고 새 세그먼트를 엽니다.
+     * 애플리케이션 시작 시 append 전에 한 번 호출해야 하며, 시작을 막지 않도록 예외를 던지지 않습니다.
+     * 세그먼트 경계에서 chunk 를 끊어 전달하므로 한 chunk 는 한 세그먼트의 레코드만 포함
+     * - 읽을 수 없는 세그먼트는 quarantine 디렉터리로 옮기고 나머지 세그먼트를 계속 재적재
+     * - consumer 가 replay-retries 번 재시도해도 실패하면 그 세그먼트부터 남은 세그먼트를 모두 옮김
+     *   (저널 디렉터리로 되돌리고 체크포인트 파일을 지운 뒤 재시작하면 처음부터 다시 재적재, 재적재는 upsert 라 중복 없음)
+     * - 저널 디렉터리를 열 수 없으면 저널 없이 동작
+     * @return 재적재한 측정값 수
+     */
+    public synchronized long recover(int chunkSize, Consumer<List<DataUploadRequest.TrafficDataEntry>> consumer){
+        long checkpoint;
+        List<Long> existing;
+        try{
+            journalDirectory = Paths.get(directory).toAbsolutePath();
+            Files.createDirectories(journalDirectory.resolve(QUARANTINE_DIRECTORY));
+
+            try(FileChannel channel = FileChannel.open(journalDirectory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+                checkpointBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+            }
+            checkpoint = checkpointBuffer.getLong(0);
+            existing = listSegments();
+        }catch (IOException | RuntimeException e){
+            disable("수집 저널을 열 수 없습니다: " + directory, e);
+            return 0;
+        }
+        long checkpointSegment = checkpoint >>> 32;
+        int checkpointOffset = (int) checkpoint;
+
+        long replayed = 0;
+        boolean replayFailed = false;
+        for(long sequence : existing){
+            if(sequence < checkpointSegment){
+                continue;
+            }
+            if(replayFailed){
+                // 앞 세그먼트 재적재에 실패했으므로 이후 세그먼트도 함께 옮김
+                quarantine(sequence);
+                continue;
+            }
+            try{
+                replayed += replaySegment(sequence, sequence == checkpointSegment ? checkpointOffset : 0,
+                        chunkSize, consumer);
+            }catch (IOException | RuntimeException e){
+                log.error("저널 세그먼트 읽기 실패, 격리 후 계속: {}, Error={}", segmentPath(sequence), e.getMessage(), e);
+                quarantine(sequence);
+            }catch (ReplayFailedException e){
+                log.error("저널 재적재 실패({}회 재시도), 세그먼트 {}부터 격리: Error={}",
+                        replayRetries, segmentPath(sequence), e.getCause().getMessage(), e.getCause());
+                quarantine(sequence);
+                replayFailed = true;
+            }
+        }
+        if(replayed > 0){
+            log.info("수집 저널 재적재 완료: {}건, 세그먼트 {}개", replayed, existing.size());
+        }
+
+        try{
+            // 재적재(또는 격리)가 끝났으므로 기존 세그먼트는 모두 필요 없음
+            for(long sequence : existing){
+                Files.deleteIfExists(segmentPath(sequence));
+            }
+            long nextSequence = existing.isEmpty() ? Math.max(1, checkpointSegment) : existing.get(existing.size() - 1) + 1;
+            openSegment(nextSequence);
+            writeCheckpoint(position(nextSequence, 0));
+        }catch (IOException | UncheckedIOException e){
+            disable("저널 세그먼트를 준비할 수 없습니다: " + journalDirectory, e);
+            return replayed;
+        }
+        log.info("수집 저널 시작: 디렉터리={}, 세그먼트 크기={}bytes, force-writes={}",
+                journalDirectory, segmentSizeBytes, forceWrites);
+        return replayed;
+    }
+
+    /**
+     * 세그먼트의 offset 이후 레코드를 chunkSize 단위로 전달합니다. 기록 끝이나 잘린 레코드에서 멈춤
+     * @throws ReplayFailedException consumer 가 재시도 후에도 실패한 경우
+     */
+    private long replaySegment(long sequence, int offset, int chunkSize,
+                               Consumer<List<DataUploadRequest.TrafficDataEntry>> consumer)
+            throws IOException, ReplayFailedException {
+        ByteBuffer segment = readSegment(sequence);
+        List<DataUploadRequest.TrafficDataEntry> chunk = new ArrayList<>(chunkSize);
+        long replayed = 0;
+
+        DataUploadRequest.TrafficDataEntry entry;
+        while((entry = readRecord(segment, offset)) != null){
+            offset += HEADER_BYTES + segment.getInt(offset);
+            chunk.add(entry);
+            if(chunk.size() >= chunkSize){
+                accept(chunk, consumer);
+                replayed += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if(!chunk.isEmpty()){
+            accept(chunk, consumer);
+            replayed += chunk.size();
+        }
+        return replayed;
+    }
+
+    private void accept(List<DataUploadRequest.TrafficDataEntry> chunk,
+                        Consumer<List<DataUploadRequest.TrafficDataEntry>> consumer) throws ReplayFailedException {
+        for(int attempt = 0; ; attempt++){
+            try{
+                consumer.accept(chunk);
+                return;
+            }catch (RuntimeException e){
+                if(attempt >= replayRetries){
+                    throw new ReplayFailedException(e);
+                }
+                log.warn("저널 재적재 실패, 재시도 {}/{}: Error={}", attempt + 1, replayRetries, e.getMessage());
+                try{
+                    Thread.sleep(replayRetryBackoffMs * (1L << attempt));
+                }catch (InterruptedException interrupted){
+                    Thread.currentThread().interrupt();
+                    throw new ReplayFailedException(e);
+                }
+            }
+        }
+    }
+
+    private void quarantine(long sequence){
+        Path source = segmentPath(sequence);
+        Path target = journalDirectory.resolve(QUARANTINE_DIRECTORY).resolve(source.getFileName());
+        try{
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            log.warn("저널 세그먼트 격리: {}", target);
+        }catch (IOException e){
+            log.error("저널 세그먼트 격리 실패(재적재되지 않은 측정값 유실 가능): {}, Error={}", source, e.getMessage());
+        }
+    }
+
+    // 저널 없이 동작(접수한 측정값은 버퍼에만 있으므로 프로세스 장애 시 유실될 수 있음)
+    private void disable(String message, Exception e){
+        log.error("{}, 저널 없이 시작합니다. Error={}", message, e.getMessage(), e);
+        enabled = false;
+    }
+
+    /**
+     * 측정값을 저널에 기록합니다.
+     * @return 기록한 레코드의 끝 위치(체크포인트로 사용)
+     */
+    public synchronized long append(DataUploadRequest.TrafficDataEntry entry){
+        payload.clear();
+        encode(entry, payload);
+        payload.flip();
+        int length = payload.remaining();
+
+        if(segmentBuffer.position() + HEADER_BYTES + length > segmentSizeBytes - HEADER_BYTES){
+            rollSegment();
+        }
+
+        int offset = segmentBuffer.position();
+        crc.reset();
+        crc.update(payload.duplicate());
+        segmentBuffer.position(offset + HEADER_BYTES);
+        segmentBuffer.put(payload);
+        segmentBuffer.putInt(offset + 4, (int) crc.getValue());
+        // 길이를 마지막에 기록해 길이가 보이는 레코드는 payload 가 모두 기록된 상태가 되도록 함
+        segmentBuffer.putInt(offset, length);
+
+        if(forceWrites){
+            segmentBuffer.force(offset, HEADER_BYTES + length);
+        }
+        return position(segmentSequence, segmentBuffer.position());
+    }
+
+    /**
+     * 지정한 위치까지의 측정값이 DB에 저장되었음을 기록하고, 더 이상 필요 없는 세그먼트를 삭제합니다.
+     * @param position append 가 반환한 위치
+     */
+    public synchronized void checkpoint(long position){
+        writeCheckpoint(position);
+
+        long checkpointSegment = position >>> 32;
+        while(!segments.isEmpty() && segments.peekFirst() < checkpointSegment){
+            long sequence = segments.pollFirst();
+            try{
+                Files.deleteIfExists(segmentPath(sequence));
+            }catch (IOException e){
+                log.warn("저널 세그먼트 삭제 실패: {}, Error={}", segmentPath(sequence), e.getMessage());
+            }
+        }
+    }
+
+    public synchronized void close(){
+        if(segmentBuffer != null){
+            segmentBuffer.force();
+        }
+        if(checkpointBuffer != null){
+            checkpointBuffer.force();
+        }
+    }
+
+    private void writeCheckpoint(long position){
+        checkpointBuffer.putLong(0, position);
+        if(forceWrites){
+            checkpointBuffer.force();
+        }
+    }
+
+    private void rollSegment(){
+        segmentBuffer.force();
+        openSegment(segmentSequence + 1);
+    }
+
+    private void openSegment(long sequence){
+        try(FileChannel channel = FileChannel.open(segmentPath(sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            segmentBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+        }catch (IOException e){
+            throw new UncheckedIOException("저널 세그먼트를 만들 수 없습니다: " + segmentPath(sequence), e);
+        }
+        segmentSequence = sequence;
+        segments.addLast(sequence);
+    }
+
+    private ByteBuffer readSegment(long sequence) throws IOException {
+        try(FileChannel channel = FileChannel.open(segmentPath(sequence), StandardOpenOption.READ)){
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * offset 위치의 레코드를 읽습니다. 기록 끝이거나 중간에 잘린(CRC 불일치) 레코드면 null
+     */
+    private DataUploadRequest.TrafficDataEntry readRecord(ByteBuffer segment, int offset){
+        if(offset + HEADER_BYTES > segment.limit()){
+            return null;
+        }
+        int length = segment.getInt(offset);
+        if(length <= 0 || length > MAX_PAYLOAD_BYTES || offset + HEADER_BYTES + length > segment.limit()){
+            return null;
+        }
+
+        ByteBuffer record = segment.slice(offset + HEADER_BYTES, length);
+        crc.reset();
+        crc.update(record.duplicate());
+        if((int) crc.getValue() != segment.getInt(offset + 4)){
+            log.warn("저널 레코드 CRC 불일치, 이후 레코드는 무시: offset={}", offset);
+            return null;
+        }
+        return decode(record);
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try(Stream<Path> files = Files.list(journalDirectory)){
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long sequence){
+        return journalDirectory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+
+    private static long position(long sequence, int offset){
+        return sequence << 32 | offset;
+    }
+
+    private static void encode(DataUploadRequest.TrafficDataEntry entry, ByteBuffer buffer){
+        int flags = 0;
+        flags |= entry.getAverageSpeed() != null ? HAS_AVERAGE_SPEED : 0;
+        flags |= entry.getCongestionLevel() != null ? HAS_CONGESTION_LEVEL : 0;
+        flags |= entry.getWeatherCondition() != null ? HAS_WEATHER_CONDITION : 0;
+        flags |= entry.getTemperature() != null ? HAS_TEMPERATURE : 0;
+        flags |= entry.getHumidity() != null ? HAS_HUMIDITY : 0;
+        flags |= entry.getVisibility() != null ? HAS_VISIBILITY : 0;
+        flags |= entry.getIsHoliday() != null ? HAS_IS_HOLIDAY : 0;
+        flags |= Boolean.TRUE.equals(entry.getIsHoliday()) ? IS_HOLIDAY : 0;
+        flags |= entry.getDayOfWeek() != null ? HAS_DAY_OF_WEEK : 0;
+        flags |= entry.getHourOfDay() != null ? HAS_HOUR_OF_DAY : 0;
+
+        buffer.putShort((short) flags);
+        buffer.putLong(entry.getLocationId());
+        buffer.putLong(entry.getMeasuredAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(entry.getMeasuredAt().getNano());
+        buffer.putInt(entry.getVehicleCount());
+        if(entry.getAverageSpeed() != null){
+            buffer.putDouble(entry.getAverageSpeed());
+        }
+        if(entry.getCongestionLevel() != null){
+            buffer.put((byte) entry.getCongestionLevel().ordinal());
+        }
+        if(entry.getWeatherCondition() != null){
+            byte[] weather = entry.getWeatherCondition().getBytes(StandardCharsets.UTF_8);
+            buffer.putShort((short) weather.length);
+            buffer.put(weather);
+        }
+        if(entry.getTemperature() != null){
+            buffer.putDouble(entry.getTemperature());
+        }
+        if(entry.getHumidity() != null){
+            buffer.putDouble(entry.getHumidity());
+        }
+        if(entry.getVisibility() != null){
+            buffer.putDouble(entry.getVisibility());
+        }
+        if(entry.getDayOfWeek() != null){
+            buffer.put(entry.getDayOfWeek().byteValue());
+        }
+        if(entry.getHourOfDay() != null){
+            buffer.put(entry.getHourOfDay().byteValue());
+        }
+    }
+
+    private static DataUploadRequest.TrafficDataEntry decode(ByteBuffer buffer){
+        int flags = buffer.getShort();
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        entry.setLocationId(buffer.getLong());
+        long epochSecond = buffer.getLong();
+        entry.setMeasuredAt(LocalDateTime.ofEpochSecond(epochSecond, buffer.getInt(), ZoneOffset.UTC));
+        entry.setVehicleCount(buffer.getInt());
+        if((flags & HAS_AVERAGE_SPEED) != 0){
+            entry.setAverageSpeed(buffer.getDouble());
+        }
+        if((flags & HAS_CONGESTION_LEVEL) != 0){
+            entry.setCongestionLevel(CONGESTION_LEVELS[buffer.get()]);
+        }
+        if((flags & HAS_WEATHER_CONDITION) != 0){
+            byte[] weather = new byte[buffer.getShort()];
+            buffer.get(weather);
+            entry.setWeatherCondition(new String(weather, StandardCharsets.UTF_8));
+        }
+        if((flags & HAS_TEMPERATURE) != 0){
+            entry.setTemperature(buffer.getDouble());
+        }
+        if((flags & HAS_HUMIDITY) != 0){
+            entry.setHumidity(buffer.getDouble());
+        }
+        if((flags & HAS_VISIBILITY) != 0){
+            entry.setVisibility(buffer.getDouble());
+        }
+        if((flags & HAS_IS_HOLIDAY) != 0){
+            entry.setIsHoliday((flags & IS_HOLIDAY) != 0);
+        }
+        if((flags & HAS_DAY_OF_WEEK) != 0){
+            entry.setDayOfWeek((int) buffer.get());
+        }
+        if((flags & HAS_HOUR_OF_DAY) != 0){
+            entry.setHourOfDay((int) buffer.get());
+        }
+        return entry;
+    }
+
+    /**
+     * 재시도 후에도 재적재에 실패함(원인은 getCause)
+     */
+    private static final class ReplayFailedException extends Exception {
+        ReplayFailedException(RuntimeException cause){
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.ModelConfig;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.TrafficDataRepository;
+import com.traficast.util.HoltWinters;
+import com.traficast.util.PredictionSeries;
+import com.traficast.util.SeasonalArima;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내장 예측 엔진(ARIMA, Holt-Winters)
+ * 고전 시계열 모델은 외부 모델 서버 없이 JVM 안에서 계산합니다.
+ * 위치별로 최근 history-days 일의 시간 단위 평균 교통량/속도를 double[] 로 불러와 적합하고 예측 대상 시간까지 예측
+ * 활성 ModelConfig 의 modelType 이 ARIMA / HOLT_WINTERS 이고 apiEndpoint 가 비어 있거나 "local:" 로 시작하면 사용
+ * 학습 데이터가 부족한 위치는 결과에서 빠지며, 기준선 예측을 사용하면 TrafficPredictionService 가 채움
+ * 일별/주별 예측은 한 번 적합한 모델로 여러 시점을 이어서 예측(간격은 시간 단위로 반올림)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalForecastEngine {
+
+    private static final String LOCAL_ENDPOINT_PREFIX = "local:";
+    private static final int MAX_IN_CLAUSE = 1000;
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final PredictionHorizon predictionHorizon;
+
+    @Value("${model.local.history-days:14}")
+    private int historyDays;
+
+    @Value("${model.local.season-length:24}")
+    private int seasonLength;
+
+    @Value("${model.local.arima.order:3}")
+    private int arimaOrder;
+
+    /**
+     * 활성 모델 설정을 이 엔진으로 처리할 수 있는지 확인합니다.
+     */
+    public boolean supports(ModelConfig modelConfig){
+        ModelConfig.ModelType modelType = modelConfig.getModelType();
+        if(modelType != ModelConfig.ModelType.ARIMA && modelType != ModelConfig.ModelType.HOLT_WINTERS){
+            return false;
+        }
+        String endpoint = modelConfig.getApiEndpoint();
+        return endpoint == null || endpoint.isBlank() || endpoint.startsWith(LOCAL_ENDPOINT_PREFIX);
+    }
+
+    /**
+     * 요청한 위치들의 예측 대상 시간 교통량/속도를 예측합니다.
+     */
+    public ModelPredictionResult predict(PredictionRequest request, ModelConfig modelConfig){
+        long startNanos = System.nanoTime();
+
+        LocalDateTime seriesEnd = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS); // 진행 중인 시간은 제외
+        LocalDateTime seriesStart = seriesEnd.minusDays(historyDays);
+        int length = (int) Duration.between(seriesStart, seriesEnd).toHours();
+        int horizon = (int) Math.max(1, Duration.between(seriesEnd.minusHours(1),
+                request.getTargetDatetime().truncatedTo(ChronoUnit.HOURS)).toHours());
+
+        int points = predictionHorizon.points(request.getPredictionType());
+        int stepHours = Math.max(1, Math.round(predictionHorizon.getStepMinutes() / 60.0f));
+
+        Map<Long, Series> seriesByLocation = loadSeries(request.getLocationIds(), seriesStart, length);
+
+        List<ModelPredictionResult.Prediction> predictions = new ArrayList<>(request.getLocationIds().size());
+        int skipped = 0;
+        for(Long locationId : request.getLocationIds()){
+            Series series = seriesByLocation.get(locationId);
+            ModelPredictionResult.Prediction prediction = series == null
+                    ? null
+                    : forecast(locationId, series, modelConfig.getModelType(), horizon, points, stepHours);
+            if(prediction == null){
+                skipped++;
+                continue;
+            }
+            predictions.add(prediction);
+        }
+
+        log.info("내장 예측 엔진 완료: 모델={}({}), 위치 {}개, 예측 {}시간 후부터 {}개 시점, 학습 데이터 부족 {}개, 실행시간={}ms",
+                modelConfig.getModelType(), modelConfig.getModelVersion(), predictions.size(), horizon, points, skipped,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return new ModelPredictionResult(modelConfig.getModelVersion(), modelConfig.getModelName(), predictions);
+    }
+
+    /**
+     * 위치 하나의 차량 수/속도를 예측합니다.
+     * @param points 예측할 시점 수(2 이상이면 horizon 에 시점별 값을 담음)
+     * @return 예측 결과, 관측이 (계절 길이 + AR 차수)의 2배보다 적으면 null
+     */
+    private ModelPredictionResult.Prediction forecast(long locationId, Series series, ModelConfig.ModelType modelType,
+                                                      int horizon, int points, int stepHours){
+        int minimumObservations = (seasonLength + arimaOrder) * 2;
+        if(series.vehicleObservations < minimumObservations || !fillGaps(series.vehicleCounts, seasonLength)){
+            return null;
+        }
+
+        double[] vehicleForecast = forecastSeries(series.vehicleCounts, modelType, horizon, points, stepHours);
+
+        double[] speedForecast = null;
+        double freeFlowSpeed = 0.0;
+        if(series.speedObservations >= minimumObservations && fillGaps(series.speeds, seasonLength)){
+            speedForecast = forecastSeries(series.speeds, modelType, horizon, points, stepHours);
+            for(double observed : series.speeds){
+                freeFlowSpeed = Math.max(freeFlowSpeed, observed);
+            }
+        }
+
+        // 1-step 오차가 평균 대비 작을수록 신뢰도가 높음
+        double mean = Arrays.stream(series.vehicleCounts).average().orElse(0.0);
+        double confidence = Math.min(0.95, Math.max(0.05, 1.0 - vehicleForecast[points] / Math.max(mean, 1.0)));
+
+        int[] vehicleCounts = new int[points];
+        double[] speeds = new double[points];
+        TrafficData.CongestionLevel[] congestionLevels = new TrafficData.CongestionLevel[points];
+        for(int i = 0; i < points; i++){
+            vehicleCounts[i] = (int) Math.round(Math.max(0.0, vehicleForecast[i]));
+            speeds[i] = speedForecast == null ? 0.0 : Math.max(0.0, speedForecast[i]);
+            congestionLevels[i] = BaselinePredictor.congestionLevel(speeds[i], freeFlowSpeed);
+        }
+
+        PredictionSeries horizonSeries = null;
+        if(points > 1){
+            double[] confidences = new double[points];
+            Arrays.fill(confidences, confidence);
+            horizonSeries = new PredictionSeries(stepHours * 60, vehicleCounts, speeds, congestionLevels, confidences);
+        }
+        return new ModelPredictionResult.Prediction(
+                locationId,
+                vehicleCounts[0],
+                speeds[0],
+                congestionLevels[0],
+                confidence,
+                horizonSeries);
+    }
+
+    /**
+     * horizon 번째 시점부터 stepHours 간격으로 points 개 시점을 예측합니다.
+     * @return [시점별 예측 값..., 1-step RMSE]
+     */
+    private double[] forecastSeries(double[] values, ModelConfig.ModelType modelType,
+                                    int horizon, int points, int stepHours){
+        double[] forecasts = new double[points + 1];
+        if(modelType == ModelConfig.ModelType.HOLT_WINTERS){
+            HoltWinters.Fit fit = HoltWinters.fit(values, seasonLength);
+            for(int i = 0; i < points; i++){
+                forecasts[i] = HoltWinters.forecast(fit, horizon + i * stepHours);
+            }
+            forecasts[points] = fit.rmse();
+            return forecasts;
+        }
+        SeasonalArima.Fit fit = SeasonalArima.fit(values, arimaOrder, seasonLength);
+        for(int i = 0; i < points; i++){
+            forecasts[i] = SeasonalArima.forecast(fit, horizon + i * stepHours);
+        }
+        forecasts[points] = fit.rmse();
+        return forecasts;
+    }
+
+    /**
+     * 위치별 시간 단위 시계열을 한 번의 집계 쿼리(IN 절 1000개 단위)로 불러옵니다. 관측이 없는 시간은 NaN
+     */
+    private Map<Long, Series> loadSeries(List<Long> locationIds, LocalDateTime seriesStart, int length){
+        Map<Long, Series> seriesByLocation = new HashMap<>(locationIds.size() * 2);
+        for(int from = 0; from < locationIds.size(); from += MAX_IN_CLAUSE){
+            List<Long> batch = locationIds.subList(from, Math.min(from + MAX_IN_CLAUSE, locationIds.size()));
+            for(Object[] row : trafficDataRepository.findHourlySeriesByLocationIdsSince(batch, seriesStart)){
+                LocalDate date = row[1] instanceof LocalDate localDate
+                        ? localDate
+                        : ((java.sql.Date) row[1]).toLocalDate();
+                int hour = ((Number) row[2]).intValue();
+                long index = Duration.between(seriesStart, date.atTime(hour, 0)).toHours();
+                if(index < 0 || index >= length){
+                    continue;
+                }
+
+                Series series = seriesByLocation.computeIfAbsent(((Number) row[0]).longValue(), id -> new Series(length));
+                if(row[3] != null){
+                    series.vehicleCounts[(int) index] = ((Number) row[3]).doubleValue();
+                    series.vehicleObservations++;
+                }
+                if(row[4] != null){
+                    series.speeds[(int) index] = ((Number) row[4]).doubleValue();
+                    series.speedObservations++;
+                }
+            }
+        }
+        return seriesByLocation;
+    }
+
+    /**
+     * 결측(NaN)을 한 주기 전 값 → 직전 값 순으로 채우고, 앞부분 결측은 첫 관측 값으로 채웁니다.
+     * @return 관측이 하나도 없으면 false
+     */
+    static boolean fillGaps(double[] values, int seasonLength){
+        int firstObserved = -1;
+        for(int i = 0; i < values.length; i++){
+            if(!Double.isNaN(values[i])){
+                firstObserved = i;
+                break;
+            }
+        }
+        if(firstObserved < 0){
+            return false;
+        }
+
+        for(int i = 0; i < firstObserved; i++){
+            values[i] = values[firstObserved];
+        }
+        for(int i = firstObserved + 1; i < values.length; i++){
+            if(Double.isNaN(values[i])){
+                values[i] = i >= seasonLength && !Double.isNaN(values[i - seasonLength])
+                        ? values[i - seasonLength]
+                        : values[i - 1];
+            }
+        }
+        return true;
+    }
+
+    // 위치 하나의 시간 단위 시계열
+    private static final class Series {
+
+        private final double[] vehicleCounts;
+        private final double[] speeds;
+        private int vehicleObservations;
+        private int speedObservations;
+
+        Series(int length){
+            vehicleCounts = new double[length];
+            speeds = new double[length];
+            Arrays.fill(vehicleCounts, Double.NaN);
+            Arrays.fill(speeds, Double.NaN);
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.traficast.service;
+
+import com.traficast.exception.ModelApiException;
+import com.traficast.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 모델 API 호출 보호 계층
+ * - 시도마다 model.api.timeout, 재시도를 포함한 전체 호출은 deadline-ms 안에 끝남(지연 상한)
+ * - 재시도 가능한 오류(통신 오류, 타임아웃, 5xx)만 최대 model.api.retry-count 번, 지수 백오프(지터 포함)로 재시도
+ * - 재시도 예산: 호출마다 ratio 만큼 토큰이 쌓이고 재시도마다 1개 사용, 장애 시 재시도가 부하를 키우지 않도록 제한
+ * - 서킷 브레이커: 최근 실패율이 높으면 open-duration 동안 호출 없이 바로 실패(ModelApiException.circuitOpen)
+ * - 헤지 요청(선택): 응답이 최근 p95 지연을 넘기면 같은 요청을 한 번 더 보내 먼저 온 응답을 사용하고 나머지는 취소
+ * 모델 API 예측 요청은 부수 효과가 없으므로 재시도/헤지해도 안전함
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelApiResilience {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${model.api.timeout:30}")
+    private int attemptTimeoutSeconds;
+
+    @Value("${model.api.retry-count:3}")
+    private int retryCount;
+
+    @Value("${model.api.resilience.deadline-ms:60000}")
+    private long deadlineMs;
+
+    @Value("${model.api.resilience.backoff.initial-ms:200}")
+    private long initialBackoffMs;
+
+    @Value("${model.api.resilience.backoff.max-ms:2000}")
+    private long maxBackoffMs;
+
+    @Value("${model.api.resilience.retry-budget.ratio:0.2}")
+    private double retryBudgetRatio;
+
+    @Value("${model.api.resilience.retry-budget.max-tokens:10}")
+    private double retryBudgetMaxTokens;
+
+    @Value("${model.api.resilience.circuit-breaker.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${model.api.resilience.circuit-breaker.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${model.api.resilience.circuit-breaker.failure-rate-threshold:0.5}")
+    private double circuitFailureRateThreshold;
+
+    @Value("${model.api.resilience.circuit-breaker.open-duration-ms:30000}")
+    private long circuitOpenDurationMs;
+
+    @Value("${model.api.resilience.circuit-breaker.half-open-permits:2}")
+    private int circuitHalfOpenPermits;
+
+    @Value("${model.api.resilience.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${model.api.resilience.hedge.percentile:0.95}")
+    private double hedgePercentile;
+
+    @Value("${model.api.resilience.hedge.min-delay-ms:100}")
+    private long hedgeMinDelayMs;
+
+    @Value("${model.api.resilience.hedge.min-samples:20}")
+    private int hedgeMinSamples;
+
+    private CircuitBreaker circuitBreaker;
+    private final LatencyWindow latencies = new LatencyWindow(256);
+
+    private final Object retryBudgetLock = new Object();
+    private double retryTokens;
+
+    private long attemptTimeoutNanos;
+
+    private Counter retryCounter;
+    private Counter retryBudgetExhaustedCounter;
+    private Counter circuitRejectedCounter;
+    private Counter hedgeLaunchedCounter;
+    private Counter hedgeWonCounter;
+
+    @PostConstruct
+    void init(){
+        circuitBreaker = new CircuitBreaker(circuitWindowSize, circuitMinimumCalls, circuitFailureRateThreshold,
+                TimeUnit.MILLISECONDS.toNanos(circuitOpenDurationMs), circuitHalfOpenPermits);
+        attemptTimeoutNanos = TimeUnit.SECONDS.toNanos(attemptTimeoutSeconds);
+        retryTokens = retryBudgetMaxTokens;
+
+        retryCounter = Counter.builder("model.api.retries")
+                .description("모델 API 재시도 수").register(meterRegistry);
+        retryBudgetExhaustedCounter = Counter.builder("model.api.retries.budget-exhausted")
+                .description("재시도 예산 부족으로 재시도하지 않은 수").register(meterRegistry);
+        circuitRejectedCounter = Counter.builder("model.api.circuit.rejected")
+                .description("서킷 브레이커가 열려 호출하지 않은 수").register(meterRegistry);
+        hedgeLaunchedCounter = Counter.builder("model.api.hedges")
+                .tag("result", "launched").description("헤지 요청 수").register(meterRegistry);
+        hedgeWonCounter = Counter.builder("model.api.hedges")
+                .tag("result", "won").description("헤지 요청이 먼저 응답한 수").register(meterRegistry);
+        Gauge.builder("model.api.circuit.state", this, resilience -> resilience.getCircuitState().ordinal())
+                .description("서킷 브레이커 상태(0=CLOSED, 1=OPEN, 2=HALF_OPEN)").register(meterRegistry);
+        Gauge.builder("model.api.latency.percentile", latencies,
+                        window -> Math.max(window.percentile(hedgePercentile, 1), 0) / 1_000_000.0)
+                .tag("percentile", String.valueOf(hedgePercentile))
+                .description("최근 모델 API 응답 지연(ms)").register(meterRegistry);
+
+        log.info("모델 API 보호 설정: 시도 타임아웃={}초, 재시도={}회, 전체 기한={}ms, 서킷(실패율 {} / 최근 {}건, 열림 {}ms), 헤지={}",
+                attemptTimeoutSeconds, retryCount, deadlineMs, circuitFailureRateThreshold, circuitWindowSize,
+                circuitOpenDurationMs, hedgeEnabled ? "p" + Math.round(hedgePercentile * 100) : "사용 안 함");
+    }
+
+    public CircuitBreaker.State getCircuitState(){
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * 블로킹 호출을 보호 계층으로 실행합니다. 각 시도는 가상 스레드에서 실행되고, 취소되면(타임아웃, 헤지 패배) 인터럽트됨
+     * @throws ModelApiException 재시도 후에도 실패, 기한 초과, 서킷 열림
+     */
+    public <T> T executeBlocking(Supplier<T> call){
+        CompletableFuture<T> result = execute(() -> startOnVirtualThread(call));
+        try{
+            return result.get();
+        }catch (ExecutionException e){
+            throw toRuntimeException(e.getCause());
+        }catch (InterruptedException e){
+            // 호출 측이 기다리기를 포기한 경우(지연 예산 초과 등) 진행 중인 시도도 취소
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ModelApiException("모델 API 호출이 중단되었습니다.", false, e);
+        }
+    }
+
+    /**
+     * 비동기 호출을 보호 계층으로 실행합니다.
+     * @param call 시도마다 새 요청을 보내는 함수(반환한 Future 를 취소하면 요청도 중단되어야 함)
+     * @return 결과 Future, 취소하면 진행 중인 시도도 취소되고 더 이상 재시도하지 않음
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call){
+        depositRetryToken();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> currentAttempt = new AtomicReference<>();
+        result.whenComplete((value, error) -> {
+            CompletableFuture<T> attempt = currentAttempt.get();
+            if(result.isCancelled() && attempt != null){
+                attempt.cancel(true);
+            }
+        });
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        attempt(call, 0, deadlineNanos, result, currentAttempt);
+        return result;
+    }
+
+    private <T> void attempt(Supplier<CompletableFuture<T>> call, int attemptNo, long deadlineNanos,
+                             CompletableFuture<T> result, AtomicReference<CompletableFuture<T>> currentAttempt){
+        if(result.isDone()){
+            return;
+        }
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if(remainingNanos <= 0){
+            result.completeExceptionally(deadlineExceeded());
+            return;
+        }
+
+        CompletableFuture<T> attempt = hedged(call, Math.min(attemptTimeoutNanos, remainingNanos));
+        currentAttempt.set(attempt);
+        if(result.isCancelled()){
+            attempt.cancel(true);
+        }
+        attempt.whenComplete((value, error) -> {
+            if(error == null){
+                result.complete(value);
+                return;
+            }
+
+            RuntimeException failure = toRuntimeException(error);
+            if(!isRetryable(failure) || attemptNo >= retryCount){
+                result.completeExceptionally(failure);
+                return;
+            }
+
+            long backoffNanos = backoffNanos(attemptNo);
+            if(System.nanoTime() + backoffNanos >= deadlineNanos){
+                result.completeExceptionally(failure);
+                return;
+            }
+            if(!tryWithdrawRetryToken()){
+                retryBudgetExhaustedCounter.increment();
+                log.warn("모델 API 재시도 예산 부족으로 재시도하지 않습니다: {}", failure.getMessage());
+                result.completeExceptionally(failure);
+                return;
+            }
+
+            retryCounter.increment();
+            log.warn("모델 API 재시도 {}/{}: {}ms 후, 원인={}", attemptNo + 1, retryCount,
+                    TimeUnit.NANOSECONDS.toMillis(backoffNanos), failure.getMessage());
+            CompletableFuture.delayedExecutor(backoffNanos, TimeUnit.NANOSECONDS)
+                    .execute(() -> attempt(call, attemptNo + 1, deadlineNanos, result, currentAttempt));
+        });
+    }
+
+    /**
+     * 한 번의 시도. 헤지가 켜져 있으면 지연이 p95 를 넘을 때 같은 요청을 한 번 더 보내고 먼저 성공한 결과를 사용
+     */
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> call, long timeoutNanos){
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        List<CompletableFuture<T>> started = new CopyOnWriteArrayList<>();
+        AtomicInteger pending = new AtomicInteger();
+        AtomicBoolean timedOut = new AtomicBoolean();
+
+        winner.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).whenComplete((value, error) -> {
+            if(error instanceof TimeoutException){
+                timedOut.set(true);
+            }
+            started.forEach(future -> future.cancel(true));
+        });
+
+        if(!launch(call, winner, started, pending, timedOut, false)){
+            return winner;
+        }
+
+        long hedgeDelayNanos = hedgeDelayNanos();
+        if(hedgeDelayNanos > 0 && hedgeDelayNanos < timeoutNanos){
+            CompletableFuture.delayedExecutor(hedgeDelayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if(!winner.isDone() && launch(call, winner, started, pending, timedOut, true)){
+                    hedgeLaunchedCounter.increment();
+                    log.debug("모델 API 응답 지연 {}ms 초과, 헤지 요청 전송", TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos));
+                }
+            });
+        }
+        return winner;
+    }
+
+    private <T> boolean launch(Supplier<CompletableFuture<T>> call, CompletableFuture<T> winner,
+                               List<CompletableFuture<T>> started, AtomicInteger pending,
+                               AtomicBoolean timedOut, boolean hedge){
+        if(!circuitBreaker.tryAcquirePermission()){
+            circuitRejectedCounter.increment();
+            if(pending.get() == 0){
+                winner.completeExceptionally(ModelApiException.circuitOpen());
+            }
+            return false;
+        }
+
+        pending.incrementAndGet();
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> future;
+        try{
+            future = call.get();
+        }catch (RuntimeException e){
+            future = CompletableFuture.failedFuture(e);
+        }
+        started.add(future);
+        if(winner.isDone()){
+            future.cancel(true);
+        }
+
+        future.whenComplete((value, error) -> {
+            if(error == null){
+                circuitBreaker.onSuccess();
+                latencies.record(System.nanoTime() - startNanos);
+                if(winner.complete(value) && hedge){
+                    hedgeWonCounter.increment();
+                }
+                return;
+            }
+
+            RuntimeException failure = toRuntimeException(error);
+            if(failure instanceof CancellationException){
+                // 타임아웃으로 취소된 시도는 실패, 헤지 경쟁에서 진 시도는 집계하지 않음
+                if(timedOut.get()){
+                    circuitBreaker.onFailure();
+                }else{
+                    circuitBreaker.onIgnored();
+                }
+            }else if(isRetryable(failure)){
+                circuitBreaker.onFailure();
+            }else{
+                // 4xx, 응답 형식 오류는 서버가 응답한 것이므로 가용성 실패로 보지 않음
+                circuitBreaker.onSuccess();
+            }
+
+            if(pending.decrementAndGet() == 0){
+                winner.completeExceptionally(failure);
+            }
+        });
+        return true;
+    }
+
+    private long hedgeDelayNanos(){
+        if(!hedgeEnabled){
+            return -1;
+        }
+        long percentileNanos = latencies.percentile(hedgePercentile, hedgeMinSamples);
+        if(percentileNanos < 0){
+            return -1;
+        }
+        return Math.max(percentileNanos, TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMs));
+    }
+
+    // 지수 백오프(절반 고정 + 절반 무작위)
+    private long backoffNanos(int attemptNo){
+        long exponentialMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attemptNo, 20));
+        long jitteredMs = exponentialMs / 2 + ThreadLocalRandom.current().nextLong(exponentialMs / 2 + 1);
+        return TimeUnit.MILLISECONDS.toNanos(jitteredMs);
+    }
+
+    private void depositRetryToken(){
+        synchronized (retryBudgetLock){
+            retryTokens = Math.min(retryBudgetMaxTokens, retryTokens + retryBudgetRatio);
+        }
+    }
+
+    private boolean tryWithdrawRetryToken(){
+        synchronized (retryBudgetLock){
+            if(retryTokens < 1.0){
+                return false;
+            }
+            retryTokens -= 1.0;
+            return true;
+        }
+    }
+
+    private ModelApiException deadlineExceeded(){
+        return new ModelApiException("모델 API 호출 기한(" + deadlineMs + "ms) 초과", false, null);
+    }
+
+    private static boolean isRetryable(RuntimeException failure){
+        return failure instanceof ModelApiException modelApiException && modelApiException.isRetryable();
+    }
+
+    private RuntimeException toRuntimeException(Throwable error){
+        Throwable cause = error;
+        while(cause instanceof CompletionException && cause.getCause() != null){
+            cause = cause.getCause();
+        }
+        if(cause instanceof TimeoutException){
+            return new ModelApiException("모델 API 응답 시간(" + attemptTimeoutSeconds + "초) 초과", true, cause);
+        }
+        if(cause instanceof RuntimeException runtime){
+            return runtime;
+        }
+        if(cause instanceof Error fatal){
+            throw fatal;
+        }
+        return ModelApiException.ioFailure(cause);
+    }
+
+    private static <T> CompletableFuture<T> startOnVirtualThread(Supplier<T> call){
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Thread thread = Thread.ofVirtual().name("model-api-call").unstarted(() -> {
+            try{
+                future.complete(call.get());
+            }catch (Throwable t){
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((value, error) -> {
+            if(future.isCancelled()){
+                // 블로킹 소켓 읽기 중인 가상 스레드는 인터럽트되면 소켓이 닫히며 바로 빠져나옴
+                thread.interrupt();
+            }
+        });
+        thread.start();
+        return future;
+    }
+
+    /**
+     * 최근 성공 응답 지연 원형 버퍼(헤지 기준 분위수 계산용)
+     */
+    private static final class LatencyWindow {
+
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size){
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos){
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if(count < samples.length){
+                count++;
+            }
+        }
+
+        /**
+         * @return 분위수 지연(ns), 표본이 minSamples 보다 적으면 -1
+         */
+        synchronized long percentile(double percentile, int minSamples){
+            if(count == 0 || count < minSamples){
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            return sorted[Math.min(Math.max(index, 0), count - 1)];
+        }
+    }
+}
@@ -1,57 +1,109 @@
 package com.traficast.service;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traficast.config.GzipRequestInterceptor;
 import com.traficast.dto.request.PredictionRequest;
-import com.traficast.dto.response.PredictionResponse;
+import com.traficast.dto.response.ModelPredictionResult;
 import com.traficast.entity.ModelConfig;
+import com.traficast.exception.ModelApiException;
 import com.traficast.exception.PredictionException;
-import com.traficast.repository.ModelConfigRepository;
+import com.traficast.util.EndpointBalancer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ModelApiService {
 
-    private final ModelConfigRepository modelConfigRepository;
+    private final ActiveModelRegistry activeModelRegistry;
     private final RestTemplate restTemplate;
+    private final ModelResponseDecoder modelResponseDecoder;
+    private final CloseableHttpAsyncClient modelApiAsyncClient;
+    private final ObjectMapper objectMapper;
+    private final ModelApiResilience modelApiResilience;
+    private final LocalForecastEngine localForecastEngine;
+    private final ModelEndpointPool modelEndpointPool;
+    private final PredictionHorizon predictionHorizon;
 
-    @Value("${model.api.default-url:http://localhost:8000/predict}")
-    private String defaultModelApiUrl;
+    @Value("${model.api.transport.compress-requests:true}")
+    private boolean compressRequests;
 
-    @Value("${model.api.timout:30}")
-    private int apiTimeoutSeconds;
+    @Value("${model.api.transport.compress-min-bytes:1024}")
+    private int compressMinBytes;
 
     /**
      * 외부 머신러닝 모델 API에 예측 요청을 보냅니다.
      * @param request 예측 요청 DTO
-     * @return 모델 API로부터 받은 예측 결과
-     * @throws RuntimeException 모델 API 통신 중 오류 발생 시
+     * @return 모델 API로부터 받은 예측 결과(응답 스트림을 토큰 단위로 디코딩)
+     * @throws PredictionException 모델 응답 형식이 예상과 다른 경우
+     * @throws ModelApiException 모델 API 통신 중 오류 발생 시
      */
-    public Map<String, Object> requestPredictionFromModel(PredictionRequest request){
-        LocalDateTime startTime = LocalDateTime.now();
-
+    public ModelPredictionResult requestPredictionFromModel(PredictionRequest request){
         // 1. 활성화된 모델 설정 조회
-        ModelConfig activeModel = getActiveModel();
-        String modelApiEndpoint = activeModel.getApiEndpoint();
+        return requestPredictionFromModel(request, getActiveModel());
+    }
+
+    /**
+     * 이미 조회한 활성 모델 설정으로 예측을 요청합니다(캐시 키 계산 등으로 모델을 먼저 조회한 경우).
+     * 재시도, 서킷 브레이커, 헤지 요청은 ModelApiResilience 가 처리
+     * 내장 엔진이 지원하는 모델(ARIMA, Holt-Winters)은 HTTP 호출 없이 LocalForecastEngine 으로 계산
+     * @throws ModelApiException 재시도 후에도 통신/HTTP 오류, 기한 초과, 서킷 열림
+     */
+    public ModelPredictionResult requestPredictionFromModel(PredictionRequest request, ModelConfig activeModel){
+        if(localForecastEngine.supports(activeModel)){
+            return localForecastEngine.predict(request, activeModel);
+        }
+        return modelApiResilience.executeBlocking(() -> sendPredictionRequest(request, activeModel));
+    }
 
-        if(modelApiEndpoint == null || modelApiEndpoint.isEmpty()){
-            log.warn("활성화된 모델의 API 엔드포인트가 없습니다. 기본 URL 사용:{}", defaultModelApiUrl);
-            modelApiEndpoint = defaultModelApiUrl;
+    // 모델 API 1회 호출(블로킹), 복제본 풀에서 고른 엔드포인트로 보내고 결과를 풀에 기록
+    private ModelPredictionResult sendPredictionRequest(PredictionRequest request, ModelConfig activeModel){
+        EndpointBalancer.Lease lease = modelEndpointPool.acquire(activeModel);
+        try{
+            ModelPredictionResult result = sendPredictionRequest(request, activeModel, lease.getUrl());
+            modelEndpointPool.complete(lease, null);
+            return result;
+        }catch (RuntimeException e){
+            modelEndpointPool.complete(lease, e);
+            throw e;
         }
+    }
+
+    private ModelPredictionResult sendPredictionRequest(PredictionRequest request, ModelConfig activeModel,
+                                                        String modelApiEndpoint){
+        LocalDateTime startTime = LocalDateTime.now();
 
         log.info("모델 API 호출 시작: Endpoint={}, Model Version={}", modelApiEndpoint, activeModel.getModelVersion());
 
@@ -65,59 +117,188 @@ public class ModelApiService {
         Map<String, Object> requestBody = prepareRequestBody(request);
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
 
-        // 4. 모델 API 호출 및 응답 처리
+        // 4. 모델 API 호출 및 응답 스트림 디코딩
         try{
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    modelApiEndpoint, entity, Map.class
+            List<ModelPredictionResult.Prediction> predictions = restTemplate.execute(
+                    modelApiEndpoint, HttpMethod.POST, restTemplate.httpEntityCallback(entity),
+                    response -> modelResponseDecoder.decode(response.getBody(), request.getLocationIds().size())
             );
 
             Duration executionTime = Duration.between(startTime, LocalDateTime.now());
-            log.info("모델 API 호출 성공: 실행시간={}ms, 상태코드={}",
-                    executionTime.toMillis(), response.getStatusCode());
+            log.info("모델 API 호출 성공: 실행시간={}ms, 예측 결과={}개",
+                    executionTime.toMillis(), predictions == null ? 0 : predictions.size());
 
-            Map<String, Object> responseBody = response.getBody();
-            if(responseBody == null){
-                throw new RuntimeException("모델 API 응답이 비어있습니다.");
+            if(predictions == null){
+                throw new ModelApiException("모델 API 응답이 비어있습니다.", false, null);
             }
 
-            // 5. 응답 검증
-            validateModelResponse(responseBody);
-
-            // 모델 정보를 응답에 추가(TrafficPredictionService에서 활용)
-            responseBody.put("modelVersion", activeModel.getModelVersion());
-            responseBody.put("modelName", activeModel.getModelName());
-
-            return responseBody;
+            // 모델 정보를 결과에 추가(TrafficPredictionService에서 활용)
+            return new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), predictions);
         }catch (HttpClientErrorException e){
             log.error("모델 API 클라이언트 오류: Status={}, Body={}",
                     e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("모델 API 클라이언트 오류: " + e.getResponseBodyAsString(), e);
+            throw ModelApiException.httpError(e.getStatusCode().value(), e.getResponseBodyAsString(), e);
         }catch (HttpServerErrorException e){
             log.error("모델 API 서버 오류: Status={}, Body={}",
                     e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("모델 API 서버 오류: " + e.getResponseBodyAsString(), e);
+            throw ModelApiException.httpError(e.getStatusCode().value(), e.getResponseBodyAsString(), e);
+        }catch (RestClientException e){
+            // ResponseExtractor 에서 발생한 디코딩 오류는 RestClientException 으로 감싸져 전달됨
+            if(e.getCause() instanceof JsonProcessingException formatError){
+                log.error("모델 API 응답 형식 오류: Model Version={}, Error={}",
+                        activeModel.getModelVersion(), formatError.getOriginalMessage());
+                throw PredictionException.processingFailure(request.getLocationIds(), request.getPredictionType(),
+                        activeModel.getModelVersion(), "모델 응답 형식 오류 - " + formatError.getOriginalMessage());
+            }
+            // 연결 실패, 읽기 타임아웃 등 I/O 오류(재시도 대상)
+            if(e instanceof ResourceAccessException){
+                log.error("모델 API 통신 오류: Error={}", e.getMessage());
+                throw ModelApiException.ioFailure(e);
+            }
+            log.error("모델 API 호출 중 예외 발생: Error={}", e.getMessage(), e);
+            throw new ModelApiException("모델 API 호출 실패: " + e.getMessage(), false, e);
+        }catch (ModelApiException | PredictionException e){
+            throw e;
         }catch (Exception e){
             Duration executionTime = Duration.between(startTime, LocalDateTime.now());
             log.error("모델 API 호출 중 예외 발생: 실행시간 ={}ms, Error={}",
                     executionTime.toMillis(), e.getMessage(), e);
-            throw new RuntimeException("모델 API 호출 실패: " + e.getMessage(), e);
+            throw new ModelApiException("모델 API 호출 실패: " + e.getMessage(), false, e);
+        }
+    }
+
+    /**
+     * 모델 API 를 비동기로 호출합니다. 호출 스레드는 바로 반환되고, 응답은 HttpClient 5 의 I/O 스레드에서 디코딩됨
+     * 재시도, 서킷 브레이커, 헤지 요청은 동기 호출과 같이 ModelApiResilience 가 처리
+     * @return 예측 결과 Future(형식 오류는 PredictionException, 통신/HTTP 오류는 ModelApiException 으로 실패)
+     */
+    public CompletableFuture<ModelPredictionResult> requestPredictionFromModelAsync(
+            PredictionRequest request, ModelConfig activeModel){
+        if(localForecastEngine.supports(activeModel)){
+            // 내장 엔진은 DB 조회가 있으므로 호출 스레드 대신 가상 스레드에서 계산
+            return CompletableFuture.supplyAsync(() -> localForecastEngine.predict(request, activeModel),
+                    task -> Thread.ofVirtual().name("local-forecast").start(task));
+        }
+        return modelApiResilience.execute(() -> sendPredictionRequestAsync(request, activeModel));
+    }
+
+    // 모델 API 1회 비동기 호출(반환한 Future 를 취소하면 HTTP 요청도 취소)
+    private CompletableFuture<ModelPredictionResult> sendPredictionRequestAsync(
+            PredictionRequest request, ModelConfig activeModel){
+        byte[] body;
+        byte[] compressed;
+        try{
+            body = objectMapper.writeValueAsBytes(prepareRequestBody(request));
+            // 동기 클라이언트의 GzipRequestInterceptor 와 같은 기준으로 요청 본문 압축
+            compressed = compressRequests ? GzipRequestInterceptor.compress(body, compressMinBytes) : null;
+        }catch (IOException e){
+            return CompletableFuture.failedFuture(new ModelApiException("모델 API 요청 본문 생성 실패: " + e.getMessage(), false, e));
+        }
+
+        EndpointBalancer.Lease lease = modelEndpointPool.acquire(activeModel);
+        String modelApiEndpoint = lease.getUrl();
+
+        SimpleRequestBuilder requestBuilder = SimpleRequestBuilder.post(modelApiEndpoint)
+                .setHeader("X-Model-Version", activeModel.getModelVersion())
+                .setHeader("X-Request-ID", generateRequestId())
+                // 비동기 클라이언트는 응답 압축을 자동으로 풀지 않으므로 gzip 만 수락하고 직접 풂
+                .setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if(compressed != null){
+            requestBuilder.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .setBody(compressed, ContentType.APPLICATION_JSON);
+        }else {
+            requestBuilder.setBody(body, ContentType.APPLICATION_JSON);
+        }
+        SimpleHttpRequest httpRequest = requestBuilder.build();
+
+        log.info("모델 API 비동기 호출 시작: Endpoint={}, Model Version={}", modelApiEndpoint, activeModel.getModelVersion());
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<ModelPredictionResult> result = new CompletableFuture<>();
+        Future<SimpleHttpResponse> exchange = modelApiAsyncClient.execute(httpRequest, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try{
+                    result.complete(toModelPredictionResult(response, request, activeModel, startNanos));
+                }catch (RuntimeException e){
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                log.error("모델 API 비동기 호출 중 예외 발생: 실행시간 ={}ms, Error={}",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), e.getMessage());
+                result.completeExceptionally(ModelApiException.ioFailure(e));
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if(result.isCancelled()){
+                exchange.cancel(true);
+            }
+            modelEndpointPool.complete(lease, error);
+        });
+        return result;
+    }
+
+    private ModelPredictionResult toModelPredictionResult(SimpleHttpResponse response, PredictionRequest request,
+                                                          ModelConfig activeModel, long startNanos){
+        long executionTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        int status = response.getCode();
+        byte[] responseBody;
+        try{
+            responseBody = decodeResponseBody(response);
+        }catch (IOException e){
+            throw new ModelApiException("모델 API 응답 읽기 실패: " + e.getMessage(), true, e);
+        }
+
+        if(status >= 400){
+            String errorBody = responseBody == null ? null : new String(responseBody, StandardCharsets.UTF_8);
+            log.error("모델 API {} 오류: Status={}, Body={}", status >= 500 ? "서버" : "클라이언트", status, errorBody);
+            throw ModelApiException.httpError(status, errorBody, null);
+        }
+
+        if(responseBody == null || responseBody.length == 0){
+            throw new ModelApiException("모델 API 응답이 비어있습니다.", false, null);
+        }
+
+        try{
+            List<ModelPredictionResult.Prediction> predictions = modelResponseDecoder.decode(
+                    new ByteArrayInputStream(responseBody), request.getLocationIds().size());
+            log.info("모델 API 비동기 호출 성공: 실행시간={}ms, 예측 결과={}개", executionTimeMs, predictions.size());
+            return new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), predictions);
+        }catch (JsonProcessingException e){
+            log.error("모델 API 응답 형식 오류: Model Version={}, Error={}",
+                    activeModel.getModelVersion(), e.getOriginalMessage());
+            throw PredictionException.processingFailure(request.getLocationIds(), request.getPredictionType(),
+                    activeModel.getModelVersion(), "모델 응답 형식 오류 - " + e.getOriginalMessage());
+        }catch (IOException e){
+            throw new ModelApiException("모델 API 응답 읽기 실패: " + e.getMessage(), true, e);
+        }
+    }
+
+    // Content-Encoding: gzip 응답이면 압축을 풀어 돌려줌
+    private static byte[] decodeResponseBody(SimpleHttpResponse response) throws IOException {
+        byte[] responseBody = response.getBodyBytes();
+        Header contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if(responseBody == null || contentEncoding == null || !"gzip".equalsIgnoreCase(contentEncoding.getValue().trim())){
+            return responseBody;
+        }
+        try(InputStream in = new GZIPInputStream(new ByteArrayInputStream(responseBody))){
+            return in.readAllBytes();
         }
     }
 
     /**
-     * 활성화된 모델 설정을 조회합니다.
+     * 활성화된 모델 설정을 조회합니다(ActiveModelRegistry 의 메모리 값, DB 조회 없음).
      */
-    private ModelConfig getActiveModel(){
-        return modelConfigRepository.findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc()
-                .orElseGet(() -> {
-                    log.warn("활성화된 모델을 찾을 수 없습니다. 기본 모델 설정을 생성합니다.");
-                    return ModelConfig.builder()
-                            .modelName("Default Traffic Predictor")
-                            .modelVersion("1.0.0")
-                            .apiEndpoint(defaultModelApiUrl)
-                            .isActive(true)
-                            .build();
-                });
+    public ModelConfig getActiveModel(){
+        return activeModelRegistry.getActiveModel();
     }
 
     /**
@@ -141,16 +322,13 @@ public class ModelApiService {
             requestBody.put("isHoliday", request.getIsHoliday());
         }
 
-        return requestBody;
-    }
-
-    /**
-     * 모델 API 응답의 유효성을 검증합니다
-     */
-    private void validateModelResponse(Map<String, Object> response){
-        if(!response.containsKey("predictions") || !(response.get("predictions") instanceof List)){
-            throw new RuntimeException("모델 API 응답 형식이 올바르지 않습니다: predictions 필드가 없거나 배열이 아닙니다.");
+        // 일별/주별 예측은 대상 시간부터 여러 시점을 한 번에 요청(응답의 horizon 필드)
+        int points = predictionHorizon.points(request.getPredictionType());
+        if(points > 1){
+            requestBody.put("horizon", Map.of("points", points, "stepMinutes", predictionHorizon.getStepMinutes()));
         }
+
+        return requestBody;
     }
 
     /**
@@ -0,0 +1,28 @@
+package com.traficast.service;
+
+import com.traficast.entity.ModelConfig;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * ModelConfig 엔티티 변경 리스너
+ * 모델 설정이 저장/수정/삭제되면(활성화 변경 포함) ActiveModelRegistry 를 무효화
+ * 레지스트리가 EntityManagerFactory 보다 늦게 만들어지므로 ObjectProvider 로 사용 시점에 가져옴
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelConfigChangeListener {
+
+    private final ObjectProvider<ActiveModelRegistry> activeModelRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(ModelConfig modelConfig){
+        activeModelRegistry.ifAvailable(ActiveModelRegistry::invalidate);
+    }
+}
@@ -0,0 +1,128 @@
+package com.traficast.service;
+
+import com.traficast.entity.ModelConfig;
+import com.traficast.exception.ModelApiException;
+import com.traficast.exception.PredictionException;
+import com.traficast.util.EndpointBalancer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 서버 복제본 풀
+ * ActiveModelRegistry 가 제공하는 활성 모델의 복제본 엔드포인트에 요청을 나눠 보냄(EndpointBalancer)
+ * 모델 API 호출 1회마다 acquire 로 엔드포인트를 받고, 결과를 complete 로 기록하면
+ * 진행 중 요청 수와 응답 지연이 다음 선택에 반영되고 장애/느린 복제본은 잠시 제외됨
+ * 재시도와 헤지 요청도 매번 새로 선택하므로 보통 다른 복제본으로 감
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelEndpointPool {
+
+    private final ActiveModelRegistry activeModelRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${model.api.pool.ejection.consecutive-failures:5}")
+    private int consecutiveFailures;
+
+    @Value("${model.api.pool.ejection.slow-factor:3.0}")
+    private double slowFactor;
+
+    @Value("${model.api.pool.ejection.min-samples:20}")
+    private int minSamples;
+
+    @Value("${model.api.pool.ejection.base-ms:30000}")
+    private long baseEjectionMs;
+
+    @Value("${model.api.pool.ejection.max-ms:300000}")
+    private long maxEjectionMs;
+
+    @Value("${model.api.pool.ejection.max-ratio:0.5}")
+    private double maxEjectedRatio;
+
+    private EndpointBalancer balancer;
+
+    // 엔드포인트별 지표(목록에서 빠지면 제거)
+    private final Map<String, List<Meter>> endpointMeters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init(){
+        balancer = new EndpointBalancer(consecutiveFailures, slowFactor, minSamples,
+                TimeUnit.MILLISECONDS.toNanos(baseEjectionMs), TimeUnit.MILLISECONDS.toNanos(maxEjectionMs),
+                maxEjectedRatio, this::onEjected);
+    }
+
+    /**
+     * 모델 API 를 호출할 엔드포인트를 고릅니다.
+     */
+    public EndpointBalancer.Lease acquire(ModelConfig activeModel){
+        List<String> endpoints = activeModelRegistry.getEndpoints(activeModel);
+        if(balancer.setEndpoints(endpoints)){
+            updateMeters(endpoints);
+        }
+        return balancer.acquire();
+    }
+
+    /**
+     * 호출 결과를 기록합니다.
+     * 취소/인터럽트는 지연만, 통신 오류·5xx·응답 형식 오류는 엔드포인트 실패로, 그 밖의 오류(4xx 등)는 반영하지 않음
+     * @param error 성공이면 null
+     */
+    public void complete(EndpointBalancer.Lease lease, Throwable error){
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if(cause == null){
+            lease.success();
+        }else if(cause instanceof CancellationException || Thread.currentThread().isInterrupted()){
+            lease.cancelled();
+        }else if(cause instanceof ModelApiException e && e.isRetryable() || cause instanceof PredictionException){
+            lease.failure();
+        }else{
+            lease.release();
+        }
+    }
+
+    private void onEjected(String url, String reason, long ejectionNanos){
+        log.warn("모델 엔드포인트 제외: {}, 사유={}, 제외 시간={}ms",
+                url, "slow".equals(reason) ? "응답 지연" : "연속 실패", TimeUnit.NANOSECONDS.toMillis(ejectionNanos));
+        Counter.builder("model.api.endpoint.ejections")
+                .tag("endpoint", url).tag("reason", reason)
+                .description("복제본 제외 횟수").register(meterRegistry).increment();
+    }
+
+    private synchronized void updateMeters(List<String> endpoints){
+        endpointMeters.keySet().removeIf(url -> {
+            if(endpoints.contains(url)){
+                return false;
+            }
+            endpointMeters.get(url).forEach(meterRegistry::remove);
+            return true;
+        });
+        for(String url : endpoints){
+            endpointMeters.computeIfAbsent(url, key -> {
+                List<Meter> meters = new ArrayList<>(3);
+                meters.add(Gauge.builder("model.api.endpoint.outstanding", balancer, b -> b.getOutstanding(key))
+                        .tag("endpoint", key).description("진행 중인 요청 수").register(meterRegistry));
+                meters.add(Gauge.builder("model.api.endpoint.latency", balancer, b -> b.getLatencyMillis(key))
+                        .tag("endpoint", key).description("응답 지연 EWMA(ms)").register(meterRegistry));
+                meters.add(Gauge.builder("model.api.endpoint.ejected", balancer, b -> b.isEjected(key) ? 1 : 0)
+                        .tag("endpoint", key).description("제외 여부(1=제외)").register(meterRegistry));
+                return meters;
+            });
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.traficast.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.TrafficData;
+import com.traficast.util.PredictionSeries;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 모델 API 응답 스트리밍 디코더
+ * 응답 전체를 Map 트리로 만들지 않고 Jackson 토큰 단위로 읽어 predictions 배열을 바로 Prediction 으로 변환
+ * 필수 필드 누락이나 타입 변경(스키마 변경)은 첫 위치에서 JsonParseException 으로 즉시 실패하며, 모르는 필드는 건너뜀
+ *
+ * 응답 형식: {"predictions":[{"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+ *            "predictedCongestionLevel":"NORMAL","confidenceScore":0.85}, ...], ...}
+ * 일별/주별 예측은 항목마다 대상 시간부터의 시점별 값이 열 단위 배열로 올 수 있음(선택):
+ *            "horizon":{"stepMinutes":60,"vehicleCounts":[120,...],"speeds":[45.5,...],
+ *                       "congestionLevels":["NORMAL",...],"confidences":[0.85,...]}
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelResponseDecoder {
+
+    private static final TrafficData.CongestionLevel[] CONGESTION_LEVELS = TrafficData.CongestionLevel.values();
+
+    private static final int LOCATION_ID = 1;
+    private static final int VEHICLE_COUNT = 1 << 1;
+    private static final int SPEED = 1 << 2;
+    private static final int CONGESTION_LEVEL = 1 << 3;
+    private static final int CONFIDENCE = 1 << 4;
+    private static final int REQUIRED_FIELDS = LOCATION_ID | VEHICLE_COUNT | SPEED | CONGESTION_LEVEL | CONFIDENCE;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 응답 본문을 읽어 예측 목록을 반환합니다(다 읽으면 스트림도 닫힘).
+     * @param expectedSize predictions 배열 예상 크기(요청한 위치 수)
+     * @throws JsonParseException predictions 배열이 없거나 필수 필드가 없거나 타입이 다른 경우
+     */
+    public List<ModelPredictionResult.Prediction> decode(InputStream body, int expectedSize) throws IOException {
+        try(JsonParser parser = objectMapper.getFactory().createParser(body)){
+            if(parser.nextToken() != JsonToken.START_OBJECT){
+                throw new JsonParseException(parser, "모델 API 응답이 JSON 객체가 아닙니다.");
+            }
+
+            List<ModelPredictionResult.Prediction> predictions = null;
+            String field;
+            while((field = parser.nextFieldName()) != null){
+                JsonToken token = parser.nextToken();
+                if("predictions".equals(field)){
+                    if(token != JsonToken.START_ARRAY){
+                        throw new JsonParseException(parser, "predictions 필드가 배열이 아닙니다.");
+                    }
+                    predictions = readPredictions(parser, expectedSize);
+                }else{
+                    parser.skipChildren();
+                }
+            }
+
+            if(predictions == null){
+                throw new JsonParseException(parser, "모델 API 응답에 predictions 필드가 없습니다.");
+            }
+            return predictions;
+        }
+    }
+
+    private List<ModelPredictionResult.Prediction> readPredictions(JsonParser parser, int expectedSize) throws IOException {
+        List<ModelPredictionResult.Prediction> predictions = new ArrayList<>(Math.max(expectedSize, 0));
+        JsonToken token;
+        while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+            if(token != JsonToken.START_OBJECT){
+                throw new JsonParseException(parser, "predictions 항목이 객체가 아닙니다: " + token);
+            }
+            predictions.add(readPrediction(parser, predictions.size()));
+        }
+        return predictions;
+    }
+
+    private ModelPredictionResult.Prediction readPrediction(JsonParser parser, int index) throws IOException {
+        long locationId = 0;
+        int vehicleCount = 0;
+        double speed = 0;
+        TrafficData.CongestionLevel congestionLevel = null;
+        double confidence = 0;
+        PredictionSeries horizon = null;
+        int seen = 0;
+
+        String field;
+        while((field = parser.nextFieldName()) != null){
+            JsonToken token = parser.nextToken();
+            switch(field){
+                case "locationId" -> {
+                    expectInteger(parser, token, field, index);
+                    locationId = parser.getLongValue();
+                    seen |= LOCATION_ID;
+                }
+                case "predictedVehicleCount" -> {
+                    expectInteger(parser, token, field, index);
+                    vehicleCount = parser.getIntValue();
+                    seen |= VEHICLE_COUNT;
+                }
+                case "predictedSpeed" -> {
+                    expectNumber(parser, token, field, index);
+                    speed = parser.getDoubleValue();
+                    seen |= SPEED;
+                }
+                case "predictedCongestionLevel" -> {
+                    if(token != JsonToken.VALUE_STRING){
+                        throw typeMismatch(parser, field, "문자열", index);
+                    }
+                    congestionLevel = parseCongestionLevel(parser.getText());
+                    if(congestionLevel == null){
+                        throw new JsonParseException(parser, String.format(
+                                "predictions[%d].predictedCongestionLevel 값이 올바르지 않습니다: %s", index, parser.getText()));
+                    }
+                    seen |= CONGESTION_LEVEL;
+                }
+                case "confidenceScore" -> {
+                    expectNumber(parser, token, field, index);
+                    confidence = parser.getDoubleValue();
+                    seen |= CONFIDENCE;
+                }
+                case "horizon" -> {
+                    if(token == JsonToken.START_OBJECT){
+                        horizon = readHorizon(parser, index);
+                    }else if(token != JsonToken.VALUE_NULL){
+                        throw typeMismatch(parser, field, "객체", index);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if(seen != REQUIRED_FIELDS){
+            throw new JsonParseException(parser, String.format(
+                    "predictions[%d] 필수 필드 누락: %s", index, missingFields(seen)));
+        }
+        return new ModelPredictionResult.Prediction(locationId, vehicleCount, speed, congestionLevel, confidence, horizon);
+    }
+
+    /**
+     * 시점별 예측 값(열 단위 배열)을 읽습니다. 네 배열은 모두 있어야 하고 길이가 같아야 함
+     */
+    private PredictionSeries readHorizon(JsonParser parser, int index) throws IOException {
+        int stepMinutes = 0;
+        int[] vehicleCounts = null;
+        double[] speeds = null;
+        TrafficData.CongestionLevel[] congestionLevels = null;
+        double[] confidences = null;
+
+        String field;
+        while((field = parser.nextFieldName()) != null){
+            JsonToken token = parser.nextToken();
+            switch(field){
+                case "stepMinutes" -> {
+                    expectInteger(parser, token, "horizon." + field, index);
+                    stepMinutes = parser.getIntValue();
+                }
+                case "vehicleCounts" -> {
+                    expectArray(parser, token, field, index);
+                    vehicleCounts = readIntArray(parser, index);
+                }
+                case "speeds" -> {
+                    expectArray(parser, token, field, index);
+                    speeds = readDoubleArray(parser, field, index);
+                }
+                case "congestionLevels" -> {
+                    expectArray(parser, token, field, index);
+                    congestionLevels = readCongestionLevelArray(parser, index);
+                }
+                case "confidences" -> {
+                    expectArray(parser, token, field, index);
+                    confidences = readDoubleArray(parser, field, index);
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if(vehicleCounts == null || speeds == null || congestionLevels == null || confidences == null){
+            throw new JsonParseException(parser, String.format(
+                    "predictions[%d].horizon 에는 vehicleCounts, speeds, congestionLevels, confidences 가 모두 있어야 합니다.", index));
+        }
+        try{
+            return new PredictionSeries(stepMinutes, vehicleCounts, speeds, congestionLevels, confidences);
+        }catch (IllegalArgumentException e){
+            throw new JsonParseException(parser, String.format("predictions[%d].horizon: %s", index, e.getMessage()));
+        }
+    }
+
+    private int[] readIntArray(JsonParser parser, int index) throws IOException {
+        int[] values = new int[32];
+        int size = 0;
+        JsonToken token;
+        while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+            expectInteger(parser, token, "horizon.vehicleCounts", index);
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getIntValue();
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private double[] readDoubleArray(JsonParser parser, String field, int index) throws IOException {
+        double[] values = new double[32];
+        int size = 0;
+        JsonToken token;
+        while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+            expectNumber(parser, token, "horizon." + field, index);
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getDoubleValue();
+        }
+        return Arrays.copyOf(values, size);
+    }
+
+    private TrafficData.CongestionLevel[] readCongestionLevelArray(JsonParser parser, int index) throws IOException {
+        List<TrafficData.CongestionLevel> values = new ArrayList<>();
+        JsonToken token;
+        while((token = parser.nextToken()) != JsonToken.END_ARRAY){
+            TrafficData.CongestionLevel level = token == JsonToken.VALUE_STRING ? parseCongestionLevel(parser.getText()) : null;
+            if(level == null){
+                throw new JsonParseException(parser, String.format(
+                        "predictions[%d].horizon.congestionLevels[%d] 값이 올바르지 않습니다: %s",
+                        index, values.size(), parser.getText()));
+            }
+            values.add(level);
+        }
+        return values.toArray(new TrafficData.CongestionLevel[0]);
+    }
+
+    private static void expectArray(JsonParser parser, JsonToken token, String field, int index) throws JsonParseException {
+        if(token != JsonToken.START_ARRAY){
+            throw typeMismatch(parser, "horizon." + field, "배열", index);
+        }
+    }
+
+    private static void expectInteger(JsonParser parser, JsonToken token, String field, int index) throws JsonParseException {
+        if(token != JsonToken.VALUE_NUMBER_INT){
+            throw typeMismatch(parser, field, "정수", index);
+        }
+    }
+
+    private static void expectNumber(JsonParser parser, JsonToken token, String field, int index) throws JsonParseException {
+        if(token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT){
+            throw typeMismatch(parser, field, "숫자", index);
+        }
+    }
+
+    private static JsonParseException typeMismatch(JsonParser parser, String field, String expected, int index){
+        return new JsonParseException(parser, String.format(
+                "predictions[%d].%s 는 %s 여야 합니다: %s", index, field, expected, parser.currentToken()));
+    }
+
+    private static TrafficData.CongestionLevel parseCongestionLevel(String value){
+        for(TrafficData.CongestionLevel level : CONGESTION_LEVELS){
+            if(level.name().equalsIgnoreCase(value)){
+                return level;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> missingFields(int seen){
+        List<String> missing = new ArrayList<>();
+        if((seen & LOCATION_ID) == 0){
+            missing.add("locationId");
+        }
+        if((seen & VEHICLE_COUNT) == 0){
+            missing.add("predictedVehicleCount");
+        }
+        if((seen & SPEED) == 0){
+            missing.add("predictedSpeed");
+        }
+        if((seen & CONGESTION_LEVEL) == 0){
+            missing.add("predictedCongestionLevel");
+        }
+        if((seen & CONFIDENCE) == 0){
+            missing.add("confidenceScore");
+        }
+        return missing;
+    }
+}
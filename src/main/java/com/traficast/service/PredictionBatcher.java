@@ -0,0 +1,275 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.ModelConfig;
+import com.traficast.entity.PredictionHistory;
+import com.traficast.exception.ModelApiException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 API 요청 묶음 처리기(micro-batching)
+ * 대상 시간, 예측 타입, 최소 신뢰도, 환경 요인, 모델 버전이 같은 요청을 max-delay-ms 동안(또는 위치 수가 max-locations 가 될 때까지)
+ * 모아 위치 ID 를 합친 한 번의 모델 호출로 보내고, 응답을 위치별로 나눠 각 요청에 돌려줌
+ * 위치 수가 max-locations 이상인 요청은 묶지 않고 바로 호출(fan-out 청크 크기와 같게 두면 청크는 그대로 호출됨)
+ * 묶은 요청이 모두 취소되면 진행 중인 모델 호출도 취소
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PredictionBatcher {
+
+    private final ModelApiService modelApiService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${prediction.batching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prediction.batching.max-delay-ms:5}")
+    private long maxDelayMs;
+
+    @Value("${prediction.batching.max-locations:50}")
+    private int maxLocations;
+
+    // 모으는 중인 묶음(키마다 하나, 보내면 제거)
+    private final Map<BatchKey, Batch> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flushTimer;
+    private DistributionSummary requestsPerCall;
+
+    /**
+     * 하나의 모델 호출로 합칠 수 있는 요청의 조건(모델 API 요청 본문에서 위치 ID 를 뺀 나머지)
+     */
+    private record BatchKey(String modelVersion, LocalDateTime targetDatetime,
+                            PredictionHistory.PredictionType predictionType, Double minimumConfidence,
+                            String expectedWeather, Double expectedTemperature, Boolean isHoliday,
+                            Boolean hasSpecialEvent, String specialEventDescription) {
+
+        static BatchKey of(PredictionRequest request, ModelConfig activeModel){
+            return new BatchKey(activeModel.getModelVersion(), request.getTargetDatetime(),
+                    request.getPredictionType(), request.getMinimumConfidence(),
+                    request.getExpectedWeather(), request.getExpectedTemperature(), request.getIsHoliday(),
+                    request.getHasSpecialEvent(), request.getSpecialEventDescription());
+        }
+    }
+
+    private record Entry(List<Long> locationIds, CompletableFuture<ModelPredictionResult> result) {
+    }
+
+    // entries, locationCount, closed 는 묶음 락 안에서만 사용
+    private static final class Batch {
+
+        private final PredictionRequest template;
+        private final ModelConfig activeModel;
+        private final List<Entry> entries = new ArrayList<>();
+        private int locationCount;
+        private boolean closed;
+
+        Batch(PredictionRequest template, ModelConfig activeModel){
+            this.template = template;
+            this.activeModel = activeModel;
+        }
+    }
+
+    @PostConstruct
+    void init(){
+        flushTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "prediction-batch-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        requestsPerCall = DistributionSummary.builder("prediction.batching.requests-per-call")
+                .description("모델 호출 1회에 합친 요청 수").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop(){
+        flushTimer.shutdownNow();
+        // 남은 묶음은 기다리지 않고 바로 보냄
+        pending.keySet().forEach(key -> {
+            Batch batch = pending.remove(key);
+            if(batch != null && close(batch)){
+                dispatch(batch);
+            }
+        });
+    }
+
+    /**
+     * 모델 API 에 예측을 요청하고 결과를 기다립니다(다른 요청과 묶일 수 있음).
+     * @throws ModelApiException 모델 호출 실패 또는 대기 중 중단
+     */
+    public ModelPredictionResult request(PredictionRequest request, ModelConfig activeModel){
+        if(!isBatchable(request)){
+            return modelApiService.requestPredictionFromModel(request, activeModel);
+        }
+
+        CompletableFuture<ModelPredictionResult> result = requestAsync(request, activeModel);
+        try{
+            return result.get();
+        }catch (ExecutionException e){
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new ModelApiException("모델 API 호출 실패: " + e.getCause().getMessage(), false, e.getCause());
+        }catch (InterruptedException e){
+            // 이 요청만 빠지고, 묶인 다른 요청이 없으면 모델 호출도 취소됨
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ModelApiException("모델 API 호출이 중단되었습니다.", false, e);
+        }
+    }
+
+    /**
+     * 모델 API 에 비동기로 예측을 요청합니다(다른 요청과 묶일 수 있음).
+     * @return 이 요청의 위치에 대한 예측 결과 Future, 취소하면 묶음에서 빠짐
+     */
+    public CompletableFuture<ModelPredictionResult> requestAsync(PredictionRequest request, ModelConfig activeModel){
+        if(!isBatchable(request)){
+            return modelApiService.requestPredictionFromModelAsync(request, activeModel);
+        }
+
+        BatchKey key = BatchKey.of(request, activeModel);
+        Entry entry = new Entry(request.getLocationIds(), new CompletableFuture<>());
+        while(true){
+            Batch batch = pending.computeIfAbsent(key, k -> open(k, request, activeModel));
+            boolean added = false;
+            boolean full;
+            synchronized (batch){
+                if(batch.closed){
+                    continue; // 방금 보낸 묶음이면 새 묶음에 추가
+                }
+                // 넣으면 max-locations 를 넘는 경우 지금 묶음만 보내고 새 묶음에 추가
+                if(batch.locationCount + entry.locationIds().size() <= maxLocations){
+                    batch.entries.add(entry);
+                    batch.locationCount += entry.locationIds().size();
+                    added = true;
+                }
+                full = !added || batch.locationCount >= maxLocations;
+                if(full){
+                    batch.closed = true;
+                }
+            }
+            if(full){
+                pending.remove(key, batch);
+                dispatch(batch);
+            }
+            if(added){
+                return entry.result();
+            }
+        }
+    }
+
+    private boolean isBatchable(PredictionRequest request){
+        return enabled && maxDelayMs > 0 && request.getLocationIds().size() < maxLocations;
+    }
+
+    // 새 묶음을 만들고 max-delay-ms 뒤에 보내도록 예약
+    private Batch open(BatchKey key, PredictionRequest request, ModelConfig activeModel){
+        Batch batch = new Batch(request, activeModel);
+        flushTimer.schedule(() -> {
+            if(close(batch)){
+                pending.remove(key, batch);
+                dispatch(batch);
+            }
+        }, maxDelayMs, TimeUnit.MILLISECONDS);
+        return batch;
+    }
+
+    private static boolean close(Batch batch){
+        synchronized (batch){
+            if(batch.closed){
+                return false;
+            }
+            batch.closed = true;
+            return true;
+        }
+    }
+
+    /**
+     * 묶음의 위치 ID 를 합쳐 한 번 호출하고 결과를 요청별로 나눕니다.
+     */
+    private void dispatch(Batch batch){
+        List<Entry> entries = batch.entries; // 닫힌 뒤에는 수정되지 않음
+        if(entries.isEmpty()){
+            return;
+        }
+
+        PredictionRequest merged;
+        if(entries.size() == 1){
+            merged = batch.template.toBuilder().locationIds(entries.get(0).locationIds()).build();
+        }else{
+            Set<Long> locationIds = new LinkedHashSet<>();
+            entries.forEach(entry -> locationIds.addAll(entry.locationIds()));
+            merged = batch.template.toBuilder().locationIds(new ArrayList<>(locationIds)).build();
+            log.debug("모델 API 요청 {}건을 한 번에 호출: 위치 {}개", entries.size(), locationIds.size());
+        }
+        requestsPerCall.record(entries.size());
+
+        CompletableFuture<ModelPredictionResult> call;
+        try{
+            call = modelApiService.requestPredictionFromModelAsync(merged, batch.activeModel);
+        }catch (RuntimeException e){
+            entries.forEach(entry -> entry.result().completeExceptionally(e));
+            return;
+        }
+        call.whenComplete((result, error) -> scatter(entries, result, error));
+
+        // 묶인 요청이 모두 취소되면(지연 예산 초과 등) 모델 호출도 취소
+        for(Entry entry : entries){
+            entry.result().whenComplete((result, error) -> {
+                if(entry.result().isCancelled()
+                        && entries.stream().allMatch(other -> other.result().isCancelled())){
+                    call.cancel(true);
+                }
+            });
+        }
+    }
+
+    private static void scatter(List<Entry> entries, ModelPredictionResult result, Throwable error){
+        if(error != null){
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            entries.forEach(entry -> entry.result().completeExceptionally(cause));
+            return;
+        }
+        if(entries.size() == 1){
+            entries.get(0).result().complete(result);
+            return;
+        }
+
+        Map<Long, ModelPredictionResult.Prediction> byLocation = new HashMap<>(result.getPredictions().size() * 2);
+        for(ModelPredictionResult.Prediction prediction : result.getPredictions()){
+            byLocation.putIfAbsent(prediction.getLocationId(), prediction);
+        }
+        for(Entry entry : entries){
+            List<ModelPredictionResult.Prediction> predictions = new ArrayList<>(entry.locationIds().size());
+            for(Long locationId : entry.locationIds()){
+                ModelPredictionResult.Prediction prediction = byLocation.get(locationId);
+                if(prediction != null){
+                    predictions.add(prediction);
+                }
+            }
+            entry.result().complete(new ModelPredictionResult(result.getModelVersion(), result.getModelName(), predictions));
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.traficast.service;
+
+import com.traficast.dto.response.PredictionCacheStatusResponse;
+import com.traficast.dto.response.PredictionResponse;
+import com.traficast.entity.PredictionHistory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 예측 결과 캐시
+ * (위치, 예측 대상 시간, 예측 타입, 최소 신뢰도, 활성 모델 버전) 별로 최근 예측 결과를 보관해 같은 요청이 반복될 때
+ * 모델 API 호출과 PredictionHistory 저장을 건너뜀
+ * max-size 를 넘으면 가장 오래 사용하지 않은 항목부터(LRU), ttl-minutes 가 지난 항목은 조회 시점에 제거
+ * 활성 모델 버전이 키에 포함되므로 모델이 바뀌면 이전 결과는 자연히 조회되지 않고 LRU 로 밀려남
+ * 캐시에 없는 키를 동시에 여러 요청이 조회하면 먼저 온 요청만 모델 API 를 호출하고 나머지는 그 결과를 공유(single-flight)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PredictionCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${prediction.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prediction.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${prediction.cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    private long ttlNanos;
+
+    // 접근 순서 LinkedHashMap(LRU), 모든 접근은 this 로 동기화
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    // 모델 API 에 요청 중인 키(single-flight), 결과가 커밋되어 캐시에 들어갈 때까지 유지
+    private final ConcurrentMap<Key, CompletableFuture<PredictionResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong sizeEvictionCount = new AtomicLong();
+    private final AtomicLong expiredEvictionCount = new AtomicLong();
+    private final AtomicLong sharedCount = new AtomicLong();
+
+    /**
+     * 최소 신뢰도는 모델 API 요청에 그대로 전달되어 결과가 달라질 수 있으므로 키에 포함(지정하지 않으면 null)
+     */
+    public record Key(long locationId, LocalDateTime targetDatetime,
+                      PredictionHistory.PredictionType predictionType, Double minimumConfidence, String modelVersion) {
+    }
+
+    private record Entry(PredictionResponse response, long expiresAtNanos) {
+    }
+
+    @PostConstruct
+    void init(){
+        ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+
+        FunctionCounter.builder("prediction.cache.requests", hitCount, AtomicLong::get)
+                .tag("result", "hit").description("예측 캐시 적중 수").register(meterRegistry);
+        FunctionCounter.builder("prediction.cache.requests", missCount, AtomicLong::get)
+                .tag("result", "miss").description("예측 캐시 미스 수").register(meterRegistry);
+        FunctionCounter.builder("prediction.cache.evictions", sizeEvictionCount, AtomicLong::get)
+                .tag("cause", "size").description("크기 초과로 제거된 항목 수").register(meterRegistry);
+        FunctionCounter.builder("prediction.cache.evictions", expiredEvictionCount, AtomicLong::get)
+                .tag("cause", "expired").description("TTL 만료로 제거된 항목 수").register(meterRegistry);
+        FunctionCounter.builder("prediction.cache.in-flight.shared", sharedCount, AtomicLong::get)
+                .description("진행 중인 모델 호출 결과를 공유받은 수").register(meterRegistry);
+        Gauge.builder("prediction.cache.size", this, PredictionCache::size)
+                .description("예측 캐시 항목 수").register(meterRegistry);
+
+        log.info("예측 결과 캐시 설정: enabled={}, max-size={}, ttl={}분", enabled, maxSize, ttlMinutes);
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * @return 캐시된 예측 결과, 없거나 만료되었으면 null
+     */
+    public PredictionResponse get(Key key){
+        if(!enabled){
+            return null;
+        }
+
+        synchronized (this){
+            Entry entry = entries.get(key);
+            if(entry != null && entry.expiresAtNanos() - System.nanoTime() <= 0){
+                entries.remove(key);
+                expiredEvictionCount.incrementAndGet();
+                entry = null;
+            }
+            if(entry == null){
+                missCount.incrementAndGet();
+                return null;
+            }
+            hitCount.incrementAndGet();
+            return entry.response();
+        }
+    }
+
+    public void put(Key key, PredictionResponse response){
+        if(!enabled){
+            return;
+        }
+
+        long expiresAtNanos = System.nanoTime() + ttlNanos;
+        synchronized (this){
+            entries.put(key, new Entry(response, expiresAtNanos));
+            evictOverflow();
+        }
+    }
+
+    /**
+     * 현재 트랜잭션이 커밋된 뒤에 캐시에 넣습니다(롤백된 예측 ID 가 캐시에 남지 않도록).
+     * 트랜잭션 밖이면 바로 넣음
+     */
+    public void putAllAfterCommit(Map<Key, PredictionResponse> responses){
+        if(!enabled || responses.isEmpty()){
+            return;
+        }
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.forEach(PredictionCache.this::put);
+                }
+            });
+        }else{
+            responses.forEach(this::put);
+        }
+    }
+
+    /**
+     * 같은 키로 진행 중인 모델 호출이 있으면 그 결과를 반환하고, 없으면 call 을 진행 중으로 등록합니다.
+     * @return 다른 요청이 진행 중인 호출 결과, 호출자가 직접 호출을 맡게 되면 null
+     */
+    public CompletableFuture<PredictionResponse> joinInFlight(Key key, CompletableFuture<PredictionResponse> call){
+        CompletableFuture<PredictionResponse> existing = inFlight.putIfAbsent(key, call);
+        if(existing != null){
+            sharedCount.incrementAndGet();
+        }
+        return existing;
+    }
+
+    /**
+     * 트랜잭션이 끝난 뒤(커밋이면 캐시에 들어간 뒤) 진행 중 표시를 지웁니다.
+     * 그 사이에 들어온 요청은 이미 완료된 호출 결과를 바로 공유받음
+     */
+    public void releaseInFlightAfterCompletion(Map<Key, CompletableFuture<PredictionResponse>> calls){
+        if(calls.isEmpty()){
+            return;
+        }
+
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    calls.forEach(inFlight::remove);
+                }
+            });
+        }else{
+            calls.forEach(inFlight::remove);
+        }
+    }
+
+    public synchronized void clear(){
+        entries.clear();
+    }
+
+    public synchronized int size(){
+        return entries.size();
+    }
+
+    public PredictionCacheStatusResponse getStatus(){
+        long hits = hitCount.get();
+        long misses = missCount.get();
+        long requests = hits + misses;
+
+        return PredictionCacheStatusResponse.builder()
+                .enabled(enabled)
+                .size(size())
+                .maxSize(maxSize)
+                .ttlMinutes(ttlMinutes)
+                .hitCount(hits)
+                .missCount(misses)
+                .hitRate(requests == 0 ? 0.0 : (double) hits / requests)
+                .sizeEvictionCount(sizeEvictionCount.get())
+                .expiredEvictionCount(expiredEvictionCount.get())
+                .inFlightCount(inFlight.size())
+                .sharedInFlightCount(sharedCount.get())
+                .build();
+    }
+
+    /**
+     * 크기 초과분을 LRU 순서로 제거합니다. 앞쪽의 만료 항목은 만료 제거로 집계
+     */
+    private void evictOverflow(){
+        if(entries.size() <= maxSize){
+            return;
+        }
+
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while(entries.size() > maxSize && iterator.hasNext()){
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            if(eldest.expiresAtNanos() - now <= 0){
+                expiredEvictionCount.incrementAndGet();
+            }else{
+                sizeEvictionCount.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.traficast.service;
+
+import com.traficast.entity.PredictionHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 예측 타입별 다중 시점(multi-horizon) 예측 설정
+ * 일별/주별 예측은 예측 대상 시간부터 step-minutes 간격으로 daily-points / weekly-points 개 시점을 한 번에 예측하고,
+ * 위치마다 예측 이력 한 행에 압축된 시계열(PredictionSeries)로 저장
+ * 시간별/실시간 예측은 지금처럼 대상 시간 한 시점만 예측
+ */
+@Component
+public class PredictionHorizon {
+
+    @Value("${prediction.horizon.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prediction.horizon.step-minutes:60}")
+    private int stepMinutes;
+
+    @Value("${prediction.horizon.daily-points:24}")
+    private int dailyPoints;
+
+    @Value("${prediction.horizon.weekly-points:168}")
+    private int weeklyPoints;
+
+    /**
+     * @return 예측할 시점 수(1이면 단일 시점 예측)
+     */
+    public int points(PredictionHistory.PredictionType predictionType){
+        if(!enabled || predictionType == null){
+            return 1;
+        }
+        return switch(predictionType){
+            case DAILY -> Math.max(1, dailyPoints);
+            case WEEKLY -> Math.max(1, weeklyPoints);
+            default -> 1;
+        };
+    }
+
+    public int getStepMinutes(){
+        return stepMinutes;
+    }
+}
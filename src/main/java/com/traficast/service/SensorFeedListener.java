@@ -0,0 +1,424 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.dto.response.SensorConnectionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검지기 TCP/UDP 소켓 수신기(NIO)
+ * 현장 제어기의 라인 프로토콜(SensorLineDecoder)을 직접 디코딩해 쓰기 버퍼(TrafficWriteBuffer)로 전달
+ * 하나의 셀렉터 스레드가 모든 연결을 처리하며, 쓰기 버퍼가 가득 차면 해당 TCP 연결의 읽기를 잠시 멈춰
+ * TCP 흐름 제어로 송신 측 속도를 늦춤(UDP는 버림)
+ * ingest.listener.enabled=true 일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingest.listener", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SensorFeedListener {
+
+    private static final long SELECT_TIMEOUT_MS = 50;
+
+    private final TrafficWriteBuffer trafficWriteBuffer;
+    private final TrafficDataValidator trafficDataValidator;
+
+    @Value("${ingest.listener.bind-address:0.0.0.0}")
+    private String bindAddress;
+
+    // -1 이면 사용 안 함, 0 이면 임의 포트
+    @Value("${ingest.listener.tcp-port:9500}")
+    private int tcpPort;
+
+    @Value("${ingest.listener.udp-port:9501}")
+    private int udpPort;
+
+    @Value("${ingest.listener.max-line-length:256}")
+    private int maxLineLength;
+
+    @Value("${ingest.listener.backpressure-pause-ms:100}")
+    private long backpressurePauseMs;
+
+    @Value("${ingest.listener.udp-source-idle-minutes:10}")
+    private long udpSourceIdleMinutes;
+
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final ConcurrentMap<Long, ConnectionStats> connections = new ConcurrentHashMap<>();
+    // UDP 는 연결이 없으므로 송신 주소별로 통계를 유지
+    private final ConcurrentMap<SocketAddress, ConnectionStats> udpSources = new ConcurrentHashMap<>();
+    private final List<TcpConnection> pausedConnections = new ArrayList<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private DatagramChannel datagramChannel;
+    private ByteBuffer datagramBuffer;
+    private Thread selectorThread;
+    private volatile boolean running;
+    private long lastUdpEvictionNanos = System.nanoTime();
+
+    @PostConstruct
+    void start() throws IOException {
+        selector = Selector.open();
+
+        if(tcpPort >= 0){
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(bindAddress, tcpPort));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        }
+        if(udpPort >= 0){
+            datagramChannel = DatagramChannel.open();
+            datagramChannel.bind(new InetSocketAddress(bindAddress, udpPort));
+            datagramChannel.configureBlocking(false);
+            datagramChannel.register(selector, SelectionKey.OP_READ);
+            datagramBuffer = ByteBuffer.allocate(65_507);
+        }
+
+        running = true;
+        selectorThread = Thread.ofPlatform().name("sensor-listener").daemon(true).start(this::runSelector);
+        log.info("센서 소켓 수신기 시작: TCP={}, UDP={}", getTcpPort(), getUdpPort());
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        running = false;
+        selector.wakeup();
+        selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        for(SelectionKey key : selector.keys()){
+            key.channel().close();
+        }
+        selector.close();
+        log.info("센서 소켓 수신기 종료");
+    }
+
+    /**
+     * 실제로 바인딩된 TCP 포트(사용 안 하면 -1)
+     */
+    public int getTcpPort(){
+        return serverChannel == null ? -1 : serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * 실제로 바인딩된 UDP 포트(사용 안 하면 -1)
+     */
+    public int getUdpPort(){
+        return datagramChannel == null ? -1 : datagramChannel.socket().getLocalPort();
+    }
+
+    /**
+     * 현재 TCP 연결과 최근 UDP 송신 주소별 수신 현황
+     */
+    public List<SensorConnectionResponse> getConnections(){
+        List<SensorConnectionResponse> result = new ArrayList<>();
+        connections.values().forEach(stats -> result.add(stats.toResponse()));
+        udpSources.values().forEach(stats -> result.add(stats.toResponse()));
+        result.sort(Comparator.comparingLong(SensorConnectionResponse::getConnectionId));
+        return result;
+    }
+
+    private void runSelector(){
+        while(running){
+            try{
+                selector.select(SELECT_TIMEOUT_MS);
+                resumePausedConnections();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while(keys.hasNext()){
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if(!key.isValid()){
+                        continue;
+                    }
+                    if(key.isAcceptable()){
+                        accept();
+                    }else if(key.channel() == datagramChannel){
+                        receiveDatagrams();
+                    }else if(key.isReadable()){
+                        readTcp((TcpConnection) key.attachment());
+                    }
+                }
+
+                evictIdleUdpSources();
+            }catch (IOException | RuntimeException e){
+                if(running){
+                    log.error("센서 소켓 수신 오류: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if(channel == null){
+            return;
+        }
+        channel.configureBlocking(false);
+
+        ConnectionStats stats = new ConnectionStats(connectionIds.incrementAndGet(), "TCP",
+                String.valueOf(channel.getRemoteAddress()));
+        TcpConnection connection = new TcpConnection(channel, stats, ByteBuffer.allocate(maxLineLength * 16));
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.put(stats.connectionId, stats);
+
+        log.info("센서 TCP 연결: connectionId={}, 원격 주소={}", stats.connectionId, stats.remoteAddress);
+    }
+
+    private void readTcp(TcpConnection connection){
+        int read;
+        try{
+            read = connection.channel.read(connection.buffer);
+        }catch (IOException e){
+            log.warn("센서 TCP 읽기 실패: connectionId={}, Error={}", connection.stats.connectionId, e.getMessage());
+            close(connection);
+            return;
+        }
+        if(read < 0){
+            close(connection);
+            return;
+        }
+        connection.stats.bytesReceived.addAndGet(read);
+        connection.stats.lastReceivedAt = LocalDateTime.now();
+
+        processTcpBuffer(connection);
+    }
+
+    /**
+     * 버퍼의 완성된 줄을 처리합니다. 쓰기 버퍼가 가득 차면 처리하지 못한 줄을 남기고 읽기를 멈춤
+     */
+    private void processTcpBuffer(TcpConnection connection){
+        ByteBuffer buffer = connection.buffer;
+        buffer.flip();
+        LocalDateTime now = LocalDateTime.now();
+
+        int lineStart = buffer.position();
+        for(int i = lineStart; i < buffer.limit(); i++){
+            if(buffer.get(i) != '\n'){
+                continue;
+            }
+            if(connection.discarding){
+                // 최대 길이를 넘은 줄의 나머지는 버림
+                connection.discarding = false;
+            }else if(!handleLine(buffer, lineStart, i, connection.stats, now)){
+                buffer.position(lineStart);
+                buffer.compact();
+                pause(connection);
+                return;
+            }
+            lineStart = i + 1;
+        }
+        buffer.position(lineStart);
+
+        // 줄바꿈 없이 최대 길이를 넘으면 그 줄은 거부하고 다음 줄바꿈까지 버림
+        if(buffer.remaining() > maxLineLength){
+            connection.stats.linesRejected.incrementAndGet();
+            connection.discarding = true;
+            buffer.position(buffer.limit());
+        }
+        buffer.compact();
+    }
+
+    private void receiveDatagrams() throws IOException {
+        SocketAddress source;
+        while((source = datagramChannel.receive(datagramBuffer.clear())) != null){
+            ConnectionStats stats = udpSources.computeIfAbsent(source,
+                    address -> new ConnectionStats(connectionIds.incrementAndGet(), "UDP", String.valueOf(address)));
+            datagramBuffer.flip();
+            stats.bytesReceived.addAndGet(datagramBuffer.remaining());
+            stats.lastReceivedAt = LocalDateTime.now();
+
+            // 데이터그램 하나에 여러 줄이 올 수 있고, 마지막 줄은 줄바꿈이 없어도 됨
+            LocalDateTime now = LocalDateTime.now();
+            int lineStart = 0;
+            int limit = datagramBuffer.limit();
+            for(int i = 0; i <= limit; i++){
+                if(i < limit && datagramBuffer.get(i) != '\n'){
+                    continue;
+                }
+                if(i - lineStart > maxLineLength){
+                    stats.linesRejected.incrementAndGet();
+                }else{
+                    handleLine(datagramBuffer, lineStart, i, stats, now);
+                }
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * 한 줄을 디코딩/검증한 뒤 쓰기 버퍼에 넣습니다. 빈 줄은 무시
+     * @return 쓰기 버퍼가 가득 차 넣지 못했으면 false
+     */
+    private boolean handleLine(ByteBuffer buffer, int start, int end, ConnectionStats stats, LocalDateTime now){
+        if(end == start || (end == start + 1 && buffer.get(start) == '\r')){
+            return true;
+        }
+
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+        int violations = SensorLineDecoder.decode(buffer, start, end, entry);
+        if(violations == 0){
+            violations = trafficDataValidator.validate(entry, now);
+        }
+        if(violations != 0){
+            stats.linesRejected.incrementAndGet();
+            if(log.isDebugEnabled()){
+                log.debug("센서 측정값 거부: connectionId={}, 위반={}",
+                        stats.connectionId, TrafficDataValidator.decode(violations));
+            }
+            return true;
+        }
+
+        // offer 는 위치 캐시만 보고 DB 를 조회하지 않으므로 셀렉터 스레드를 막지 않음
+        switch(trafficWriteBuffer.offer(entry)){
+            case ACCEPTED -> stats.linesAccepted.incrementAndGet();
+            case UNKNOWN_LOCATION -> stats.linesRejected.incrementAndGet();
+            case BUFFER_FULL -> {
+                stats.linesThrottled.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void pause(TcpConnection connection){
+        connection.key.interestOps(0);
+        connection.pausedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backpressurePauseMs);
+        connection.stats.paused = true;
+        pausedConnections.add(connection);
+    }
+
+    /**
+     * 멈춘 연결의 남은 줄을 다시 처리하고, 모두 처리되면 읽기를 재개
+     */
+    private void resumePausedConnections(){
+        if(pausedConnections.isEmpty()){
+            return;
+        }
+        long now = System.nanoTime();
+        List<TcpConnection> due = new ArrayList<>();
+        pausedConnections.removeIf(connection -> {
+            if(now - connection.pausedUntilNanos >= 0){
+                due.add(connection);
+                return true;
+            }
+            return false;
+        });
+
+        for(TcpConnection connection : due){
+            if(!connection.key.isValid()){
+                continue;
+            }
+            connection.stats.paused = false;
+            processTcpBuffer(connection);
+            if(!connection.stats.paused){
+                connection.key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    private void close(TcpConnection connection){
+        connection.key.cancel();
+        try{
+            connection.channel.close();
+        }catch (IOException e){
+            log.debug("센서 TCP 연결 종료 실패: {}", e.getMessage());
+        }
+        connections.remove(connection.stats.connectionId);
+        pausedConnections.remove(connection);
+
+        log.info("센서 TCP 연결 종료: connectionId={}, 접수 {}건, 거부 {}건",
+                connection.stats.connectionId, connection.stats.linesAccepted.get(), connection.stats.linesRejected.get());
+    }
+
+    private void evictIdleUdpSources(){
+        long now = System.nanoTime();
+        if(now - lastUdpEvictionNanos < TimeUnit.MINUTES.toNanos(1)){
+            return;
+        }
+        lastUdpEvictionNanos = now;
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(udpSourceIdleMinutes);
+        udpSources.values().removeIf(stats -> stats.lastReceivedAt.isBefore(threshold));
+    }
+
+    private static final class TcpConnection {
+        private final SocketChannel channel;
+        private final ConnectionStats stats;
+        private final ByteBuffer buffer;
+        private SelectionKey key;
+        private boolean discarding;
+        private long pausedUntilNanos;
+
+        private TcpConnection(SocketChannel channel, ConnectionStats stats, ByteBuffer buffer){
+            this.channel = channel;
+            this.stats = stats;
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * 연결별 수신 카운터(셀렉터 스레드가 갱신하고 API 스레드가 읽음)
+     */
+    private static final class ConnectionStats {
+        private final long connectionId;
+        private final String protocol;
+        private final String remoteAddress;
+        private final LocalDateTime connectedAt = LocalDateTime.now();
+        private final long connectedNanos = System.nanoTime();
+        private final AtomicLong bytesReceived = new AtomicLong();
+        private final AtomicLong linesAccepted = new AtomicLong();
+        private final AtomicLong linesRejected = new AtomicLong();
+        private final AtomicLong linesThrottled = new AtomicLong();
+        private volatile LocalDateTime lastReceivedAt = LocalDateTime.now();
+        private volatile boolean paused;
+
+        private ConnectionStats(long connectionId, String protocol, String remoteAddress){
+            this.connectionId = connectionId;
+            this.protocol = protocol;
+            this.remoteAddress = remoteAddress;
+        }
+
+        private SensorConnectionResponse toResponse(){
+            double elapsedSeconds = Duration.ofNanos(System.nanoTime() - connectedNanos).toMillis() / 1000.0;
+            long accepted = linesAccepted.get();
+
+            return SensorConnectionResponse.builder()
+                    .connectionId(connectionId)
+                    .protocol(protocol)
+                    .remoteAddress(remoteAddress)
+                    .connectedAt(connectedAt)
+                    .lastReceivedAt(lastReceivedAt)
+                    .bytesReceived(bytesReceived.get())
+                    .linesAccepted(accepted)
+                    .linesRejected(linesRejected.get())
+                    .linesThrottled(linesThrottled.get())
+                    .linesPerSecond(elapsedSeconds > 0 ? accepted / elapsedSeconds : 0.0)
+                    .paused(paused)
+                    .build();
+        }
+    }
+}
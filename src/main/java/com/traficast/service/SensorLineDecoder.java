@@ -0,0 +1,199 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.TrafficData;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * 검지기 라인 프로토콜 디코더
+ * 형식: locationId,measuredAt,vehicleCount,congestionLevel[,averageSpeed]  (ASCII, 줄 끝은 LF 또는 CRLF)
+ * 예: 1024,2024-01-15T14:30:00,120,NORMAL,45.5
+ *
+ * 문자열/JSON 변환 없이 버퍼의 바이트를 직접 읽으며, 형식 오류는 예외 대신 위반 코드로 반환
+ */
+public final class SensorLineDecoder {
+
+    private static final byte[][] CONGESTION_NAMES;
+    private static final TrafficData.CongestionLevel[] CONGESTION_LEVELS = TrafficData.CongestionLevel.values();
+
+    static {
+        CONGESTION_NAMES = new byte[CONGESTION_LEVELS.length][];
+        for(int i = 0; i < CONGESTION_LEVELS.length; i++){
+            CONGESTION_NAMES[i] = CONGESTION_LEVELS[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private SensorLineDecoder(){
+    }
+
+    /**
+     * [start, end) 구간의 한 줄을 디코딩해 entry 에 채웁니다(줄바꿈 문자 제외).
+     * @return 형식 오류 위반 코드 비트마스크, 정상이면 0
+     */
+    public static int decode(ByteBuffer buffer, int start, int end, DataUploadRequest.TrafficDataEntry entry){
+        // CRLF 의 CR 제거
+        if(end > start && buffer.get(end - 1) == '\r'){
+            end--;
+        }
+
+        int violations = 0;
+        int fieldStart = start;
+        int fieldIndex = 0;
+
+        for(int i = start; i <= end && fieldIndex < 5; i++){
+            if(i < end && buffer.get(i) != ','){
+                continue;
+            }
+
+            switch(fieldIndex){
+                case 0 -> {
+                    long locationId = parseLong(buffer, fieldStart, i);
+                    if(locationId < 0){
+                        violations |= TrafficDataValidator.Violation.LOCATION_ID_FORMAT.mask();
+                    }else{
+                        entry.setLocationId(locationId);
+                    }
+                }
+                case 1 -> {
+                    LocalDateTime measuredAt = parseDateTime(buffer, fieldStart, i);
+                    if(measuredAt == null){
+                        violations |= TrafficDataValidator.Violation.MEASURED_AT_FORMAT.mask();
+                    }else{
+                        entry.setMeasuredAt(measuredAt);
+                    }
+                }
+                case 2 -> {
+                    long vehicleCount = parseLong(buffer, fieldStart, i);
+                    if(vehicleCount < 0 || vehicleCount > Integer.MAX_VALUE){
+                        violations |= TrafficDataValidator.Violation.VEHICLE_COUNT_FORMAT.mask();
+                    }else{
+                        entry.setVehicleCount((int) vehicleCount);
+                    }
+                }
+                case 3 -> {
+                    TrafficData.CongestionLevel congestionLevel = parseCongestionLevel(buffer, fieldStart, i);
+                    if(congestionLevel == null){
+                        violations |= TrafficDataValidator.Violation.CONGESTION_LEVEL_FORMAT.mask();
+                    }else{
+                        entry.setCongestionLevel(congestionLevel);
+                    }
+                }
+                default -> {
+                    // 평균 속도는 선택 값(빈 값 허용)
+                    if(i > fieldStart){
+                        double averageSpeed = parseDecimal(buffer, fieldStart, i);
+                        if(averageSpeed < 0){
+                            violations |= TrafficDataValidator.Violation.NUMBER_FORMAT.mask();
+                        }else{
+                            entry.setAverageSpeed(averageSpeed);
+                        }
+                    }
+                }
+            }
+            fieldIndex++;
+            fieldStart = i + 1;
+        }
+
+        // 필수 필드 누락(필드 수 부족)은 값이 비어 있는 것과 같게 처리해 검증기에서 *_REQUIRED 로 판정
+        return violations;
+    }
+
+    /**
+     * 음이 아닌 정수를 읽습니다. 형식 오류면 -1
+     */
+    private static long parseLong(ByteBuffer buffer, int start, int end){
+        if(start >= end || end - start > 18){
+            return -1;
+        }
+        long result = 0;
+        for(int i = start; i < end; i++){
+            int digit = buffer.get(i) - '0';
+            if(digit < 0 || digit > 9){
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * 음이 아닌 소수(예: 45.5)를 읽습니다. 형식 오류면 -1
+     */
+    private static double parseDecimal(ByteBuffer buffer, int start, int end){
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for(int i = start; i < end; i++){
+            byte b = buffer.get(i);
+            if(b == '.' && scale < 0){
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if(digit < 0 || digit > 9 || ++digits > 15){
+                return -1;
+            }
+            mantissa = mantissa * 10 + digit;
+            if(scale >= 0){
+                scale++;
+            }
+        }
+        if(digits == 0){
+            return -1;
+        }
+        return scale > 0 ? mantissa / Math.pow(10, scale) : mantissa;
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss (T 대신 공백 허용)
+     */
+    private static LocalDateTime parseDateTime(ByteBuffer buffer, int start, int end){
+        if(end - start != 19){
+            return null;
+        }
+        byte separator = buffer.get(start + 10);
+        if(buffer.get(start + 4) != '-' || buffer.get(start + 7) != '-' || (separator != 'T' && separator != ' ')
+                || buffer.get(start + 13) != ':' || buffer.get(start + 16) != ':'){
+            return null;
+        }
+
+        int year = (int) parseLong(buffer, start, start + 4);
+        int month = (int) parseLong(buffer, start + 5, start + 7);
+        int day = (int) parseLong(buffer, start + 8, start + 10);
+        int hour = (int) parseLong(buffer, start + 11, start + 13);
+        int minute = (int) parseLong(buffer, start + 14, start + 16);
+        int second = (int) parseLong(buffer, start + 17, start + 19);
+
+        if(year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59){
+            return null;
+        }
+        if(day > Month.of(month).length(Year.isLeap(year))){
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second);
+    }
+
+    private static TrafficData.CongestionLevel parseCongestionLevel(ByteBuffer buffer, int start, int end){
+        for(int level = 0; level < CONGESTION_NAMES.length; level++){
+            byte[] name = CONGESTION_NAMES[level];
+            if(name.length != end - start){
+                continue;
+            }
+            boolean matches = true;
+            for(int i = 0; i < name.length && matches; i++){
+                // ASCII 대소문자 구분 없이 비교
+                matches = (buffer.get(start + i) & 0xDF) == name[i];
+            }
+            if(matches){
+                return CONGESTION_LEVELS[level];
+            }
+        }
+        return null;
+    }
+}
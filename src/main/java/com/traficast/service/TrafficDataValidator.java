@@ -0,0 +1,248 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 항목 검증기
+ * 위반 사항을 예외 대신 비트마스크(0이면 정상)로 반환하여, 오염된 피드에서도 행마다 예외/스택 트레이스를 만들지 않음
+ * 검사 규칙은 시작 시 Validator 메타데이터로 DataUploadRequest.TrafficDataEntry 의 Bean Validation 제약을 읽어 만듦
+ * (제약을 바꾸면 단건 수집 API 의 @Valid 검증과 업로드 행 검증이 함께 바뀜)
+ */
+@Component
+public class TrafficDataValidator {
+
+    /**
+     * 검사할 속성과 위반 코드(필수 값 누락, 범위/형식 위반)
+     * TrafficDataEntry 에 제약이 있는 속성은 모두 여기 있어야 함
+     */
+    private static final List<PropertyViolations> PROPERTIES = List.of(
+            new PropertyViolations("locationId", DataUploadRequest.TrafficDataEntry::getLocationId,
+                    Violation.LOCATION_ID_REQUIRED, Violation.LOCATION_ID_NOT_POSITIVE),
+            new PropertyViolations("measuredAt", DataUploadRequest.TrafficDataEntry::getMeasuredAt,
+                    Violation.MEASURED_AT_REQUIRED, Violation.MEASURED_AT_IN_FUTURE),
+            new PropertyViolations("vehicleCount", DataUploadRequest.TrafficDataEntry::getVehicleCount,
+                    Violation.VEHICLE_COUNT_REQUIRED, Violation.VEHICLE_COUNT_OUT_OF_RANGE),
+            new PropertyViolations("averageSpeed", DataUploadRequest.TrafficDataEntry::getAverageSpeed,
+                    null, Violation.AVERAGE_SPEED_OUT_OF_RANGE),
+            new PropertyViolations("congestionLevel", DataUploadRequest.TrafficDataEntry::getCongestionLevel,
+                    Violation.CONGESTION_LEVEL_REQUIRED, null),
+            new PropertyViolations("weatherCondition", DataUploadRequest.TrafficDataEntry::getWeatherCondition,
+                    null, Violation.WEATHER_CONDITION_INVALID),
+            new PropertyViolations("temperature", DataUploadRequest.TrafficDataEntry::getTemperature,
+                    null, Violation.TEMPERATURE_OUT_OF_RANGE),
+            new PropertyViolations("humidity", DataUploadRequest.TrafficDataEntry::getHumidity,
+                    null, Violation.HUMIDITY_OUT_OF_RANGE),
+            new PropertyViolations("visibility", DataUploadRequest.TrafficDataEntry::getVisibility,
+                    null, Violation.VISIBILITY_OUT_OF_RANGE),
+            new PropertyViolations("dayOfWeek", DataUploadRequest.TrafficDataEntry::getDayOfWeek,
+                    null, Violation.DAY_OF_WEEK_OUT_OF_RANGE),
+            new PropertyViolations("hourOfDay", DataUploadRequest.TrafficDataEntry::getHourOfDay,
+                    null, Violation.HOUR_OF_DAY_OUT_OF_RANGE)
+    );
+
+    private final Rule[] rules;
+
+    /**
+     * @throws IllegalStateException 위반 코드가 정해지지 않은 속성이나 지원하지 않는 제약이 있는 경우
+     */
+    public TrafficDataValidator(Validator validator){
+        BeanDescriptor bean = validator.getConstraintsForClass(DataUploadRequest.TrafficDataEntry.class);
+
+        Set<String> unmapped = new HashSet<>();
+        bean.getConstrainedProperties().forEach(property -> unmapped.add(property.getPropertyName()));
+
+        List<Rule> rules = new ArrayList<>(PROPERTIES.size());
+        for(PropertyViolations property : PROPERTIES){
+            unmapped.remove(property.name());
+            PropertyDescriptor descriptor = bean.getConstraintsForProperty(property.name());
+            if(descriptor != null){
+                rules.add(Rule.of(property, descriptor.getConstraintDescriptors()));
+            }
+        }
+        if(!unmapped.isEmpty()){
+            throw new IllegalStateException("위반 코드가 정해지지 않은 TrafficDataEntry 제약 속성: " + unmapped);
+        }
+        this.rules = rules.toArray(new Rule[0]);
+    }
+
+    /**
+     * 항목을 검증합니다.
+     * @param now 미래 측정 시간 판단 기준(업로드 시작 시각)
+     * @return 위반 코드 비트마스크(Violation.mask 의 조합), 정상이면 0
+     */
+    public int validate(DataUploadRequest.TrafficDataEntry entry, LocalDateTime now){
+        int violations = 0;
+        for(Rule rule : rules){
+            violations |= rule.check(entry, now);
+        }
+        return violations;
+    }
+
+    /**
+     * 비트마스크에 포함된 위반 코드 목록을 반환합니다.
+     */
+    public static List<Violation> decode(int violations){
+        List<Violation> result = new ArrayList<>(Integer.bitCount(violations));
+        int remaining = violations;
+        while(remaining != 0){
+            result.add(Violation.VALUES[Integer.numberOfTrailingZeros(remaining)]);
+            remaining &= remaining - 1;
+        }
+        return result;
+    }
+
+    private record PropertyViolations(String name, Function<DataUploadRequest.TrafficDataEntry, Object> getter,
+                                      Violation required, Violation invalid){
+    }
+
+    /**
+     * 한 속성의 제약(필수 여부, 숫자 범위, 정규식, 미래 시간 금지)
+     */
+    private record Rule(Function<DataUploadRequest.TrafficDataEntry, Object> getter, int requiredMask, int invalidMask,
+                        boolean required, double min, boolean minInclusive, double max, boolean maxInclusive,
+                        Pattern pattern, boolean pastOrPresent){
+
+        static Rule of(PropertyViolations property, Set<ConstraintDescriptor<?>> constraints){
+            boolean required = false;
+            double min = Double.NEGATIVE_INFINITY;
+            boolean minInclusive = true;
+            double max = Double.POSITIVE_INFINITY;
+            boolean maxInclusive = true;
+            Pattern pattern = null;
+            boolean pastOrPresent = false;
+
+            for(ConstraintDescriptor<?> constraint : constraints){
+                Annotation annotation = constraint.getAnnotation();
+                Map<String, Object> attributes = constraint.getAttributes();
+                if(annotation instanceof NotNull){
+                    required = true;
+                }else if(annotation instanceof Positive){
+                    min = 0;
+                    minInclusive = false;
+                }else if(annotation instanceof PositiveOrZero){
+                    min = 0;
+                }else if(annotation instanceof Min){
+                    min = ((Number) attributes.get("value")).doubleValue();
+                }else if(annotation instanceof Max){
+                    max = ((Number) attributes.get("value")).doubleValue();
+                }else if(annotation instanceof DecimalMin){
+                    min = Double.parseDouble((String) attributes.get("value"));
+                    minInclusive = (Boolean) attributes.get("inclusive");
+                }else if(annotation instanceof DecimalMax){
+                    max = Double.parseDouble((String) attributes.get("value"));
+                    maxInclusive = (Boolean) attributes.get("inclusive");
+                }else if(annotation instanceof jakarta.validation.constraints.Pattern){
+                    pattern = Pattern.compile((String) attributes.get("regexp"));
+                }else if(annotation instanceof PastOrPresent){
+                    pastOrPresent = true;
+                }else{
+                    throw new IllegalStateException("지원하지 않는 제약입니다: " + property.name() + " "
+                            + annotation.annotationType().getSimpleName());
+                }
+            }
+
+            if(required && property.required() == null){
+                throw new IllegalStateException("필수 위반 코드가 없는 속성입니다: " + property.name());
+            }
+            boolean constrained = min != Double.NEGATIVE_INFINITY || max != Double.POSITIVE_INFINITY
+                    || pattern != null || pastOrPresent;
+            if(constrained && property.invalid() == null){
+                throw new IllegalStateException("범위/형식 위반 코드가 없는 속성입니다: " + property.name());
+            }
+            return new Rule(property.getter(),
+                    required ? property.required().mask() : 0,
+                    constrained ? property.invalid().mask() : 0,
+                    required, min, minInclusive, max, maxInclusive, pattern, pastOrPresent);
+        }
+
+        int check(DataUploadRequest.TrafficDataEntry entry, LocalDateTime now){
+            Object value = getter.apply(entry);
+            if(value == null){
+                return requiredMask;
+            }
+            if(value instanceof Number number){
+                // NaN 도 범위 밖으로 처리
+                double v = number.doubleValue();
+                boolean aboveMin = minInclusive ? v >= min : v > min;
+                boolean belowMax = maxInclusive ? v <= max : v < max;
+                return aboveMin && belowMax ? 0 : invalidMask;
+            }
+            if(pattern != null && value instanceof CharSequence text){
+                return pattern.matcher(text).matches() ? 0 : invalidMask;
+            }
+            if(pastOrPresent && value instanceof LocalDateTime dateTime){
+                return dateTime.isAfter(now) ? invalidMask : 0;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * 검증 위반 코드
+     * 선언 순서가 비트 위치이므로 새 코드는 끝에 추가(최대 32개)
+     */
+    public enum Violation {
+        LOCATION_ID_REQUIRED("위치ID는 필수입니다"),
+        LOCATION_ID_NOT_POSITIVE("위치 ID는 양수여야 합니다"),
+        LOCATION_NOT_FOUND("위치 ID를 찾을 수 없습니다"),
+        MEASURED_AT_REQUIRED("측정 시간은 필수입니다"),
+        MEASURED_AT_IN_FUTURE("측정 시간은 현재 시간 이전이어야 합니다"),
+        VEHICLE_COUNT_REQUIRED("차량 수는 필수입니다"),
+        VEHICLE_COUNT_OUT_OF_RANGE("차량 수는 0 이상 10000 이하여야 합니다"),
+        AVERAGE_SPEED_OUT_OF_RANGE("평균 속도는 0 이상 200 이하여야 합니다"),
+        CONGESTION_LEVEL_REQUIRED("혼잡도는 필수입니다"),
+        WEATHER_CONDITION_INVALID("날씨 상태는 맑음, 흐림, 비, 눈, 안개, 기타 중 하나여야 합니다"),
+        TEMPERATURE_OUT_OF_RANGE("온도는 -50도 이상 60도 이하여야 합니다"),
+        HUMIDITY_OUT_OF_RANGE("습도는 0% 이상 100% 이하여야 합니다"),
+        VISIBILITY_OUT_OF_RANGE("가시거리는 0km 이상 50km 이하여야 합니다"),
+        DAY_OF_WEEK_OUT_OF_RANGE("요일은 1(월요일) 이상 7(일요일) 이하여야 합니다"),
+        HOUR_OF_DAY_OUT_OF_RANGE("시간은 0 이상 23 이하여야 합니다"),
+        // CSV 형식 오류
+        LOCATION_ID_FORMAT("위치 ID 형식이 올바르지 않습니다"),
+        MEASURED_AT_FORMAT("측정 시간 형식이 올바르지 않습니다(yyyy-MM-ddTHH:mm:ss)"),
+        VEHICLE_COUNT_FORMAT("차량 수 형식이 올바르지 않습니다"),
+        CONGESTION_LEVEL_FORMAT("혼잡도는 SMOOTH, NORMAL, SLOW, CONGESTED 중 하나여야 합니다"),
+        NUMBER_FORMAT("숫자 형식이 올바르지 않은 값이 있습니다");
+
+        private static final Violation[] VALUES = values();
+
+        private final String message;
+        private final int mask;
+
+        Violation(String message){
+            this.message = message;
+            this.mask = 1 << ordinal();
+        }
+
+        public String getMessage(){
+            return message;
+        }
+
+        public int mask(){
+            return mask;
+        }
+    }
+}
@@ -3,28 +3,49 @@ package com.traficast.service;
 
 import com.traficast.dto.DtoMapper;
 import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
 import com.traficast.dto.response.PredictionResponse;
 import com.traficast.entity.Location;
+import com.traficast.entity.ModelConfig;
 import com.traficast.entity.PredictionHistory;
 import com.traficast.entity.TrafficData;
+import com.traficast.exception.ModelApiException;
+import com.traficast.exception.PredictionException;
 import com.traficast.repository.LocationRepository;
 import com.traficast.repository.ModelConfigRepository;
 import com.traficast.repository.PredictionHistoryRepository;
 import com.traficast.repository.TrafficDataRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
 public class TrafficPredictionService {
 
     private final LocationRepository locationRepository;
@@ -33,13 +54,52 @@ public class TrafficPredictionService {
     private final ModelApiService modelApiService;
     private final ModelConfigRepository modelConfigRepository;
     private final DtoMapper dtoMapper;
+    private final PredictionCache predictionCache;
+    private final TransactionTemplate transactionTemplate;
+    private final BaselinePredictor baselinePredictor;
+    private final PredictionBatcher predictionBatcher;
+    private final PredictionHorizon predictionHorizon;
+
+    @Qualifier("predictionTaskExecutor")
+    private final AsyncTaskExecutor predictionTaskExecutor;
+
+    @Value("${prediction.single-flight.wait-timeout-ms:65000}")
+    private long singleFlightWaitTimeoutMs;
+
+    @Value("${prediction.fan-out.chunk-size:50}")
+    private int fanOutChunkSize;
+
+    @Value("${prediction.fan-out.max-concurrency:4}")
+    private int fanOutMaxConcurrency;
+
+    @Value("${prediction.max-locations-per-request:5000}")
+    private int maxLocationsPerRequest;
+
+    @Value("${prediction.fallback.latency-budget-ms:10000}")
+    private long fallbackLatencyBudgetMs;
+
+    // 모든 예측 요청이 공유하는 모델 API 동시 호출 제한
+    private Semaphore fanOutPermits;
+
+    // 위치 조회용 읽기 전용 트랜잭션(모델 호출 전에 커밋되어 커넥션을 바로 반환)
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @PostConstruct
+    void init(){
+        fanOutPermits = new Semaphore(fanOutMaxConcurrency, true);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     /**
      * 교통량 예측을 수행하고 결과를 저장합니다.
+     * 같은 위치/대상 시간/예측 타입/활성 모델 버전의 최근 결과는 캐시에서 돌려주고, 캐시에 없는 위치만 모델 API 에 요청
+     * 모델 API 가 실패하거나 지연 예산을 넘긴 위치는 기준선 예측(BaselinePredictor)으로 채움
+     * 모델 호출(최대 deadline-ms)은 트랜잭션 밖에서 하므로 DB 커넥션은 위치 조회와 결과 저장의 짧은 트랜잭션에서만 사용
+     * (조회 트랜잭션 → 트랜잭션 없이 모델 호출 → 저장 트랜잭션)
      * @param request 예측 요청 DTO
      * @return 예측 결과 응답 DTO 목록
      */
-    @Transactional
     public List<PredictionResponse> predictTraffic(PredictionRequest request){
         log.info("교통량 예측 요청 처리 시작 - 시간={}, 위치 수={}",
                 request.getTargetDatetime(), request.getLocationIds().size());
@@ -49,25 +109,243 @@ public class TrafficPredictionService {
         // 1. 요청 유효성 검증
         validatePredictionRequest(request);
 
-        // 2. 위치 정보 조회 및 검증
-        List<Location> targetLocations = getAndValidateLocations(request.getLocationIds());
+        // 2. 위치 정보 조회 및 검증(읽기 전용 트랜잭션, 이후 단계에서는 준영속 상태로 사용)
+        List<Location> targetLocations = readOnlyTransactionTemplate.execute(
+                status -> getAndValidateLocations(request.getLocationIds()));
+
+        // 3. 활성 모델 기준으로 캐시 조회
+        ModelConfig activeModel = modelApiService.getActiveModel();
+        boolean cacheable = isCacheable(request);
+
+        Map<Long, PredictionResponse> responsesByLocation = new HashMap<>();
+        List<Long> missingLocationIds = collectCached(request, activeModel, cacheable, responsesByLocation);
+
+        // 4. 캐시에 없는 위치 중 다른 요청이 이미 모델 API 에 요청 중인 위치는 그 결과를 함께 사용(single-flight)
+        List<Long> leaderLocationIds = new ArrayList<>();
+        Map<Long, CompletableFuture<PredictionResponse>> followedCalls = new LinkedHashMap<>();
+        Map<PredictionCache.Key, CompletableFuture<PredictionResponse>> ledCalls = new HashMap<>();
+        for(Long locationId : missingLocationIds){
+            if(!cacheable){
+                leaderLocationIds.add(locationId);
+                continue;
+            }
+            PredictionCache.Key key = cacheKey(locationId, request, activeModel);
+            CompletableFuture<PredictionResponse> call = new CompletableFuture<>();
+            CompletableFuture<PredictionResponse> inFlight = predictionCache.joinInFlight(key, call);
+            if(inFlight != null){
+                followedCalls.put(locationId, inFlight);
+            }else{
+                ledCalls.put(key, call);
+                leaderLocationIds.add(locationId);
+            }
+        }
+
+        // 5. 직접 맡은 위치만 외부 ML 모델 API 호출 후 결과 변환 및 저장
+        try{
+            if(!leaderLocationIds.isEmpty()){
+                for(PredictionResponse response : requestAndSave(
+                        request, leaderLocationIds, targetLocations, activeModel, cacheable)){
+                    Long locationId = response.getLocationSummary().getLocationId();
+                    responsesByLocation.put(locationId, response);
+
+                    CompletableFuture<PredictionResponse> call = ledCalls.get(cacheKey(locationId, request, activeModel));
+                    if(call != null){
+                        call.complete(response);
+                    }
+                }
+            }
+        }catch (RuntimeException e){
+            ledCalls.values().forEach(call -> call.completeExceptionally(e));
+            throw e;
+        }finally {
+            // 모델이 결과를 주지 않은 위치는 기다리는 요청에도 결과 없음으로 전달
+            ledCalls.values().forEach(call -> call.complete(null));
+            predictionCache.releaseInFlightAfterCompletion(ledCalls);
+        }
 
-        // 3. 외부 ML 모델 API 호출
-        Map<String, Object> rawPredictionResult = modelApiService.requestPredictionFromModel(request);
+        // 6. 다른 요청이 맡은 위치의 결과를 기다리고, 실패하거나 시간이 초과되면 직접 요청
+        List<Long> retryLocationIds = new ArrayList<>();
+        for(Map.Entry<Long, CompletableFuture<PredictionResponse>> followed : followedCalls.entrySet()){
+            PredictionResponse shared = awaitInFlight(followed.getKey(), followed.getValue());
+            if(shared != null){
+                responsesByLocation.put(followed.getKey(), shared);
+            }else if(!followed.getValue().isDone() || followed.getValue().isCompletedExceptionally()){
+                retryLocationIds.add(followed.getKey());
+            }
+        }
+        if(!retryLocationIds.isEmpty()){
+            for(PredictionResponse response : requestAndSave(
+                    request, retryLocationIds, targetLocations, activeModel, cacheable)){
+                responsesByLocation.put(response.getLocationSummary().getLocationId(), response);
+            }
+        }
 
-        // 4. 예측 결과 파싱 및 저장
-        List<PredictionResponse> predictionResponses = processPredictionResults(
-                rawPredictionResult, targetLocations, request);
+        List<PredictionResponse> predictionResponses = inRequestOrder(request, responsesByLocation);
 
         LocalDateTime endTime = LocalDateTime.now();
         long executionTimeMs = java.time.Duration.between(startTime, endTime).toMillis();
 
-        log.info("교통량 예측 요청 처리 완료: 실행시간: {}ms, 예측 결과={}개",
-                executionTimeMs, predictionResponses.size());
+        log.info("교통량 예측 요청 처리 완료: 실행시간: {}ms, 예측 결과={}개(캐시 {}개, 동시 요청 공유 {}개)",
+                executionTimeMs, predictionResponses.size(),
+                request.getLocationIds().size() - missingLocationIds.size(),
+                followedCalls.size() - retryLocationIds.size());
 
         return predictionResponses;
     }
 
+    /**
+     * 교통량 예측을 비동기로 수행합니다.
+     * 검증과 캐시 조회만 호출 스레드에서 하고, 모델 API 는 비동기 클라이언트로 호출해 응답을 기다리는 동안 스레드를 점유하지 않음
+     * 결과 저장은 predictionTaskExecutor(업로드 작업과 분리된 전용 풀)에서 별도 트랜잭션으로 처리, 대기열이 가득 차면 거부
+     * 캐시는 동기 경로와 공유하지만, 진행 중인 호출 공유(single-flight)와 실패 시 재호출은 하지 않음
+     * 모델 API 가 실패하거나 지연 예산을 넘긴 위치는 동기 경로와 같이 기준선 예측으로 채움
+     */
+    public CompletableFuture<List<PredictionResponse>> predictTrafficAsync(PredictionRequest request){
+        log.info("교통량 비동기 예측 요청 처리 시작 - 시간={}, 위치 수={}",
+                request.getTargetDatetime(), request.getLocationIds().size());
+
+        long startNanos = System.nanoTime();
+
+        validatePredictionRequest(request);
+        List<Location> targetLocations = readOnlyTransactionTemplate.execute(
+                status -> getAndValidateLocations(request.getLocationIds()));
+
+        ModelConfig activeModel = modelApiService.getActiveModel();
+        boolean cacheable = isCacheable(request);
+
+        Map<Long, PredictionResponse> responsesByLocation = new ConcurrentHashMap<>();
+        List<Long> missingLocationIds = collectCached(request, activeModel, cacheable, responsesByLocation);
+        if(missingLocationIds.isEmpty()){
+            return CompletableFuture.completedFuture(inRequestOrder(request, responsesByLocation));
+        }
+
+        // 청크마다 비동기 호출(동시 연결 수는 비동기 클라이언트의 연결 풀로 제한)
+        List<CompletableFuture<ModelPredictionResult>> calls = new ArrayList<>();
+        for(int from = 0; from < missingLocationIds.size(); from += fanOutChunkSize){
+            List<Long> chunk = new ArrayList<>(missingLocationIds.subList(
+                    from, Math.min(from + fanOutChunkSize, missingLocationIds.size())));
+            calls.add(predictionBatcher.requestAsync(
+                    request.toBuilder().locationIds(chunk).build(), activeModel));
+        }
+
+        // 모든 청크 호출이 끝나면(성공/실패 무관) 결과를 합쳐 저장, 기준선 예측을 쓰는 경우 지연 예산까지만 기다림
+        CompletableFuture<?>[] settled = calls.stream()
+                .map(call -> call.handle((result, error) -> null))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture<Void> allSettled = CompletableFuture.allOf(settled);
+        if(isLatencyBudgeted()){
+            allSettled = allSettled.completeOnTimeout(null, fallbackLatencyBudgetMs, TimeUnit.MILLISECONDS);
+        }
+
+        CompletableFuture<List<PredictionResponse>> saved = allSettled
+                .thenApplyAsync(ignored -> {
+                    // 지연 예산 안에 끝나지 않은 호출은 취소(실패한 청크로 처리)
+                    calls.forEach(call -> call.cancel(true));
+                    ModelPredictionResult modelResult = mergeAsyncResultsOrEmpty(calls, activeModel);
+                    ModelPredictionResult baseline = predictUnanswered(request, missingLocationIds, modelResult);
+                    List<PredictionResponse> saved = saveResults(
+                            request, targetLocations, activeModel, cacheable, modelResult, baseline);
+
+                    for(PredictionResponse response : saved){
+                        responsesByLocation.put(response.getLocationSummary().getLocationId(), response);
+                    }
+                    List<PredictionResponse> predictionResponses = inRequestOrder(request, responsesByLocation);
+
+                    log.info("교통량 비동기 예측 요청 처리 완료: 실행시간: {}ms, 예측 결과={}개(캐시 {}개)",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), predictionResponses.size(),
+                            request.getLocationIds().size() - missingLocationIds.size());
+                    return predictionResponses;
+                }, predictionTaskExecutor);
+
+        return saved.exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if(!(cause instanceof TaskRejectedException)){
+                throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+            }
+            calls.forEach(call -> call.cancel(true));
+            log.warn("비동기 예측 저장 대기열이 가득 차 요청을 거부합니다: 위치 수={}", request.getLocationIds().size());
+            throw PredictionException.overloaded(request.getLocationIds(), request.getPredictionType(),
+                    activeModel.getModelVersion());
+        });
+    }
+
+    /**
+     * 모든 청크가 실패했을 때 기준선 예측을 사용하면 빈 결과로, 아니면 예외로 처리합니다.
+     */
+    private ModelPredictionResult mergeAsyncResultsOrEmpty(List<CompletableFuture<ModelPredictionResult>> calls,
+                                                           ModelConfig activeModel){
+        try{
+            return mergeAsyncResults(calls, activeModel);
+        }catch (RuntimeException e){
+            if(!baselinePredictor.isFallbackEnabled()){
+                throw e;
+            }
+            log.warn("모델 API 비동기 호출 전체 실패, 기준선 예측으로 대체: Error={}", e.getMessage());
+            return new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), new ArrayList<>());
+        }
+    }
+
+    /**
+     * 완료된 비동기 청크 호출 결과를 합칩니다. 동기 경로와 마찬가지로 모든 청크가 실패한 경우에만 예외
+     */
+    private ModelPredictionResult mergeAsyncResults(List<CompletableFuture<ModelPredictionResult>> calls,
+                                                    ModelConfig activeModel){
+        List<ModelPredictionResult.Prediction> predictions = new ArrayList<>();
+        RuntimeException firstFailure = null;
+        int failedChunks = 0;
+        for(int i = 0; i < calls.size(); i++){
+            try{
+                predictions.addAll(calls.get(i).join().getPredictions());
+            }catch (CompletionException | CancellationException e){
+                failedChunks++;
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                RuntimeException failure = cause instanceof RuntimeException runtime
+                        ? runtime
+                        : new RuntimeException("모델 API 호출 실패: " + cause.getMessage(), cause);
+                if(firstFailure == null){
+                    firstFailure = failure;
+                }
+                log.error("모델 API 비동기 청크 호출 실패({}/{}): Error={}", i + 1, calls.size(), failure.getMessage());
+            }
+        }
+
+        if(failedChunks == calls.size()){
+            throw firstFailure;
+        }
+        return new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), predictions);
+    }
+
+    /**
+     * 캐시에 있는 예측 결과를 responsesByLocation 에 채웁니다.
+     * @return 캐시에 없는 위치 ID 목록(요청 순서)
+     */
+    private List<Long> collectCached(PredictionRequest request, ModelConfig activeModel, boolean cacheable,
+                                     Map<Long, PredictionResponse> responsesByLocation){
+        List<Long> missingLocationIds = new ArrayList<>();
+        for(Long locationId : request.getLocationIds()){
+            PredictionResponse cached = cacheable
+                    ? predictionCache.get(cacheKey(locationId, request, activeModel))
+                    : null;
+            if(cached != null){
+                responsesByLocation.put(locationId, cached);
+            }else{
+                missingLocationIds.add(locationId);
+            }
+        }
+        return missingLocationIds;
+    }
+
+    /**
+     * 요청한 위치 순서대로 정렬(모델이 결과를 주지 않은 위치는 제외)
+     */
+    private List<PredictionResponse> inRequestOrder(PredictionRequest request,
+                                                    Map<Long, PredictionResponse> responsesByLocation){
+        return request.getLocationIds().stream()
+                .map(responsesByLocation::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     /**
      * 예측 요청의 유효성을 검증합니다.
      */
@@ -84,9 +362,241 @@ public class TrafficPredictionService {
             throw new IllegalArgumentException("예측 대상 시간은 현재 시간 이후여야 합니다.");
         }
 
-        if(request.getLocationIds().size() > 100){
-            throw new IllegalArgumentException("한 번에 최대 100개 위치까지 예측 가능합니다.");
+        if(request.getLocationIds().size() > maxLocationsPerRequest){
+            throw new IllegalArgumentException("한 번에 최대 " + maxLocationsPerRequest + "개 위치까지 예측 가능합니다.");
+        }
+    }
+
+    /**
+     * 지정한 위치만 모델 API 에 요청하고 결과를 저장합니다.
+     * 모델 호출과 기준선 예측은 트랜잭션 없이 하고, 저장만 짧은 쓰기 트랜잭션으로 처리
+     */
+    private List<PredictionResponse> requestAndSave(PredictionRequest request, List<Long> locationIds,
+                                                    List<Location> targetLocations, ModelConfig activeModel,
+                                                    boolean cacheable){
+        ModelPredictionResult modelResult;
+        try{
+            modelResult = requestFromModel(request, locationIds, activeModel);
+        }catch (RuntimeException e){
+            if(!baselinePredictor.isFallbackEnabled()){
+                throw e;
+            }
+            log.warn("모델 API 호출 실패, 기준선 예측으로 대체: 위치 {}개, Error={}", locationIds.size(), e.getMessage());
+            modelResult = new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), new ArrayList<>());
+        }
+        ModelPredictionResult baseline = predictUnanswered(request, locationIds, modelResult);
+        return saveResults(request, targetLocations, activeModel, cacheable, modelResult, baseline);
+    }
+
+    /**
+     * 모델 예측 결과와 기준선 예측 결과를 하나의 짧은 트랜잭션으로 저장합니다.
+     * 캐시 가능한 요청이면 모델 예측 결과만 커밋 후 캐시에 넣음(기준선 예측은 캐시하지 않음)
+     * @param baseline 기준선 예측 결과(없으면 null)
+     */
+    private List<PredictionResponse> saveResults(PredictionRequest request, List<Location> targetLocations,
+                                                 ModelConfig activeModel, boolean cacheable,
+                                                 ModelPredictionResult modelResult, ModelPredictionResult baseline){
+        return transactionTemplate.execute(status -> {
+            List<PredictionResponse> responses = new ArrayList<>(
+                    processPredictionResults(modelResult, targetLocations, request));
+            if(cacheable){
+                Map<PredictionCache.Key, PredictionResponse> toCache = new HashMap<>();
+                for(PredictionResponse response : responses){
+                    toCache.put(cacheKey(response.getLocationSummary().getLocationId(), request, activeModel), response);
+                }
+                predictionCache.putAllAfterCommit(toCache);
+            }
+            if(baseline != null){
+                responses.addAll(processPredictionResults(baseline, targetLocations, request));
+            }
+            return responses;
+        });
+    }
+
+    /**
+     * 모델 예측 결과가 없는 위치의 기준선 예측을 만듭니다.
+     * @return 기준선 예측 결과, 기준선 예측을 사용하지 않거나 모든 위치에 모델 결과가 있으면 null
+     */
+    private ModelPredictionResult predictUnanswered(PredictionRequest request, List<Long> locationIds,
+                                                    ModelPredictionResult modelResult){
+        if(!baselinePredictor.isFallbackEnabled() || modelResult.getPredictions().size() >= locationIds.size()){
+            return null;
+        }
+
+        Set<Long> answered = new HashSet<>(modelResult.getPredictions().size() * 2);
+        for(ModelPredictionResult.Prediction prediction : modelResult.getPredictions()){
+            answered.add(prediction.getLocationId());
+        }
+        List<Long> unanswered = new ArrayList<>();
+        for(Long locationId : locationIds){
+            if(!answered.contains(locationId)){
+                unanswered.add(locationId);
+            }
+        }
+        if(unanswered.isEmpty()){
+            return null;
         }
+
+        ModelPredictionResult baseline = baselinePredictor.predict(unanswered, request.getTargetDatetime(),
+                predictionHorizon.points(request.getPredictionType()), predictionHorizon.getStepMinutes());
+        log.warn("모델 예측 결과가 없는 위치 {}개를 기준선 예측으로 대체: 모델 버전={}",
+                unanswered.size(), baseline.getModelVersion());
+        return baseline;
+    }
+
+    // 기준선 예측을 쓰는 경우에만 모델 응답을 지연 예산까지만 기다림
+    private boolean isLatencyBudgeted(){
+        return baselinePredictor.isFallbackEnabled() && fallbackLatencyBudgetMs > 0;
+    }
+
+    /**
+     * 위치를 chunk-size 단위로 나눠 가상 스레드에서 동시에 모델 API 를 호출하고 결과를 합칩니다.
+     * 청크보다 작은 요청은 PredictionBatcher 가 같은 조건의 다른 요청과 묶어 한 번에 호출
+     * 여러 청크로 나뉘는 요청만 모든 요청을 합쳐 max-concurrency 로 동시 호출 수를 제한하고(한 청크 요청은 허가 없이 바로 호출),
+     * 일부 청크만 실패하면 나머지 결과로 계속 진행
+     * 기준선 예측을 사용하면 지연 예산(latency-budget-ms)을 넘긴 청크는 취소하고 실패로 처리
+     * 트랜잭션 없이 호출하고, 저장은 모든 청크가 끝난 뒤 호출 스레드에서 한 번에 처리
+     */
+    private ModelPredictionResult requestFromModel(PredictionRequest request, List<Long> locationIds,
+                                                   ModelConfig activeModel){
+        boolean budgeted = isLatencyBudgeted();
+        if(locationIds.size() <= fanOutChunkSize){
+            PredictionRequest modelRequest = locationIds.size() == request.getLocationIds().size()
+                    ? request
+                    : request.toBuilder().locationIds(locationIds).build();
+            return budgeted
+                    ? requestWithinBudget(modelRequest, activeModel)
+                    : predictionBatcher.request(modelRequest, activeModel);
+        }
+
+        List<List<Long>> chunks = new ArrayList<>();
+        for(int from = 0; from < locationIds.size(); from += fanOutChunkSize){
+            chunks.add(locationIds.subList(from, Math.min(from + fanOutChunkSize, locationIds.size())));
+        }
+        if(chunks.size() > 1){
+            log.info("모델 API 분할 호출: 위치 {}개, 청크 {}개(청크당 {}개, 최대 동시 {}개)",
+                    locationIds.size(), chunks.size(), fanOutChunkSize, fanOutMaxConcurrency);
+        }
+
+        List<Future<ModelPredictionResult>> futures = new ArrayList<>(chunks.size());
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long budgetDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fallbackLatencyBudgetMs);
+
+        List<ModelPredictionResult.Prediction> predictions = new ArrayList<>(locationIds.size());
+        RuntimeException firstFailure = null;
+        int failedChunks = 0;
+        try{
+            for(List<Long> chunk : chunks){
+                PredictionRequest chunkRequest = request.toBuilder().locationIds(new ArrayList<>(chunk)).build();
+                futures.add(executor.submit(() -> {
+                    fanOutPermits.acquire();
+                    try{
+                        return predictionBatcher.request(chunkRequest, activeModel);
+                    }finally {
+                        fanOutPermits.release();
+                    }
+                }));
+            }
+
+            for(int i = 0; i < futures.size(); i++){
+                try{
+                    predictions.addAll((budgeted
+                            ? futures.get(i).get(Math.max(0, budgetDeadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)
+                            : futures.get(i).get()).getPredictions());
+                }catch (TimeoutException e){
+                    // 취소하면 청크 스레드가 인터럽트되어 진행 중인 모델 호출도 취소됨
+                    futures.get(i).cancel(true);
+                    failedChunks++;
+                    if(firstFailure == null){
+                        firstFailure = new ModelApiException(
+                                "모델 API 응답이 지연 예산(" + fallbackLatencyBudgetMs + "ms)을 넘었습니다.", false, e);
+                    }
+                    log.warn("모델 API 청크 호출 지연 예산 초과({}/{}): 위치 {}개, 예산={}ms",
+                            i + 1, chunks.size(), chunks.get(i).size(), fallbackLatencyBudgetMs);
+                }catch (ExecutionException e){
+                    failedChunks++;
+                    RuntimeException cause = e.getCause() instanceof RuntimeException runtime
+                            ? runtime
+                            : new RuntimeException("모델 API 호출 실패: " + e.getCause().getMessage(), e.getCause());
+                    if(firstFailure == null){
+                        firstFailure = cause;
+                    }
+                    log.error("모델 API 청크 호출 실패({}/{}): 위치 {}개, Error={}",
+                            i + 1, chunks.size(), chunks.get(i).size(), cause.getMessage());
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("모델 API 분할 호출 대기 중 중단되었습니다.", e);
+                }
+            }
+        }finally {
+            // 끝나지 않은 청크(지연 예산 초과, 중단)는 기다리지 않고 정리
+            executor.shutdownNow();
+        }
+
+        if(failedChunks == chunks.size()){
+            throw firstFailure;
+        }
+        return new ModelPredictionResult(activeModel.getModelVersion(), activeModel.getModelName(), predictions);
+    }
+
+    /**
+     * 한 청크 요청을 가상 스레드에서 호출하고 지연 예산까지만 기다립니다.
+     * 예산을 넘기면 호출 스레드를 인터럽트해 묶음에서 빠지고(다른 요청이 없으면 모델 호출도 취소) 실패로 처리
+     */
+    private ModelPredictionResult requestWithinBudget(PredictionRequest request, ModelConfig activeModel){
+        FutureTask<ModelPredictionResult> call = new FutureTask<>(() -> predictionBatcher.request(request, activeModel));
+        Thread.ofVirtual().name("model-call").start(call);
+        try{
+            return call.get(fallbackLatencyBudgetMs, TimeUnit.MILLISECONDS);
+        }catch (TimeoutException e){
+            call.cancel(true);
+            log.warn("모델 API 호출 지연 예산 초과: 위치 {}개, 예산={}ms", request.getLocationIds().size(), fallbackLatencyBudgetMs);
+            throw new ModelApiException(
+                    "모델 API 응답이 지연 예산(" + fallbackLatencyBudgetMs + "ms)을 넘었습니다.", false, e);
+        }catch (ExecutionException e){
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new RuntimeException("모델 API 호출 실패: " + e.getCause().getMessage(), e.getCause());
+        }catch (InterruptedException e){
+            call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("모델 API 호출 대기 중 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * 다른 요청이 진행 중인 모델 호출 결과를 기다립니다.
+     * @return 공유받은 예측 결과, 모델이 결과를 주지 않았거나 실패/시간 초과면 null
+     */
+    private PredictionResponse awaitInFlight(Long locationId, CompletableFuture<PredictionResponse> inFlight){
+        try{
+            return inFlight.get(singleFlightWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        }catch (ExecutionException e){
+            log.warn("동시 요청의 모델 호출 실패로 직접 요청: Location ID={}, Error={}",
+                    locationId, e.getCause() == null ? e.getMessage() : e.getCause().getMessage());
+        }catch (TimeoutException e){
+            log.warn("동시 요청의 모델 호출 대기 시간 초과({}ms)로 직접 요청: Location ID={}",
+                    singleFlightWaitTimeoutMs, locationId);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("동시 요청의 모델 호출 결과를 기다리는 중 중단되었습니다.", e);
+        }
+        return null;
+    }
+
+    /**
+     * 예상 날씨/온도/공휴일을 직접 지정한 요청은 가정 시나리오이므로 캐시를 사용하지 않음
+     */
+    private boolean isCacheable(PredictionRequest request){
+        return predictionCache.isEnabled()
+                && request.getExpectedWeather() == null
+                && request.getExpectedTemperature() == null
+                && request.getIsHoliday() == null;
+    }
+
+    private PredictionCache.Key cacheKey(Long locationId, PredictionRequest request, ModelConfig activeModel){
+        return new PredictionCache.Key(locationId, request.getTargetDatetime(),
+                request.getPredictionType(), request.getMinimumConfidence(), activeModel.getModelVersion());
     }
 
     /**
@@ -108,78 +618,75 @@ public class TrafficPredictionService {
     }
 
     /**
-     * 모델 API 응답을 파싱하고 예측 결과를 저장합니다.
+     * 모델 API 예측 결과를 저장합니다(호출자의 쓰기 트랜잭션 안에서 실행).
+     * 위치마다 save 하지 않고 모아서 saveAll 로 한 번에 저장하므로 hibernate.jdbc.batch_size 단위의 JDBC 배치로 전송되고,
+     * 시퀀스(allocationSize 50)로 미리 채워진 ID 가 그대로 응답에 매핑됨
      */
     private List<PredictionResponse> processPredictionResults(
-            Map<String,Object> rawResult, List<Location> locations, PredictionRequest request
+            ModelPredictionResult modelResult, List<Location> locations, PredictionRequest request
     ){
-        List<PredictionResponse> responses = new ArrayList<>();
+        List<ModelPredictionResult.Prediction> predictions = modelResult.getPredictions();
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> predictions = (List<Map<String, Object>>) rawResult.get("predictions");
-
-        if(predictions == null || predictions.isEmpty()){
+        if(predictions.isEmpty()){
             log.warn("모델 API로부터 예측 결과가 반환되지 않았습니다.");
-            return responses;
+            return new ArrayList<>();
         }
 
-        String modelVersion = (String) rawResult.getOrDefault("modelVersion", "unknown");
+        // 예측 결과마다 위치 목록을 훑지 않도록 ID 로 한 번에 색인
+        Map<Long, Location> locationsById = new HashMap<>(locations.size() * 2);
+        for(Location location : locations){
+            locationsById.put(location.getId(), location);
+        }
 
-        for(Map<String, Object> predictionData: predictions){
-            try{
-                PredictionResponse response = processSinglePrediction(
-                        predictionData, locations, request, modelVersion
-                );
-                responses.add(response);
-            } catch (Exception e) {
-                log.error("개별 예측 결과 처리 중 오류 발생: {}", e.getMessage(), e);
+        LocalDateTime predictionTime = LocalDateTime.now();
+        List<PredictionHistory> predictionHistories = new ArrayList<>(predictions.size());
+        for(ModelPredictionResult.Prediction prediction: predictions){
+            Location location = locationsById.get(prediction.getLocationId());
+            if(location == null){
+                log.error("개별 예측 결과 처리 중 오류 발생: 예측된 위치 ID가 유효하지 않습니다. {}", prediction.getLocationId());
+                continue;
             }
+            predictionHistories.add(toPredictionHistory(
+                    prediction, location, request, predictionTime, modelResult.getModelVersion()));
         }
 
-        return responses;
+        // 예측 결과 일괄 저장 후 즉시 flush 하여 배치 INSERT 실행
+        List<PredictionHistory> savedPredictions = predictionHistoryRepository.saveAll(predictionHistories);
+        predictionHistoryRepository.flush();
+
+        log.debug("예측 결과 일괄 저장 완료: {}건, 모델 버전={}", savedPredictions.size(), modelResult.getModelVersion());
+
+        return savedPredictions.stream()
+                .map(dtoMapper::toPredictionResponse)
+                .collect(Collectors.toList());
     }
 
     /**
-     * 개별 예측 결과를 처리합니다.
+     * 개별 예측 결과를 PredictionHistory 엔티티로 변환합니다(저장은 호출자가 일괄 처리).
+     * 일별/주별 예측의 시점별 값은 시점마다 행을 만들지 않고 한 행의 predicted_series 에 압축해 저장
      */
-    private PredictionResponse processSinglePrediction(
-            Map<String, Object> predictionData, List<Location> locations,
-            PredictionRequest request, String modelVersion
+    private PredictionHistory toPredictionHistory(
+            ModelPredictionResult.Prediction prediction, Location location,
+            PredictionRequest request, LocalDateTime predictionTime, String modelVersion
     ) {
-        Long locationId = ((Number) predictionData.get("locationId")).longValue();
-        Integer predictedVehicleCount = (Integer) predictionData.get("predictedVehicleCount");
-        Double predictedSpeed = ((Number) predictionData.get("predictedSpeed")).doubleValue();
-        String congestionLevelStr = (String) predictionData.get("predictedCongestionLevel");
-        Double confidenceScore = ((Number) predictionData.get("confidenceScore")).doubleValue();
-
-        Location location = locations.stream()
-                .filter(loc -> loc.getId().equals(locationId))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("예측된 위치 ID가 유효하지 않습니다." + locationId));
-
-        // PredictionHistory 엔티티 생성 및 저장
-        PredictionHistory predictionHistory = PredictionHistory.builder()
+        return PredictionHistory.builder()
                 .location(location)
-                .predictionTime(LocalDateTime.now())
+                .predictionTime(predictionTime)
                 .targetDateTime(request.getTargetDatetime())
-                .predictedVehicleCount(predictedVehicleCount)
-                .predictedSpeed(predictedSpeed)
-                .predictedCongestionLevel(TrafficData.CongestionLevel.valueOf(congestionLevelStr.toUpperCase()))
-                .confidenceScore(confidenceScore)
+                .predictedVehicleCount(prediction.getPredictedVehicleCount())
+                .predictedSpeed(prediction.getPredictedSpeed())
+                .predictedCongestionLevel(prediction.getPredictedCongestionLevel())
+                .confidenceScore(prediction.getConfidenceScore())
                 .predictionType(request.getPredictionType())
+                .modelVersion(modelVersion)
+                .predictedSeries(prediction.getHorizon() == null ? null : prediction.getHorizon().encode())
                 .build();
-
-        PredictionHistory savedPrediction = predictionHistoryRepository.save(predictionHistory);
-
-        log.debug("예측 결과 저장 완료: ID={}, Location={}, Confidence={}",
-                savedPrediction.getId(), location.getLocationName(), confidenceScore);
-
-        return dtoMapper.toPredictionResponse(savedPrediction);
     }
 
     /**
      *  특정 위치의 최신 예측 결과를 조회합니다.
      */
+    @Transactional(readOnly = true)
     public Optional<PredictionResponse> getLatestPredictionForLocation(Long locationId){
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(()-> new NoSuchElementException("위치 ID" + locationId + "를 찾을 수 없습니다."));
@@ -0,0 +1,250 @@
+package com.traficast.service;
+
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.TrafficDataRepository;
+import com.traficast.util.BloomFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 위치별 최근 측정 시각 블룸 필터
+ * (location_id, recorded_at) 키의 중복 여부를 DB 조회 전에 걸러내는 사전 필터
+ *
+ * 필터는 처음 사용될 때 최근 window-hours 동안의 측정 시각을 DB에서 읽어 채우고,
+ * 이후 이 인스턴스가 저장하는 측정값을 계속 기록합니다.
+ * 측정 시각 기준 bucket-hours 단위 버킷마다 따로 필터를 두어 윈도우를 벗어난 버킷은 버리고(시간 기준 롤오버),
+ * 버킷 필터는 readings-per-hour × bucket-hours × capacity-headroom 크기로 만들며 가득 차면 같은 크기의 필터를 이어 붙임
+ * (DB 에서 다시 채우는 것은 위치마다 처음 한 번뿐)
+ * "없음" 판정은 이 인스턴스가 본 값 기준이므로 다른 인스턴스나 다른 경로로 저장된 값은 놓칠 수 있음
+ * 중복 방지는 (location_id, recorded_at) 유니크 인덱스가 보장하고, upsert 는 인덱스에 걸리면 필터 없이 다시 시도
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrafficReadingDeduplicator {
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, LocationFilter> filters = new ConcurrentHashMap<>();
+
+    @Value("${upload.dedup.window-hours:168}")
+    private long windowHours;
+
+    @Value("${upload.dedup.bucket-hours:24}")
+    private long bucketHours;
+
+    @Value("${upload.dedup.readings-per-hour:120}")
+    private int readingsPerHour;
+
+    @Value("${upload.dedup.capacity-headroom:1.5}")
+    private double capacityHeadroom;
+
+    @Value("${upload.dedup.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * 해당 측정값이 이미 저장되어 있을 가능성이 있는지 확인합니다.
+     * @return false면 이 인스턴스가 아는 범위에서 저장된 적이 없음, true면 DB 확인이 필요함
+     */
+    public boolean mightExist(Long locationId, LocalDateTime recordedAt){
+        LocationFilter filter = filters.computeIfAbsent(locationId, id -> new LocationFilter());
+
+        synchronized (filter){
+            if(!filter.warmed){
+                warmUp(locationId, filter);
+            }
+            filter.expire(LocalDateTime.now().minusHours(windowHours));
+            // 필터가 다루는 기간 이전의 측정값은 판단할 수 없으므로 DB 확인
+            if(recordedAt.isBefore(filter.coverageStart)){
+                return true;
+            }
+            return filter.mightContain(recordedAt);
+        }
+    }
+
+    /**
+     * 필터로 DB 확인을 줄여 한 트랜잭션으로 upsert 합니다.
+     * 필터가 놓친 기존 값 때문에 유니크 인덱스에 걸리면 모든 키를 DB 에서 확인해 한 번 더 시도
+     * 필터 기록(record)은 호출자가 커밋 후에 함
+     */
+    public TrafficDataRepository.UpsertResult upsert(List<TrafficData> chunk){
+        try{
+            return transactionTemplate.execute(status -> trafficDataRepository.batchUpsert(chunk,
+                    data -> mightExist(data.getLocation().getId(), data.getRecordedAt())));
+        }catch (DataIntegrityViolationException e){
+            // 롤백된 INSERT 의 시퀀스 ID 를 비워 다시 새 엔티티로 저장되도록 함
+            chunk.forEach(data -> data.setId(null));
+            log.warn("중복 필터가 놓친 기존 측정값이 있어 DB 확인 후 재시도: {}건, Error={}",
+                    chunk.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            return transactionTemplate.execute(status -> trafficDataRepository.batchUpsert(chunk, data -> true));
+        }
+    }
+
+    /**
+     * 이미 저장된 측정값을 건너뛰고 새 측정값만 한 트랜잭션으로 저장합니다(일반 업로드, 기존 행은 갱신하지 않음).
+     * 청크 안 중복은 처음 값만 남기고, 필터가 "있을 수 있음"으로 판정한 값만 위치별 한 번의 조회로 DB 에서 확인
+     * 확인과 저장 사이에 다른 경로가 같은 키를 저장해 유니크 인덱스에 걸리면 모든 키를 DB 에서 확인해 한 번 더 시도
+     * 필터 기록(record)은 호출자가 커밋 후에 함
+     * @param loader 새 측정값을 저장하고 저장한 행 수를 반환(대량 적재기)
+     * @return INSERT/중복 건수(updatedCount 는 항상 0)
+     */
+    public TrafficDataRepository.UpsertResult insertNew(List<TrafficData> chunk, ToIntFunction<List<TrafficData>> loader){
+        try{
+            return transactionTemplate.execute(status -> insertNew(chunk, loader,
+                    data -> mightExist(data.getLocation().getId(), data.getRecordedAt())));
+        }catch (DataIntegrityViolationException e){
+            chunk.forEach(data -> data.setId(null));
+            log.warn("중복 필터가 놓친 기존 측정값이 있어 DB 확인 후 재시도: {}건, Error={}",
+                    chunk.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            return transactionTemplate.execute(status -> insertNew(chunk, loader, data -> true));
+        }
+    }
+
+    private TrafficDataRepository.UpsertResult insertNew(List<TrafficData> chunk, ToIntFunction<List<TrafficData>> loader,
+                                                         Predicate<TrafficData> mightExist){
+        // 1. 청크 안 중복 키 제거(처음 값 우선)
+        Map<Long, Set<LocalDateTime>> seen = new HashMap<>();
+        Map<Long, List<TrafficData>> suspectsByLocation = new HashMap<>();
+        List<TrafficData> candidates = new ArrayList<>(chunk.size());
+        for(TrafficData data : chunk){
+            Long locationId = data.getLocation().getId();
+            if(!seen.computeIfAbsent(locationId, id -> new HashSet<>()).add(data.getRecordedAt())){
+                continue;
+            }
+            candidates.add(data);
+            // 2. 필터가 "있을 수 있음"으로 판정한 값만 DB 확인 대상
+            if(mightExist.test(data)){
+                suspectsByLocation.computeIfAbsent(locationId, id -> new ArrayList<>()).add(data);
+            }
+        }
+
+        // 3. 위치별 한 번의 조회로 이미 저장된 측정 시각 확인
+        Map<Long, Set<LocalDateTime>> existing = new HashMap<>();
+        int lookupCount = 0;
+        for(Map.Entry<Long, List<TrafficData>> entry : suspectsByLocation.entrySet()){
+            lookupCount += entry.getValue().size();
+            existing.put(entry.getKey(), new HashSet<>(trafficDataRepository.findRecordedAtByLocationIdAndRecordedAtIn(
+                    entry.getKey(), entry.getValue().stream().map(TrafficData::getRecordedAt).toList())));
+        }
+
+        List<TrafficData> inserts = new ArrayList<>(candidates.size());
+        for(TrafficData data : candidates){
+            Set<LocalDateTime> stored = existing.get(data.getLocation().getId());
+            if(stored == null || !stored.contains(data.getRecordedAt())){
+                inserts.add(data);
+            }
+        }
+
+        int inserted = inserts.isEmpty() ? 0 : loader.applyAsInt(inserts);
+        int duplicateCount = chunk.size() - inserts.size();
+        log.debug("교통 데이터 저장(중복 건너뜀): INSERT {}건, 중복 {}건, DB 확인 {}건", inserted, duplicateCount, lookupCount);
+        return new TrafficDataRepository.UpsertResult(inserted, 0, duplicateCount, lookupCount);
+    }
+
+    /**
+     * 저장된(또는 저장 예정인) 측정값을 필터에 기록합니다.
+     */
+    public void record(List<TrafficData> trafficData){
+        LocalDateTime windowStart = LocalDateTime.now().minusHours(windowHours);
+        for(TrafficData data : trafficData){
+            LocationFilter filter = filters.computeIfAbsent(data.getLocation().getId(), id -> new LocationFilter());
+            synchronized (filter){
+                filter.expire(windowStart);
+                filter.put(data.getRecordedAt());
+            }
+        }
+    }
+
+    private void warmUp(Long locationId, LocationFilter filter){
+        LocalDateTime since = LocalDateTime.now().minusHours(windowHours);
+        List<LocalDateTime> recordedTimes = trafficDataRepository.findRecordedAtByLocationIdSince(locationId, since);
+
+        for(LocalDateTime recordedAt : recordedTimes){
+            filter.put(recordedAt);
+        }
+        filter.coverageStart = since;
+        filter.warmed = true;
+
+        log.debug("중복 필터 초기화: Location ID={}, 측정값 {}건", locationId, recordedTimes.size());
+    }
+
+    private static long key(LocalDateTime recordedAt){
+        return recordedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + recordedAt.getNano();
+    }
+
+    private long bucketIndex(LocalDateTime recordedAt){
+        return Math.floorDiv(recordedAt.toEpochSecond(ZoneOffset.UTC), bucketHours * 3600);
+    }
+
+    private LocalDateTime bucketStart(long bucketIndex){
+        return LocalDateTime.ofEpochSecond(bucketIndex * bucketHours * 3600, 0, ZoneOffset.UTC);
+    }
+
+    // 버킷 필터 하나가 담을 측정값 수(한 버킷 기간의 예상 측정값 수에 여유분을 더함)
+    private int bucketCapacity(){
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Math.ceil(readingsPerHour * bucketHours * capacityHeadroom)));
+    }
+
+    private final class LocationFilter {
+        // 측정 시각 버킷 번호 → 버킷 필터(가득 차면 뒤에 이어 붙임)
+        private final TreeMap<Long, List<BloomFilter>> buckets = new TreeMap<>();
+        private LocalDateTime coverageStart = LocalDateTime.MAX;
+        private boolean warmed;
+
+        private void put(LocalDateTime recordedAt){
+            List<BloomFilter> chain = buckets.computeIfAbsent(bucketIndex(recordedAt), index -> new ArrayList<>(1));
+            int capacity = bucketCapacity();
+            if(chain.isEmpty() || chain.get(chain.size() - 1).getInsertions() >= capacity){
+                chain.add(new BloomFilter(capacity, falsePositiveRate));
+            }
+            chain.get(chain.size() - 1).put(key(recordedAt));
+        }
+
+        private boolean mightContain(LocalDateTime recordedAt){
+            List<BloomFilter> chain = buckets.get(bucketIndex(recordedAt));
+            if(chain == null){
+                return false;
+            }
+            long key = key(recordedAt);
+            for(BloomFilter bloomFilter : chain){
+                if(bloomFilter.mightContain(key)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 윈도우를 벗어난 버킷을 버리고, 버린 기간은 DB 확인 대상이 되도록 적용 범위를 좁힘
+        private void expire(LocalDateTime windowStart){
+            long oldestIndex = bucketIndex(windowStart);
+            if(buckets.isEmpty() || buckets.firstKey() >= oldestIndex){
+                return;
+            }
+            buckets.headMap(oldestIndex).clear();
+            LocalDateTime retainedStart = bucketStart(oldestIndex);
+            if(retainedStart.isAfter(coverageStart)){
+                coverageStart = retainedStart;
+            }
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.traficast.service;
+
+import com.traficast.dto.DtoMapper;
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.dto.response.IngestBufferStatusResponse;
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.exception.IngestBufferFullException;
+import com.traficast.repository.LocationRepository;
+import com.traficast.repository.TrafficDataRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 단건 측정값 그룹 커밋 버퍼
+ * 센서가 30초마다 보내는 측정값을 요청마다 저장하지 않고 고정 크기 큐에 모아 두었다가,
+ * 전용 스레드가 batch-size 만큼 모이거나 flush-interval-ms 가 지나면 한 트랜잭션으로 배치 저장
+ * 큐가 가득 차면 IngestBufferFullException(429 + Retry-After)으로 생산자 속도를 늦춤
+ * 수집 저널이 켜져 있으면 응답 전에 저널에 기록하고, 그룹 커밋이 끝날 때마다 체크포인트를 남겨
+ * 재시작 시 저장되지 않은 측정값을 다시 적재
+ * 위치는 시작 시 모두 캐시에 올려 두고, 캐시에 없는 위치는 요청/셀렉터 스레드에서 조회하지 않고
+ * 플러시 스레드가 배치마다 한 번에 조회
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TrafficWriteBuffer {
+
+    private final TrafficDataRepository trafficDataRepository;
+    private final LocationRepository locationRepository;
+    private final TrafficReadingDeduplicator trafficReadingDeduplicator;
+    private final TransactionTemplate transactionTemplate;
+    private final DtoMapper dtoMapper;
+    private final IngestJournal ingestJournal;
+
+    @Value("${ingest.buffer.capacity:20000}")
+    private int capacity;
+
+    @Value("${ingest.buffer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ingest.buffer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${ingest.buffer.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${ingest.buffer.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    @Value("${ingest.buffer.max-retry-backoff-ms:30000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${ingest.buffer.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Value("${ingest.buffer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${ingest.buffer.unknown-location-ttl-ms:60000}")
+    private long unknownLocationTtlMs;
+
+    // 위치는 FK 참조용으로만 쓰이므로 한 번 조회한 엔티티를 계속 재사용
+    private final ConcurrentMap<Long, Location> locationCache = new ConcurrentHashMap<>();
+    // 플러시 스레드가 없다고 확인한 위치 ID 와 만료 시각(nanoTime), 만료 전에는 DB 확인 없이 바로 거부
+    private final ConcurrentMap<Long, Long> unknownLocations = new ConcurrentHashMap<>();
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong flushedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private volatile int lastFlushSize;
+    private volatile long lastFlushMillis;
+    private volatile LocalDateTime lastFlushAt;
+
+    // 저널 기록 순서와 큐 순서를 맞추기 위한 잠금
+    private final Object appendLock = new Object();
+
+    private BlockingQueue<PendingReading> queue;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start(){
+        warmLocationCache();
+        if(ingestJournal.isEnabled()){
+            ingestJournal.recover(batchSize, this::replay);
+        }
+
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        flusher = Thread.ofPlatform().name("ingest-flusher").daemon(true).start(this::runFlusher);
+        log.info("측정값 쓰기 버퍼 시작: 용량={}, 배치 크기={}, 플러시 주기={}ms", capacity, batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.join(shutdownTimeoutMs);
+        if(!queue.isEmpty()){
+            log.warn("종료 시 저장하지 못한 측정값 {}건{}", queue.size(),
+                    ingestJournal.isEnabled() ? "(다음 시작 시 저널에서 재적재)" : "");
+        }
+        if(ingestJournal.isEnabled()){
+            ingestJournal.close();
+        }
+    }
+
+    /**
+     * 측정값을 버퍼에 추가합니다. 저장은 비동기로 이루어집니다.
+     * @param entry 검증된 측정값
+     * @throws NoSuchElementException 위치 ID가 없다고 이미 확인된 경우(처음 보는 ID 는 접수 후 플러시 때 확인)
+     * @throws IngestBufferFullException 버퍼가 가득 찬 경우
+     */
+    public void submit(DataUploadRequest.TrafficDataEntry entry){
+        switch(offer(entry)){
+            case UNKNOWN_LOCATION -> throw new NoSuchElementException("위치 ID를 찾을 수 없습니다: " + entry.getLocationId());
+            case BUFFER_FULL -> throw new IngestBufferFullException(capacity, retryAfterSeconds);
+            default -> { }
+        }
+    }
+
+    /**
+     * 측정값을 버퍼에 추가하고 결과를 예외 없이 반환합니다(소켓 수신처럼 거부가 잦은 경로용).
+     * DB 를 조회하지 않으므로 셀렉터 스레드에서 호출해도 막히지 않음
+     * @param entry 검증된 측정값
+     */
+    public OfferResult offer(DataUploadRequest.TrafficDataEntry entry){
+        Location location = locationCache.get(entry.getLocationId());
+        if(location == null && isKnownUnknown(entry.getLocationId())){
+            return OfferResult.UNKNOWN_LOCATION;
+        }
+        // 캐시에 없는 위치는 플러시 스레드가 조회한 뒤 변환
+        TrafficData trafficData = location != null ? dtoMapper.toTrafficData(entry, location) : null;
+
+        synchronized (appendLock){
+            // 큐에 넣는 쪽은 이 잠금 안에서만 동작하므로, 여기서 확인한 빈 자리는 add 시점까지 유지됨
+            if(queue.remainingCapacity() == 0){
+                rejectedCount.incrementAndGet();
+                return OfferResult.BUFFER_FULL;
+            }
+            long journalPosition = ingestJournal.isEnabled() ? ingestJournal.append(entry) : 0L;
+            queue.add(new PendingReading(entry, trafficData, journalPosition));
+        }
+        acceptedCount.incrementAndGet();
+        return OfferResult.ACCEPTED;
+    }
+
+    public long getRetryAfterSeconds(){
+        return retryAfterSeconds;
+    }
+
+    public IngestBufferStatusResponse getStatus(){
+        return IngestBufferStatusResponse.builder()
+                .capacity(capacity)
+                .queuedCount(queue.size())
+                .acceptedCount(acceptedCount.get())
+                .rejectedCount(rejectedCount.get())
+                .flushedCount(flushedCount.get())
+                .droppedCount(droppedCount.get())
+                .flushCount(flushCount.get())
+                .lastFlushSize(lastFlushSize)
+                .lastFlushMillis(lastFlushMillis)
+                .lastFlushAt(lastFlushAt)
+                .build();
+    }
+
+    // 시작 시 위치를 모두 캐시에 올림(실패해도 캐시에 없는 위치는 플러시 때 조회하므로 시작은 계속)
+    private void warmLocationCache(){
+        try{
+            locationRepository.findAll().forEach(location -> locationCache.put(location.getId(), location));
+            log.info("측정값 쓰기 버퍼 위치 캐시 적재: {}개", locationCache.size());
+        }catch (RuntimeException e){
+            log.warn("측정값 쓰기 버퍼 위치 캐시 적재 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean isKnownUnknown(Long locationId){
+        Long expiresAt = unknownLocations.get(locationId);
+        if(expiresAt == null){
+            return false;
+        }
+        if(System.nanoTime() - expiresAt >= 0){
+            // 만료되면 다시 플러시 때 확인(그사이 등록된 위치 반영)
+            unknownLocations.remove(locationId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 캐시에 없던 위치를 배치 당 한 번의 조회로 채워 저장할 엔티티로 변환합니다(플러시 스레드).
+     * 없는 위치의 측정값은 배치에서 빼서 버리고(영구 거부) unknown-location-ttl-ms 동안 접수 단계에서 바로 거부
+     * @return 위치 조회에 실패했으면 false(배치는 그대로 두고 나중에 다시 시도)
+     */
+    private boolean resolve(List<PendingReading> batch){
+        Set<Long> missingIds = new LinkedHashSet<>();
+        for(PendingReading pending : batch){
+            if(pending.trafficData() == null && !locationCache.containsKey(pending.entry().getLocationId())){
+                missingIds.add(pending.entry().getLocationId());
+            }
+        }
+
+        if(!missingIds.isEmpty()){
+            try{
+                locationRepository.findAllById(missingIds).forEach(location -> {
+                    locationCache.putIfAbsent(location.getId(), location);
+                    unknownLocations.remove(location.getId());
+                });
+            }catch (RuntimeException e){
+                log.error("측정값 위치 조회 실패, 배치 보류: 위치 {}개, Error={}", missingIds.size(), e.getMessage());
+                return false;
+            }
+        }
+
+        for(ListIterator<PendingReading> iterator = batch.listIterator(); iterator.hasNext(); ){
+            PendingReading pending = iterator.next();
+            if(pending.trafficData() != null){
+                continue;
+            }
+            Long locationId = pending.entry().getLocationId();
+            Location location = locationCache.get(locationId);
+            if(location != null){
+                iterator.set(pending.withTrafficData(dtoMapper.toTrafficData(pending.entry(), location)));
+                continue;
+            }
+            // 체크포인트는 뒤따르는 측정값의 위치로 넘어가고, 재적재되더라도 위치가 없어 다시 건너뜀
+            iterator.remove();
+            unknownLocations.put(locationId, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(unknownLocationTtlMs));
+            droppedCount.incrementAndGet();
+            log.warn("측정값 버림(위치 없음): Location ID={}, 측정 시간={}", locationId, pending.entry().getMeasuredAt());
+        }
+        return true;
+    }
+
+    /**
+     * 저널 재적재용 위치 조회(시작 스레드에서만 호출)
+     * @return 위치가 없으면 null(없는 위치는 캐시하지 않으므로 나중에 등록되면 바로 반영)
+     */
+    private Location resolveLocation(Long locationId){
+        Location location = locationCache.get(locationId);
+        if(location == null){
+            location = locationRepository.findById(locationId).orElse(null);
+            if(location != null){
+                locationCache.putIfAbsent(locationId, location);
+            }
+        }
+        return location;
+    }
+
+    /**
+     * 첫 측정값이 들어온 뒤 batch-size 가 채워지거나 flush-interval-ms 가 지나면 저장
+     * 저널 체크포인트는 커밋되었거나 영구 거부(제약 조건 위반, 없는 위치)된 측정값까지만 옮김
+     * DB 장애처럼 일시적인 실패면 남은 측정값을 그대로 들고 새 측정값을 꺼내지 않은 채 백오프 후 다시 저장
+     * (그동안 큐가 차면 접수 단계에서 429 로 생산자 속도를 늦춤)
+     * 종료 요청 후에도 큐에 남은 측정값은 모두 저장한 뒤 끝내고, 장애로 저장하지 못한 측정값은 다음 시작 시 저널에서 재적재
+     */
+    private void runFlusher(){
+        List<PendingReading> batch = new ArrayList<>(batchSize);
+        int failures = 0;
+
+        while(running || !queue.isEmpty() || !batch.isEmpty()){
+            try{
+                if(batch.isEmpty() && !fill(batch)){
+                    continue;
+                }
+
+                int done = resolve(batch) ? flush(batch) : 0;
+                if(done > 0 && ingestJournal.isEnabled()){
+                    ingestJournal.checkpoint(batch.get(done - 1).journalPosition());
+                }
+                batch.subList(0, done).clear();
+                if(batch.isEmpty()){
+                    failures = 0;
+                    continue;
+                }
+
+                if(!running){
+                    log.warn("종료 중 저장하지 못한 측정값 {}건{}", batch.size(),
+                            ingestJournal.isEnabled() ? "(다음 시작 시 저널에서 재적재)" : "");
+                    break;
+                }
+                long backoffMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(failures, 20));
+                failures++;
+                log.error("측정값 저장 보류: {}건, 연속 실패 {}회, {}ms 후 다시 시도", batch.size(), failures, backoffMs);
+                sleepWhileRunning(backoffMs);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                break;
+            }catch (RuntimeException e){
+                // 처리 중이던 배치는 그대로 두고 다시 시도
+                log.error("측정값 버퍼 플러시 중 예외 발생: {}", e.getMessage(), e);
+                try{
+                    sleepWhileRunning(retryBackoffMs);
+                }catch (InterruptedException interrupted){
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    // 종료 요청이 오면 바로 깨어나 남은 측정값을 한 번 더 저장해 보도록 짧게 나눠 대기
+    private void sleepWhileRunning(long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while(running && (remaining = deadline - System.nanoTime()) > 0){
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(50)));
+        }
+    }
+
+    /**
+     * 큐에서 batch-size 개 또는 flush-interval-ms 동안 들어온 측정값을 꺼냅니다.
+     * @return 꺼낸 측정값이 없으면 false
+     */
+    private boolean fill(List<PendingReading> batch) throws InterruptedException {
+        PendingReading first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if(first == null){
+            return false;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while(batch.size() < batchSize){
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if(batch.size() >= batchSize || remaining <= 0 || !running){
+                break;
+            }
+            PendingReading next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if(next != null){
+                batch.add(next);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 배치를 한 트랜잭션으로 저장합니다.
+     * 실패하면 max-retries 만큼 재시도하고, 그래도 실패하면 일시적인 장애로 보고 아무것도 처리하지 않은 것으로 반환
+     * 유니크 인덱스 위반 등 제약 조건 위반이면 재시도해도 같으므로 한 건씩 저장해 문제 행만 버림
+     * 한 건씩 저장하다 제약 조건 위반이 아닌 오류가 나면 그 앞까지만 처리한 것으로 반환
+     * @return 앞에서부터 커밋되었거나 영구 거부된 측정값 수(나머지는 호출 측이 보류 후 다시 시도)
+     */
+    private int flush(List<PendingReading> batch) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        List<TrafficData> rows = batch.stream().map(PendingReading::trafficData).toList();
+
+        for(int attempt = 0; ; attempt++){
+            try{
+                transactionTemplate.executeWithoutResult(status -> trafficDataRepository.batchInsert(rows));
+                trafficReadingDeduplicator.record(rows);
+                recordFlush(rows.size(), startNanos);
+                return rows.size();
+            }catch (RuntimeException e){
+                // 롤백된 배치는 시퀀스 ID 가 이미 채워져 있으므로 다시 새 엔티티로 저장되도록 비움
+                rows.forEach(data -> data.setId(null));
+                if(e instanceof DataIntegrityViolationException){
+                    log.warn("측정값 배치 저장 중 제약 조건 위반, 한 건씩 저장: {}건, Error={}",
+                            rows.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    break;
+                }
+                if(attempt >= maxRetries){
+                    log.error("측정값 배치 저장 실패({}회 재시도): {}건, Error={}",
+                            maxRetries, rows.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    return 0;
+                }
+                log.warn("측정값 배치 저장 실패, 재시도 {}/{}: Error={}",
+                        attempt + 1, maxRetries, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                Thread.sleep(retryBackoffMs * (1L << attempt));
+            }
+        }
+
+        int saved = 0;
+        for(int i = 0; i < rows.size(); i++){
+            TrafficData data = rows.get(i);
+            try{
+                transactionTemplate.executeWithoutResult(status -> trafficDataRepository.batchInsert(List.of(data)));
+                trafficReadingDeduplicator.record(List.of(data));
+                saved++;
+            }catch (RuntimeException e){
+                data.setId(null);
+                if(!(e instanceof DataIntegrityViolationException)){
+                    log.error("측정값 저장 실패, 남은 {}건 보류: Error={}",
+                            rows.size() - i, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    if(saved > 0){
+                        recordFlush(saved, startNanos);
+                    }
+                    return i;
+                }
+                droppedCount.incrementAndGet();
+                log.error("측정값 저장 실패로 버림: Location ID={}, 측정 시간={}, Error={}",
+                        data.getLocation().getId(), data.getRecordedAt(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        recordFlush(saved, startNanos);
+        return rows.size();
+    }
+
+    /**
+     * 저널에서 읽은 측정값을 다시 저장합니다.
+     * 체크포인트 직전에 커밋된 배치가 다시 들어올 수 있으므로 upsert 로 중복 저장을 막음
+     */
+    private void replay(List<DataUploadRequest.TrafficDataEntry> entries){
+        List<TrafficData> chunk = new ArrayList<>(entries.size());
+        for(DataUploadRequest.TrafficDataEntry entry : entries){
+            Location location = resolveLocation(entry.getLocationId());
+            if(location == null){
+                log.warn("저널 재적재 건너뜀(위치 없음): Location ID={}, 측정 시간={}",
+                        entry.getLocationId(), entry.getMeasuredAt());
+                continue;
+            }
+            chunk.add(dtoMapper.toTrafficData(entry, location));
+        }
+
+        trafficReadingDeduplicator.upsert(chunk);
+        trafficReadingDeduplicator.record(chunk);
+    }
+
+    private void recordFlush(int size, long startNanos){
+        flushedCount.addAndGet(size);
+        flushCount.incrementAndGet();
+        lastFlushSize = size;
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        lastFlushAt = LocalDateTime.now();
+        log.debug("측정값 그룹 커밋: {}건, {}ms", size, lastFlushMillis);
+    }
+
+    public enum OfferResult {
+        ACCEPTED, UNKNOWN_LOCATION, BUFFER_FULL
+    }
+
+    /**
+     * 저장 대기 중인 측정값과 저널 위치(위치가 캐시에 없었으면 trafficData 는 null)
+     */
+    private record PendingReading(DataUploadRequest.TrafficDataEntry entry, TrafficData trafficData, long journalPosition) {
+
+        private PendingReading withTrafficData(TrafficData trafficData){
+            return new PendingReading(entry, trafficData, journalPosition);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.dto.response.DataUploadResponse;
+import com.traficast.dto.response.UploadJobResponse;
+import com.traficast.util.RowRanges;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 업로드 작업 관리
+ * 업로드를 asyncTaskExecutor에서 실행하고 작업 ID로 진행 상황(처리/거부 건수, 처리량, 예상 남은 시간)을 제공
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UploadJobService {
+
+    private final DataUploadService dataUploadService;
+
+    @Qualifier("asyncTaskExecutor")
+    private final AsyncTaskExecutor asyncTaskExecutor;
+
+    private final ConcurrentMap<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${upload.job.retention-minutes:60}")
+    private long retentionMinutes;
+
+    /**
+     * JSON 업로드 요청을 비동기 작업으로 접수합니다.
+     * @return 접수된 작업 상태
+     */
+    public UploadJobResponse submitUpload(DataUploadRequest request){
+        UploadJob job = new UploadJob(request.getDataSource(),
+                (long) request.getTrafficDataEntries().size(), null);
+
+        return submit(job, () -> dataUploadService.uploadTrafficData(request, job::updateProgress));
+    }
+
+    /**
+     * 임시 저장된 CSV 파일 업로드를 비동기 작업으로 접수합니다.
+     * 작업이 끝나면 임시 파일을 삭제합니다.
+     * @param csvFile 임시 CSV 파일
+     * @param upsert true 이면 (위치, 측정 시간)이 같은 기존 행을 갱신
+     * @param rows 적재할 행 범위(1부터, 헤더 제외)
+     * @return 접수된 작업 상태
+     */
+    public UploadJobResponse submitCsvUpload(Path csvFile, String dataSource, boolean upsert, RowRanges rows) throws IOException {
+        UploadJob job = new UploadJob(dataSource, null, Files.size(csvFile));
+
+        UploadJobResponse response = submit(job, () -> {
+            try(CountingInputStream inputStream = new CountingInputStream(Files.newInputStream(csvFile), job.bytesRead)){
+                return dataUploadService.uploadTrafficDataCsv(inputStream, dataSource, upsert, rows, job::updateProgress);
+            }finally {
+                Files.deleteIfExists(csvFile);
+            }
+        });
+
+        // 실행이 거부된 경우 임시 파일 정리
+        if(job.status == JobStatus.FAILED){
+            Files.deleteIfExists(csvFile);
+        }
+        return response;
+    }
+
+    /**
+     * 작업 상태를 조회합니다.
+     * @throws NoSuchElementException 작업 ID가 없거나 보관 기간이 지난 경우
+     */
+    public UploadJobResponse getJob(String jobId){
+        UploadJob job = jobs.get(jobId);
+        if(job == null){
+            throw new NoSuchElementException("업로드 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * 보관 기간이 지난 완료/실패 작업을 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${upload.job.cleanup-interval-ms:300000}")
+    public void evictFinishedJobs(){
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(threshold));
+    }
+
+    private UploadJobResponse submit(UploadJob job, UploadTask task){
+        jobs.put(job.jobId, job);
+
+        try{
+            asyncTaskExecutor.execute(() -> run(job, task));
+        }catch (TaskRejectedException e){
+            job.fail("작업 실행 거부: " + e.getMessage());
+            log.error("업로드 작업 실행 거부: jobId={}", job.jobId, e);
+        }
+
+        log.info("업로드 작업 접수: jobId={}, 출처={}", job.jobId, job.dataSource);
+        return job.toResponse();
+    }
+
+    private void run(UploadJob job, UploadTask task){
+        job.start();
+        log.info("업로드 작업 시작: jobId={}", job.jobId);
+
+        try{
+            DataUploadResponse result = task.execute();
+            job.complete(result);
+            log.info("업로드 작업 완료: jobId={}, 성공 {}개, 실패 {}개",
+                    job.jobId, result.getSuccessCount(), result.getFailedCount());
+        }catch (Exception e){
+            job.fail(e.getMessage());
+            log.error("업로드 작업 실패: jobId={}, Error={}", job.jobId, e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface UploadTask {
+        DataUploadResponse execute() throws Exception;
+    }
+
+    private enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * 업로드 작업 진행 상태
+     */
+    private static final class UploadJob {
+
+        private final String jobId = "upload-" + UUID.randomUUID();
+        private final String dataSource;
+        private final Long totalRows;
+        private final Long totalBytes;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile long startedNanos;
+        private volatile LocalDateTime completedAt;
+        private volatile String errorMessage;
+        private volatile DataUploadResponse result;
+
+        private UploadJob(String dataSource, Long totalRows, Long totalBytes){
+            this.dataSource = dataSource;
+            this.totalRows = totalRows;
+            this.totalBytes = totalBytes;
+        }
+
+        private void start(){
+            startedNanos = System.nanoTime();
+            startedAt = LocalDateTime.now();
+            status = JobStatus.RUNNING;
+        }
+
+        private void updateProgress(long processedCount, long rejectedCount){
+            processed.set(processedCount);
+            rejected.set(rejectedCount);
+        }
+
+        private void complete(DataUploadResponse uploadResult){
+            result = uploadResult;
+            updateProgress(uploadResult.getSuccessCount(), uploadResult.getFailedCount());
+            completedAt = LocalDateTime.now();
+            status = JobStatus.COMPLETED;
+        }
+
+        private void fail(String message){
+            errorMessage = message;
+            completedAt = LocalDateTime.now();
+            status = JobStatus.FAILED;
+        }
+
+        private UploadJobResponse toResponse(){
+            long processedCount = processed.get();
+            long rejectedCount = rejected.get();
+            Double progress = progress(processedCount + rejectedCount);
+
+            double rowsPerSecond = 0.0;
+            Long etaSeconds = null;
+            if(startedAt != null){
+                long elapsedNanos = System.nanoTime() - startedNanos;
+                if(status == JobStatus.COMPLETED && result != null){
+                    rowsPerSecond = result.getRowsPerSecond();
+                    etaSeconds = 0L;
+                }else if(elapsedNanos > 0){
+                    rowsPerSecond = processedCount * 1_000_000_000.0 / elapsedNanos;
+                    if(status == JobStatus.RUNNING && progress != null && progress > 0){
+                        etaSeconds = Duration.ofNanos((long) (elapsedNanos * (1 - progress) / progress)).toSeconds();
+                    }
+                }
+            }
+
+            return UploadJobResponse.builder()
+                    .jobId(jobId)
+                    .status(status.name())
+                    .dataSource(dataSource)
+                    .totalRows(totalRows)
+                    .rowsProcessed(processedCount)
+                    .rowsRejected(rejectedCount)
+                    .progress(progress)
+                    .rowsPerSecond(rowsPerSecond)
+                    .etaSeconds(etaSeconds)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .errorMessage(errorMessage)
+                    .result(result)
+                    .build();
+        }
+
+        /**
+         * 전체 행 수를 알면 행 기준, CSV처럼 모르면 읽은 바이트 기준으로 진행률을 계산
+         */
+        private Double progress(long handledRows){
+            if(status == JobStatus.COMPLETED){
+                return 1.0;
+            }
+            if(totalRows != null && totalRows > 0){
+                return Math.min(1.0, handledRows / (double) totalRows);
+            }
+            if(totalBytes != null && totalBytes > 0){
+                return Math.min(1.0, bytesRead.get() / (double) totalBytes);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 읽은 바이트 수를 기록하는 입력 스트림(CSV 진행률 계산용)
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong counter;
+
+        private CountingInputStream(InputStream in, AtomicLong counter){
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b >= 0){
+                counter.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if(count > 0){
+                counter.addAndGet(count);
+            }
+            return count;
+        }
+    }
+}
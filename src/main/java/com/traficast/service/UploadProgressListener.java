@@ -0,0 +1,17 @@
+package com.traficast.service;
+
+/**
+ * 업로드 진행 상황 콜백
+ * 청크 저장이 끝날 때마다 누적 처리/거부 건수를 전달받음
+ */
+@FunctionalInterface
+public interface UploadProgressListener {
+
+    UploadProgressListener NONE = (processedCount, rejectedCount) -> { };
+
+    /**
+     * @param processedCount 지금까지 저장된 행 수
+     * @param rejectedCount 지금까지 거부된 행 수
+     */
+    void onProgress(long processedCount, long rejectedCount);
+}
@@ -0,0 +1,75 @@
+package com.traficast.util;
+
+/**
+ * long 키를 위한 블룸 필터
+ * "없음" 판정은 항상 정확하고 "있을 수 있음" 판정은 설정한 오탐률(false positive rate)을 가짐
+ * 스레드 안전하지 않으므로 호출 측에서 동기화해야 함
+ */
+public class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private int insertions;
+
+    /**
+     * @param expectedInsertions 예상 삽입 수
+     * @param falsePositiveRate 목표 오탐률(0 ~ 1)
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate){
+        if(expectedInsertions <= 0){
+            throw new IllegalArgumentException("예상 삽입 수는 양수여야 합니다.");
+        }
+        if(falsePositiveRate <= 0.0 || falsePositiveRate >= 1.0){
+            throw new IllegalArgumentException("오탐률은 0과 1 사이여야 합니다.");
+        }
+
+        // m = -n ln(p) / (ln 2)^2, k = m/n ln 2
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (Math.min(optimalBits, Integer.MAX_VALUE - 63L) + 63) / 64);
+        this.bits = new long[words];
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(long key){
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for(int i = 1; i <= hashCount; i++){
+            int combined = h1 + i * h2;
+            int index = (combined & Integer.MAX_VALUE) % bitCount;
+            bits[index >>> 6] |= 1L << index;
+        }
+        insertions++;
+    }
+
+    public boolean mightContain(long key){
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for(int i = 1; i <= hashCount; i++){
+            int combined = h1 + i * h2;
+            int index = (combined & Integer.MAX_VALUE) % bitCount;
+            if((bits[index >>> 6] & (1L << index)) == 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 지금까지 삽입된 키 수
+     */
+    public int getInsertions(){
+        return insertions;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long key){
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
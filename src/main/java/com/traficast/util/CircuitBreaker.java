@@ -0,0 +1,159 @@
+package com.traficast.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 호출 결과 기반 서킷 브레이커
+ * CLOSED: 최근 window-size 건 중 실패율이 임계값 이상이면(최소 minimumCalls 건 이후) OPEN
+ * OPEN: openDuration 동안 호출을 바로 거부, 지나면 HALF_OPEN
+ * HALF_OPEN: halfOpenPermits 건만 시험 호출을 허용해 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 호출 전 tryAcquirePermission, 호출 후 onSuccess/onFailure(결과를 판단할 수 없으면 onIgnored)를 반드시 짝지어 호출
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenPermits;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+
+    // CLOSED 상태의 최근 결과(true = 실패) 원형 버퍼
+    private final boolean[] outcomes;
+    private int recorded;
+    private int nextIndex;
+    private int failures;
+
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    /**
+     * @param failureRateThreshold OPEN 으로 전환할 실패율(0 ~ 1)
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationNanos, int halfOpenPermits){
+        this(windowSize, minimumCalls, failureRateThreshold, openDurationNanos, halfOpenPermits, System::nanoTime);
+    }
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationNanos, int halfOpenPermits, LongSupplier nanoClock){
+        if(windowSize <= 0 || halfOpenPermits <= 0){
+            throw new IllegalArgumentException("window-size 와 half-open 허용 수는 양수여야 합니다.");
+        }
+        if(failureRateThreshold <= 0.0 || failureRateThreshold > 1.0){
+            throw new IllegalArgumentException("실패율 임계값은 0 초과 1 이하여야 합니다.");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(Math.max(minimumCalls, 1), windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenPermits = halfOpenPermits;
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * @return 호출해도 되면 true, OPEN 이거나 HALF_OPEN 시험 호출이 모두 진행 중이면 false
+     */
+    public synchronized boolean tryAcquirePermission(){
+        if(state == State.OPEN){
+            if(nanoClock.getAsLong() - openedAtNanos < openDurationNanos){
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSuccesses = 0;
+        }
+        if(state == State.HALF_OPEN){
+            if(halfOpenInFlight >= halfOpenPermits){
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(){
+        if(state == State.HALF_OPEN){
+            releaseHalfOpenPermit();
+            if(++halfOpenSuccesses >= halfOpenPermits){
+                state = State.CLOSED;
+                resetWindow();
+            }
+        }else if(state == State.CLOSED){
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(){
+        if(state == State.HALF_OPEN){
+            releaseHalfOpenPermit();
+            open();
+        }else if(state == State.CLOSED){
+            record(true);
+            if(recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold){
+                open();
+            }
+        }
+    }
+
+    /**
+     * 결과를 집계하지 않고 허용만 반납합니다(취소된 호출, 서버 상태와 무관한 오류 등).
+     */
+    public synchronized void onIgnored(){
+        if(state == State.HALF_OPEN){
+            releaseHalfOpenPermit();
+        }
+    }
+
+    public synchronized State getState(){
+        if(state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos){
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized double getFailureRate(){
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    private void record(boolean failure){
+        if(recorded == windowSize){
+            if(outcomes[nextIndex]){
+                failures--;
+            }
+        }else{
+            recorded++;
+        }
+        outcomes[nextIndex] = failure;
+        if(failure){
+            failures++;
+        }
+        nextIndex = (nextIndex + 1) % windowSize;
+    }
+
+    private void open(){
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+        resetWindow();
+    }
+
+    private void releaseHalfOpenPermit(){
+        if(halfOpenInFlight > 0){
+            halfOpenInFlight--;
+        }
+    }
+
+    private void resetWindow(){
+        recorded = 0;
+        nextIndex = 0;
+        failures = 0;
+    }
+}
@@ -1,4 +1,395 @@
 package com.traficast.util;
 
-public class CsvParserUtil {
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 형식의 CSV를 한 행씩 스트리밍으로 읽는 파서
+ * 전체 파일을 메모리에 올리지 않으므로 수백만 행 규모의 파일도 일정한 메모리로 처리 가능
+ */
+public final class CsvParserUtil {
+
+    private static final char DEFAULT_DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private CsvParserUtil(){
+    }
+
+    /**
+     * UTF-8 입력 스트림에 대한 CSV 리더를 생성합니다.
+     */
+    public static CsvReader reader(InputStream inputStream){
+        return reader(inputStream, StandardCharsets.UTF_8);
+    }
+
+    public static CsvReader reader(InputStream inputStream, Charset charset){
+        return new CsvReader(new InputStreamReader(inputStream, charset), DEFAULT_DELIMITER);
+    }
+
+    public static CsvReader reader(Reader reader){
+        return new CsvReader(reader, DEFAULT_DELIMITER);
+    }
+
+    /**
+     * 스트리밍 CSV 리더
+     * 따옴표로 감싼 필드, 이스케이프된 따옴표(""), 필드 내 줄바꿈, CRLF/LF 줄바꿈을 지원
+     */
+    public static class CsvReader implements Closeable {
+
+        private final Reader in;
+        private final char delimiter;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder field = new StringBuilder(64);
+        private final List<String> fields = new ArrayList<>();
+        private int position;
+        private int limit;
+        private long rowNumber;
+        private boolean firstRead = true;
+
+        CsvReader(Reader in, char delimiter){
+            this.in = in;
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * 다음 행을 읽습니다. 빈 줄은 건너뜁니다.
+         * @return 필드 배열, 스트림의 끝이면 null
+         * @throws IOException 읽기 실패 또는 닫히지 않은 따옴표가 있는 경우
+         */
+        public String[] readRow() throws IOException {
+            while(true){
+                int result = readRecord();
+                if(result < 0){
+                    return null;
+                }
+                rowNumber++;
+                // 빈 줄(필드 하나, 내용 없음)은 건너뜀
+                if(fields.size() == 1 && fields.get(0).isEmpty()){
+                    continue;
+                }
+                return fields.toArray(new String[0]);
+            }
+        }
+
+        /**
+         * 지금까지 읽은 행 번호(헤더 포함, 1부터 시작)
+         */
+        public long getRowNumber(){
+            return rowNumber;
+        }
+
+        private int readRecord() throws IOException {
+            fields.clear();
+            field.setLength(0);
+
+            boolean inQuotes = false;
+            boolean quotedField = false;
+            boolean anyChar = false;
+
+            while(true){
+                int c = read();
+                if(c == -1){
+                    if(inQuotes){
+                        throw new IOException("닫히지 않은 따옴표가 있습니다: " + (rowNumber + 1) + "번째 행");
+                    }
+                    if(!anyChar){
+                        return -1;
+                    }
+                    fields.add(field.toString());
+                    return fields.size();
+                }
+                anyChar = true;
+
+                if(inQuotes){
+                    if(c == QUOTE){
+                        if(peek() == QUOTE){
+                            read();
+                            field.append(QUOTE);
+                        }else{
+                            inQuotes = false;
+                        }
+                    }else{
+                        field.append((char) c);
+                    }
+                    continue;
+                }
+
+                if(c == QUOTE && field.length() == 0 && !quotedField){
+                    inQuotes = true;
+                    quotedField = true;
+                }else if(c == delimiter){
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    quotedField = false;
+                }else if(c == '\r'){
+                    if(peek() == '\n'){
+                        read();
+                    }
+                    fields.add(field.toString());
+                    return fields.size();
+                }else if(c == '\n'){
+                    fields.add(field.toString());
+                    return fields.size();
+                }else{
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if(position >= limit && !fill()){
+                return -1;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            if(position >= limit && !fill()){
+                return -1;
+            }
+            return buffer[position];
+        }
+
+        private boolean fill() throws IOException {
+            int count = in.read(buffer, 0, buffer.length);
+            if(count <= 0){
+                return false;
+            }
+            position = 0;
+            limit = count;
+
+            // 파일 맨 앞의 UTF-8 BOM 제거
+            if(firstRead){
+                firstRead = false;
+                if(buffer[0] == BOM){
+                    position = 1;
+                    return limit > 1 || fill();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * 헤더 행 기반 컬럼 인덱스 조회
+     * 컬럼명은 공백을 제거하고 대소문자를 구분하지 않음
+     */
+    public static class CsvHeader {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private CsvHeader(String[] header){
+            for(int i = 0; i < header.length; i++){
+                indexes.putIfAbsent(normalize(header[i]), i);
+            }
+        }
+
+        public static CsvHeader of(String[] header){
+            return new CsvHeader(header);
+        }
+
+        /**
+         * 컬럼 인덱스를 반환합니다.
+         * @return 컬럼이 없으면 -1
+         */
+        public int indexOf(String columnName){
+            return indexes.getOrDefault(normalize(columnName), -1);
+        }
+
+        private static String normalize(String name){
+            return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * 행에서 필드 값을 꺼냅니다. 컬럼이 없거나 빈 값이면 null을 반환합니다.
+     */
+    public static String field(String[] row, int index){
+        if(index < 0 || index >= row.length){
+            return null;
+        }
+        String value = row[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /*
+     * 아래 parse 메서드들은 잘못된 값에 대해 예외 대신 null을 반환합니다.
+     * 오염된 피드에서 행마다 NumberFormatException/DateTimeParseException 이 생성되는 것을 피하기 위함이며,
+     * 호출 측은 원본 값이 있는데 null 이 반환되면 형식 오류로 판단합니다.
+     */
+
+    /**
+     * 정수(부호 허용, 최대 18자리)를 파싱합니다.
+     * @return 형식이 잘못되었거나 null 이면 null
+     */
+    public static Long parseLong(String value){
+        if(value == null || value.isEmpty()){
+            return null;
+        }
+        int start = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        int length = value.length() - start;
+        if(length == 0 || length > 18){
+            return null;
+        }
+
+        long result = 0;
+        for(int i = start; i < value.length(); i++){
+            char c = value.charAt(i);
+            if(c < '0' || c > '9'){
+                return null;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return value.charAt(0) == '-' ? -result : result;
+    }
+
+    /**
+     * int 범위의 정수를 파싱합니다.
+     * @return 형식이 잘못되었거나 범위를 벗어나면 null
+     */
+    public static Integer parseInteger(String value){
+        Long result = parseLong(value);
+        if(result == null || result < Integer.MIN_VALUE || result > Integer.MAX_VALUE){
+            return null;
+        }
+        return result.intValue();
+    }
+
+    /**
+     * 실수(소수점, 지수 표기 허용)를 파싱합니다.
+     * 형식을 먼저 확인한 뒤 Double.parseDouble 을 호출하므로 예외가 발생하지 않습니다.
+     * @return 형식이 잘못되었으면 null
+     */
+    public static Double parseDouble(String value){
+        if(value == null || value.isEmpty()){
+            return null;
+        }
+
+        int i = 0;
+        int length = value.length();
+        if(value.charAt(i) == '-' || value.charAt(i) == '+'){
+            i++;
+        }
+        int digits = 0;
+        while(i < length && isDigit(value.charAt(i))){
+            i++;
+            digits++;
+        }
+        if(i < length && value.charAt(i) == '.'){
+            i++;
+            while(i < length && isDigit(value.charAt(i))){
+                i++;
+                digits++;
+            }
+        }
+        if(digits == 0){
+            return null;
+        }
+        if(i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')){
+            i++;
+            if(i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')){
+                i++;
+            }
+            int exponentDigits = 0;
+            while(i < length && isDigit(value.charAt(i))){
+                i++;
+                exponentDigits++;
+            }
+            if(exponentDigits == 0){
+                return null;
+            }
+        }
+        return i == length ? Double.parseDouble(value) : null;
+    }
+
+    /**
+     * yyyy-MM-dd'T'HH:mm[:ss[.fffffffff]] 형식의 일시를 파싱합니다. 날짜와 시간 사이는 공백도 허용합니다.
+     * @return 형식이 잘못되었거나 존재하지 않는 날짜/시간이면 null
+     */
+    public static LocalDateTime parseDateTime(String value){
+        if(value == null || value.length() < 16){
+            return null;
+        }
+        char separator = value.charAt(10);
+        if(value.charAt(4) != '-' || value.charAt(7) != '-' || (separator != 'T' && separator != ' ')
+                || value.charAt(13) != ':'){
+            return null;
+        }
+
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = 0;
+        int nano = 0;
+
+        int length = value.length();
+        if(length > 16){
+            if(length < 19 || value.charAt(16) != ':'){
+                return null;
+            }
+            second = digits(value, 17, 19);
+            if(length > 19){
+                if(value.charAt(19) != '.' || length == 20 || length > 29){
+                    return null;
+                }
+                int fraction = digits(value, 20, length);
+                if(fraction < 0){
+                    return null;
+                }
+                nano = fraction;
+                for(int i = length; i < 29; i++){
+                    nano *= 10;
+                }
+            }
+        }
+
+        if(year < 0 || month < 1 || month > 12 || day < 1 || hour < 0 || hour > 23
+                || minute < 0 || minute > 59 || second < 0 || second > 59){
+            return null;
+        }
+        if(day > Month.of(month).length(Year.isLeap(year))){
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * [start, end) 구간의 숫자를 읽습니다. 숫자가 아닌 문자가 있으면 -1
+     */
+    private static int digits(String value, int start, int end){
+        int result = 0;
+        for(int i = start; i < end; i++){
+            char c = value.charAt(i);
+            if(!isDigit(c)){
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
 }
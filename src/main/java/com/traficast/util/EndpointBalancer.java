@@ -0,0 +1,346 @@
+package com.traficast.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 모델 서버 복제본(엔드포인트) 부하 분산기
+ * 선택: 임의의 두 엔드포인트 중 (진행 중 요청 수 + 1) x EWMA 응답 지연이 작은 쪽(power of two choices)
+ * 지연 기록이 없는 엔드포인트는 풀의 평균 지연으로 계산해 새 복제본에도 바로 요청이 감
+ * 제외(ejection):
+ * - 연속 실패가 consecutiveFailures 번이면 제외
+ * - EWMA 지연이 다른 엔드포인트 중앙값의 slowFactor 배를 넘으면(최소 minSamples 건 이후) 느린 복제본으로 제외
+ * 제외 시간은 baseEjection 부터 제외될 때마다 2배(maxEjection 까지), 다시 minSamples 건 정상 응답하면 초기화
+ * 전체의 maxEjectedRatio 를 넘게 제외하지 않으며, 모두 제외된 상태라면 제외를 무시하고 선택
+ * 요청마다 acquire 로 Lease 를 받고 success/failure/cancelled/release 중 하나를 반드시 호출
+ */
+public class EndpointBalancer {
+
+    private static final double EWMA_ALPHA = 0.2;
+
+    /**
+     * 엔드포인트 제외 알림
+     */
+    public interface EjectionListener {
+        void onEjected(String url, String reason, long ejectionNanos);
+    }
+
+    private final int consecutiveFailuresToEject;
+    private final double slowFactor;
+    private final int minSamples;
+    private final long baseEjectionNanos;
+    private final long maxEjectionNanos;
+    private final double maxEjectedRatio;
+    private final LongSupplier nanoClock;
+    private final EjectionListener ejectionListener;
+
+    // 엔드포인트 목록 스냅샷(교체만 하고 수정하지 않음, 선택은 락 없음)
+    private volatile Endpoint[] endpoints = new Endpoint[0];
+
+    public EndpointBalancer(int consecutiveFailuresToEject, double slowFactor, int minSamples,
+                            long baseEjectionNanos, long maxEjectionNanos, double maxEjectedRatio,
+                            EjectionListener ejectionListener){
+        this(consecutiveFailuresToEject, slowFactor, minSamples, baseEjectionNanos, maxEjectionNanos,
+                maxEjectedRatio, ejectionListener, System::nanoTime);
+    }
+
+    public EndpointBalancer(int consecutiveFailuresToEject, double slowFactor, int minSamples,
+                            long baseEjectionNanos, long maxEjectionNanos, double maxEjectedRatio,
+                            EjectionListener ejectionListener, LongSupplier nanoClock){
+        if(consecutiveFailuresToEject <= 0 || slowFactor <= 1.0 || minSamples <= 0){
+            throw new IllegalArgumentException("연속 실패 수, 최소 표본 수는 양수, 느림 배수는 1 초과여야 합니다.");
+        }
+        this.consecutiveFailuresToEject = consecutiveFailuresToEject;
+        this.slowFactor = slowFactor;
+        this.minSamples = minSamples;
+        this.baseEjectionNanos = baseEjectionNanos;
+        this.maxEjectionNanos = Math.max(maxEjectionNanos, baseEjectionNanos);
+        this.maxEjectedRatio = maxEjectedRatio;
+        this.ejectionListener = ejectionListener;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 엔드포인트 목록을 교체합니다. 남아 있는 엔드포인트의 상태(지연, 제외)는 유지
+     * @return 목록이 바뀌었으면 true
+     */
+    public synchronized boolean setEndpoints(List<String> urls){
+        Endpoint[] current = endpoints;
+        if(current.length == urls.size()){
+            boolean same = true;
+            for(int i = 0; i < current.length && same; i++){
+                same = current[i].url.equals(urls.get(i));
+            }
+            if(same){
+                return false;
+            }
+        }
+
+        Map<String, Endpoint> existing = new HashMap<>();
+        for(Endpoint endpoint : current){
+            existing.put(endpoint.url, endpoint);
+        }
+        Endpoint[] updated = new Endpoint[urls.size()];
+        for(int i = 0; i < updated.length; i++){
+            Endpoint endpoint = existing.get(urls.get(i));
+            updated[i] = endpoint != null ? endpoint : new Endpoint(urls.get(i));
+        }
+        endpoints = updated;
+        return true;
+    }
+
+    public List<String> getEndpoints(){
+        return Arrays.stream(endpoints).map(endpoint -> endpoint.url).toList();
+    }
+
+    /**
+     * 요청을 보낼 엔드포인트를 고릅니다.
+     * @throws IllegalStateException 엔드포인트가 하나도 없음
+     */
+    public Lease acquire(){
+        Endpoint[] current = endpoints;
+        if(current.length == 0){
+            throw new IllegalStateException("사용 가능한 모델 엔드포인트가 없습니다.");
+        }
+
+        Endpoint chosen;
+        if(current.length == 1){
+            chosen = current[0];
+        }else{
+            long now = nanoClock.getAsLong();
+            List<Endpoint> candidates = new ArrayList<>(current.length);
+            for(Endpoint endpoint : current){
+                if(!endpoint.isEjected(now)){
+                    candidates.add(endpoint);
+                }
+            }
+            if(candidates.isEmpty()){
+                candidates = Arrays.asList(current); // 모두 제외된 상태면 제외를 무시
+            }
+            chosen = choose(candidates);
+        }
+        chosen.outstanding.incrementAndGet();
+        return new Lease(chosen, nanoClock.getAsLong());
+    }
+
+    private Endpoint choose(List<Endpoint> candidates){
+        if(candidates.size() == 1){
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if(second >= first){
+            second++;
+        }
+
+        double defaultLatency = averageLatency(candidates);
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        return a.score(defaultLatency) <= b.score(defaultLatency) ? a : b;
+    }
+
+    private static double averageLatency(List<Endpoint> candidates){
+        double sum = 0.0;
+        int known = 0;
+        for(Endpoint endpoint : candidates){
+            if(endpoint.samples > 0){
+                sum += endpoint.ewmaNanos;
+                known++;
+            }
+        }
+        return known == 0 ? 1.0 : sum / known;
+    }
+
+    private synchronized void recordSuccess(Endpoint endpoint, long latencyNanos){
+        endpoint.consecutiveFailures = 0;
+        endpoint.addSample(latencyNanos);
+        if(endpoint.samples >= minSamples){
+            if(isSlow(endpoint)){
+                eject(endpoint, "slow");
+            }else{
+                endpoint.ejections = 0;
+            }
+        }
+    }
+
+    private synchronized void recordFailure(Endpoint endpoint){
+        endpoint.consecutiveFailures++;
+        if(endpoint.consecutiveFailures >= consecutiveFailuresToEject){
+            eject(endpoint, "failures");
+        }
+    }
+
+    // 취소된 요청의 경과 시간은 실제 지연의 하한이므로 EWMA 보다 클 때만 반영
+    private synchronized void recordCancelled(Endpoint endpoint, long elapsedNanos){
+        if(endpoint.samples > 0 && elapsedNanos > endpoint.ewmaNanos){
+            endpoint.addSample(elapsedNanos);
+        }
+    }
+
+    private boolean isSlow(Endpoint endpoint){
+        long now = nanoClock.getAsLong();
+        List<Double> others = new ArrayList<>();
+        for(Endpoint other : endpoints){
+            if(other != endpoint && other.samples >= minSamples && !other.isEjected(now)){
+                others.add(other.ewmaNanos);
+            }
+        }
+        if(others.isEmpty()){
+            return false;
+        }
+        others.sort(null);
+        int middle = others.size() / 2;
+        double median = others.size() % 2 == 1
+                ? others.get(middle)
+                : (others.get(middle - 1) + others.get(middle)) / 2;
+        return endpoint.ewmaNanos > median * slowFactor;
+    }
+
+    private void eject(Endpoint endpoint, String reason){
+        long now = nanoClock.getAsLong();
+        Endpoint[] current = endpoints;
+        int ejected = 0;
+        for(Endpoint other : current){
+            if(other.isEjected(now)){
+                ejected++;
+            }
+        }
+        if(endpoint.isEjected(now) || ejected + 1 > Math.floor(current.length * maxEjectedRatio)){
+            return;
+        }
+
+        long ejectionNanos = Math.min(maxEjectionNanos, baseEjectionNanos << Math.min(endpoint.ejections, 20));
+        endpoint.ejections++;
+        endpoint.ejectedUntilNanos = now + ejectionNanos;
+        // 복귀 후에는 새 엔드포인트처럼 다시 측정
+        endpoint.consecutiveFailures = 0;
+        endpoint.samples = 0;
+        endpoint.ewmaNanos = 0.0;
+        if(ejectionListener != null){
+            ejectionListener.onEjected(endpoint.url, reason, ejectionNanos);
+        }
+    }
+
+    /**
+     * 엔드포인트 상태 조회(지표용)
+     */
+    public int getOutstanding(String url){
+        Endpoint endpoint = find(url);
+        return endpoint == null ? 0 : endpoint.outstanding.get();
+    }
+
+    public double getLatencyMillis(String url){
+        Endpoint endpoint = find(url);
+        return endpoint == null ? 0.0 : endpoint.ewmaNanos / 1_000_000.0;
+    }
+
+    public boolean isEjected(String url){
+        Endpoint endpoint = find(url);
+        return endpoint != null && endpoint.isEjected(nanoClock.getAsLong());
+    }
+
+    private Endpoint find(String url){
+        for(Endpoint endpoint : endpoints){
+            if(endpoint.url.equals(url)){
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private static final class Endpoint {
+
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        // 아래 값은 EndpointBalancer 락 안에서만 수정(선택 시에는 volatile 읽기)
+        private volatile double ewmaNanos;
+        private volatile int samples;
+        private volatile long ejectedUntilNanos;
+        private int consecutiveFailures;
+        private int ejections;
+
+        Endpoint(String url){
+            this.url = url;
+        }
+
+        boolean isEjected(long now){
+            return ejectedUntilNanos != 0 && now - ejectedUntilNanos < 0;
+        }
+
+        double score(double defaultLatency){
+            double latency = samples > 0 ? ewmaNanos : defaultLatency;
+            return (outstanding.get() + 1) * Math.max(latency, 1.0);
+        }
+
+        void addSample(long latencyNanos){
+            ewmaNanos = samples == 0 ? latencyNanos : EWMA_ALPHA * latencyNanos + (1 - EWMA_ALPHA) * ewmaNanos;
+            samples = samples + 1;
+        }
+    }
+
+    /**
+     * 선택된 엔드포인트 1회 사용. 결과 기록은 처음 한 번만 반영
+     */
+    public final class Lease {
+
+        private final Endpoint endpoint;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Endpoint endpoint, long startNanos){
+            this.endpoint = endpoint;
+            this.startNanos = startNanos;
+        }
+
+        public String getUrl(){
+            return endpoint.url;
+        }
+
+        /**
+         * 정상 응답(응답 지연 반영)
+         */
+        public void success(){
+            if(release()){
+                recordSuccess(endpoint, nanoClock.getAsLong() - startNanos);
+            }
+        }
+
+        /**
+         * 통신 오류, 5xx 등 엔드포인트 문제로 인한 실패
+         */
+        public void failure(){
+            if(release()){
+                recordFailure(endpoint);
+            }
+        }
+
+        /**
+         * 헤지/지연 예산 등으로 응답 전에 취소됨
+         */
+        public void cancelled(){
+            if(release()){
+                recordCancelled(endpoint, nanoClock.getAsLong() - startNanos);
+            }
+        }
+
+        /**
+         * 엔드포인트 상태와 무관한 결과(4xx 등), 진행 중 요청 수만 줄임
+         */
+        public boolean release(){
+            if(released.compareAndSet(false, true)){
+                endpoint.outstanding.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.traficast.util;
+
+/**
+ * 가법(additive) 계절 Holt-Winters 지수 평활(감쇠 추세)
+ * 수준/추세/계절 성분을 시점마다 갱신하며, 평활 계수(alpha, beta, gamma)는 작은 격자에서 1-step 오차 제곱합이 최소인 값을 선택
+ * 긴 예측 구간(주간 예측 등)에서 추세가 발산하지 않도록 추세를 DAMPING 비율로 감쇠
+ * 모든 계산은 double[] 위에서 하며 객체를 만들지 않음(적합 결과 제외)
+ */
+public final class HoltWinters {
+
+    private static final double DAMPING = 0.98;
+
+    private static final double[] ALPHAS = {0.1, 0.2, 0.4, 0.6, 0.8};
+    private static final double[] BETAS = {0.0, 0.01, 0.05, 0.1};
+    private static final double[] GAMMAS = {0.05, 0.1, 0.2, 0.4};
+
+    private HoltWinters(){
+    }
+
+    /**
+     * 적합 결과
+     * @param seasonals 마지막 관측 이후의 계절 성분(인덱스 = 시점 % seasonLength)
+     * @param length 적합에 사용한 관측 수
+     * @param rmse 1-step 예측 오차의 제곱평균제곱근
+     */
+    public record Fit(double level, double trend, double[] seasonals, int seasonLength, int length, double rmse) {
+    }
+
+    /**
+     * @param series 결측 없는 시계열(길이는 seasonLength 의 2배 이상)
+     */
+    public static Fit fit(double[] series, int seasonLength){
+        if(seasonLength < 2 || series.length < seasonLength * 2){
+            throw new IllegalArgumentException("Holt-Winters 적합에는 계절 길이의 2배 이상 관측이 필요합니다.");
+        }
+
+        double[] seasonals = new double[seasonLength];
+        double bestSse = Double.MAX_VALUE;
+        double bestAlpha = ALPHAS[0];
+        double bestBeta = BETAS[0];
+        double bestGamma = GAMMAS[0];
+        for(double alpha : ALPHAS){
+            for(double beta : BETAS){
+                for(double gamma : GAMMAS){
+                    double sse = smooth(series, seasonLength, alpha, beta, gamma, seasonals, null);
+                    if(sse < bestSse){
+                        bestSse = sse;
+                        bestAlpha = alpha;
+                        bestBeta = beta;
+                        bestGamma = gamma;
+                    }
+                }
+            }
+        }
+
+        double[] state = new double[2];
+        double sse = smooth(series, seasonLength, bestAlpha, bestBeta, bestGamma, seasonals, state);
+        int errors = series.length - seasonLength;
+        return new Fit(state[0], state[1], seasonals, seasonLength, series.length, Math.sqrt(sse / errors));
+    }
+
+    /**
+     * 마지막 관측 이후 horizon 번째 시점의 예측 값
+     */
+    public static double forecast(Fit fit, int horizon){
+        if(horizon < 1){
+            throw new IllegalArgumentException("예측 시점은 1 이상이어야 합니다.");
+        }
+        // 감쇠 추세 합: phi + phi^2 + ... + phi^h
+        double dampedSteps = DAMPING * (1 - Math.pow(DAMPING, horizon)) / (1 - DAMPING);
+        int seasonIndex = (fit.length() - 1 + horizon) % fit.seasonLength();
+        return fit.level() + dampedSteps * fit.trend() + fit.seasonals()[seasonIndex];
+    }
+
+    /**
+     * 시계열을 평활하고 1-step 오차 제곱합을 반환합니다. seasonals 에는 마지막 계절 성분이, state 에는 [수준, 추세]가 남음
+     */
+    private static double smooth(double[] series, int seasonLength, double alpha, double beta, double gamma,
+                                 double[] seasonals, double[] state){
+        // 초기값: 첫 계절 평균을 수준으로, 두 번째 계절과의 평균 차이를 추세로
+        double firstMean = 0.0;
+        double secondMean = 0.0;
+        for(int i = 0; i < seasonLength; i++){
+            firstMean += series[i];
+            secondMean += series[i + seasonLength];
+        }
+        firstMean /= seasonLength;
+        secondMean /= seasonLength;
+
+        double level = firstMean;
+        double trend = (secondMean - firstMean) / seasonLength;
+        for(int i = 0; i < seasonLength; i++){
+            seasonals[i] = series[i] - firstMean;
+        }
+
+        double sse = 0.0;
+        for(int t = seasonLength; t < series.length; t++){
+            int seasonIndex = t % seasonLength;
+            double seasonal = seasonals[seasonIndex];
+            double error = series[t] - (level + DAMPING * trend + seasonal);
+            sse += error * error;
+
+            double previousLevel = level;
+            level = alpha * (series[t] - seasonal) + (1 - alpha) * (previousLevel + DAMPING * trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * DAMPING * trend;
+            seasonals[seasonIndex] = gamma * (series[t] - level) + (1 - gamma) * seasonal;
+        }
+
+        if(state != null){
+            state[0] = level;
+            state[1] = trend;
+        }
+        return sse;
+    }
+}
@@ -0,0 +1,174 @@
+package com.traficast.util;
+
+import com.traficast.entity.TrafficData;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+
+/**
+ * 한 위치의 여러 시점 예측 값(예측 대상 시간부터 stepMinutes 간격)
+ * 일별/주별 예측을 시점마다 한 행씩 저장하지 않고 encode() 결과를 예측 이력 한 행에 저장
+ *
+ * 인코딩: [버전 1바이트][간격(분) varint][시점 수 varint]
+ *        [차량 수: 이전 값과의 차이 zigzag varint ...]
+ *        [속도(0.1km/h 단위): 차이 zigzag varint ...]
+ *        [혼잡도 순번 1바이트 ...]
+ *        [신뢰도(0.001 단위): 차이 zigzag varint ...]
+ * 인접 시점 값은 비슷하므로 차이 대부분이 1~2바이트, 168시점(주별)도 1KB 안팎
+ * 속도와 신뢰도는 저장 단위로 반올림됨
+ */
+public final class PredictionSeries {
+
+    private static final byte VERSION = 1;
+    private static final TrafficData.CongestionLevel[] CONGESTION_LEVELS = TrafficData.CongestionLevel.values();
+
+    private final int stepMinutes;
+    private final int[] vehicleCounts;
+    private final double[] speeds;
+    private final TrafficData.CongestionLevel[] congestionLevels;
+    private final double[] confidences;
+
+    public PredictionSeries(int stepMinutes, int[] vehicleCounts, double[] speeds,
+                            TrafficData.CongestionLevel[] congestionLevels, double[] confidences){
+        int size = vehicleCounts.length;
+        if(stepMinutes <= 0 || size == 0){
+            throw new IllegalArgumentException("예측 간격과 시점 수는 양수여야 합니다.");
+        }
+        if(speeds.length != size || congestionLevels.length != size || confidences.length != size){
+            throw new IllegalArgumentException("시점별 예측 값의 개수가 서로 다릅니다.");
+        }
+        this.stepMinutes = stepMinutes;
+        this.vehicleCounts = vehicleCounts;
+        this.speeds = speeds;
+        this.congestionLevels = congestionLevels;
+        this.confidences = confidences;
+    }
+
+    public int size(){
+        return vehicleCounts.length;
+    }
+
+    public int getStepMinutes(){
+        return stepMinutes;
+    }
+
+    public int getVehicleCount(int index){
+        return vehicleCounts[index];
+    }
+
+    public double getSpeed(int index){
+        return speeds[index];
+    }
+
+    public TrafficData.CongestionLevel getCongestionLevel(int index){
+        return congestionLevels[index];
+    }
+
+    public double getConfidence(int index){
+        return confidences[index];
+    }
+
+    public byte[] encode(){
+        int size = size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + size * 6);
+        out.write(VERSION);
+        writeVarint(out, stepMinutes);
+        writeVarint(out, size);
+
+        long previous = 0;
+        for(int vehicleCount : vehicleCounts){
+            writeVarint(out, zigzag(vehicleCount - previous));
+            previous = vehicleCount;
+        }
+        previous = 0;
+        for(double speed : speeds){
+            long quantized = Math.round(speed * 10);
+            writeVarint(out, zigzag(quantized - previous));
+            previous = quantized;
+        }
+        for(TrafficData.CongestionLevel level : congestionLevels){
+            out.write(level == null ? 0xFF : level.ordinal());
+        }
+        previous = 0;
+        for(double confidence : confidences){
+            long quantized = Math.round(confidence * 1000);
+            writeVarint(out, zigzag(quantized - previous));
+            previous = quantized;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 인코딩 형식이 아니거나 잘린 값
+     */
+    public static PredictionSeries decode(byte[] encoded){
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        try{
+            byte version = buffer.get();
+            if(version != VERSION){
+                throw new IllegalArgumentException("지원하지 않는 예측 시계열 형식입니다: " + version);
+            }
+            int stepMinutes = (int) readVarint(buffer);
+            int size = (int) readVarint(buffer);
+            if(size <= 0 || size > encoded.length){
+                throw new IllegalArgumentException("예측 시계열 시점 수가 올바르지 않습니다: " + size);
+            }
+
+            int[] vehicleCounts = new int[size];
+            long previous = 0;
+            for(int i = 0; i < size; i++){
+                previous += unzigzag(readVarint(buffer));
+                vehicleCounts[i] = (int) previous;
+            }
+            double[] speeds = new double[size];
+            previous = 0;
+            for(int i = 0; i < size; i++){
+                previous += unzigzag(readVarint(buffer));
+                speeds[i] = previous / 10.0;
+            }
+            TrafficData.CongestionLevel[] congestionLevels = new TrafficData.CongestionLevel[size];
+            for(int i = 0; i < size; i++){
+                int ordinal = buffer.get() & 0xFF;
+                congestionLevels[i] = ordinal < CONGESTION_LEVELS.length ? CONGESTION_LEVELS[ordinal] : null;
+            }
+            double[] confidences = new double[size];
+            previous = 0;
+            for(int i = 0; i < size; i++){
+                previous += unzigzag(readVarint(buffer));
+                confidences[i] = previous / 1000.0;
+            }
+            return new PredictionSeries(stepMinutes, vehicleCounts, speeds, congestionLevels, confidences);
+        }catch (BufferUnderflowException e){
+            throw new IllegalArgumentException("예측 시계열 값이 잘렸습니다.", e);
+        }
+    }
+
+    private static long zigzag(long value){
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value){
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value){
+        while((value & ~0x7FL) != 0){
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer){
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7){
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint 값이 너무 깁니다.");
+    }
+}
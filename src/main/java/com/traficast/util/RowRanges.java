@@ -0,0 +1,135 @@
+package com.traficast.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 업로드 행 번호(1부터) 범위 목록
+ * 실패 청크 재시도 시 이전 응답의 retryRows("501-1000,1501-2000")를 그대로 넘겨 실패한 행만 다시 적재하는 데 사용
+ * 범위는 정렬/병합된 상태로 보관되며, 빈 문자열이나 null 은 전체 행을 뜻함
+ */
+public final class RowRanges {
+
+    private static final RowRanges ALL = new RowRanges(new long[]{1, Long.MAX_VALUE});
+
+    // [시작, 끝, 시작, 끝, ...] (양 끝 포함, 정렬/병합됨)
+    private final long[] bounds;
+
+    private RowRanges(long[] bounds){
+        this.bounds = bounds;
+    }
+
+    public static RowRanges all(){
+        return ALL;
+    }
+
+    /**
+     * "501-1000,1501-2000,2500" 형식을 읽습니다.
+     * @throws IllegalArgumentException 형식이 잘못되었거나 시작 행이 1 미만이거나 끝 행보다 큰 경우
+     */
+    public static RowRanges parse(String value){
+        if(value == null || value.isBlank()){
+            return ALL;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for(String part : value.split(",")){
+            String range = part.trim();
+            if(range.isEmpty()){
+                continue;
+            }
+            int dash = range.indexOf('-');
+            try{
+                long start = Long.parseLong((dash < 0 ? range : range.substring(0, dash)).trim());
+                long end = dash < 0 ? start : Long.parseLong(range.substring(dash + 1).trim());
+                if(start < 1 || end < start){
+                    throw new IllegalArgumentException("행 범위가 올바르지 않습니다: " + range);
+                }
+                ranges.add(new long[]{start, end});
+            }catch (NumberFormatException e){
+                throw new IllegalArgumentException("행 범위 형식이 올바르지 않습니다(예: 501-1000,1501-2000): " + range);
+            }
+        }
+        return ranges.isEmpty() ? ALL : of(ranges);
+    }
+
+    /**
+     * 범위 목록(각 [시작, 끝])을 정렬/병합합니다.
+     */
+    public static RowRanges of(List<long[]> ranges){
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        long[] bounds = new long[sorted.size() * 2];
+        int size = 0;
+        for(long[] range : sorted){
+            if(size > 0 && range[0] <= bounds[size - 1] + 1){
+                bounds[size - 1] = Math.max(bounds[size - 1], range[1]);
+            }else{
+                bounds[size++] = range[0];
+                bounds[size++] = range[1];
+            }
+        }
+        return new RowRanges(Arrays.copyOf(bounds, size));
+    }
+
+    public boolean isAll(){
+        return bounds.length == 2 && bounds[0] == 1 && bounds[1] == Long.MAX_VALUE;
+    }
+
+    public boolean isEmpty(){
+        return bounds.length == 0;
+    }
+
+    public boolean contains(long row){
+        for(int i = 0; i < bounds.length; i += 2){
+            if(row < bounds[i]){
+                return false;
+            }
+            if(row <= bounds[i + 1]){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 마지막 범위 이후의 행인지(더 읽을 필요가 없는지) 확인합니다.
+     */
+    public boolean isPastEnd(long row){
+        return bounds.length == 0 || row > bounds[bounds.length - 1];
+    }
+
+    /**
+     * [start, end] 구간 중 이 범위에 포함되는 부분들을 반환합니다.
+     */
+    public List<long[]> intersect(long start, long end){
+        List<long[]> result = new ArrayList<>();
+        for(int i = 0; i < bounds.length; i += 2){
+            long from = Math.max(start, bounds[i]);
+            long to = Math.min(end, bounds[i + 1]);
+            if(from <= to){
+                result.add(new long[]{from, to});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * parse 로 다시 읽을 수 있는 "시작-끝,..." 형식
+     */
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder();
+        for(int i = 0; i < bounds.length; i += 2){
+            if(i > 0){
+                builder.append(',');
+            }
+            builder.append(bounds[i]);
+            if(bounds[i + 1] != bounds[i]){
+                builder.append('-').append(bounds[i + 1]);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.traficast.util;
+
+import java.util.Arrays;
+
+/**
+ * 계절 차분 ARIMA: SARIMA(p,0,0)(0,1,0)s
+ * 계절 차분 z[t] = y[t] - y[t-s] 에 AR(p) 모형 z[t] = c + φ1 z[t-1] + ... + φp z[t-p] 를 최소제곱으로 적합
+ * (MA 항은 최대우도 추정이 필요해 제외, 시간대별 교통량처럼 일 주기가 뚜렷한 시계열은 계절 차분 + AR 로 충분)
+ * 예측은 z 를 재귀적으로 예측한 뒤 y[t] = y[t-s] + z[t] 로 되돌림
+ */
+public final class SeasonalArima {
+
+    // 정규방정식이 특이 행렬이 되지 않도록 더하는 작은 릿지 항(대각합 대비 비율)
+    private static final double RIDGE = 1e-6;
+
+    private SeasonalArima(){
+    }
+
+    /**
+     * 적합 결과
+     * @param series 적합에 사용한 시계열(예측 시 과거 값 참조)
+     * @param rmse 1-step 예측 오차의 제곱평균제곱근
+     */
+    public record Fit(double[] series, int seasonLength, double intercept, double[] coefficients, double rmse) {
+    }
+
+    /**
+     * @param series 결측 없는 시계열(길이는 seasonLength + order 의 2배 이상)
+     * @param order AR 차수 p
+     */
+    public static Fit fit(double[] series, int order, int seasonLength){
+        int n = series.length;
+        if(order < 1 || seasonLength < 1 || n < (seasonLength + order) * 2){
+            throw new IllegalArgumentException("ARIMA 적합에 필요한 관측 수가 부족합니다.");
+        }
+
+        double[] diff = new double[n];
+        for(int t = seasonLength; t < n; t++){
+            diff[t] = series[t] - series[t - seasonLength];
+        }
+
+        // 정규방정식 (X'X) b = X'z, X 행 = [1, z[t-1], ..., z[t-p]]
+        int k = order + 1;
+        double[][] xtx = new double[k][k];
+        double[] xtz = new double[k];
+        double[] row = new double[k];
+        int first = seasonLength + order;
+        for(int t = first; t < n; t++){
+            row[0] = 1.0;
+            for(int i = 1; i <= order; i++){
+                row[i] = diff[t - i];
+            }
+            for(int i = 0; i < k; i++){
+                xtz[i] += row[i] * diff[t];
+                for(int j = i; j < k; j++){
+                    xtx[i][j] += row[i] * row[j];
+                }
+            }
+        }
+        double trace = 0.0;
+        for(int i = 0; i < k; i++){
+            for(int j = 0; j < i; j++){
+                xtx[i][j] = xtx[j][i];
+            }
+            trace += xtx[i][i];
+        }
+        for(int i = 1; i < k; i++){
+            xtx[i][i] += RIDGE * trace / k;
+        }
+
+        double[] beta = solve(xtx, xtz);
+        double intercept = beta[0];
+        double[] coefficients = Arrays.copyOfRange(beta, 1, k);
+
+        // 계수 절대값 합이 1 이상이면 예측이 발산할 수 있으므로 정상성 범위로 축소
+        double absSum = 0.0;
+        for(double coefficient : coefficients){
+            absSum += Math.abs(coefficient);
+        }
+        if(absSum >= 0.99){
+            double scale = 0.99 / absSum;
+            for(int i = 0; i < coefficients.length; i++){
+                coefficients[i] *= scale;
+            }
+        }
+
+        double sse = 0.0;
+        for(int t = first; t < n; t++){
+            double predicted = intercept;
+            for(int i = 1; i <= order; i++){
+                predicted += coefficients[i - 1] * diff[t - i];
+            }
+            double error = diff[t] - predicted;
+            sse += error * error;
+        }
+        return new Fit(series, seasonLength, intercept, coefficients, Math.sqrt(sse / (n - first)));
+    }
+
+    /**
+     * 마지막 관측 이후 horizon 번째 시점의 예측 값
+     */
+    public static double forecast(Fit fit, int horizon){
+        if(horizon < 1){
+            throw new IllegalArgumentException("예측 시점은 1 이상이어야 합니다.");
+        }
+        double[] series = fit.series();
+        int n = series.length;
+        int s = fit.seasonLength();
+        int order = fit.coefficients().length;
+
+        // 관측 + 예측 값을 이어 붙인 작업 배열(과거 s + p 개만 있으면 됨)
+        int history = s + order;
+        double[] y = new double[history + horizon];
+        System.arraycopy(series, n - history, y, 0, history);
+        double[] z = new double[history + horizon];
+        for(int t = s; t < history; t++){
+            z[t] = y[t] - y[t - s];
+        }
+
+        for(int t = history; t < history + horizon; t++){
+            double predicted = fit.intercept();
+            for(int i = 1; i <= order; i++){
+                predicted += fit.coefficients()[i - 1] * z[t - i];
+            }
+            z[t] = predicted;
+            y[t] = y[t - s] + predicted;
+        }
+        return y[history + horizon - 1];
+    }
+
+    // 부분 피벗 가우스 소거
+    private static double[] solve(double[][] a, double[] b){
+        int k = b.length;
+        double[][] m = new double[k][];
+        for(int i = 0; i < k; i++){
+            m[i] = Arrays.copyOf(a[i], k + 1);
+            m[i][k] = b[i];
+        }
+
+        for(int col = 0; col < k; col++){
+            int pivot = col;
+            for(int r = col + 1; r < k; r++){
+                if(Math.abs(m[r][col]) > Math.abs(m[pivot][col])){
+                    pivot = r;
+                }
+            }
+            double[] swap = m[col];
+            m[col] = m[pivot];
+            m[pivot] = swap;
+
+            if(Math.abs(m[col][col]) < 1e-12){
+                continue; // 상수 시계열 등으로 해당 계수를 정할 수 없으면 0
+            }
+            for(int r = col + 1; r < k; r++){
+                double factor = m[r][col] / m[col][col];
+                for(int c = col; c <= k; c++){
+                    m[r][c] -= factor * m[col][c];
+                }
+            }
+        }
+
+        double[] x = new double[k];
+        for(int i = k - 1; i >= 0; i--){
+            if(Math.abs(m[i][i]) < 1e-12){
+                x[i] = 0.0;
+                continue;
+            }
+            double sum = m[i][k];
+            for(int j = i + 1; j < k; j++){
+                sum -= m[i][j] * x[j];
+            }
+            x[i] = sum / m[i][i];
+        }
+        return x;
+    }
+}
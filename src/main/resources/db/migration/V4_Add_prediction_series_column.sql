@@ -0,0 +1,2 @@
+-- 일별/주별 예측의 시점별 값(압축 시계열)을 예측 이력 한 행에 저장
+ALTER TABLE prediction_history ADD COLUMN predicted_series BYTEA;
@@ -0,0 +1,12 @@
+-- 같은 위치/측정 시간의 측정값이 두 번 저장되지 않도록 유니크 인덱스로 교체
+-- 업로드/재적재의 중복 필터(블룸 필터)는 DB 확인을 줄이는 용도이고, 중복 방지는 이 인덱스가 보장
+
+-- 기존 중복 행은 가장 최근에 수정된 행만 남김
+DELETE FROM traffic_data t
+USING traffic_data d
+WHERE t.location_id = d.location_id
+  AND t.recorded_at = d.recorded_at
+  AND (t.updated_at < d.updated_at OR (t.updated_at = d.updated_at AND t.id < d.id));
+
+DROP INDEX IF EXISTS idx_traffic_data_location_datetime;
+CREATE UNIQUE INDEX uk_traffic_data_location_recorded_at ON traffic_data(location_id, recorded_at);
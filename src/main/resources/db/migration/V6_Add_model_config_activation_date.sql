@@ -0,0 +1,8 @@
+-- 활성 모델이 여러 개면 가장 최근에 활성화된 모델을 사용하도록 활성화 시각 컬럼 추가
+-- 이미 활성화된 모델은 마지막 수정 시각(없으면 생성 시각)을 활성화 시각으로 채움
+ALTER TABLE model_configs ADD COLUMN IF NOT EXISTS activation_date TIMESTAMP;
+
+UPDATE model_configs
+SET activation_date = COALESCE(updated_at, created_at)
+WHERE is_active = TRUE
+  AND activation_date IS NULL;
@@ -0,0 +1,13 @@
+-- 엔티티 공통 ID 시퀀스 생성(BaseEntity 의 @SequenceGenerator allocationSize = 50 과 INCREMENT BY 가 같아야 함)
+-- Hibernate pooled 최적화는 nextval 한 번으로 (값 - 49) ~ 값 까지 50개 ID 를 쓰므로 INCREMENT BY 가 다르면 ID 가 겹침
+CREATE SEQUENCE IF NOT EXISTS traficast_id_seq START WITH 1 INCREMENT BY 50;
+
+-- 기존 BIGSERIAL 로 채워진 ID 와 겹치지 않도록 모든 테이블의 최대 ID 뒤에서 시작
+-- (다음 nextval 은 최대 ID + 50 이므로 예약 블록은 최대 ID + 1 부터 시작)
+SELECT setval('traficast_id_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM locations),
+    (SELECT COALESCE(MAX(id), 0) FROM traffic_data),
+    (SELECT COALESCE(MAX(id), 0) FROM prediction_history),
+    (SELECT COALESCE(MAX(id), 0) FROM model_configs),
+    1
+), true);
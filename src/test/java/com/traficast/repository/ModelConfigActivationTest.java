@@ -0,0 +1,98 @@
+package com.traficast.repository;
+
+import com.traficast.entity.ModelConfig;
+import com.traficast.service.ActiveModelRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 에서 활성 모델이 여러 개일 때 가장 최근에 활성화된 모델을 고르는지와
+ * 모델 설정 변경이 커밋된 뒤에만 레지스트리에 반영되는지(엔티티 리스너 → 무효화) 검증
+ */
+@SpringBootTest(properties = {
+        "scheduler.enabled=false",
+        "ingest.journal.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class ModelConfigActivationTest {
+
+    private static final LocalDateTime ACTIVATED = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    @Autowired
+    private ModelConfigRepository modelConfigRepository;
+
+    @Autowired
+    private ActiveModelRegistry activeModelRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp(){
+        modelConfigRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown(){
+        modelConfigRepository.deleteAll();
+        activeModelRegistry.refresh();
+    }
+
+    @Test
+    void selectsMostRecentlyActivatedModel(){
+        // 나중에 생성됐지만 먼저 활성화된 모델보다 최근에 활성화된 모델을 선택
+        modelConfigRepository.save(model("2.0.0", ACTIVATED.plusDays(1), true));
+        modelConfigRepository.save(model("1.0.0", ACTIVATED, true));
+        modelConfigRepository.save(model("3.0.0", ACTIVATED.plusDays(2), false));
+
+        assertThat(modelConfigRepository.findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc())
+                .get().extracting(ModelConfig::getModelVersion).isEqualTo("2.0.0");
+        assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+    }
+
+    @Test
+    void registryPicksUpNewActivationAfterCommit(){
+        modelConfigRepository.save(model("1.0.0", ACTIVATED, true));
+        assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("1.0.0");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            modelConfigRepository.save(model("2.0.0", ACTIVATED.plusHours(1), true));
+            // 커밋 전에는 이전 모델 유지
+            assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("1.0.0");
+        });
+
+        assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+    }
+
+    @Test
+    void rolledBackActivationIsIgnored(){
+        modelConfigRepository.save(model("1.0.0", ACTIVATED, true));
+        assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("1.0.0");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            modelConfigRepository.saveAndFlush(model("2.0.0", ACTIVATED.plusHours(1), true));
+            status.setRollbackOnly();
+        });
+
+        assertThat(activeModelRegistry.getActiveModel().getModelVersion()).isEqualTo("1.0.0");
+    }
+
+    private static ModelConfig model(String version, LocalDateTime activationDate, boolean active){
+        return ModelConfig.builder()
+                .modelName("T-GCN")
+                .modelVersion(version)
+                .modelType(ModelConfig.ModelType.T_GCN)
+                .apiEndpoint("http://model-" + version + ":8000/predict")
+                .isActive(active)
+                .activationDate(activationDate)
+                .build();
+    }
+}
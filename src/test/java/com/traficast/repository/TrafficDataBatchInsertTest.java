@@ -0,0 +1,119 @@
+package com.traficast.repository;
+
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 에서 batchInsert 가 행마다 INSERT 를 보내지 않고 JDBC 배치로 묶이는지 Hibernate 통계로 검증
+ * ID 는 traficast_id_seq(INCREMENT BY 50) 한 번 호출로 50개씩 예약되어야 배치가 끊기지 않음
+ */
+@SpringBootTest(properties = {
+        "scheduler.enabled=false",
+        "ingest.journal.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TrafficDataBatchInsertTest {
+
+    private static final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 1, 15, 8, 0);
+    private static final int ROWS = 120;
+
+    @Autowired
+    private TrafficDataRepository trafficDataRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Location location;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp(){
+        location = locationRepository.save(Location.builder()
+                .locationName("배치 테스트 " + System.nanoTime())
+                .latitude(37.5)
+                .longitude(127.0)
+                .build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void sequenceAllocatesBlocksOfFifty(){
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = 'TRAFICAST_ID_SEQ'",
+                Long.class);
+
+        assertThat(increment).isEqualTo(50L);
+    }
+
+    @Test
+    void batchInsertSendsRowsInJdbcBatches(){
+        List<TrafficData> chunk = new ArrayList<>();
+        for(int i = 0; i < ROWS; i++){
+            chunk.add(reading(RECORDED_AT.plusMinutes(i), 100 + i));
+        }
+
+        Integer inserted = transactionTemplate.execute(status -> trafficDataRepository.batchInsert(chunk));
+
+        assertThat(inserted).isEqualTo(ROWS);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // 배치가 꺼져 있거나 ID 를 행마다 조회하면 준비된 문장이 행 수만큼 늘어남
+        // 배치면 INSERT 1개 + 시퀀스 호출 몇 번(120행 / 50개 블록)만 준비됨
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+        assertThat(rowCount()).isEqualTo(ROWS);
+    }
+
+    @Test
+    void idsComeFromReservedBlocks(){
+        List<TrafficData> chunk = new ArrayList<>();
+        for(int i = 0; i < ROWS; i++){
+            chunk.add(reading(RECORDED_AT.plusHours(1).plusMinutes(i), 100));
+        }
+
+        transactionTemplate.execute(status -> trafficDataRepository.batchInsert(chunk));
+
+        // 한 트랜잭션에서 예약한 블록은 이어지므로 ID 범위가 행 수 + 블록 하나를 넘지 않음
+        List<Long> ids = chunk.stream().map(TrafficData::getId).sorted().toList();
+        assertThat(ids).doesNotHaveDuplicates().hasSize(ROWS);
+        assertThat(ids.get(ROWS - 1) - ids.get(0)).isLessThan(ROWS + 50);
+    }
+
+    private Integer rowCount(){
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM traffic_data WHERE location_id = ?",
+                Integer.class, location.getId());
+    }
+
+    private TrafficData reading(LocalDateTime recordedAt, int vehicleCount){
+        return TrafficData.builder()
+                .location(location)
+                .recordedAt(recordedAt)
+                .vehicleCount(vehicleCount)
+                .congestionLevel(TrafficData.CongestionLevel.NORMAL)
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.traficast.repository;
+
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.util.CsvParserUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 적재 방식별 처리량 비교 벤치마크(기본 test 태스크에서는 제외, ./gradlew benchmark 로 실행)
+ * 100만 행(benchmark.rows) CSV 파일을 만들어 방식마다 같은 파일을 청크 단위로 적재하고 적재 시간만 측정
+ * BENCHMARK_PG_URL 이 있으면 로컬 PostgreSQL(COPY / JDBC 배치 / JPA), 없으면 내장 H2(JDBC 배치 / JPA)에서 비교
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "scheduler.enabled=false",
+        "ingest.journal.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.traficast=INFO",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+class TrafficDataBulkLoaderBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunk-size", 10_000);
+    private static final int LOCATIONS = 100;
+
+    @Autowired
+    private TrafficDataBulkLoader trafficDataBulkLoader;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path tempDir;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry){
+        String url = System.getenv("BENCHMARK_PG_URL");
+        if(url == null || url.isBlank()){
+            return;
+        }
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("BENCHMARK_PG_USER", "traffic_user"));
+        registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("BENCHMARK_PG_PASSWORD", "traffic_password"));
+    }
+
+    @Test
+    void compareBulkLoadStrategies() throws IOException {
+        List<Location> locations = createLocations();
+        Map<Long, Location> locationsById = locations.stream()
+                .collect(Collectors.toMap(Location::getId, Function.identity()));
+        Path csv = writeCsv(locations);
+        log.info("[bulk-load benchmark] rows={}, chunk={}, file={} bytes, default strategy={}",
+                ROWS, CHUNK_SIZE, Files.size(csv), trafficDataBulkLoader.getStrategy());
+
+        for(TrafficDataBulkLoader.Strategy strategy : TrafficDataBulkLoader.Strategy.values()){
+            if(!trafficDataBulkLoader.isSupported(strategy)){
+                continue;
+            }
+            jdbcTemplate.update("DELETE FROM traffic_data");
+
+            long loadNanos = load(csv, locationsById, strategy);
+
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM traffic_data", Long.class);
+            assertThat(count).isEqualTo(ROWS);
+            log.info("[bulk-load benchmark] {}: {} ms, {} rows/s", strategy,
+                    loadNanos / 1_000_000, String.format("%,.0f", ROWS / (loadNanos / 1_000_000_000.0)));
+        }
+        jdbcTemplate.update("DELETE FROM traffic_data");
+    }
+
+    private long load(Path csv, Map<Long, Location> locationsById, TrafficDataBulkLoader.Strategy strategy) throws IOException {
+        long loadNanos = 0;
+        List<TrafficData> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        // 업로드 API 와 같은 CSV 파서로 읽어 파싱 비용도 실제 적재 경로와 같게 함
+        try(InputStream in = Files.newInputStream(csv);
+            CsvParserUtil.CsvReader reader = CsvParserUtil.reader(in, StandardCharsets.UTF_8)){
+            Columns columns = Columns.of(CsvParserUtil.CsvHeader.of(reader.readRow()));
+            String[] row;
+            while((row = reader.readRow()) != null){
+                chunk.add(toTrafficData(row, columns, locationsById));
+                if(chunk.size() == CHUNK_SIZE){
+                    loadNanos += loadChunk(chunk, strategy);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+        }
+        if(!chunk.isEmpty()){
+            loadNanos += loadChunk(chunk, strategy);
+        }
+        return loadNanos;
+    }
+
+    private long loadChunk(List<TrafficData> chunk, TrafficDataBulkLoader.Strategy strategy){
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> trafficDataBulkLoader.load(chunk, strategy));
+        return System.nanoTime() - start;
+    }
+
+    private List<Location> createLocations(){
+        List<Location> locations = new ArrayList<>(LOCATIONS);
+        for(int i = 0; i < LOCATIONS; i++){
+            locations.add(Location.builder()
+                    .locationName("벤치마크 지점 " + i)
+                    .latitude(37.5 + i * 0.001)
+                    .longitude(127.0 + i * 0.001)
+                    .build());
+        }
+        return locationRepository.saveAll(locations);
+    }
+
+    /**
+     * 업로드 API 와 같은 헤더의 CSV 파일을 만듭니다.
+     */
+    private Path writeCsv(List<Location> locations) throws IOException {
+        Path csv = tempDir.resolve("traffic-" + ROWS + ".csv");
+        TrafficData.CongestionLevel[] levels = TrafficData.CongestionLevel.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        try(BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)){
+            writer.write("locationId,measuredAt,vehicleCount,averageSpeed,congestionLevel,weatherCondition,temperature,humidity\n");
+            for(int i = 0; i < ROWS; i++){
+                Location location = locations.get(i % LOCATIONS);
+                // 위치마다 30초 간격 측정값
+                LocalDateTime measuredAt = base.plusSeconds(30L * (i / LOCATIONS));
+                writer.write(location.getId() + "," + measuredAt + "," + (i % 400) + "," + (20 + i % 60) + ".5,"
+                        + levels[i % levels.length] + "," + (i % 7 == 0 ? "RAIN" : "CLEAR") + ","
+                        + (i % 35) + ".0," + (40 + i % 50) + ".0\n");
+            }
+        }
+        return csv;
+    }
+
+    private static TrafficData toTrafficData(String[] row, Columns columns, Map<Long, Location> locationsById){
+        Location location = locationsById.get(CsvParserUtil.parseLong(CsvParserUtil.field(row, columns.locationId())));
+        LocalDateTime measuredAt = CsvParserUtil.parseDateTime(CsvParserUtil.field(row, columns.measuredAt()));
+
+        return TrafficData.builder()
+                .location(location)
+                .recordedAt(measuredAt)
+                .vehicleCount(CsvParserUtil.parseInteger(CsvParserUtil.field(row, columns.vehicleCount())))
+                .averageSpeed(CsvParserUtil.parseDouble(CsvParserUtil.field(row, columns.averageSpeed())))
+                .congestionLevel(TrafficData.CongestionLevel.valueOf(CsvParserUtil.field(row, columns.congestionLevel())))
+                .weatherCondition(CsvParserUtil.field(row, columns.weatherCondition()))
+                .temperature(CsvParserUtil.parseDouble(CsvParserUtil.field(row, columns.temperature())))
+                .humidity(CsvParserUtil.parseDouble(CsvParserUtil.field(row, columns.humidity())))
+                .isHoliday(false)
+                .dayOfWeek(measuredAt.getDayOfWeek().getValue())
+                .hourOfDay(measuredAt.getHour())
+                .build();
+    }
+
+    // 헤더에서 찾은 컬럼 위치(행마다 이름으로 찾지 않도록 한 번만 계산)
+    private record Columns(int locationId, int measuredAt, int vehicleCount, int averageSpeed,
+                           int congestionLevel, int weatherCondition, int temperature, int humidity) {
+        private static Columns of(CsvParserUtil.CsvHeader header){
+            return new Columns(header.indexOf("locationId"), header.indexOf("measuredAt"),
+                    header.indexOf("vehicleCount"), header.indexOf("averageSpeed"),
+                    header.indexOf("congestionLevel"), header.indexOf("weatherCondition"),
+                    header.indexOf("temperature"), header.indexOf("humidity"));
+        }
+    }
+}
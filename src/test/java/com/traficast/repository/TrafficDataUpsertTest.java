@@ -0,0 +1,118 @@
+package com.traficast.repository;
+
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.service.TrafficReadingDeduplicator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 내장 H2 에서 (location_id, recorded_at) 유니크 인덱스와 upsert 동작을 검증
+ * 중복 필터가 "없음"으로 잘못 판정해도 중복 행이 생기지 않고 기존 행이 갱신되어야 함
+ */
+@SpringBootTest(properties = {
+        "scheduler.enabled=false",
+        "ingest.journal.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+class TrafficDataUpsertTest {
+
+    private static final LocalDateTime RECORDED_AT = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @Autowired
+    private TrafficDataRepository trafficDataRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private TrafficReadingDeduplicator trafficReadingDeduplicator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Location location;
+
+    @BeforeEach
+    void setUp(){
+        location = locationRepository.save(Location.builder()
+                .locationName("upsert 테스트 " + System.nanoTime())
+                .latitude(37.5)
+                .longitude(127.0)
+                .build());
+    }
+
+    @Test
+    void insertsUpdatesAndSkipsUnchangedRows(){
+        upsert(List.of(reading(RECORDED_AT, 100), reading(RECORDED_AT.plusMinutes(1), 110)));
+
+        TrafficDataRepository.UpsertResult result = upsert(List.of(
+                reading(RECORDED_AT, 100),                 // 그대로
+                reading(RECORDED_AT.plusMinutes(1), 150),  // 변경
+                reading(RECORDED_AT.plusMinutes(2), 120),  // 신규
+                reading(RECORDED_AT.plusMinutes(2), 130)   // 청크 안 중복(나중 값 우선)
+        ));
+
+        assertThat(result.getInsertedCount()).isEqualTo(1);
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getDuplicateCount()).isEqualTo(2);
+        assertThat(vehicleCounts()).containsExactly(100, 150, 130);
+    }
+
+    @Test
+    void uniqueIndexRejectsRowMissedByFilter(){
+        upsert(List.of(reading(RECORDED_AT, 100)));
+
+        assertThatThrownBy(() -> transactionTemplate.execute(status ->
+                trafficDataRepository.batchUpsert(List.of(reading(RECORDED_AT, 200)), data -> false)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(vehicleCounts()).containsExactly(100);
+    }
+
+    @Test
+    void deduplicatorUpdatesRowWrittenElsewhere(){
+        // 필터를 먼저 초기화한 뒤 다른 인스턴스가 저장한 것처럼 직접 INSERT
+        assertThat(trafficReadingDeduplicator.mightExist(location.getId(), RECORDED_AT.plusHours(1))).isFalse();
+        jdbcTemplate.update("INSERT INTO traffic_data (id, location_id, recorded_at, vehicle_count, created_at, is_deleted) "
+                        + "VALUES (NEXT VALUE FOR traficast_id_seq, ?, ?, ?, CURRENT_TIMESTAMP, false)",
+                location.getId(), RECORDED_AT.plusHours(1), 100);
+
+        TrafficDataRepository.UpsertResult result = trafficReadingDeduplicator.upsert(
+                List.of(reading(RECORDED_AT.plusHours(1), 200)));
+
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(vehicleCounts()).containsExactly(200);
+    }
+
+    private TrafficDataRepository.UpsertResult upsert(List<TrafficData> chunk){
+        return transactionTemplate.execute(status -> trafficDataRepository.batchUpsert(chunk, data -> true));
+    }
+
+    private List<Integer> vehicleCounts(){
+        return jdbcTemplate.queryForList("SELECT vehicle_count FROM traffic_data WHERE location_id = ? ORDER BY recorded_at",
+                Integer.class, location.getId());
+    }
+
+    private TrafficData reading(LocalDateTime recordedAt, int vehicleCount){
+        return TrafficData.builder()
+                .location(location)
+                .recordedAt(recordedAt)
+                .vehicleCount(vehicleCount)
+                .congestionLevel(TrafficData.CongestionLevel.NORMAL)
+                .build();
+    }
+}
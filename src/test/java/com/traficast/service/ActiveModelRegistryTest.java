@@ -0,0 +1,160 @@
+package com.traficast.service;
+
+import com.traficast.entity.ModelConfig;
+import com.traficast.repository.ModelConfigRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 주기적 갱신으로 엔티티 객체가 바뀌어도 진행 중인 요청이 들고 있는 이전 객체로
+ * 복제본 엔드포인트 목록을 그대로 받는지와, 무효화는 커밋된 뒤에만 적용되는지 검증
+ * 저장소는 mock 으로 두고 조회할 때마다 새 객체(준영속 객체를 다시 읽은 것과 같음)를 반환
+ * 활성화 시각 기준 선택은 repository/ModelConfigActivationTest 에서 내장 H2 로 검증
+ */
+class ActiveModelRegistryTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    private ModelConfigRepository repository;
+    private ActiveModelRegistry registry;
+
+    private String activeVersion = "2.0.0";
+    private LocalDateTime activeUpdatedAt = UPDATED;
+
+    @BeforeEach
+    void setUp(){
+        repository = mock(ModelConfigRepository.class);
+        when(repository.findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc())
+                .thenAnswer(invocation -> Optional.of(model(1L, activeVersion, "http://model-a:8000/predict")));
+        when(repository.findByIsActiveTrueAndIsDeletedFalseOrderByCreatedAtDesc())
+                .thenAnswer(invocation -> List.of(
+                        model(1L, activeVersion, "http://model-a:8000/predict"),
+                        model(2L, activeVersion, "http://model-b:8000/predict")));
+
+        registry = new ActiveModelRegistry(repository);
+        ReflectionTestUtils.setField(registry, "defaultModelApiUrl", "http://localhost:8000/predict");
+    }
+
+    @AfterEach
+    void tearDown(){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readsDatabaseOnlyOnceUntilInvalidated(){
+        ModelConfig first = registry.getActiveModel();
+        activeVersion = "3.0.0";
+
+        assertThat(registry.getActiveModel()).isSameAs(first);
+        verify(repository, times(1)).findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc();
+
+        registry.invalidate();
+
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("3.0.0");
+        verify(repository, times(2)).findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc();
+    }
+
+    @Test
+    void invalidationWaitsForCommit(){
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+        activeVersion = "3.0.0";
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.invalidate();
+        // 커밋 전에는 이전 설정을 그대로 사용
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("3.0.0");
+    }
+
+    @Test
+    void rolledBackChangeDoesNotInvalidate(){
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+        activeVersion = "3.0.0";
+
+        TransactionSynchronizationManager.initSynchronization();
+        registry.invalidate();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(registry.getActiveModel().getModelVersion()).isEqualTo("2.0.0");
+    }
+
+    @Test
+    void fallsBackToDefaultWhenNoModelIsActive(){
+        when(repository.findTopByIsActiveTrueAndIsDeletedFalseOrderByActivationDateDesc()).thenReturn(Optional.empty());
+
+        ModelConfig model = registry.getActiveModel();
+
+        assertThat(model.getId()).isNull();
+        assertThat(registry.getEndpoints(model)).containsExactly("http://localhost:8000/predict");
+        // 기본 설정은 한 번만 생성
+        assertThat(registry.refresh()).isSameAs(model);
+    }
+
+    @Test
+    void inFlightModelKeepsReplicasAcrossRefresh(){
+        ModelConfig inFlight = registry.getActiveModel();
+        List<String> before = registry.getEndpoints(inFlight);
+
+        registry.refresh();
+
+        assertThat(before).containsExactly("http://model-a:8000/predict", "http://model-b:8000/predict");
+        assertThat(registry.getEndpoints(inFlight)).isEqualTo(before);
+        // 설정이 그대로면 기존 객체를 유지
+        assertThat(registry.getActiveModel()).isSameAs(inFlight);
+    }
+
+    @Test
+    void updatedConfigWithSameVersionStillSharesReplicas(){
+        ModelConfig inFlight = registry.getActiveModel();
+
+        activeUpdatedAt = UPDATED.plusMinutes(5);
+        registry.refresh();
+
+        assertThat(registry.getActiveModel()).isNotSameAs(inFlight);
+        assertThat(registry.getEndpoints(inFlight)).hasSize(2);
+    }
+
+    @Test
+    void previousVersionGetsOnlyItsOwnEndpoint(){
+        ModelConfig inFlight = registry.getActiveModel();
+
+        activeVersion = "3.0.0";
+        registry.refresh();
+
+        assertThat(registry.getEndpoints(inFlight)).containsExactly("http://model-a:8000/predict");
+        assertThat(registry.getEndpoints(registry.getActiveModel())).hasSize(2);
+    }
+
+    private ModelConfig model(Long id, String version, String endpoint){
+        ModelConfig model = ModelConfig.builder()
+                .modelName("T-GCN")
+                .modelVersion(version)
+                .modelType(ModelConfig.ModelType.T_GCN)
+                .apiEndpoint(endpoint)
+                .isActive(true)
+                .activationDate(UPDATED)
+                .build();
+        model.setId(id);
+        model.setUpdatedAt(activeUpdatedAt);
+        return model;
+    }
+}
@@ -0,0 +1,103 @@
+package com.traficast.service;
+
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.TrafficDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 집계 결과를 mock 으로 주고 주간 시간대 프로파일 예측을 검증
+ */
+class BaselinePredictorTest {
+
+    // 2024-01-15 는 월요일
+    private static final LocalDateTime MONDAY_08 = LocalDateTime.of(2024, 1, 15, 8, 0);
+    private static final LocalDateTime TUESDAY_08 = LocalDateTime.of(2024, 1, 16, 8, 0);
+    private static final LocalDateTime MONDAY_03 = LocalDateTime.of(2024, 1, 15, 3, 0);
+
+    private TrafficDataRepository trafficDataRepository;
+    private BaselinePredictor predictor;
+
+    @BeforeEach
+    void setUp(){
+        trafficDataRepository = mock(TrafficDataRepository.class);
+        predictor = new BaselinePredictor(trafficDataRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(predictor, "fallbackEnabled", true);
+        ReflectionTestUtils.setField(predictor, "modelVersion", "baseline-test");
+        ReflectionTestUtils.setField(predictor, "historyDays", 28);
+        predictor.init();
+    }
+
+    @Test
+    void usesHourOfWeekAverageWhenCellHasData(){
+        givenTotals(
+                row(1L, 1, 8, 600, 4, 80.0, 4),   // 월 08시: 평균 150대, 20km/h
+                row(1L, 1, 3, 40, 2, 160.0, 2)    // 월 03시: 평균 20대, 80km/h
+        );
+
+        ModelPredictionResult result = predictor.predict(List.of(1L), MONDAY_08);
+
+        assertThat(result.getModelVersion()).isEqualTo("baseline-test");
+        ModelPredictionResult.Prediction prediction = result.getPredictions().get(0);
+        assertThat(prediction.getPredictedVehicleCount()).isEqualTo(150);
+        assertThat(prediction.getPredictedSpeed()).isEqualTo(20.0);
+        assertThat(prediction.getConfidenceScore()).isEqualTo(0.6);
+        // 자유 흐름 속도(80km/h)의 25% 이므로 정체
+        assertThat(prediction.getPredictedCongestionLevel()).isEqualTo(TrafficData.CongestionLevel.CONGESTED);
+
+        ModelPredictionResult.Prediction night = predictor.predict(List.of(1L), MONDAY_03).getPredictions().get(0);
+        assertThat(night.getPredictedCongestionLevel()).isEqualTo(TrafficData.CongestionLevel.SMOOTH);
+    }
+
+    @Test
+    void fallsBackToSameHourOnOtherDaysWithLowerConfidence(){
+        givenTotals(row(1L, 1, 8, 600, 4, 80.0, 4));
+
+        ModelPredictionResult.Prediction prediction = predictor.predict(List.of(1L), TUESDAY_08).getPredictions().get(0);
+
+        assertThat(prediction.getPredictedVehicleCount()).isEqualTo(150);
+        assertThat(prediction.getConfidenceScore()).isEqualTo(0.45);
+    }
+
+    @Test
+    void unknownLocationUsesGlobalProfile(){
+        givenTotals(
+                row(1L, 1, 8, 100, 1, 40.0, 1),
+                row(2L, 1, 8, 300, 1, 60.0, 1)
+        );
+
+        ModelPredictionResult.Prediction prediction = predictor.predict(List.of(99L), MONDAY_08).getPredictions().get(0);
+
+        assertThat(prediction.getLocationId()).isEqualTo(99L);
+        assertThat(prediction.getPredictedVehicleCount()).isEqualTo(200);
+        assertThat(prediction.getConfidenceScore()).isEqualTo(0.2);
+    }
+
+    @Test
+    void returnsNoPredictionWithoutAnyHistory(){
+        givenTotals();
+
+        assertThat(predictor.predict(List.of(1L), MONDAY_08).getPredictions()).isEmpty();
+    }
+
+    private void givenTotals(Object[]... rows){
+        when(trafficDataRepository.findHourOfWeekTotalsSince(any())).thenReturn(new ArrayList<>(List.of(rows)));
+    }
+
+    private static Object[] row(long locationId, int dayOfWeek, int hour,
+                                long vehicleSum, long vehicleCount, double speedSum, long speedCount){
+        return new Object[]{locationId, dayOfWeek, hour, vehicleSum, vehicleCount, speedSum, speedCount};
+    }
+}
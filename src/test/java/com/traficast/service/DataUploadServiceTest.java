@@ -0,0 +1,147 @@
+package com.traficast.service;
+
+import com.traficast.dto.DtoMapper;
+import com.traficast.dto.response.DataUploadResponse;
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.LocationRepository;
+import com.traficast.repository.TrafficDataBulkLoader;
+import com.traficast.repository.TrafficDataRepository;
+import com.traficast.util.RowRanges;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 청크 실패 후 retryRows 로 재시도하면 실패한 행만 다시 적재되는지와
+ * 일반 모드에서 이미 저장된 행을 건너뛰고 중복으로 집계하는지 검증
+ * 적재기는 mock 으로 두고 커밋된 측정 시간을 모아 중복 여부를 확인(저장소의 기존 행 조회도 이 목록으로 응답)
+ */
+class DataUploadServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 0, 0);
+
+    private final List<LocalDateTime> committed = new ArrayList<>();
+    private final AtomicInteger loadCalls = new AtomicInteger();
+    private int failingCall;
+
+    private DataUploadService service;
+
+    @BeforeEach
+    void setUp(){
+        TrafficDataBulkLoader bulkLoader = mock(TrafficDataBulkLoader.class);
+        when(bulkLoader.load(anyList())).thenAnswer(invocation -> {
+            List<TrafficData> chunk = invocation.getArgument(0);
+            if(loadCalls.incrementAndGet() == failingCall){
+                throw new DataAccessResourceFailureException("chunk failed");
+            }
+            chunk.forEach(data -> committed.add(data.getRecordedAt()));
+            return chunk.size();
+        });
+
+        Location location = Location.builder().locationName("강남역").latitude(37.5).longitude(127.0).build();
+        location.setId(1L);
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findById(any())).thenReturn(Optional.of(location));
+
+        TrafficDataRepository trafficDataRepository = mock(TrafficDataRepository.class);
+        when(trafficDataRepository.findRecordedAtByLocationIdAndRecordedAtIn(eq(1L), any())).thenAnswer(invocation -> {
+            Collection<LocalDateTime> recordedTimes = invocation.getArgument(1);
+            return committed.stream().filter(recordedTimes::contains).toList();
+        });
+        TrafficReadingDeduplicator deduplicator = new TrafficReadingDeduplicator(trafficDataRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(deduplicator, "windowHours", 168L);
+        ReflectionTestUtils.setField(deduplicator, "bucketHours", 24L);
+        ReflectionTestUtils.setField(deduplicator, "readingsPerHour", 120);
+        ReflectionTestUtils.setField(deduplicator, "capacityHeadroom", 1.5);
+        ReflectionTestUtils.setField(deduplicator, "falsePositiveRate", 0.01);
+
+        service = new DataUploadService(trafficDataRepository, bulkLoader, locationRepository, deduplicator,
+                new TrafficDataValidator(Validation.buildDefaultValidatorFactory().getValidator()), new DtoMapper());
+        ReflectionTestUtils.setField(service, "batchSize", 3);
+        ReflectionTestUtils.setField(service, "maxReportedFailures", 100);
+    }
+
+    @Test
+    void retryingFailedRowsDoesNotDuplicateCommittedChunks() throws IOException {
+        String csv = csv(10);
+        failingCall = 2; // 4~6행 청크 실패
+
+        DataUploadResponse first = upload(csv, RowRanges.all());
+
+        assertThat(first.getSuccessCount()).isEqualTo(7);
+        assertThat(first.getChunkFailures()).hasSize(1);
+        assertThat(first.getRetryRows()).isEqualTo("4-6");
+
+        failingCall = 0;
+        DataUploadResponse retry = upload(csv, RowRanges.parse(first.getRetryRows()));
+
+        assertThat(retry.getTotalCount()).isEqualTo(3);
+        assertThat(retry.getRetryRows()).isNull();
+        assertThat(committed).hasSize(10);
+        assertThat(new HashSet<>(committed)).hasSize(10);
+    }
+
+    @Test
+    void retryRangesExcludeRowsOutsideTheCurrentSelection() throws IOException {
+        String csv = csv(10);
+        failingCall = 1; // 1, 2, 5행으로 이루어진 첫 청크 실패(3~4행은 이번 업로드 대상 아님)
+
+        DataUploadResponse response = upload(csv, RowRanges.parse("1-2,5-8"));
+
+        assertThat(response.getChunkFailures().get(0).getStartRow()).isEqualTo(1);
+        assertThat(response.getChunkFailures().get(0).getEndRow()).isEqualTo(5);
+        assertThat(response.getRetryRows()).isEqualTo("1-2,5");
+    }
+
+    @Test
+    void plainUploadSkipsRowsThatAlreadyExist() throws IOException {
+        upload(csv(4), RowRanges.all());
+
+        // 1~4행은 이미 저장됨, 같은 파일 안의 중복 행(10행)도 건너뜀
+        DataUploadResponse response = upload(csv(9) + "1," + BASE + ":00,999,NORMAL\n", RowRanges.all());
+
+        assertThat(response.getChunkFailures()).isEmpty();
+        assertThat(response.getRetryRows()).isNull();
+        assertThat(response.getInsertedCount()).isEqualTo(5);
+        assertThat(response.getDuplicateCount()).isEqualTo(5);
+        assertThat(committed).hasSize(9);
+        assertThat(new HashSet<>(committed)).hasSize(9);
+    }
+
+    private DataUploadResponse upload(String csv, RowRanges rows) throws IOException {
+        return service.uploadTrafficDataCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                "test", false, rows, UploadProgressListener.NONE);
+    }
+
+    private static String csv(int rows){
+        StringBuilder csv = new StringBuilder("locationId,measuredAt,vehicleCount,congestionLevel\n");
+        for(int i = 0; i < rows; i++){
+            csv.append("1,").append(BASE.plusHours(i)).append(":00,").append(100 + i).append(",NORMAL\n");
+        }
+        return csv.toString();
+    }
+}
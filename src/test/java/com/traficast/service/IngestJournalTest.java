@@ -0,0 +1,175 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.TrafficData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임시 디렉터리에 저널을 기록하고 새 인스턴스로 다시 열어 재적재 결과를 검증
+ * 세그먼트 크기를 256바이트(레코드 43바이트, 세그먼트당 5건)로 줄여 세그먼트 교체를 확인
+ */
+class IngestJournalTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    private final List<DataUploadRequest.TrafficDataEntry> replayed = new ArrayList<>();
+
+    @Test
+    void replaysEveryFieldAfterRestart(){
+        IngestJournal journal = start();
+        DataUploadRequest.TrafficDataEntry full = DataUploadRequest.TrafficDataEntry.builder()
+                .locationId(7L)
+                .measuredAt(BASE.withNano(123_000_000))
+                .vehicleCount(120)
+                .averageSpeed(45.5)
+                .congestionLevel(TrafficData.CongestionLevel.CONGESTED)
+                .weatherCondition("비")
+                .temperature(-3.5)
+                .humidity(80.0)
+                .visibility(1.2)
+                .isHoliday(false)
+                .dayOfWeek(1)
+                .hourOfDay(8)
+                .build();
+        DataUploadRequest.TrafficDataEntry minimal = DataUploadRequest.TrafficDataEntry.builder()
+                .locationId(8L)
+                .measuredAt(BASE)
+                .vehicleCount(0)
+                .isHoliday(true)
+                .build();
+        journal.append(full);
+        journal.append(minimal);
+        journal.close();
+
+        assertThat(open().recover(100, replayed::addAll)).isEqualTo(2);
+        assertThat(replayed).containsExactly(full, minimal);
+    }
+
+    @Test
+    void ignoresTornRecordAtTail() throws IOException {
+        IngestJournal journal = start();
+        append(journal, 3);
+        journal.close();
+
+        // 마지막 레코드 payload 한 바이트를 바꿔 CRC 가 맞지 않게 함
+        try(RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")){
+            file.seek(43 * 2 + 20);
+            file.write(0x7F);
+        }
+
+        assertThat(open().recover(100, replayed::addAll)).isEqualTo(2);
+        assertThat(replayed).extracting(DataUploadRequest.TrafficDataEntry::getVehicleCount).containsExactly(0, 1);
+    }
+
+    @Test
+    void rollsSegmentWhenFull() throws IOException {
+        IngestJournal journal = start();
+        append(journal, 12);
+        journal.close();
+
+        assertThat(segments()).hasSize(3);
+        assertThat(open().recover(5, replayed::addAll)).isEqualTo(12);
+        assertThat(replayed).extracting(DataUploadRequest.TrafficDataEntry::getVehicleCount)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    void checkpointDeletesSegmentsAndLimitsReplay() throws IOException {
+        IngestJournal journal = start();
+        List<Long> positions = append(journal, 12);
+
+        // 11번째 레코드(세 번째 세그먼트)까지 저장됨
+        journal.checkpoint(positions.get(10));
+        journal.close();
+
+        assertThat(segments()).hasSize(1);
+        assertThat(open().recover(100, replayed::addAll)).isEqualTo(1);
+        assertThat(replayed).extracting(DataUploadRequest.TrafficDataEntry::getVehicleCount).containsExactly(11);
+    }
+
+    @Test
+    void quarantinesSegmentsWhenReplayKeepsFailing() throws IOException {
+        IngestJournal journal = start();
+        append(journal, 7);
+        journal.close();
+
+        IngestJournal restarted = open();
+        long count = restarted.recover(100, chunk -> {
+            throw new IllegalStateException("DB 연결 실패");
+        });
+
+        assertThat(count).isZero();
+        assertThat(restarted.isEnabled()).isTrue();
+        try(Stream<Path> files = Files.list(directory.resolve("quarantine"))){
+            assertThat(files).hasSize(2);
+        }
+        // 새 세그먼트로 계속 기록
+        append(restarted, 1);
+        restarted.close();
+        assertThat(open().recover(100, replayed::addAll)).isEqualTo(1);
+    }
+
+    @Test
+    void startsWithoutJournalWhenDirectoryCannotBeOpened() throws IOException {
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+        IngestJournal journal = open();
+        ReflectionTestUtils.setField(journal, "directory", file.toString());
+
+        assertThat(journal.recover(100, replayed::addAll)).isZero();
+        assertThat(journal.isEnabled()).isFalse();
+    }
+
+    // 빈 디렉터리에서 시작한 저널
+    private IngestJournal start(){
+        IngestJournal journal = open();
+        journal.recover(100, chunk -> { });
+        return journal;
+    }
+
+    // 같은 디렉터리를 여는 새 인스턴스(재시작), recover 는 호출하는 쪽에서
+    private IngestJournal open(){
+        IngestJournal journal = new IngestJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeBytes", 256);
+        ReflectionTestUtils.setField(journal, "replayRetries", 1);
+        ReflectionTestUtils.setField(journal, "replayRetryBackoffMs", 1L);
+        return journal;
+    }
+
+    private List<Long> append(IngestJournal journal, int count){
+        List<Long> positions = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            positions.add(journal.append(DataUploadRequest.TrafficDataEntry.builder()
+                    .locationId(1L)
+                    .measuredAt(BASE.plusMinutes(i))
+                    .vehicleCount(i)
+                    .averageSpeed(40.0)
+                    .congestionLevel(TrafficData.CongestionLevel.NORMAL)
+                    .build()));
+        }
+        return positions;
+    }
+
+    private List<Path> segments() throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
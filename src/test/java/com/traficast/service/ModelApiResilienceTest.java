@@ -0,0 +1,210 @@
+package com.traficast.service;
+
+import com.traficast.exception.ModelApiException;
+import com.traficast.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 전송 계층은 시도마다 Future 를 돌려주는 함수로 대신하고
+ * 재시도 예산, 전체 기한, 헤지 요청, 서킷 브레이커 동작을 검증
+ */
+class ModelApiResilienceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ModelApiResilience resilience;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp(){
+        meterRegistry = new SimpleMeterRegistry();
+        resilience = new ModelApiResilience(meterRegistry);
+        ReflectionTestUtils.setField(resilience, "attemptTimeoutSeconds", 5);
+        ReflectionTestUtils.setField(resilience, "retryCount", 3);
+        ReflectionTestUtils.setField(resilience, "deadlineMs", 10000L);
+        ReflectionTestUtils.setField(resilience, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(resilience, "maxBackoffMs", 2L);
+        ReflectionTestUtils.setField(resilience, "retryBudgetRatio", 0.2);
+        ReflectionTestUtils.setField(resilience, "retryBudgetMaxTokens", 10.0);
+        ReflectionTestUtils.setField(resilience, "circuitWindowSize", 20);
+        ReflectionTestUtils.setField(resilience, "circuitMinimumCalls", 10);
+        ReflectionTestUtils.setField(resilience, "circuitFailureRateThreshold", 0.5);
+        ReflectionTestUtils.setField(resilience, "circuitOpenDurationMs", 60000L);
+        ReflectionTestUtils.setField(resilience, "circuitHalfOpenPermits", 1);
+        ReflectionTestUtils.setField(resilience, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(resilience, "hedgePercentile", 0.95);
+        ReflectionTestUtils.setField(resilience, "hedgeMinDelayMs", 20L);
+        ReflectionTestUtils.setField(resilience, "hedgeMinSamples", 1);
+    }
+
+    @Test
+    void retriesUntilSuccess() throws Exception {
+        resilience.init();
+
+        String result = resilience.execute(() -> calls.incrementAndGet() < 3
+                ? CompletableFuture.<String>failedFuture(serverError())
+                : CompletableFuture.completedFuture("ok")).get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("model.api.retries").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void stopsRetryingWhenBudgetIsExhausted(){
+        // 토큰 1개로 시작하고 호출해도 쌓이지 않으므로 재시도는 한 번만 가능
+        ReflectionTestUtils.setField(resilience, "retryBudgetRatio", 0.0);
+        ReflectionTestUtils.setField(resilience, "retryBudgetMaxTokens", 1.0);
+        ReflectionTestUtils.setField(resilience, "retryCount", 5);
+        resilience.init();
+
+        assertFailsWith(resilience.execute(this::alwaysFails), ModelApiException.class);
+        assertThat(calls.get()).isEqualTo(2);
+
+        // 다음 호출은 재시도 없이 바로 실패
+        assertFailsWith(resilience.execute(this::alwaysFails), ModelApiException.class);
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("model.api.retries").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("model.api.retries.budget-exhausted").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void doesNotRetryNonRetryableErrors(){
+        resilience.init();
+
+        assertFailsWith(resilience.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(ModelApiException.httpError(400, "잘못된 요청", null));
+        }), ModelApiException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void deadlineCutsOffBackoff(){
+        // 첫 백오프(500 ~ 1000ms)가 전체 기한(100ms)을 넘으므로 기다리지 않고 바로 실패
+        ReflectionTestUtils.setField(resilience, "deadlineMs", 100L);
+        ReflectionTestUtils.setField(resilience, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(resilience, "maxBackoffMs", 2000L);
+        resilience.init();
+
+        long startNanos = System.nanoTime();
+        assertFailsWith(resilience.execute(this::alwaysFails), ModelApiException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(500);
+        assertThat(meterRegistry.counter("model.api.retries").count()).isZero();
+    }
+
+    @Test
+    void deadlineCutsOffSlowAttempt(){
+        ReflectionTestUtils.setField(resilience, "deadlineMs", 100L);
+        resilience.init();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+        long startNanos = System.nanoTime();
+        assertFailsWith(resilience.execute(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        }), ModelApiException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isLessThan(2000);
+        assertThat(attempts).isNotEmpty().allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    void hedgeFiresAfterDelayAndCancelsLoser() throws Exception {
+        ReflectionTestUtils.setField(resilience, "hedgeEnabled", true);
+        resilience.init();
+        // 지연 표본 1건을 쌓아 헤지 기준(hedge.min-delay-ms 20ms)을 만듦
+        assertThat(resilience.execute(() -> CompletableFuture.completedFuture("warm-up")).get()).isEqualTo("warm-up");
+
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        long startNanos = System.nanoTime();
+        String result = resilience.execute(() -> {
+            // 첫 요청은 응답하지 않고, 헤지 요청은 바로 응답
+            CompletableFuture<String> attempt = attempts.isEmpty()
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture("hedge");
+            attempts.add(attempt);
+            return attempt;
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)).isGreaterThanOrEqualTo(20);
+        assertThat(attempts).hasSize(2);
+        // 취소와 지표 기록은 결과 완료 직후 같은 스레드에서 이어지므로 잠시 기다림
+        awaitUntil(() -> attempts.get(0).isCancelled()
+                && meterRegistry.counter("model.api.hedges", "result", "launched").count() == 1.0
+                && meterRegistry.counter("model.api.hedges", "result", "won").count() == 1.0);
+        // 헤지 경쟁에서 진 시도는 실패로 집계하지 않음
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void openCircuitShortCircuitsCalls(){
+        ReflectionTestUtils.setField(resilience, "retryCount", 0);
+        ReflectionTestUtils.setField(resilience, "circuitWindowSize", 4);
+        ReflectionTestUtils.setField(resilience, "circuitMinimumCalls", 2);
+        resilience.init();
+
+        assertFailsWith(resilience.execute(this::alwaysFails), ModelApiException.class);
+        assertFailsWith(resilience.execute(this::alwaysFails), ModelApiException.class);
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        CompletableFuture<String> rejected = resilience.execute(this::alwaysFails);
+        assertThatThrownBy(rejected::get)
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(ModelApiException.class, e -> assertThat(e.isCircuitOpen()).isTrue());
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("model.api.circuit.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void executeBlockingUnwrapsFailure(){
+        ReflectionTestUtils.setField(resilience, "retryCount", 0);
+        resilience.init();
+
+        assertThat(resilience.executeBlocking(() -> "ok")).isEqualTo("ok");
+        assertThatThrownBy(() -> resilience.executeBlocking(() -> {
+            throw serverError();
+        })).isInstanceOf(ModelApiException.class).hasMessageContaining("서버 오류");
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(!condition.getAsBoolean() && System.nanoTime() < deadline){
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private CompletableFuture<String> alwaysFails(){
+        calls.incrementAndGet();
+        return CompletableFuture.failedFuture(serverError());
+    }
+
+    private static ModelApiException serverError(){
+        return ModelApiException.httpError(503, "서버 오류", null);
+    }
+
+    private static void assertFailsWith(CompletableFuture<?> future, Class<? extends Throwable> type){
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(type);
+    }
+}
@@ -0,0 +1,115 @@
+package com.traficast.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.TrafficData;
+import com.traficast.util.PredictionSeries;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModelResponseDecoderTest {
+
+    private final ModelResponseDecoder decoder = new ModelResponseDecoder(new ObjectMapper());
+
+    @Test
+    void decodesPredictionsAndSkipsUnknownFields() throws IOException {
+        List<ModelPredictionResult.Prediction> predictions = decode("""
+                {"requestId":"req-1","meta":{"latencyMs":12,"tags":["a","b"]},
+                 "predictions":[
+                   {"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+                    "predictedCongestionLevel":"normal","confidenceScore":0.85,"explain":{"x":[1,2]}},
+                   {"locationId":2,"predictedVehicleCount":30,"predictedSpeed":60,
+                    "predictedCongestionLevel":"SMOOTH","confidenceScore":1}
+                 ]}
+                """);
+
+        assertThat(predictions).hasSize(2);
+        ModelPredictionResult.Prediction first = predictions.get(0);
+        assertThat(first.getLocationId()).isEqualTo(1L);
+        assertThat(first.getPredictedVehicleCount()).isEqualTo(120);
+        assertThat(first.getPredictedSpeed()).isEqualTo(45.5);
+        assertThat(first.getPredictedCongestionLevel()).isEqualTo(TrafficData.CongestionLevel.NORMAL);
+        assertThat(first.getConfidenceScore()).isEqualTo(0.85);
+        assertThat(predictions.get(1).getPredictedSpeed()).isEqualTo(60.0);
+    }
+
+    @Test
+    void failsWhenRequiredFieldIsMissing(){
+        assertThatThrownBy(() -> decode("""
+                {"predictions":[{"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+                                 "predictedCongestionLevel":"NORMAL"}]}
+                """))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("predictions[0]")
+                .hasMessageContaining("confidenceScore");
+    }
+
+    @Test
+    void failsWhenFieldTypeChanges(){
+        assertThatThrownBy(() -> decode("""
+                {"predictions":[{"locationId":"1","predictedVehicleCount":120,"predictedSpeed":45.5,
+                                 "predictedCongestionLevel":"NORMAL","confidenceScore":0.9}]}
+                """))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("locationId");
+    }
+
+    @Test
+    void failsOnUnknownCongestionLevel(){
+        assertThatThrownBy(() -> decode("""
+                {"predictions":[{"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+                                 "predictedCongestionLevel":"GRIDLOCK","confidenceScore":0.9}]}
+                """))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("GRIDLOCK");
+    }
+
+    @Test
+    void decodesMultiHorizonPredictions() throws IOException {
+        ModelPredictionResult.Prediction prediction = decode("""
+                {"predictions":[{"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+                                 "predictedCongestionLevel":"NORMAL","confidenceScore":0.85,
+                                 "horizon":{"stepMinutes":60,"vehicleCounts":[120,140,90],"speeds":[45.5,30,60.2],
+                                            "congestionLevels":["NORMAL","slow","SMOOTH"],"confidences":[0.85,0.8,0.75]}}]}
+                """).get(0);
+
+        PredictionSeries horizon = prediction.getHorizon();
+        assertThat(horizon.size()).isEqualTo(3);
+        assertThat(horizon.getStepMinutes()).isEqualTo(60);
+        assertThat(horizon.getVehicleCount(1)).isEqualTo(140);
+        assertThat(horizon.getSpeed(2)).isEqualTo(60.2);
+        assertThat(horizon.getCongestionLevel(1)).isEqualTo(TrafficData.CongestionLevel.SLOW);
+        assertThat(horizon.getConfidence(2)).isEqualTo(0.75);
+    }
+
+    @Test
+    void failsWhenHorizonArraysDifferInLength(){
+        assertThatThrownBy(() -> decode("""
+                {"predictions":[{"locationId":1,"predictedVehicleCount":120,"predictedSpeed":45.5,
+                                 "predictedCongestionLevel":"NORMAL","confidenceScore":0.85,
+                                 "horizon":{"stepMinutes":60,"vehicleCounts":[120,140],"speeds":[45.5],
+                                            "congestionLevels":["NORMAL","SLOW"],"confidences":[0.85,0.8]}}]}
+                """))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("predictions[0].horizon");
+    }
+
+    @Test
+    void failsWhenPredictionsArrayIsMissing(){
+        assertThatThrownBy(() -> decode("{\"result\":[]}"))
+                .isInstanceOf(JsonParseException.class)
+                .hasMessageContaining("predictions");
+    }
+
+    private List<ModelPredictionResult.Prediction> decode(String json) throws IOException {
+        return decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 2);
+    }
+}
@@ -0,0 +1,152 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.entity.ModelConfig;
+import com.traficast.entity.PredictionHistory;
+import com.traficast.entity.TrafficData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 모델 API 는 mock 으로 두고 요청 묶기/결과 나누기를 검증
+ */
+class PredictionBatcherTest {
+
+    private static final LocalDateTime TARGET = LocalDateTime.now().plusHours(1).withMinute(0).withSecond(0).withNano(0);
+    private static final ModelConfig MODEL = ModelConfig.builder().modelName("test").modelVersion("1.0.0").build();
+
+    private ModelApiService modelApiService;
+    private PredictionBatcher batcher;
+    private final CompletableFuture<ModelPredictionResult> modelCall = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp(){
+        modelApiService = mock(ModelApiService.class);
+        when(modelApiService.requestPredictionFromModelAsync(any(), any())).thenReturn(modelCall);
+
+        batcher = new PredictionBatcher(modelApiService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "enabled", true);
+        ReflectionTestUtils.setField(batcher, "maxDelayMs", 50L);
+        ReflectionTestUtils.setField(batcher, "maxLocations", 4);
+        batcher.init();
+    }
+
+    @AfterEach
+    void tearDown(){
+        batcher.stop();
+    }
+
+    @Test
+    void mergesCompatibleRequestsIntoOneCallAndScattersResults() throws Exception {
+        CompletableFuture<ModelPredictionResult> first = batcher.requestAsync(request(List.of(1L), null), MODEL);
+        CompletableFuture<ModelPredictionResult> second = batcher.requestAsync(request(List.of(2L, 3L), null), MODEL);
+
+        ArgumentCaptor<PredictionRequest> merged = ArgumentCaptor.forClass(PredictionRequest.class);
+        verify(modelApiService, timeout(1000)).requestPredictionFromModelAsync(merged.capture(), eq(MODEL));
+        assertThat(merged.getValue().getLocationIds()).containsExactly(1L, 2L, 3L);
+
+        modelCall.complete(result(1L, 2L, 3L));
+
+        assertThat(first.get(1, TimeUnit.SECONDS).getPredictions())
+                .extracting(ModelPredictionResult.Prediction::getLocationId).containsExactly(1L);
+        assertThat(second.get(1, TimeUnit.SECONDS).getPredictions())
+                .extracting(ModelPredictionResult.Prediction::getLocationId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void sendsImmediatelyWhenBatchReachesMaxLocations(){
+        batcher.requestAsync(request(List.of(1L, 2L), null), MODEL);
+        batcher.requestAsync(request(List.of(3L, 4L), null), MODEL);
+
+        // 지연 시간(50ms)을 기다리지 않고 추가한 스레드에서 바로 호출
+        verify(modelApiService).requestPredictionFromModelAsync(any(), any());
+    }
+
+    @Test
+    void neverMergesPastMaxLocations(){
+        batcher.requestAsync(request(List.of(1L, 2L, 3L), null), MODEL);
+        batcher.requestAsync(request(List.of(4L, 5L, 6L), null), MODEL);
+
+        // 합치면 6개라 첫 묶음은 두 번째 요청이 올 때 바로 보내고, 두 번째 요청은 새 묶음으로 보냄
+        ArgumentCaptor<PredictionRequest> calls = ArgumentCaptor.forClass(PredictionRequest.class);
+        verify(modelApiService, timeout(1000).times(2)).requestPredictionFromModelAsync(calls.capture(), eq(MODEL));
+        assertThat(calls.getAllValues()).extracting(PredictionRequest::getLocationIds)
+                .containsExactly(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L));
+    }
+
+    @Test
+    void keepsRequestsWithDifferentEnvironmentFactorsApart(){
+        batcher.requestAsync(request(List.of(1L), null), MODEL);
+        batcher.requestAsync(request(List.of(2L), "비"), MODEL);
+
+        verify(modelApiService, timeout(1000).times(2)).requestPredictionFromModelAsync(any(), any());
+    }
+
+    @Test
+    void largeRequestBypassesBatching(){
+        PredictionRequest large = request(List.of(1L, 2L, 3L, 4L, 5L), null);
+
+        batcher.requestAsync(large, MODEL);
+
+        verify(modelApiService, times(1)).requestPredictionFromModelAsync(large, MODEL);
+    }
+
+    @Test
+    void failureIsDeliveredToEveryMergedRequest(){
+        CompletableFuture<ModelPredictionResult> first = batcher.requestAsync(request(List.of(1L, 2L), null), MODEL);
+        CompletableFuture<ModelPredictionResult> second = batcher.requestAsync(request(List.of(3L, 4L), null), MODEL);
+        verify(modelApiService).requestPredictionFromModelAsync(any(), any());
+
+        modelCall.completeExceptionally(new IllegalStateException("model down"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+    }
+
+    @Test
+    void cancelsModelCallWhenAllMergedRequestsAreCancelled(){
+        CompletableFuture<ModelPredictionResult> first = batcher.requestAsync(request(List.of(1L, 2L), null), MODEL);
+        CompletableFuture<ModelPredictionResult> second = batcher.requestAsync(request(List.of(3L, 4L), null), MODEL);
+        verify(modelApiService).requestPredictionFromModelAsync(any(), any());
+
+        first.cancel(true);
+        assertThat(modelCall).isNotCancelled();
+        second.cancel(true);
+        assertThat(modelCall).isCancelled();
+    }
+
+    private static PredictionRequest request(List<Long> locationIds, String expectedWeather){
+        return PredictionRequest.builder()
+                .locationIds(locationIds)
+                .targetDatetime(TARGET)
+                .predictionType(PredictionHistory.PredictionType.HOURLY)
+                .expectedWeather(expectedWeather)
+                .build();
+    }
+
+    private static ModelPredictionResult result(Long... locationIds){
+        return new ModelPredictionResult("1.0.0", "test", Arrays.stream(locationIds)
+                .map(id -> new ModelPredictionResult.Prediction(id, 100, 50.0, TrafficData.CongestionLevel.SMOOTH, 0.9))
+                .toList());
+    }
+}
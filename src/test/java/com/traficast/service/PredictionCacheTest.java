@@ -0,0 +1,132 @@
+package com.traficast.service;
+
+import com.traficast.dto.response.PredictionResponse;
+import com.traficast.entity.PredictionHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LRU/TTL 제거, 커밋 후 저장, 진행 중인 호출 공유와 정리를 검증
+ * 트랜잭션은 TransactionSynchronizationManager 를 직접 초기화하고 콜백을 호출해 흉내 냄
+ */
+class PredictionCacheTest {
+
+    private static final LocalDateTime TARGET = LocalDateTime.of(2024, 1, 15, 9, 0);
+
+    private PredictionCache cache;
+
+    @BeforeEach
+    void setUp(){
+        cache = cache(3, 10);
+    }
+
+    @AfterEach
+    void tearDown(){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry(){
+        cache.put(key(1L), response(1L));
+        cache.put(key(2L), response(2L));
+        cache.put(key(3L), response(3L));
+        cache.get(key(1L)); // 1번을 최근 사용으로
+
+        cache.put(key(4L), response(4L));
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(key(2L))).isNull();
+        assertThat(cache.get(key(1L))).isNotNull();
+        assertThat(cache.getStatus().getSizeEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl(){
+        PredictionCache expiring = cache(10, 0);
+        expiring.put(key(1L), response(1L));
+
+        assertThat(expiring.get(key(1L))).isNull();
+        assertThat(expiring.size()).isZero();
+        assertThat(expiring.getStatus().getExpiredEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void separatesMinimumConfidence(){
+        PredictionCache.Key relaxed = new PredictionCache.Key(1L, TARGET,
+                PredictionHistory.PredictionType.HOURLY, 0.5, "2.0.0");
+        PredictionCache.Key strict = new PredictionCache.Key(1L, TARGET,
+                PredictionHistory.PredictionType.HOURLY, 0.9, "2.0.0");
+        cache.put(relaxed, response(1L));
+
+        assertThat(cache.get(strict)).isNull();
+        assertThat(cache.get(relaxed)).isNotNull();
+    }
+
+    @Test
+    void putsOnlyAfterCommit(){
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAllAfterCommit(Map.of(key(1L), response(1L)));
+
+        assertThat(cache.get(key(1L))).isNull();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.get(key(1L))).isNotNull();
+    }
+
+    @Test
+    void skipsPutOnRollback(){
+        TransactionSynchronizationManager.initSynchronization();
+        cache.putAllAfterCommit(Map.of(key(1L), response(1L)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(cache.get(key(1L))).isNull();
+    }
+
+    @Test
+    void sharesInFlightCallUntilTransactionCompletes(){
+        CompletableFuture<PredictionResponse> leader = new CompletableFuture<>();
+        assertThat(cache.joinInFlight(key(1L), leader)).isNull();
+        assertThat(cache.joinInFlight(key(1L), new CompletableFuture<>())).isSameAs(leader);
+        assertThat(cache.joinInFlight(key(2L), new CompletableFuture<>())).isNull();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.releaseInFlightAfterCompletion(Map.of(key(1L), leader));
+        assertThat(cache.getStatus().getInFlightCount()).isEqualTo(2);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(cache.getStatus().getInFlightCount()).isEqualTo(1);
+        assertThat(cache.getStatus().getSharedInFlightCount()).isEqualTo(1);
+        assertThat(cache.joinInFlight(key(1L), new CompletableFuture<>())).isNull();
+    }
+
+    private static PredictionCache cache(int maxSize, long ttlMinutes){
+        PredictionCache cache = new PredictionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", ttlMinutes);
+        cache.init();
+        return cache;
+    }
+
+    private static PredictionCache.Key key(Long locationId){
+        return new PredictionCache.Key(locationId, TARGET, PredictionHistory.PredictionType.HOURLY, null, "2.0.0");
+    }
+
+    private static PredictionResponse response(Long predictionId){
+        return PredictionResponse.builder().predictionId(predictionId).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.dto.response.SensorConnectionResponse;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 로컬 소켓 클라이언트로 수신기를 검증(임의 포트 사용, DB 없이 쓰기 버퍼는 mock)
+ */
+class SensorFeedListenerTest {
+
+    private TrafficWriteBuffer trafficWriteBuffer;
+    private SensorFeedListener listener;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        trafficWriteBuffer = mock(TrafficWriteBuffer.class);
+        when(trafficWriteBuffer.offer(any())).thenReturn(TrafficWriteBuffer.OfferResult.ACCEPTED);
+
+        listener = new SensorFeedListener(trafficWriteBuffer,
+                new TrafficDataValidator(Validation.buildDefaultValidatorFactory().getValidator()));
+        ReflectionTestUtils.setField(listener, "bindAddress", "127.0.0.1");
+        ReflectionTestUtils.setField(listener, "tcpPort", 0);
+        ReflectionTestUtils.setField(listener, "udpPort", 0);
+        ReflectionTestUtils.setField(listener, "maxLineLength", 256);
+        ReflectionTestUtils.setField(listener, "backpressurePauseMs", 20L);
+        ReflectionTestUtils.setField(listener, "udpSourceIdleMinutes", 10L);
+        listener.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listener.stop();
+    }
+
+    @Test
+    void tcpLinesAreDecodedAndCountedPerConnection() throws Exception {
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), listener.getTcpPort())){
+            OutputStream out = socket.getOutputStream();
+            // 줄이 패킷 경계에 걸쳐도 이어서 처리되어야 함
+            out.write("1,2024-01-15T14:30:00,120,NORMAL,45.5\n2,2024-01-15T14:30:00,8".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            out.write("0,SMOOTH\r\nnot-a-reading\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            ArgumentCaptor<DataUploadRequest.TrafficDataEntry> captor =
+                    ArgumentCaptor.forClass(DataUploadRequest.TrafficDataEntry.class);
+            verify(trafficWriteBuffer, timeout(2000).times(2)).offer(captor.capture());
+            assertThat(captor.getAllValues()).extracting(DataUploadRequest.TrafficDataEntry::getVehicleCount)
+                    .containsExactly(120, 80);
+
+            SensorConnectionResponse connection = awaitConnection("TCP", 3);
+            assertThat(connection.getLinesAccepted()).isEqualTo(2);
+            assertThat(connection.getLinesRejected()).isEqualTo(1);
+            assertThat(connection.getBytesReceived()).isPositive();
+        }
+    }
+
+    @Test
+    void tcpReadingPausesWhileBufferIsFull() throws Exception {
+        when(trafficWriteBuffer.offer(any()))
+                .thenReturn(TrafficWriteBuffer.OfferResult.BUFFER_FULL)
+                .thenReturn(TrafficWriteBuffer.OfferResult.ACCEPTED);
+
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), listener.getTcpPort())){
+            socket.getOutputStream().write("1,2024-01-15T14:30:00,10,SLOW\n".getBytes(StandardCharsets.US_ASCII));
+            socket.getOutputStream().flush();
+
+            // 포화로 거절된 줄은 버려지지 않고 재개 후 다시 전달됨
+            verify(trafficWriteBuffer, timeout(2000).times(2)).offer(any());
+            SensorConnectionResponse connection = awaitConnection("TCP", 2);
+            assertThat(connection.getLinesThrottled()).isEqualTo(1);
+            assertThat(connection.getLinesAccepted()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void udpDatagramMayCarryMultipleLines() throws Exception {
+        byte[] payload = "1,2024-01-15T14:30:00,10,SLOW\n2,2024-01-15T14:30:00,20,CONGESTED"
+                .getBytes(StandardCharsets.US_ASCII);
+
+        try(DatagramSocket socket = new DatagramSocket()){
+            socket.send(new DatagramPacket(payload, payload.length, InetAddress.getLoopbackAddress(), listener.getUdpPort()));
+        }
+
+        verify(trafficWriteBuffer, timeout(2000).times(2)).offer(any());
+        assertThat(awaitConnection("UDP", 2).getLinesAccepted()).isEqualTo(2);
+    }
+
+    /**
+     * 통계는 offer 이후에 갱신되므로 기대 건수에 도달할 때까지 잠시 대기
+     */
+    private SensorConnectionResponse awaitConnection(String protocol, long expectedLines) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while(true){
+            List<SensorConnectionResponse> connections = listener.getConnections();
+            SensorConnectionResponse connection = connections.stream()
+                    .filter(c -> c.getProtocol().equals(protocol))
+                    .findFirst()
+                    .orElse(null);
+            if(connection != null && (connection.getLinesAccepted() + connection.getLinesRejected()
+                    + connection.getLinesThrottled() >= expectedLines || System.currentTimeMillis() > deadline)){
+                return connection;
+            }
+            if(System.currentTimeMillis() > deadline){
+                throw new AssertionError(protocol + " 연결 통계가 없습니다: " + connections);
+            }
+            Thread.sleep(10);
+        }
+    }
+}
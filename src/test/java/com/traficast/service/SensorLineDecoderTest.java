@@ -0,0 +1,79 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.TrafficData;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SensorLineDecoderTest {
+
+    @Test
+    void decodesAllFields(){
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        int violations = decode("1024,2024-01-15T14:30:00,120,normal,45.5\r", entry);
+
+        assertThat(violations).isZero();
+        assertThat(entry.getLocationId()).isEqualTo(1024L);
+        assertThat(entry.getMeasuredAt()).isEqualTo(LocalDateTime.of(2024, 1, 15, 14, 30, 0));
+        assertThat(entry.getVehicleCount()).isEqualTo(120);
+        assertThat(entry.getCongestionLevel()).isEqualTo(TrafficData.CongestionLevel.NORMAL);
+        assertThat(entry.getAverageSpeed()).isEqualTo(45.5);
+    }
+
+    @Test
+    void averageSpeedIsOptional(){
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        assertThat(decode("7,2024-01-15 14:30:00,0,SMOOTH", entry)).isZero();
+        assertThat(entry.getAverageSpeed()).isNull();
+    }
+
+    @Test
+    void reportsFormatViolationsWithoutThrowing(){
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        int violations = decode("x1,2024-02-30T00:00:00,-5,JAMMED,fast", entry);
+
+        assertThat(TrafficDataValidator.decode(violations)).containsExactly(
+                TrafficDataValidator.Violation.LOCATION_ID_FORMAT,
+                TrafficDataValidator.Violation.MEASURED_AT_FORMAT,
+                TrafficDataValidator.Violation.VEHICLE_COUNT_FORMAT,
+                TrafficDataValidator.Violation.CONGESTION_LEVEL_FORMAT,
+                TrafficDataValidator.Violation.NUMBER_FORMAT);
+    }
+
+    @Test
+    void missingFieldsAreLeftForValidator(){
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        assertThat(decode("7,2024-01-15T14:30:00", entry)).isZero();
+
+        int violations = new TrafficDataValidator(Validation.buildDefaultValidatorFactory().getValidator())
+                .validate(entry, LocalDateTime.of(2025, 1, 1, 0, 0));
+        assertThat(TrafficDataValidator.decode(violations)).containsExactly(
+                TrafficDataValidator.Violation.VEHICLE_COUNT_REQUIRED,
+                TrafficDataValidator.Violation.CONGESTION_LEVEL_REQUIRED);
+    }
+
+    @Test
+    void decodesLineInsideLargerBuffer(){
+        byte[] bytes = "garbage\n3,2024-01-15T14:30:00,9,SLOW\nmore".getBytes(StandardCharsets.US_ASCII);
+        DataUploadRequest.TrafficDataEntry entry = new DataUploadRequest.TrafficDataEntry();
+
+        assertThat(SensorLineDecoder.decode(ByteBuffer.wrap(bytes), 8, 35, entry)).isZero();
+        assertThat(entry.getLocationId()).isEqualTo(3L);
+        assertThat(entry.getCongestionLevel()).isEqualTo(TrafficData.CongestionLevel.SLOW);
+    }
+
+    private int decode(String line, DataUploadRequest.TrafficDataEntry entry){
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        return SensorLineDecoder.decode(ByteBuffer.wrap(bytes), 0, bytes.length, entry);
+    }
+}
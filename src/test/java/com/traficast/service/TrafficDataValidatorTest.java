@@ -0,0 +1,142 @@
+package com.traficast.service;
+
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.TrafficData;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bean Validation 제약에서 만든 규칙이 위반 코드를 올바르게 내는지와
+ * 같은 항목에 대해 Validator 의 판정과 일치하는지 검증
+ */
+class TrafficDataValidatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 12, 0);
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final TrafficDataValidator validator = new TrafficDataValidator(beanValidator);
+
+    @Test
+    void acceptsValidEntry(){
+        assertThat(validator.validate(valid(), NOW)).isZero();
+    }
+
+    @Test
+    void reportsMissingRequiredFields(){
+        int violations = validator.validate(new DataUploadRequest.TrafficDataEntry(), NOW);
+
+        assertThat(TrafficDataValidator.decode(violations)).containsExactly(
+                TrafficDataValidator.Violation.LOCATION_ID_REQUIRED,
+                TrafficDataValidator.Violation.MEASURED_AT_REQUIRED,
+                TrafficDataValidator.Violation.VEHICLE_COUNT_REQUIRED,
+                TrafficDataValidator.Violation.CONGESTION_LEVEL_REQUIRED);
+    }
+
+    @Test
+    void checksBoundsFromConstraints(){
+        assertViolation(entry -> entry.setLocationId(0L), TrafficDataValidator.Violation.LOCATION_ID_NOT_POSITIVE);
+        assertViolation(entry -> entry.setVehicleCount(10001), TrafficDataValidator.Violation.VEHICLE_COUNT_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setVehicleCount(-1), TrafficDataValidator.Violation.VEHICLE_COUNT_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setAverageSpeed(200.1), TrafficDataValidator.Violation.AVERAGE_SPEED_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setAverageSpeed(Double.NaN), TrafficDataValidator.Violation.AVERAGE_SPEED_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setTemperature(-50.5), TrafficDataValidator.Violation.TEMPERATURE_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setHumidity(100.5), TrafficDataValidator.Violation.HUMIDITY_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setVisibility(-0.1), TrafficDataValidator.Violation.VISIBILITY_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setDayOfWeek(0), TrafficDataValidator.Violation.DAY_OF_WEEK_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setHourOfDay(24), TrafficDataValidator.Violation.HOUR_OF_DAY_OUT_OF_RANGE);
+        assertViolation(entry -> entry.setWeatherCondition("폭우"), TrafficDataValidator.Violation.WEATHER_CONDITION_INVALID);
+    }
+
+    @Test
+    void acceptsInclusiveBoundaries(){
+        DataUploadRequest.TrafficDataEntry entry = valid();
+        entry.setVehicleCount(10000);
+        entry.setAverageSpeed(0.0);
+        entry.setTemperature(60.0);
+        entry.setDayOfWeek(7);
+        entry.setHourOfDay(0);
+        entry.setMeasuredAt(NOW);
+
+        assertThat(validator.validate(entry, NOW)).isZero();
+    }
+
+    @Test
+    void usesUploadStartAsNow(){
+        DataUploadRequest.TrafficDataEntry entry = valid();
+        entry.setMeasuredAt(NOW.plusSeconds(1));
+
+        assertThat(TrafficDataValidator.decode(validator.validate(entry, NOW)))
+                .containsExactly(TrafficDataValidator.Violation.MEASURED_AT_IN_FUTURE);
+        assertThat(validator.validate(entry, NOW.plusMinutes(1))).isZero();
+    }
+
+    @Test
+    void agreesWithBeanValidation(){
+        // 측정 시간은 두 검증 모두 과거가 되도록 고정하고 나머지 값으로 비교
+        List<Consumer<DataUploadRequest.TrafficDataEntry>> mutations = List.of(
+                entry -> { },
+                entry -> entry.setLocationId(null),
+                entry -> entry.setLocationId(-3L),
+                entry -> entry.setVehicleCount(10001),
+                entry -> entry.setVehicleCount(0),
+                entry -> entry.setAverageSpeed(200.0),
+                entry -> entry.setAverageSpeed(-0.5),
+                entry -> entry.setCongestionLevel(null),
+                entry -> entry.setWeatherCondition("안개"),
+                entry -> entry.setWeatherCondition("맑음 "),
+                entry -> entry.setHumidity(0.0),
+                entry -> entry.setVisibility(50.1),
+                entry -> entry.setDayOfWeek(8),
+                entry -> entry.setHourOfDay(-1)
+        );
+
+        for(Consumer<DataUploadRequest.TrafficDataEntry> mutation : mutations){
+            DataUploadRequest.TrafficDataEntry entry = valid();
+            mutation.accept(entry);
+            assertThat(validator.validate(entry, NOW) == 0)
+                    .as("%s", entry)
+                    .isEqualTo(beanValidator.validate(entry).isEmpty());
+        }
+    }
+
+    @Test
+    void decodesViolationMask(){
+        int violations = TrafficDataValidator.Violation.HUMIDITY_OUT_OF_RANGE.mask()
+                | TrafficDataValidator.Violation.LOCATION_ID_REQUIRED.mask();
+
+        assertThat(TrafficDataValidator.decode(violations)).containsExactly(
+                TrafficDataValidator.Violation.LOCATION_ID_REQUIRED,
+                TrafficDataValidator.Violation.HUMIDITY_OUT_OF_RANGE);
+        assertThat(TrafficDataValidator.decode(0)).isEmpty();
+    }
+
+    private void assertViolation(Consumer<DataUploadRequest.TrafficDataEntry> mutation,
+                                 TrafficDataValidator.Violation expected){
+        DataUploadRequest.TrafficDataEntry entry = valid();
+        mutation.accept(entry);
+        assertThat(TrafficDataValidator.decode(validator.validate(entry, NOW))).containsExactly(expected);
+    }
+
+    private static DataUploadRequest.TrafficDataEntry valid(){
+        return DataUploadRequest.TrafficDataEntry.builder()
+                .locationId(1L)
+                .measuredAt(NOW.minusHours(1))
+                .vehicleCount(120)
+                .averageSpeed(45.5)
+                .congestionLevel(TrafficData.CongestionLevel.NORMAL)
+                .weatherCondition("맑음")
+                .temperature(22.5)
+                .humidity(65.0)
+                .visibility(15.0)
+                .dayOfWeek(1)
+                .hourOfDay(14)
+                .build();
+    }
+}
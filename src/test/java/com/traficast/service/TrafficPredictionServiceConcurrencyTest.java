@@ -0,0 +1,231 @@
+package com.traficast.service;
+
+import com.traficast.dto.DtoMapper;
+import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.dto.response.PredictionResponse;
+import com.traficast.entity.Location;
+import com.traficast.entity.ModelConfig;
+import com.traficast.entity.PredictionHistory;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.LocationRepository;
+import com.traficast.repository.ModelConfigRepository;
+import com.traficast.repository.PredictionHistoryRepository;
+import com.traficast.repository.TrafficDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 커넥션 풀(Hikari maximum-pool-size 20)보다 많은 예측 요청이 동시에 느린 모델 호출을 기다려도
+ * 커넥션을 잡고 있지 않아 풀이 고갈되지 않는지 검증
+ * 트랜잭션마다 커넥션 하나를 빌리는 트랜잭션 매니저로 풀을 흉내 내고, 모델 호출은 모든 요청이 들어올 때까지 붙잡아 둠
+ * 동시 호출 제한, 지연 예산, 기준선 예측, 묶음 처리는 기본 설정 그대로 사용(한 위치 요청이 동시 호출 제한에 걸리지 않아야 함)
+ */
+class TrafficPredictionServiceConcurrencyTest {
+
+    private static final int POOL_SIZE = 20;
+    private static final int CONCURRENT_REQUESTS = POOL_SIZE * 2;
+
+    private final PooledTransactionManager transactionManager = new PooledTransactionManager();
+    private final CountDownLatch inModelCall = new CountDownLatch(CONCURRENT_REQUESTS);
+    private final CountDownLatch modelResponds = new CountDownLatch(1);
+
+    private static final LocalDateTime TARGET = LocalDateTime.now().plusHours(1).withMinute(0).withSecond(0).withNano(0);
+
+    private ExecutorService clients;
+    private ExecutorService modelServer;
+    private BaselinePredictor baselinePredictor;
+    private PredictionBatcher predictionBatcher;
+    private TrafficPredictionService service;
+
+    @BeforeEach
+    void setUp(){
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Location> locations = new ArrayList<>();
+            for(Long id : invocation.<Iterable<Long>>getArgument(0)){
+                Location location = Location.builder().locationName("위치 " + id).latitude(37.5).longitude(127.0).build();
+                location.setId(id);
+                locations.add(location);
+            }
+            return locations;
+        });
+
+        // 느린 모델 API: 요청한 위치마다 도착을 알리고 응답은 modelResponds 까지 붙잡아 둠
+        modelServer = Executors.newCachedThreadPool();
+        ModelApiService modelApiService = mock(ModelApiService.class);
+        when(modelApiService.getActiveModel())
+                .thenReturn(ModelConfig.builder().modelName("test").modelVersion("1.0.0").build());
+        when(modelApiService.requestPredictionFromModel(any(), any())).thenAnswer(invocation -> {
+            PredictionRequest request = invocation.getArgument(0);
+            request.getLocationIds().forEach(id -> inModelCall.countDown());
+            modelResponds.await(10, TimeUnit.SECONDS);
+            return modelResult(request);
+        });
+        when(modelApiService.requestPredictionFromModelAsync(any(), any())).thenAnswer(invocation -> {
+            PredictionRequest request = invocation.getArgument(0);
+            request.getLocationIds().forEach(id -> inModelCall.countDown());
+            return CompletableFuture.supplyAsync(() -> {
+                try{
+                    modelResponds.await(10, TimeUnit.SECONDS);
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+                return modelResult(request);
+            }, modelServer);
+        });
+
+        PredictionHistoryRepository predictionHistoryRepository = mock(PredictionHistoryRepository.class);
+        when(predictionHistoryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        DtoMapper dtoMapper = mock(DtoMapper.class);
+        when(dtoMapper.toPredictionResponse(any())).thenAnswer(invocation -> {
+            PredictionHistory history = invocation.getArgument(0);
+            return PredictionResponse.builder()
+                    .locationSummary(PredictionResponse.LocationSummary.builder()
+                            .locationId(history.getLocation().getId()).build())
+                    .build();
+        });
+
+        // application.yml 기본값: 기준선 예측 사용, 지연 예산 10초, 묶음 처리 5ms/50개, 동시 호출 4개
+        baselinePredictor = mock(BaselinePredictor.class);
+        when(baselinePredictor.isFallbackEnabled()).thenReturn(true);
+
+        predictionBatcher = new PredictionBatcher(modelApiService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(predictionBatcher, "enabled", true);
+        ReflectionTestUtils.setField(predictionBatcher, "maxDelayMs", 5L);
+        ReflectionTestUtils.setField(predictionBatcher, "maxLocations", 50);
+        predictionBatcher.init();
+
+        service = new TrafficPredictionService(locationRepository, mock(TrafficDataRepository.class),
+                predictionHistoryRepository, modelApiService, mock(ModelConfigRepository.class), dtoMapper,
+                mock(PredictionCache.class), new TransactionTemplate(transactionManager),
+                baselinePredictor, predictionBatcher, mock(PredictionHorizon.class),
+                mock(AsyncTaskExecutor.class));
+        ReflectionTestUtils.setField(service, "singleFlightWaitTimeoutMs", 65000L);
+        ReflectionTestUtils.setField(service, "fanOutChunkSize", 50);
+        ReflectionTestUtils.setField(service, "fanOutMaxConcurrency", 4);
+        ReflectionTestUtils.setField(service, "maxLocationsPerRequest", 5000);
+        ReflectionTestUtils.setField(service, "fallbackLatencyBudgetMs", 10000L);
+        service.init();
+
+        clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    }
+
+    @AfterEach
+    void tearDown(){
+        modelResponds.countDown();
+        clients.shutdownNow();
+        modelServer.shutdownNow();
+        predictionBatcher.stop();
+    }
+
+    @Test
+    void slowModelCallsDoNotHoldDatabaseConnections() throws Exception {
+        List<Future<List<PredictionResponse>>> results = new ArrayList<>();
+        for(int i = 0; i < CONCURRENT_REQUESTS; i++){
+            PredictionRequest request = PredictionRequest.builder()
+                    .locationIds(List.of((long) i + 1))
+                    .targetDatetime(TARGET)
+                    .predictionType(PredictionHistory.PredictionType.HOURLY)
+                    .build();
+            results.add(clients.submit(() -> service.predictTraffic(request)));
+        }
+
+        // 풀 크기의 2배인 요청이 모두(동시 호출 제한 4개와 무관하게) 모델 응답을 기다리는 동안 열린 트랜잭션(빌린 커넥션)이 없어야 함
+        assertThat(inModelCall.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(transactionManager.open.get()).isZero();
+
+        modelResponds.countDown();
+        for(Future<List<PredictionResponse>> result : results){
+            assertThat(result.get(10, TimeUnit.SECONDS)).hasSize(1);
+        }
+
+        // 요청마다 조회/저장 트랜잭션 2개, 커넥션 대기 시간 초과 없음
+        assertThat(transactionManager.committed.get()).isEqualTo(CONCURRENT_REQUESTS * 2);
+        assertThat(transactionManager.timedOut.get()).isZero();
+        assertThat(transactionManager.peak.get()).isLessThanOrEqualTo(POOL_SIZE);
+        // 모두 모델 결과로 응답(지연 예산 초과로 기준선 예측을 쓰지 않음)
+        verify(baselinePredictor, never()).predict(anyList(), any(), anyInt(), anyInt());
+    }
+
+    private static ModelPredictionResult modelResult(PredictionRequest request){
+        return new ModelPredictionResult("1.0.0", "test", request.getLocationIds().stream()
+                .map(id -> new ModelPredictionResult.Prediction(id, 120, 45.0, TrafficData.CongestionLevel.NORMAL, 0.9))
+                .toList());
+    }
+
+    /**
+     * 트랜잭션이 열려 있는 동안 커넥션 하나를 빌리는 트랜잭션 매니저(커넥션이 없으면 Hikari 처럼 대기 후 실패)
+     */
+    private static final class PooledTransactionManager implements PlatformTransactionManager {
+
+        private final Semaphore connections = new Semaphore(POOL_SIZE);
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicInteger committed = new AtomicInteger();
+        private final AtomicInteger timedOut = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition){
+            try{
+                if(!connections.tryAcquire(1, TimeUnit.SECONDS)){
+                    timedOut.incrementAndGet();
+                    throw new CannotCreateTransactionException("Connection is not available, request timed out");
+                }
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new CannotCreateTransactionException("커넥션 대기 중 중단되었습니다.", e);
+            }
+            peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status){
+            committed.incrementAndGet();
+            release();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status){
+            release();
+        }
+
+        private void release(){
+            open.decrementAndGet();
+            connections.release();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.traficast.service;
+
+import com.traficast.dto.DtoMapper;
+import com.traficast.dto.request.PredictionRequest;
+import com.traficast.dto.response.ModelPredictionResult;
+import com.traficast.dto.response.PredictionResponse;
+import com.traficast.entity.Location;
+import com.traficast.entity.ModelConfig;
+import com.traficast.entity.PredictionHistory;
+import com.traficast.entity.TrafficData;
+import com.traficast.exception.ModelApiException;
+import com.traficast.exception.PredictionException;
+import com.traficast.repository.LocationRepository;
+import com.traficast.repository.ModelConfigRepository;
+import com.traficast.repository.PredictionHistoryRepository;
+import com.traficast.repository.TrafficDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 위치를 동시에 요청할 때 진행 중인 모델 호출을 공유(single-flight)하는지,
+ * 큰 요청을 fan-out.chunk-size 단위로 나눠 호출하고 요청 순서대로 합치는지(일부 청크 실패 시 그 위치만 기준선 예측),
+ * 비동기 예측이 전용 풀(predictionTaskExecutor)에서 저장되고 풀이 가득 차면 거부되는지 검증
+ * 캐시는 실제 PredictionCache, 모델 API 와 저장소는 mock 으로 두고 첫 모델 호출은 modelResponds 까지 붙잡아 둠
+ * 비동기 모델 호출은 asyncCalls 에 쌓아 두고 테스트에서 직접 완료
+ * 묶음 처리는 끄고, 기준선 예측은 분할 호출 실패 테스트에서만 켬
+ */
+class TrafficPredictionServiceTest {
+
+    private static final LocalDateTime TARGET = LocalDateTime.now().plusHours(1).withMinute(0).withSecond(0).withNano(0);
+
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private final AtomicLong historyIds = new AtomicLong();
+    private final CountDownLatch inFirstCall = new CountDownLatch(1);
+    private final CountDownLatch modelResponds = new CountDownLatch(1);
+    private volatile boolean firstCallFails;
+    private volatile List<Long> failingLocationIds = List.of();
+    private volatile Long slowLocationId;
+    private final List<List<Long>> modelRequests = new CopyOnWriteArrayList<>();
+    private final Map<Long, String> savedModelVersions = new ConcurrentHashMap<>();
+    private final List<CompletableFuture<ModelPredictionResult>> asyncCalls = new CopyOnWriteArrayList<>();
+    private final List<String> savingThreads = new CopyOnWriteArrayList<>();
+
+    private ExecutorService clients;
+    private PredictionCache predictionCache;
+    private BaselinePredictor baselinePredictor;
+    private PredictionBatcher predictionBatcher;
+    private ThreadPoolTaskExecutor predictionTaskExecutor;
+    private TrafficPredictionService service;
+
+    @BeforeEach
+    void setUp(){
+        LocationRepository locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Location> locations = new ArrayList<>();
+            for(Long id : invocation.<Iterable<Long>>getArgument(0)){
+                Location location = Location.builder().locationName("위치 " + id).latitude(37.5).longitude(127.0).build();
+                location.setId(id);
+                locations.add(location);
+            }
+            return locations;
+        });
+
+        ModelApiService modelApiService = mock(ModelApiService.class);
+        when(modelApiService.getActiveModel())
+                .thenReturn(ModelConfig.builder().modelName("test").modelVersion("1.0.0").build());
+        when(modelApiService.requestPredictionFromModel(any(), any())).thenAnswer(invocation -> {
+            PredictionRequest request = invocation.getArgument(0);
+            modelRequests.add(request.getLocationIds());
+            if(request.getLocationIds().contains(slowLocationId)){
+                Thread.sleep(100);
+            }
+            if(request.getLocationIds().stream().anyMatch(failingLocationIds::contains)){
+                modelCalls.incrementAndGet();
+                throw new ModelApiException("모델 API 서버 오류", true, null);
+            }
+            if(modelCalls.incrementAndGet() == 1){
+                inFirstCall.countDown();
+                modelResponds.await(10, TimeUnit.SECONDS);
+                if(firstCallFails){
+                    throw new ModelApiException("모델 API 서버 오류", true, null);
+                }
+            }
+            return modelResult(request.getLocationIds());
+        });
+        when(modelApiService.requestPredictionFromModelAsync(any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<ModelPredictionResult> call = new CompletableFuture<>();
+            asyncCalls.add(call);
+            return call;
+        });
+
+        // 저장할 때마다 새 예측 ID 를 붙여 어느 호출의 결과인지 구분
+        PredictionHistoryRepository predictionHistoryRepository = mock(PredictionHistoryRepository.class);
+        when(predictionHistoryRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<PredictionHistory> histories = invocation.getArgument(0);
+            savingThreads.add(Thread.currentThread().getName());
+            histories.forEach(history -> savedModelVersions.put(history.getLocation().getId(), history.getModelVersion()));
+            histories.forEach(history -> history.setId(historyIds.incrementAndGet()));
+            return histories;
+        });
+
+        DtoMapper dtoMapper = mock(DtoMapper.class);
+        when(dtoMapper.toPredictionResponse(any())).thenAnswer(invocation -> {
+            PredictionHistory history = invocation.getArgument(0);
+            return PredictionResponse.builder()
+                    .predictionId(history.getId())
+                    .locationSummary(PredictionResponse.LocationSummary.builder()
+                            .locationId(history.getLocation().getId()).build())
+                    .build();
+        });
+
+        predictionCache = new PredictionCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(predictionCache, "enabled", true);
+        ReflectionTestUtils.setField(predictionCache, "maxSize", 100);
+        ReflectionTestUtils.setField(predictionCache, "ttlMinutes", 10L);
+        predictionCache.init();
+
+        predictionBatcher = new PredictionBatcher(modelApiService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(predictionBatcher, "enabled", false);
+        predictionBatcher.init();
+
+        baselinePredictor = mock(BaselinePredictor.class);
+        when(baselinePredictor.predict(anyList(), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            List<Long> locationIds = invocation.getArgument(0);
+            return new ModelPredictionResult("baseline-how-1", "baseline", locationIds.stream()
+                    .map(id -> new ModelPredictionResult.Prediction(id, 80, 50.0, TrafficData.CongestionLevel.NORMAL, 0.5))
+                    .toList());
+        });
+
+        predictionTaskExecutor = new ThreadPoolTaskExecutor();
+        predictionTaskExecutor.setCorePoolSize(1);
+        predictionTaskExecutor.setMaxPoolSize(1);
+        predictionTaskExecutor.setQueueCapacity(1);
+        predictionTaskExecutor.setThreadNamePrefix("prediction-async-");
+        predictionTaskExecutor.initialize();
+
+        service = new TrafficPredictionService(locationRepository, mock(TrafficDataRepository.class),
+                predictionHistoryRepository, modelApiService, mock(ModelConfigRepository.class), dtoMapper,
+                predictionCache, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                baselinePredictor, predictionBatcher, mock(PredictionHorizon.class),
+                predictionTaskExecutor);
+        ReflectionTestUtils.setField(service, "singleFlightWaitTimeoutMs", 10000L);
+        ReflectionTestUtils.setField(service, "fanOutChunkSize", 50);
+        ReflectionTestUtils.setField(service, "fanOutMaxConcurrency", 4);
+        ReflectionTestUtils.setField(service, "maxLocationsPerRequest", 5000);
+        ReflectionTestUtils.setField(service, "fallbackLatencyBudgetMs", 10000L);
+        service.init();
+
+        clients = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown(){
+        modelResponds.countDown();
+        clients.shutdownNow();
+        predictionBatcher.stop();
+        predictionTaskExecutor.shutdown();
+    }
+
+    @Test
+    void followerSharesLeaderResult() throws Exception {
+        Future<List<PredictionResponse>> leader = clients.submit(() -> service.predictTraffic(request(1L)));
+        assertThat(inFirstCall.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<PredictionResponse>> follower = clients.submit(() -> service.predictTraffic(request(1L)));
+        awaitSharedCalls(1);
+
+        modelResponds.countDown();
+
+        PredictionResponse leaderResponse = leader.get(5, TimeUnit.SECONDS).get(0);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).containsExactly(leaderResponse);
+        assertThat(modelCalls.get()).isEqualTo(1);
+        assertThat(predictionCache.getStatus().getInFlightCount()).isZero();
+    }
+
+    @Test
+    void followerRequestsItselfWhenLeaderFails() throws Exception {
+        firstCallFails = true;
+        Future<List<PredictionResponse>> leader = clients.submit(() -> service.predictTraffic(request(1L)));
+        assertThat(inFirstCall.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<PredictionResponse>> follower = clients.submit(() -> service.predictTraffic(request(1L)));
+        awaitSharedCalls(1);
+
+        modelResponds.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ModelApiException.class);
+        assertThat(follower.get(5, TimeUnit.SECONDS))
+                .extracting(response -> response.getLocationSummary().getLocationId()).containsExactly(1L);
+        assertThat(modelCalls.get()).isEqualTo(2);
+        assertThat(predictionCache.getStatus().getInFlightCount()).isZero();
+    }
+
+    @Test
+    void followerStopsWaitingAfterTimeout() throws Exception {
+        ReflectionTestUtils.setField(service, "singleFlightWaitTimeoutMs", 100L);
+        Future<List<PredictionResponse>> leader = clients.submit(() -> service.predictTraffic(request(1L)));
+        assertThat(inFirstCall.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 리더가 아직 모델 응답을 기다리는 중에 후속 요청은 직접 요청해 끝남
+        List<PredictionResponse> follower = clients.submit(() -> service.predictTraffic(request(1L)))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(follower).hasSize(1);
+        assertThat(leader.isDone()).isFalse();
+        assertThat(modelCalls.get()).isEqualTo(2);
+
+        modelResponds.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(predictionCache.getStatus().getInFlightCount()).isZero();
+    }
+
+    @Test
+    void onlyMissingLocationsJoinInFlightCalls() throws Exception {
+        Future<List<PredictionResponse>> leader = clients.submit(() -> service.predictTraffic(request(1L)));
+        assertThat(inFirstCall.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<PredictionResponse>> follower = clients.submit(() -> service.predictTraffic(request(1L, 2L)));
+        awaitSharedCalls(1);
+
+        modelResponds.countDown();
+
+        // 위치 2 는 후속 요청이 직접 맡고, 위치 1 은 리더 결과를 공유
+        assertThat(follower.get(5, TimeUnit.SECONDS))
+                .extracting(response -> response.getLocationSummary().getLocationId()).containsExactly(1L, 2L);
+        assertThat(follower.get().get(0)).isEqualTo(leader.get(5, TimeUnit.SECONDS).get(0));
+        assertThat(modelCalls.get()).isEqualTo(2);
+        assertThat(predictionCache.getStatus().getInFlightCount()).isZero();
+    }
+
+    @Test
+    void splitsLargeRequestIntoChunksAndMergesInRequestOrder() throws Exception {
+        modelResponds.countDown();
+        ReflectionTestUtils.setField(service, "fanOutChunkSize", 2);
+        slowLocationId = 1L; // 첫 청크가 가장 늦게 응답
+
+        List<PredictionResponse> responses = service.predictTraffic(request(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(modelRequests).containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        assertThat(responses).extracting(response -> response.getLocationSummary().getLocationId())
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        // 청크 완료 순서와 관계없이 청크 순서대로 합쳐 한 번에 저장
+        assertThat(responses).extracting(PredictionResponse::getPredictionId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(savingThreads).hasSize(1);
+    }
+
+    @Test
+    void failedChunkFallsBackOnlyForItsLocations() throws Exception {
+        modelResponds.countDown();
+        when(baselinePredictor.isFallbackEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(service, "fanOutChunkSize", 2);
+        failingLocationIds = List.of(3L);
+
+        List<PredictionResponse> responses = service.predictTraffic(request(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(responses).extracting(response -> response.getLocationSummary().getLocationId())
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(savedModelVersions).containsExactlyInAnyOrderEntriesOf(Map.of(
+                1L, "1.0.0", 2L, "1.0.0", 3L, "baseline-how-1", 4L, "baseline-how-1", 5L, "1.0.0"));
+        // 기준선 예측은 캐시하지 않으므로 다시 요청하면 실패했던 위치만 모델을 다시 호출
+        failingLocationIds = List.of();
+        modelRequests.clear();
+        service.predictTraffic(request(1L, 2L, 3L, 4L, 5L));
+        assertThat(modelRequests).containsExactly(List.of(3L, 4L));
+    }
+
+    @Test
+    void failsWhenEveryChunkFailsWithoutFallback(){
+        modelResponds.countDown();
+        ReflectionTestUtils.setField(service, "fanOutChunkSize", 1);
+        failingLocationIds = List.of(1L, 2L);
+
+        assertThatThrownBy(() -> service.predictTraffic(request(1L, 2L)))
+                .isInstanceOf(ModelApiException.class);
+        assertThat(savingThreads).isEmpty();
+        assertThat(predictionCache.getStatus().getInFlightCount()).isZero();
+    }
+
+    @Test
+    void asyncPredictionSavesOnPredictionExecutor() throws Exception {
+        CompletableFuture<List<PredictionResponse>> result = service.predictTrafficAsync(request(1L, 2L));
+        assertThat(asyncCalls).hasSize(1);
+        assertThat(result.isDone()).isFalse();
+
+        asyncCalls.get(0).complete(modelResult(List.of(1L, 2L)));
+
+        assertThat(result.get(5, TimeUnit.SECONDS))
+                .extracting(response -> response.getLocationSummary().getLocationId()).containsExactly(1L, 2L);
+        assertThat(savingThreads).singleElement().asString().startsWith("prediction-async-");
+
+        // 저장된 결과는 캐시에서 바로 응답
+        assertThat(service.predictTrafficAsync(request(2L)).get(5, TimeUnit.SECONDS))
+                .extracting(PredictionResponse::getPredictionId).containsExactly(2L);
+        assertThat(asyncCalls).hasSize(1);
+    }
+
+    @Test
+    void asyncPredictionIsRejectedWhenExecutorIsSaturated() throws Exception {
+        // 스레드 1개와 대기열 1칸을 모두 채움
+        CountDownLatch release = new CountDownLatch(1);
+        predictionTaskExecutor.execute(() -> awaitQuietly(release));
+        predictionTaskExecutor.execute(() -> awaitQuietly(release));
+
+        CompletableFuture<List<PredictionResponse>> result = service.predictTrafficAsync(request(1L));
+        asyncCalls.get(0).complete(modelResult(List.of(1L)));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOfSatisfying(PredictionException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(PredictionException.OVERLOADED));
+        assertThat(savingThreads).isEmpty();
+
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch){
+        try{
+            latch.await(10, TimeUnit.SECONDS);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitSharedCalls(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(predictionCache.getStatus().getSharedInFlightCount() < expected && System.nanoTime() < deadline){
+            Thread.sleep(5);
+        }
+        assertThat(predictionCache.getStatus().getSharedInFlightCount()).isEqualTo(expected);
+    }
+
+    private static PredictionRequest request(Long... locationIds){
+        return PredictionRequest.builder()
+                .locationIds(List.of(locationIds))
+                .targetDatetime(TARGET)
+                .predictionType(PredictionHistory.PredictionType.HOURLY)
+                .build();
+    }
+
+    private static ModelPredictionResult modelResult(List<Long> locationIds){
+        return new ModelPredictionResult("1.0.0", "test", locationIds.stream()
+                .map(id -> new ModelPredictionResult.Prediction(id, 120, 45.0, TrafficData.CongestionLevel.NORMAL, 0.9))
+                .toList());
+    }
+}
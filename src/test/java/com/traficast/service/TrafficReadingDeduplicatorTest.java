@@ -0,0 +1,129 @@
+package com.traficast.service;
+
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.TrafficDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 필터 초기화/기록에 따른 판정, 한 윈도우가 가득 찬 위치도 다시 DB 에서 채우지 않는지, 필터가 놓친 기존 값 때문에 유니크 인덱스에 걸렸을 때
+ * 모든 키를 DB 에서 확인해 다시 upsert 하는지 검증
+ */
+class TrafficReadingDeduplicatorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private TrafficDataRepository trafficDataRepository;
+    private TrafficReadingDeduplicator deduplicator;
+    private final List<Predicate<TrafficData>> filters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        trafficDataRepository = mock(TrafficDataRepository.class);
+        when(trafficDataRepository.findRecordedAtByLocationIdSince(eq(1L), any()))
+                .thenReturn(List.of(NOW.minusHours(1)));
+
+        deduplicator = new TrafficReadingDeduplicator(trafficDataRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(deduplicator, "windowHours", 24L);
+        ReflectionTestUtils.setField(deduplicator, "bucketHours", 24L);
+        ReflectionTestUtils.setField(deduplicator, "readingsPerHour", 120);
+        ReflectionTestUtils.setField(deduplicator, "capacityHeadroom", 1.5);
+        ReflectionTestUtils.setField(deduplicator, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void usesStoredReadingsWithinWindow(){
+        assertThat(deduplicator.mightExist(1L, NOW.minusHours(1))).isTrue();
+        assertThat(deduplicator.mightExist(1L, NOW.minusMinutes(30))).isFalse();
+        // 윈도우 이전 값은 판단할 수 없으므로 DB 확인
+        assertThat(deduplicator.mightExist(1L, NOW.minusDays(2))).isTrue();
+    }
+
+    @Test
+    void recordsSavedReadings(){
+        deduplicator.record(List.of(reading(NOW.minusMinutes(30))));
+
+        assertThat(deduplicator.mightExist(1L, NOW.minusMinutes(30))).isTrue();
+        verify(trafficDataRepository, times(1)).findRecordedAtByLocationIdSince(eq(1L), any());
+    }
+
+    @Test
+    void warmedLocationDoesNotReloadOnNextChunk(){
+        // 30초 간격으로 한 윈도우(168시간 × 시간당 120건 = 20,160건)가 이미 저장된 위치
+        ReflectionTestUtils.setField(deduplicator, "windowHours", 168L);
+        List<LocalDateTime> stored = new ArrayList<>();
+        LocalDateTime first = NOW.minusHours(168).plusMinutes(1);
+        for(int i = 0; i < 168 * 120; i++){
+            stored.add(first.plusSeconds(30L * i));
+        }
+        when(trafficDataRepository.findRecordedAtByLocationIdSince(eq(1L), any())).thenReturn(stored);
+
+        assertThat(deduplicator.mightExist(1L, stored.get(0))).isTrue();
+
+        // 다음 청크(500건)를 저장한 뒤 그다음 청크를 확인해도 필터를 다시 채우지 않음
+        LocalDateTime next = stored.get(stored.size() - 1).plusSeconds(30);
+        List<TrafficData> chunk = new ArrayList<>();
+        for(int i = 0; i < 500; i++){
+            chunk.add(reading(next.plusSeconds(30L * i)));
+        }
+        deduplicator.record(chunk);
+
+        int falsePositives = 0;
+        for(int i = 500; i < 1000; i++){
+            if(deduplicator.mightExist(1L, next.plusSeconds(30L * i))){
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(25);
+        assertThat(chunk).allMatch(data -> deduplicator.mightExist(1L, data.getRecordedAt()));
+        assertThat(stored).allMatch(recordedAt -> deduplicator.mightExist(1L, recordedAt));
+        verify(trafficDataRepository, times(1)).findRecordedAtByLocationIdSince(eq(1L), any());
+    }
+
+    @Test
+    void retriesWithDatabaseCheckWhenFilterMissedExistingRow(){
+        TrafficData reading = reading(NOW.minusMinutes(30));
+        when(trafficDataRepository.batchUpsert(anyList(), any())).thenAnswer(invocation -> {
+            Predicate<TrafficData> mightExist = invocation.getArgument(1);
+            filters.add(mightExist);
+            if(!mightExist.test(reading)){
+                // 다른 인스턴스가 이미 저장한 값을 INSERT 하려다 유니크 인덱스에 걸림
+                reading.setId(100L);
+                throw new DataIntegrityViolationException("uk_traffic_data_location_recorded_at");
+            }
+            return new TrafficDataRepository.UpsertResult(0, 1, 0, 1);
+        });
+
+        TrafficDataRepository.UpsertResult result = deduplicator.upsert(List.of(reading));
+
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(filters).hasSize(2);
+        assertThat(reading.getId()).isNull();
+    }
+
+    private static TrafficData reading(LocalDateTime recordedAt){
+        Location location = Location.builder().locationName("강남역").latitude(37.5).longitude(127.0).build();
+        location.setId(1L);
+        return TrafficData.builder().location(location).recordedAt(recordedAt).vehicleCount(100).build();
+    }
+}
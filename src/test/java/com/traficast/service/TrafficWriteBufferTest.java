@@ -0,0 +1,285 @@
+package com.traficast.service;
+
+import com.traficast.dto.DtoMapper;
+import com.traficast.dto.request.DataUploadRequest;
+import com.traficast.entity.Location;
+import com.traficast.entity.TrafficData;
+import com.traficast.repository.LocationRepository;
+import com.traficast.repository.TrafficDataRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 저장소는 mock, 중복 필터와 저널(임시 디렉터리)은 실제 객체로 두고
+ * 시작 시 저널 재적재와 재적재 실패 시에도 시작이 막히지 않는지,
+ * 크기/주기에 따른 그룹 커밋과 커밋 후 체크포인트, DB 장애 중 보류, 캐시에 없는 위치 처리를 검증
+ */
+class TrafficWriteBufferTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 8, 0);
+
+    @TempDir
+    Path directory;
+
+    private TrafficDataRepository trafficDataRepository;
+    private LocationRepository locationRepository;
+    private final List<TrafficData> upserted = new ArrayList<>();
+    // 그룹 커밋 한 번(batchInsert 호출)마다 저장된 측정값의 차량 수와 호출 시각(nanoTime)
+    private final List<List<Integer>> flushedBatches = new CopyOnWriteArrayList<>();
+    private final List<Long> flushedAtNanos = new CopyOnWriteArrayList<>();
+    private long flushIntervalMs = 20L;
+
+    private TrafficWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp(){
+        trafficDataRepository = mock(TrafficDataRepository.class);
+        when(trafficDataRepository.batchUpsert(anyList(), any())).thenAnswer(invocation -> {
+            upserted.addAll(invocation.getArgument(0));
+            return null;
+        });
+        when(trafficDataRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            List<TrafficData> chunk = invocation.getArgument(0);
+            flushedAtNanos.add(System.nanoTime());
+            flushedBatches.add(chunk.stream().map(TrafficData::getVehicleCount).toList());
+            return chunk.size();
+        });
+
+        Location location = Location.builder().locationName("강남역").latitude(37.5).longitude(127.0).build();
+        location.setId(1L);
+        locationRepository = mock(LocationRepository.class);
+        when(locationRepository.findById(any())).thenReturn(Optional.empty());
+        when(locationRepository.findById(eq(1L))).thenReturn(Optional.of(location));
+        when(locationRepository.findAll()).thenReturn(List.of(location));
+        when(locationRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.contains(1L) ? List.of(location) : List.of();
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if(buffer != null){
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void replaysJournalOnStart(){
+        IngestJournal previous = journal();
+        previous.recover(100, chunk -> { });
+        previous.append(entry(1L, 0));
+        previous.append(entry(2L, 1)); // 그사이 삭제된 위치
+        previous.append(entry(1L, 2));
+        previous.close();
+
+        buffer = start(journal());
+
+        assertThat(upserted).extracting(TrafficData::getVehicleCount).containsExactly(0, 2);
+    }
+
+    @Test
+    void startsEvenWhenReplayFails() throws Exception {
+        IngestJournal previous = journal();
+        previous.recover(100, chunk -> { });
+        previous.append(entry(1L, 0));
+        previous.close();
+        when(trafficDataRepository.batchUpsert(anyList(), any())).thenThrow(new IllegalStateException("DB 연결 실패"));
+
+        IngestJournal journal = journal();
+        buffer = start(journal);
+
+        assertThat(journal.isEnabled()).isTrue();
+        assertThat(buffer.offer(entry(1L, 1))).isEqualTo(TrafficWriteBuffer.OfferResult.ACCEPTED);
+        try(var files = Files.list(directory.resolve("quarantine"))){
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    @Test
+    void flushesWhenBatchIsFull(){
+        // 주기가 길어도 batch-size(10)가 차면 바로 저장
+        flushIntervalMs = 10_000L;
+        buffer = start(disabledJournal());
+
+        for(int i = 0; i < 10; i++){
+            assertThat(buffer.offer(entry(1L, i))).isEqualTo(TrafficWriteBuffer.OfferResult.ACCEPTED);
+        }
+
+        verify(trafficDataRepository, timeout(2000)).batchInsert(anyList());
+        assertThat(flushedBatches).containsExactly(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        assertThat(buffer.getStatus().getFlushedCount()).isEqualTo(10);
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval(){
+        flushIntervalMs = 200L;
+        buffer = start(disabledJournal());
+
+        long offeredAt = System.nanoTime();
+        buffer.offer(entry(1L, 0));
+        buffer.offer(entry(1L, 1));
+        buffer.offer(entry(1L, 2));
+
+        verify(trafficDataRepository, timeout(2000)).batchInsert(anyList());
+        assertThat(flushedBatches).containsExactly(List.of(0, 1, 2));
+        // 첫 측정값 이후 flush-interval-ms 를 기다린 뒤 저장
+        assertThat(TimeUnit.NANOSECONDS.toMillis(flushedAtNanos.get(0) - offeredAt)).isGreaterThanOrEqualTo(150);
+    }
+
+    @Test
+    void checkpointsJournalOnlyAfterCommit() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(trafficDataRepository.batchInsert(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.<List<TrafficData>>getArgument(0).size();
+        });
+        IngestJournal journal = spy(journal());
+        buffer = start(journal);
+
+        buffer.offer(entry(1L, 0));
+        buffer.offer(entry(1L, 1));
+        assertThat(committing.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // 저장이 끝나기 전에는 체크포인트를 남기지 않음
+        verify(journal, never()).checkpoint(anyLong());
+        release.countDown();
+        verify(journal, timeout(2000)).checkpoint(anyLong());
+
+        buffer.stop();
+        buffer = null;
+        // 체크포인트까지 저장됐으므로 다시 시작해도 재적재할 측정값이 없음
+        List<DataUploadRequest.TrafficDataEntry> replayed = new ArrayList<>();
+        IngestJournal reopened = journal();
+        reopened.recover(100, replayed::addAll);
+        reopened.close();
+        assertThat(replayed).isEmpty();
+    }
+
+    @Test
+    void keepsJournaledReadingsWhileDatabaseIsDown() throws Exception {
+        doThrow(new DataAccessResourceFailureException("DB 연결 실패"))
+                .when(trafficDataRepository).batchInsert(anyList());
+        IngestJournal journal = spy(journal());
+        buffer = start(journal);
+
+        buffer.offer(entry(1L, 0));
+        buffer.offer(entry(1L, 1));
+        buffer.offer(entry(1L, 2));
+
+        // 재시도 예산(max-retries 0)을 여러 번 넘겨도 버리거나 체크포인트를 옮기지 않고 계속 보류
+        verify(trafficDataRepository, timeout(2000).atLeast(5)).batchInsert(anyList());
+        verify(journal, never()).checkpoint(anyLong());
+        assertThat(buffer.getStatus().getDroppedCount()).isZero();
+        assertThat(buffer.getStatus().getFlushedCount()).isZero();
+
+        buffer.stop();
+        // DB 가 복구된 뒤 다시 시작하면 저널에서 모두 재적재
+        buffer = start(journal());
+        assertThat(upserted).extracting(TrafficData::getVehicleCount).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void resolvesUncachedLocationsOnFlusherThread(){
+        // 시작 시 캐시 적재가 비어 있으면 접수 단계에서는 DB 를 조회하지 않고 플러시 때 한 번에 조회
+        when(locationRepository.findAll()).thenReturn(List.of());
+        flushIntervalMs = 200L; // 두 측정값이 같은 배치에 들어가도록
+        buffer = start(disabledJournal());
+
+        assertThat(buffer.offer(entry(1L, 0))).isEqualTo(TrafficWriteBuffer.OfferResult.ACCEPTED);
+        assertThat(buffer.offer(entry(2L, 1))).isEqualTo(TrafficWriteBuffer.OfferResult.ACCEPTED);
+        verify(locationRepository, never()).findById(any());
+
+        verify(trafficDataRepository, timeout(2000)).batchInsert(anyList());
+        assertThat(flushedBatches).containsExactly(List.of(0));
+        verify(locationRepository, times(1)).findAllById(any());
+
+        // 없다고 확인된 위치는 바로 거부하고, 찾은 위치는 캐시에서 사용
+        assertThat(buffer.offer(entry(2L, 2))).isEqualTo(TrafficWriteBuffer.OfferResult.UNKNOWN_LOCATION);
+        assertThat(buffer.offer(entry(1L, 3))).isEqualTo(TrafficWriteBuffer.OfferResult.ACCEPTED);
+        verify(trafficDataRepository, timeout(2000).times(2)).batchInsert(anyList());
+        verify(locationRepository, times(1)).findAllById(any());
+        assertThat(buffer.getStatus().getDroppedCount()).isEqualTo(1);
+    }
+
+    private TrafficWriteBuffer start(IngestJournal journal){
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        TrafficReadingDeduplicator deduplicator = new TrafficReadingDeduplicator(trafficDataRepository, transactionTemplate);
+        ReflectionTestUtils.setField(deduplicator, "windowHours", 168L);
+        ReflectionTestUtils.setField(deduplicator, "bucketHours", 24L);
+        ReflectionTestUtils.setField(deduplicator, "readingsPerHour", 120);
+        ReflectionTestUtils.setField(deduplicator, "capacityHeadroom", 1.5);
+        ReflectionTestUtils.setField(deduplicator, "falsePositiveRate", 0.01);
+
+        TrafficWriteBuffer buffer = new TrafficWriteBuffer(trafficDataRepository, locationRepository,
+                deduplicator, transactionTemplate, new DtoMapper(), journal);
+        ReflectionTestUtils.setField(buffer, "capacity", 100);
+        ReflectionTestUtils.setField(buffer, "batchSize", 10);
+        ReflectionTestUtils.setField(buffer, "flushIntervalMs", flushIntervalMs);
+        ReflectionTestUtils.setField(buffer, "maxRetries", 0);
+        ReflectionTestUtils.setField(buffer, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(buffer, "maxRetryBackoffMs", 20L);
+        ReflectionTestUtils.setField(buffer, "shutdownTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(buffer, "unknownLocationTtlMs", 60000L);
+        buffer.start();
+        return buffer;
+    }
+
+    private static IngestJournal disabledJournal(){
+        IngestJournal journal = new IngestJournal();
+        ReflectionTestUtils.setField(journal, "enabled", false);
+        return journal;
+    }
+
+    private IngestJournal journal(){
+        IngestJournal journal = new IngestJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSizeBytes", 4096);
+        ReflectionTestUtils.setField(journal, "replayRetries", 1);
+        ReflectionTestUtils.setField(journal, "replayRetryBackoffMs", 1L);
+        return journal;
+    }
+
+    private static DataUploadRequest.TrafficDataEntry entry(Long locationId, int vehicleCount){
+        return DataUploadRequest.TrafficDataEntry.builder()
+                .locationId(locationId)
+                .measuredAt(BASE.plusMinutes(vehicleCount))
+                .vehicleCount(vehicleCount)
+                .congestionLevel(TrafficData.CongestionLevel.NORMAL)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.traficast.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 20_000;
+
+    @Test
+    void neverMissesInsertedKeys(){
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for(long key = 0; key < INSERTIONS; key++){
+            filter.put(key * 30_000_000_000L);
+        }
+
+        for(long key = 0; key < INSERTIONS; key++){
+            assertThat(filter.mightContain(key * 30_000_000_000L)).isTrue();
+        }
+        assertThat(filter.getInsertions()).isEqualTo(INSERTIONS);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget(){
+        BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+        for(long key = 0; key < INSERTIONS; key++){
+            filter.put(key * 30_000_000_000L);
+        }
+
+        // 삽입하지 않은 키(30초 간격 사이의 15초 지점)
+        int falsePositives = 0;
+        for(long key = 0; key < INSERTIONS; key++){
+            if(filter.mightContain(key * 30_000_000_000L + 15_000_000_000L)){
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / INSERTIONS).isLessThan(0.02);
+    }
+
+    @Test
+    void falsePositivesGrowBeyondExpectedInsertions(){
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        for(long key = 0; key < 10_000; key++){
+            filter.put(key);
+        }
+
+        int falsePositives = 0;
+        for(long key = 10_000; key < 20_000; key++){
+            if(filter.mightContain(key)){
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isGreaterThan(1_000);
+    }
+
+    @Test
+    void rejectsInvalidSettings(){
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
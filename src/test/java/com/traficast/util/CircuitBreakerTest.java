@@ -0,0 +1,97 @@
+package com.traficast.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 1_000, 2, now::get);
+
+    @Test
+    void staysClosedUntilMinimumCallsAreRecorded(){
+        fail(3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndRejectsCalls(){
+        succeed(2);
+        fail(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindow(){
+        fail(4);
+        now.addAndGet(1_000);
+        succeed(2);
+        fail(3);
+        succeed(10);
+        fail(4);
+
+        // 앞선 실패 3건은 창에서 밀려나 최근 10건 중 실패 4건(40%)이므로 닫힌 상태 유지
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenAllowsLimitedTrialsAndClosesAfterSuccess(){
+        fail(4);
+        now.addAndGet(1_000);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailureReopens(){
+        fail(4);
+        now.addAndGet(1_000);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onFailure();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void ignoredTrialReturnsItsPermit(){
+        fail(4);
+        now.addAndGet(1_000);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        breaker.onIgnored();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    private void succeed(int count){
+        for(int i = 0; i < count; i++){
+            if(breaker.tryAcquirePermission()){
+                breaker.onSuccess();
+            }
+        }
+    }
+
+    private void fail(int count){
+        for(int i = 0; i < count; i++){
+            if(breaker.tryAcquirePermission()){
+                breaker.onFailure();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.traficast.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvParserUtilTest {
+
+    @Test
+    void readsQuotedDelimitersAndEscapedQuotes() throws IOException {
+        List<String[]> rows = readAll("id,name,memo\n1,\"강남역, 2번 출구\",\"그는 \"\"정체\"\"라고 했다\"\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1)).containsExactly("1", "강남역, 2번 출구", "그는 \"정체\"라고 했다");
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotes() throws IOException {
+        List<String[]> rows = readAll("id,memo\r\n1,\"첫 줄\r\n둘째 줄\"\r\n2,끝\r\n");
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1)).containsExactly("1", "첫 줄\r\n둘째 줄");
+        assertThat(rows.get(2)).containsExactly("2", "끝");
+    }
+
+    @Test
+    void handlesCrLfLfAndCrLineEndings() throws IOException {
+        List<String[]> rows = readAll("a,b\r\n1,2\n3,4\r5,6");
+
+        assertThat(rows).extracting(row -> String.join("|", row))
+                .containsExactly("a|b", "1|2", "3|4", "5|6");
+    }
+
+    @Test
+    void skipsBlankLinesAndKeepsEmptyFields() throws IOException {
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(new StringReader("a,b,c\n\n1,,\n"))){
+            assertThat(reader.readRow()).containsExactly("a", "b", "c");
+            assertThat(reader.readRow()).containsExactly("1", "", "");
+            assertThat(reader.readRow()).isNull();
+            assertThat(reader.getRowNumber()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void failsOnUnterminatedQuoteAtEndOfFile() throws IOException {
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(new StringReader("a,b\n1,\"닫히지 않음\n2,3"))){
+            assertThat(reader.readRow()).containsExactly("a", "b");
+            assertThatThrownBy(reader::readRow)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("2번째 행");
+        }
+    }
+
+    @Test
+    void stripsUtf8ByteOrderMark() throws IOException {
+        byte[] bytes = "\uFEFFlocation_id,vehicle_count\n1,100\n".getBytes(StandardCharsets.UTF_8);
+
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(new ByteArrayInputStream(bytes))){
+            String[] header = reader.readRow();
+            assertThat(header).containsExactly("location_id", "vehicle_count");
+            assertThat(CsvParserUtil.CsvHeader.of(header).indexOf("LOCATION_ID")).isZero();
+            assertThat(reader.readRow()).containsExactly("1", "100");
+        }
+    }
+
+    @Test
+    void parsesAcrossBufferBoundaries() throws IOException {
+        // 한 글자씩 돌려주는 리더로 BOM, 이스케이프, CRLF 가 버퍼 경계에 걸리는 경우를 확인
+        String csv = "\uFEFF\"a\"\"b\",c\r\n1,\"x\r\ny\"\r\n";
+
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(new OneCharReader(csv))){
+            assertThat(reader.readRow()).containsExactly("a\"b", "c");
+            assertThat(reader.readRow()).containsExactly("1", "x\r\ny");
+            assertThat(reader.readRow()).isNull();
+        }
+    }
+
+    @Test
+    void fieldTrimsAndTreatsBlankAsMissing(){
+        String[] row = {" 1 ", "  ", "x"};
+
+        assertThat(CsvParserUtil.field(row, 0)).isEqualTo("1");
+        assertThat(CsvParserUtil.field(row, 1)).isNull();
+        assertThat(CsvParserUtil.field(row, 5)).isNull();
+        assertThat(CsvParserUtil.field(row, -1)).isNull();
+    }
+
+    @Test
+    void parsesNumbersWithoutThrowing(){
+        assertThat(CsvParserUtil.parseInteger("-42")).isEqualTo(-42);
+        assertThat(CsvParserUtil.parseInteger("2147483648")).isNull();
+        assertThat(CsvParserUtil.parseLong("12a")).isNull();
+        assertThat(CsvParserUtil.parseLong("+")).isNull();
+        assertThat(CsvParserUtil.parseDouble("37.5")).isEqualTo(37.5);
+        assertThat(CsvParserUtil.parseDouble("-1.5e3")).isEqualTo(-1500.0);
+        assertThat(CsvParserUtil.parseDouble(".5")).isEqualTo(0.5);
+        assertThat(CsvParserUtil.parseDouble("1e")).isNull();
+        assertThat(CsvParserUtil.parseDouble("NaN")).isNull();
+    }
+
+    @Test
+    void parsesDateTimesWithoutThrowing(){
+        assertThat(CsvParserUtil.parseDateTime("2024-01-15T08:30"))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 8, 30));
+        assertThat(CsvParserUtil.parseDateTime("2024-01-15 08:30:15.5"))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 8, 30, 15, 500_000_000));
+        assertThat(CsvParserUtil.parseDateTime("2024-02-29T00:00")).isNotNull();
+        assertThat(CsvParserUtil.parseDateTime("2023-02-29T00:00")).isNull();
+        assertThat(CsvParserUtil.parseDateTime("2024-01-15T24:00")).isNull();
+        assertThat(CsvParserUtil.parseDateTime("2024/01/15 08:30")).isNull();
+    }
+
+    private static List<String[]> readAll(String csv) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try(CsvParserUtil.CsvReader reader = CsvParserUtil.reader(new StringReader(csv))){
+            String[] row;
+            while((row = reader.readRow()) != null){
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static final class OneCharReader extends Reader {
+
+        private final String value;
+        private int position;
+
+        OneCharReader(String value){
+            this.value = value;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length){
+            if(position >= value.length()){
+                return -1;
+            }
+            buffer[offset] = value.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close(){
+        }
+    }
+}
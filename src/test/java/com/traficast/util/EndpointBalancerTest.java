@@ -0,0 +1,123 @@
+package com.traficast.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointBalancerTest {
+
+    private static final String A = "http://model-a/predict";
+    private static final String B = "http://model-b/predict";
+
+    private final AtomicLong now = new AtomicLong(1);
+    private final List<String> ejected = new ArrayList<>();
+    private final EndpointBalancer balancer = new EndpointBalancer(3, 3.0, 5, 1_000, 8_000, 0.5,
+            (url, reason, nanos) -> ejected.add(url + ":" + reason), now::get);
+
+    @Test
+    void prefersEndpointWithFewerOutstandingRequests(){
+        balancer.setEndpoints(List.of(A, B));
+
+        EndpointBalancer.Lease first = balancer.acquire();
+        EndpointBalancer.Lease second = balancer.acquire();
+
+        assertThat(second.getUrl()).isNotEqualTo(first.getUrl());
+        assertThat(balancer.getOutstanding(A)).isEqualTo(1);
+        assertThat(balancer.getOutstanding(B)).isEqualTo(1);
+
+        first.success();
+        first.failure(); // 두 번째 기록은 무시
+        assertThat(balancer.getOutstanding(first.getUrl())).isZero();
+    }
+
+    @Test
+    void prefersFasterEndpoint(){
+        balancer.setEndpoints(List.of(A, B));
+        respond(A, 10, 4);
+        respond(B, 40, 4);
+
+        for(int i = 0; i < 10; i++){
+            EndpointBalancer.Lease lease = balancer.acquire();
+            assertThat(lease.getUrl()).isEqualTo(A);
+            lease.release();
+        }
+    }
+
+    @Test
+    void ejectsEndpointAfterConsecutiveFailuresAndReturnsItLater(){
+        balancer.setEndpoints(List.of(A, B));
+        for(int i = 0; i < 3; i++){
+            leaseOf(A).failure();
+        }
+
+        assertThat(ejected).containsExactly(A + ":failures");
+        assertThat(balancer.isEjected(A)).isTrue();
+        for(int i = 0; i < 10; i++){
+            EndpointBalancer.Lease lease = balancer.acquire();
+            assertThat(lease.getUrl()).isEqualTo(B);
+            lease.release();
+        }
+
+        now.addAndGet(1_000);
+        assertThat(balancer.isEjected(A)).isFalse();
+    }
+
+    @Test
+    void ejectsSlowEndpoint(){
+        balancer.setEndpoints(List.of(A, B));
+        respond(B, 10, 5);
+        respond(A, 100, 5);
+
+        assertThat(ejected).containsExactly(A + ":slow");
+    }
+
+    @Test
+    void neverEjectsTheOnlyEndpoint(){
+        balancer.setEndpoints(List.of(A));
+        for(int i = 0; i < 10; i++){
+            balancer.acquire().failure();
+        }
+
+        assertThat(ejected).isEmpty();
+        assertThat(balancer.acquire().getUrl()).isEqualTo(A);
+    }
+
+    @Test
+    void keepsStateOfRemainingEndpointsWhenListChanges(){
+        balancer.setEndpoints(List.of(A, B));
+        respond(A, 10, 2);
+
+        assertThat(balancer.setEndpoints(List.of(A, B))).isFalse();
+        assertThat(balancer.setEndpoints(List.of(A))).isTrue();
+        assertThat(balancer.getEndpoints()).containsExactly(A);
+        assertThat(balancer.getLatencyMillis(A)).isGreaterThan(0.0);
+    }
+
+    // url 로 갈 때까지 선택(다른 엔드포인트로 간 요청은 진행 중으로 잡아 두어 점수를 높이고, 선택되면 해제)
+    private EndpointBalancer.Lease leaseOf(String url){
+        List<EndpointBalancer.Lease> others = new ArrayList<>();
+        try{
+            while(true){
+                EndpointBalancer.Lease lease = balancer.acquire();
+                if(lease.getUrl().equals(url)){
+                    return lease;
+                }
+                others.add(lease);
+            }
+        }finally {
+            others.forEach(EndpointBalancer.Lease::release);
+        }
+    }
+
+    private void respond(String url, long latencyNanos, int times){
+        for(int i = 0; i < times; i++){
+            EndpointBalancer.Lease lease = leaseOf(url);
+            now.addAndGet(latencyNanos);
+            lease.success();
+        }
+    }
+}
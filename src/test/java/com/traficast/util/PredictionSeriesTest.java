@@ -0,0 +1,63 @@
+package com.traficast.util;
+
+import com.traficast.entity.TrafficData;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PredictionSeriesTest {
+
+    @Test
+    void roundTripsWithStoragePrecision(){
+        PredictionSeries series = new PredictionSeries(60,
+                new int[]{120, 0, 3500, 118},
+                new double[]{45.54, 0.0, 12.3, 88.0},
+                new TrafficData.CongestionLevel[]{TrafficData.CongestionLevel.NORMAL, TrafficData.CongestionLevel.SMOOTH,
+                        TrafficData.CongestionLevel.CONGESTED, TrafficData.CongestionLevel.SLOW},
+                new double[]{0.8512, 0.05, 0.95, 0.6});
+
+        PredictionSeries decoded = PredictionSeries.decode(series.encode());
+
+        assertThat(decoded.size()).isEqualTo(4);
+        assertThat(decoded.getStepMinutes()).isEqualTo(60);
+        for(int i = 0; i < 4; i++){
+            assertThat(decoded.getVehicleCount(i)).isEqualTo(series.getVehicleCount(i));
+            assertThat(decoded.getCongestionLevel(i)).isEqualTo(series.getCongestionLevel(i));
+        }
+        assertThat(decoded.getSpeed(0)).isEqualTo(45.5); // 0.1km/h 단위
+        assertThat(decoded.getSpeed(2)).isEqualTo(12.3);
+        assertThat(decoded.getConfidence(0)).isEqualTo(0.851); // 0.001 단위
+        assertThat(decoded.getConfidence(1)).isEqualTo(0.05);
+    }
+
+    @Test
+    void weeklyHourlySeriesFitsInAFewHundredBytes(){
+        int points = 168;
+        int[] vehicleCounts = new int[points];
+        double[] speeds = new double[points];
+        TrafficData.CongestionLevel[] levels = new TrafficData.CongestionLevel[points];
+        double[] confidences = new double[points];
+        for(int i = 0; i < points; i++){
+            vehicleCounts[i] = (int) (300 + 200 * Math.sin(i * Math.PI / 12));
+            speeds[i] = 50 + 20 * Math.cos(i * Math.PI / 12);
+            levels[i] = speeds[i] > 50 ? TrafficData.CongestionLevel.SMOOTH : TrafficData.CongestionLevel.NORMAL;
+        }
+        Arrays.fill(confidences, 0.7);
+
+        byte[] encoded = new PredictionSeries(60, vehicleCounts, speeds, levels, confidences).encode();
+
+        assertThat(encoded.length).isLessThan(points * 6);
+    }
+
+    @Test
+    void rejectsMismatchedLengthsAndCorruptInput(){
+        assertThatThrownBy(() -> new PredictionSeries(60, new int[]{1, 2}, new double[]{1.0},
+                new TrafficData.CongestionLevel[2], new double[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PredictionSeries.decode(new byte[]{1, 60, 5, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.traficast.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 일 주기(24시간) 합성 시계열로 Holt-Winters / 계절 차분 ARIMA 예측을 검증
+ */
+class SeasonalForecastTest {
+
+    private static final int SEASON = 24;
+
+    @Test
+    void holtWintersFollowsDailyPattern(){
+        double[] series = dailyPattern(SEASON * 7);
+
+        HoltWinters.Fit fit = HoltWinters.fit(series, SEASON);
+
+        // 다음 날 8시(피크)와 3시(새벽)
+        assertThat(HoltWinters.forecast(fit, 9)).isCloseTo(value(SEASON * 7 + 8), within(5.0));
+        assertThat(HoltWinters.forecast(fit, 4)).isCloseTo(value(SEASON * 7 + 3), within(5.0));
+        assertThat(fit.rmse()).isLessThan(5.0);
+    }
+
+    @Test
+    void arimaFollowsDailyPattern(){
+        double[] series = dailyPattern(SEASON * 7);
+
+        SeasonalArima.Fit fit = SeasonalArima.fit(series, 3, SEASON);
+
+        assertThat(SeasonalArima.forecast(fit, 9)).isCloseTo(value(SEASON * 7 + 8), within(5.0));
+        assertThat(SeasonalArima.forecast(fit, 30)).isCloseTo(value(SEASON * 7 + 29), within(5.0));
+    }
+
+    @Test
+    void constantSeriesForecastsConstant(){
+        double[] series = new double[SEASON * 3];
+        Arrays.fill(series, 42.0);
+
+        assertThat(HoltWinters.forecast(HoltWinters.fit(series, SEASON), 5)).isCloseTo(42.0, within(1e-6));
+        assertThat(SeasonalArima.forecast(SeasonalArima.fit(series, 2, SEASON), 5)).isCloseTo(42.0, within(1e-6));
+    }
+
+    @Test
+    void rejectsTooShortSeries(){
+        assertThatThrownBy(() -> HoltWinters.fit(new double[SEASON], SEASON))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeasonalArima.fit(new double[SEASON * 2], 3, SEASON))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double[] dailyPattern(int length){
+        double[] series = new double[length];
+        for(int t = 0; t < length; t++){
+            series[t] = value(t);
+        }
+        return series;
+    }
+
+    // 평균 100대, 진폭 60대의 일 주기 교통량
+    private static double value(int t){
+        return 100.0 + 60.0 * Math.sin(2 * Math.PI * t / SEASON);
+    }
+}